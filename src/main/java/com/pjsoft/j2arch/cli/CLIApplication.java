@@ -190,7 +190,8 @@ public class CLIApplication {
             pumlPath,
             imagesOutputPath,
             unifiedClassDiagram,
-            libsDirPath
+            libsDirPath,
+            initialContext.getOptions()
         );
     }
 
@@ -3,6 +3,7 @@ package com.pjsoft.j2arch.config;
 import java.io.IOException;
 import java.util.Properties;
 
+import com.pjsoft.j2arch.core.context.GenerationOptions;
 import com.pjsoft.j2arch.core.util.DirectoryConstants;
 import com.pjsoft.j2arch.core.util.GUIStylePathResolver;
 import com.pjsoft.j2arch.core.util.PathResolver;
@@ -48,6 +49,7 @@ import com.pjsoft.j2arch.uml.util.UMLGenerationContext;
  */
 public class DefaultContextFactory implements ContextFactory {
     private final Properties properties;
+    private final GenerationOptions options;
 
     /**
      * Constructs a DefaultContextFactory with the specified properties.
@@ -57,6 +59,7 @@ public class DefaultContextFactory implements ContextFactory {
      */
     public DefaultContextFactory(Properties properties) {
         this.properties = properties;
+        this.options = GenerationOptions.fromProperties(properties);
     }
 
     @Override
@@ -70,7 +73,8 @@ public class DefaultContextFactory implements ContextFactory {
                 properties.getProperty("template.style.javadoc", ResourcePaths.TEMPLATE_STYLE_JAVADOC),
                 properties.getProperty("include.package", ""), // Optional include.package property
                 properties.getProperty("libs.dirpath",
-                        PathResolver.resolvePath(DirectoryConstants.DEFAULT_INPUT_DIR, DirectoryConstants.LIBS_DIR)));
+                        PathResolver.resolvePath(DirectoryConstants.DEFAULT_INPUT_DIR, DirectoryConstants.LIBS_DIR)),
+                options);
     }
 
     @Override
@@ -85,7 +89,8 @@ public class DefaultContextFactory implements ContextFactory {
                 packageTemplate,
                 styleSourceFile,
                 includePackage,
-                libsDirPath);
+                libsDirPath,
+                options);
     }
 
     @Override
@@ -104,7 +109,8 @@ public class DefaultContextFactory implements ContextFactory {
                 properties.getProperty("output.uml.unified.classdiagram",
                         DirectoryConstants.DEFAULT_UNIFIED_CLASS_DIAGRAM),
                 properties.getProperty("libs.dirpath",
-                        PathResolver.resolvePath(DirectoryConstants.DEFAULT_INPUT_DIR, DirectoryConstants.LIBS_DIR)));
+                        PathResolver.resolvePath(DirectoryConstants.DEFAULT_INPUT_DIR, DirectoryConstants.LIBS_DIR)),
+                options);
     }
 
     @Override
@@ -119,7 +125,8 @@ public class DefaultContextFactory implements ContextFactory {
                 pumlPath,
                 imagesOutputPath,
                 unifiedClassDiagram,
-                libsDirPath);
+                libsDirPath,
+                options);
     }
 
     @Override
@@ -131,7 +138,8 @@ public class DefaultContextFactory implements ContextFactory {
                 properties.getProperty("output.htmldoc.directory", DirectoryConstants.DEFAULT_OUTPUT_HTMLDOC_DIR),
                 properties.getProperty("template.htmldoc.diagram", ResourcePaths.TEMPLATE_HTML_DOC_DIAGRAM),
                 properties.getProperty("template.htmldoc.index", ResourcePaths.TEMPLATE_HTML_DOC_INDEX),
-                properties.getProperty("template.style.htmldoc", ResourcePaths.TEMPLATE_STYLE_HTML_DOC));
+                properties.getProperty("template.style.htmldoc", ResourcePaths.TEMPLATE_STYLE_HTML_DOC),
+                options);
     }
 
     @Override
@@ -144,7 +152,7 @@ public class DefaultContextFactory implements ContextFactory {
 
         return new HtmlGenerationContext(inputDirectory, outputDirectory,
                 diagramTemplateFile,
-                indexTemplateFile, styleSourceFile);
+                indexTemplateFile, styleSourceFile, options);
     }
 
     @Override
@@ -0,0 +1,265 @@
+package com.pjsoft.j2arch.core.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.model.ParsedSource;
+import com.pjsoft.j2arch.core.util.DirectoryConstants;
+
+/**
+ * AnalysisCache
+ *
+ * Persists the analysis of each source file between runs, keyed by the
+ * SHA-256 hash of the file content. The cache lives in the
+ * {@link DirectoryConstants#CACHE_DIR} directory of the output directory.
+ *
+ * Responsibilities:
+ * - Load and save the cached {@link ParsedSource} of every source file.
+ * - Compute content hashes of source files.
+ * - Discard the whole cache when the tool version or any setting that
+ * influences the analysis (include package, libraries, JDK, analysis mode)
+ * changes.
+ *
+ * Limitations:
+ * - The cache is written as a single file at the end of the analysis; an
+ * interrupted run leaves the previous cache in place.
+ * - A corrupt or incompatible cache file is ignored and rebuilt.
+ *
+ * Thread Safety:
+ * - This class is not thread-safe.
+ *
+ * Usage Example:
+ * {@code
+ * AnalysisCache cache = AnalysisCache.forContext(context);
+ * Map<String, AnalysisCache.Entry> entries = cache.load();
+ * ...
+ * cache.save(updatedEntries);
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class AnalysisCache {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(AnalysisCache.class);
+
+    /**
+     * Version of the cached data. Increase it whenever the extraction in
+     * {@code JavaParserService} or the cached model classes change.
+     */
+    static final int CACHE_VERSION = 5;
+
+    private static final String CACHE_FILE = "analysis.ser";
+
+    private final Path cacheFile;
+    private final String fingerprint;
+
+    /**
+     * Creates a cache stored in the given directory.
+     *
+     * @param cacheDirectory The directory holding the cache file.
+     * @param fingerprint    The fingerprint of the settings the cached data
+     *                       depends on.
+     */
+    public AnalysisCache(Path cacheDirectory, String fingerprint) {
+        this.cacheFile = cacheDirectory.resolve(CACHE_FILE);
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Creates the cache for the given generation context.
+     *
+     * @param context The {@link GenerationContext} of the run.
+     * @return The analysis cache of the context's output directory.
+     */
+    public static AnalysisCache forContext(GenerationContext context) {
+        Path cacheDirectory = Paths.get(context.getOutputDirectory(), DirectoryConstants.CACHE_DIR);
+        return new AnalysisCache(cacheDirectory, computeFingerprint(context));
+    }
+
+    /**
+     * Loads the cached entries.
+     *
+     * @return A map of absolute source file paths to cache entries; empty if
+     *         there is no usable cache.
+     */
+    public Map<String, Entry> load() {
+        if (!Files.isRegularFile(cacheFile)) {
+            logger.debug("No analysis cache found at {}", cacheFile);
+            return new HashMap<>();
+        }
+        try (InputStream fileIn = new BufferedInputStream(Files.newInputStream(cacheFile));
+                ObjectInputStream in = new ObjectInputStream(fileIn)) {
+            in.setObjectInputFilter(AnalysisCache::filterCachedClass);
+            int version = in.readInt();
+            String cachedFingerprint = in.readUTF();
+            if (version != CACHE_VERSION || !fingerprint.equals(cachedFingerprint)) {
+                logger.info("Analysis cache is outdated and will be rebuilt.");
+                return new HashMap<>();
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Entry> entries = (Map<String, Entry>) in.readObject();
+            logger.debug("Loaded {} cached source file(s) from {}", entries.size(), cacheFile);
+            return entries;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Ignoring unreadable analysis cache {}: {}", cacheFile, e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Saves the given entries, replacing the previous cache.
+     *
+     * @param entries A map of absolute source file paths to cache entries.
+     */
+    public void save(Map<String, Entry> entries) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), CACHE_FILE, ".tmp");
+            try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(tempFile));
+                    ObjectOutputStream out = new ObjectOutputStream(fileOut)) {
+                out.writeInt(CACHE_VERSION);
+                out.writeUTF(fingerprint);
+                out.writeObject(new HashMap<>(entries));
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Saved {} source file(s) to the analysis cache {}", entries.size(), cacheFile);
+        } catch (IOException e) {
+            logger.warn("Failed to save the analysis cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of a file's content.
+     *
+     * @param filePath The path of the file.
+     * @return The hash as a lowercase hexadecimal string.
+     * @throws IOException If the file cannot be read.
+     */
+    public static String hashFile(String filePath) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(Paths.get(filePath))) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes the fingerprint of all settings that influence the analysis of a
+     * single file, apart from its own content.
+     */
+    private static String computeFingerprint(GenerationContext context) {
+        StringBuilder settings = new StringBuilder();
+        settings.append("java=").append(System.getProperty("java.specification.version")).append('\n');
+        settings.append("include=").append(context.getIncludePackage()).append('\n');
+        settings.append("jdk=").append(context.getOptions().getJdkTypeSolver()).append(':')
+                .append(context.getOptions().getJdkHome()).append('\n');
+        settings.append("mode=").append(context.getOptions().getAnalysisMode()).append('\n');
+        File libsDir = context.getLibsDirPath() != null ? new File(context.getLibsDirPath()) : null;
+        File[] jarFiles = libsDir != null ? libsDir.listFiles((dir, name) -> name.endsWith(".jar")) : null;
+        if (jarFiles != null) {
+            Arrays.sort(jarFiles, Comparator.comparing(File::getName));
+            for (File jarFile : jarFiles) {
+                settings.append("lib=").append(jarFile.getName()).append(':').append(jarFile.length())
+                        .append(':').append(jarFile.lastModified()).append('\n');
+            }
+        }
+        return toHex(newDigest().digest(settings.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Restricts deserialization to the classes the caches of this package are
+     * made of.
+     */
+    static ObjectInputFilter.Status filterCachedClass(ObjectInputFilter.FilterInfo filterInfo) {
+        Class<?> serialClass = filterInfo.serialClass();
+        if (serialClass == null || serialClass.isPrimitive() || serialClass.isArray()) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        String className = serialClass.getName();
+        if (className.startsWith("com.pjsoft.j2arch.core.") || className.startsWith("java.util.")
+                || className.startsWith("java.lang.")) {
+            return ObjectInputFilter.Status.ALLOWED;
+        }
+        return ObjectInputFilter.Status.REJECTED;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * The cached analysis of one source file.
+     */
+    public static final class Entry implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String contentHash;
+        private final ParsedSource parsedSource;
+
+        /**
+         * Creates a cache entry.
+         *
+         * @param contentHash  The hash of the file content the analysis belongs to.
+         * @param parsedSource The analysis of the file.
+         */
+        public Entry(String contentHash, ParsedSource parsedSource) {
+            this.contentHash = contentHash;
+            this.parsedSource = parsedSource;
+        }
+
+        /**
+         * Gets the hash of the file content the analysis belongs to.
+         *
+         * @return The content hash.
+         */
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        /**
+         * Gets the cached analysis of the file.
+         *
+         * @return The cached {@link ParsedSource}.
+         */
+        public ParsedSource getParsedSource() {
+            return parsedSource;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.pjsoft.j2arch.core.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.model.CodeEntity;
+import com.pjsoft.j2arch.core.model.ParsedSource;
+import com.pjsoft.j2arch.core.util.JavaParserService;
+import com.pjsoft.j2arch.core.util.ProgressTracker;
+import com.pjsoft.j2arch.core.util.ProgressTracker.WorkUnitType;
+
+/**
+ * IncrementalAnalyzer
+ *
+ * Parses only the source files whose analysis cannot be reused from the
+ * {@link AnalysisCache}, and combines the fresh and cached results.
+ *
+ * A file is parsed again when:
+ * - its content hash differs from the cached one, or it is new;
+ * - it depends on a project type that is declared in a changed, new or
+ * deleted file (including type names it previously failed to resolve).
+ *
+ * Responsibilities:
+ * - Hash the source files and compare them with the cache.
+ * - Parse the changed files first, then the files depending on them.
+ * - Save the updated cache before entry points are detected, so the cached
+ * entities never carry run-specific state.
+ *
+ * Usage Example:
+ * {@code
+ * IncrementalAnalyzer analyzer = new IncrementalAnalyzer(new JavaParserService());
+ * List<CodeEntity> entities = analyzer.parseFiles(files, context, progressTracker);
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class IncrementalAnalyzer {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(IncrementalAnalyzer.class);
+
+    private final JavaParserService parserService;
+
+    /**
+     * Creates an incremental analyzer that parses through the given service.
+     *
+     * @param parserService The service used to parse changed files.
+     */
+    public IncrementalAnalyzer(JavaParserService parserService) {
+        this.parserService = parserService;
+    }
+
+    /**
+     * Parses the given files, reusing cached results where possible.
+     *
+     * Postconditions:
+     * - The returned classes are in the order of the input files, as with
+     * {@link JavaParserService#parseFiles}.
+     * - Entry points are detected on the combined result.
+     * - The analysis cache is updated.
+     *
+     * @param files           The absolute paths of the source files.
+     * @param context         The {@link GenerationContext} of the run.
+     * @param progressTracker The {@link ProgressTracker} to track parsing progress.
+     * @return The parsed classes.
+     */
+    public List<CodeEntity> parseFiles(List<String> files, GenerationContext context,
+            ProgressTracker progressTracker) {
+        AnalysisCache cache = AnalysisCache.forContext(context);
+        Map<String, AnalysisCache.Entry> previousEntries = cache.load();
+
+        // Step 1: Compare content hashes with the cache
+        Map<String, String> contentHashes = new HashMap<>();
+        Map<String, ParsedSource> reusable = new HashMap<>();
+        List<String> changedFiles = new ArrayList<>();
+        Set<String> changedTypes = new HashSet<>();
+        for (String filePath : files) {
+            String contentHash = hash(filePath);
+            contentHashes.put(filePath, contentHash);
+            AnalysisCache.Entry entry = previousEntries.get(filePath);
+            if (entry != null && contentHash != null && contentHash.equals(entry.getContentHash())) {
+                reusable.put(filePath, entry.getParsedSource());
+            } else {
+                changedFiles.add(filePath);
+                if (entry != null) {
+                    changedTypes.addAll(entry.getParsedSource().getDeclaredTypes());
+                }
+            }
+        }
+        Set<String> currentFiles = new HashSet<>(files);
+        previousEntries.forEach((filePath, entry) -> {
+            if (!currentFiles.contains(filePath)) {
+                changedTypes.addAll(entry.getParsedSource().getDeclaredTypes());
+            }
+        });
+
+        // Step 2: Parse the changed files
+        Map<String, ParsedSource> parsed = new HashMap<>();
+        if (!changedFiles.isEmpty()) {
+            for (ParsedSource parsedSource : parserService.parseSources(changedFiles, context, progressTracker)) {
+                parsed.put(parsedSource.getFilePath(), parsedSource);
+                changedTypes.addAll(parsedSource.getDeclaredTypes());
+            }
+        }
+
+        // Step 3: Parse the unchanged files that depend on a changed type
+        List<String> affectedFiles = new ArrayList<>();
+        if (!changedTypes.isEmpty()) {
+            for (String filePath : files) {
+                ParsedSource cached = reusable.get(filePath);
+                if (cached != null && !Collections.disjoint(cached.getDependencies(), changedTypes)) {
+                    affectedFiles.add(filePath);
+                    reusable.remove(filePath);
+                }
+            }
+        }
+        if (!affectedFiles.isEmpty()) {
+            for (ParsedSource parsedSource : parserService.parseSources(affectedFiles, context, progressTracker)) {
+                parsed.put(parsedSource.getFilePath(), parsedSource);
+            }
+        }
+
+        logger.info("Analysis cache: {} file(s) reused, {} changed, {} affected by changes",
+                reusable.size(), changedFiles.size(), affectedFiles.size());
+        progressTracker.onStatusUpdate("Reused cached analysis for " + reusable.size() + " of " + files.size()
+                + " files.");
+        progressTracker.addTotalUnits(parserService.getTier(), WorkUnitType.FILE_PARSING, reusable.size());
+        progressTracker.addCompletedUnits(parserService.getTier(), WorkUnitType.FILE_PARSING, reusable.size());
+
+        // Step 4: Combine the results in input order and update the cache
+        Map<String, AnalysisCache.Entry> updatedEntries = new HashMap<>();
+        List<CodeEntity> codeEntities = new ArrayList<>();
+        for (String filePath : files) {
+            ParsedSource parsedSource = reusable.containsKey(filePath) ? reusable.get(filePath) : parsed.get(filePath);
+            if (parsedSource == null) {
+                continue;
+            }
+            String contentHash = contentHashes.get(filePath);
+            if (!parsedSource.isFailed() && contentHash != null) {
+                updatedEntries.put(filePath, new AnalysisCache.Entry(contentHash, parsedSource));
+            }
+            codeEntities.addAll(parsedSource.getCodeEntities());
+        }
+        cache.save(updatedEntries);
+
+        parserService.detectEntryPoints(codeEntities);
+        return codeEntities;
+    }
+
+    private String hash(String filePath) {
+        try {
+            return AnalysisCache.hashFile(filePath);
+        } catch (IOException e) {
+            logger.warn("Failed to hash source file {}: {}", filePath, e.getMessage());
+            return null;
+        }
+    }
+}
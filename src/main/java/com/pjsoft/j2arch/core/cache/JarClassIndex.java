@@ -0,0 +1,293 @@
+package com.pjsoft.j2arch.core.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * JarClassIndex
+ *
+ * Maps the class names of the external library jars to the jar and entry
+ * they are stored in. The index of each jar is persisted between runs in the
+ * {@code DirectoryConstants#CACHE_DIR} directory and reused as long as the
+ * jar's checksum is unchanged, so the class tables of unchanged jars are not
+ * read again.
+ *
+ * Responsibilities:
+ * - Load the persisted index and validate it against the current jars.
+ * - Read the class table of new or changed jars only.
+ * - Look up classes by their canonical name ({@code a.b.Outer.Inner}) or their
+ * binary name ({@code a.b.Outer$Inner}).
+ *
+ * A jar whose size and modification time are unchanged is trusted without
+ * computing its checksum; otherwise its SHA-256 checksum decides whether the
+ * persisted class table still applies.
+ *
+ * Limitations:
+ * - If several jars contain the same class, the jar whose file name sorts
+ * first wins.
+ *
+ * Thread Safety:
+ * - Instances are immutable once loaded and can be shared freely.
+ *
+ * Usage Example:
+ * {@code
+ * JarClassIndex index = JarClassIndex.load(cacheDirectory, jarFiles);
+ * Optional<JarClassIndex.ClassLocation> location = index.findByName("org.example.Service");
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class JarClassIndex {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(JarClassIndex.class);
+
+    /**
+     * Version of the persisted index. Increase it whenever {@link IndexedJar}
+     * changes.
+     */
+    static final int INDEX_VERSION = 2;
+
+    private static final String INDEX_FILE = "jar-index.ser";
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final Map<String, ClassLocation> classesByName; // Canonical name to location
+    private final Map<String, ClassLocation> classesByBinaryName; // Binary name to location
+
+    private JarClassIndex(Map<String, ClassLocation> classesByName, Map<String, ClassLocation> classesByBinaryName) {
+        this.classesByName = classesByName;
+        this.classesByBinaryName = classesByBinaryName;
+    }
+
+    /**
+     * Loads the index of the given jars, reading only the class tables of jars
+     * that are not in the persisted index, and persists the updated index.
+     *
+     * @param cacheDirectory The directory holding the persisted index.
+     * @param jarFiles       The library jars, in lookup order.
+     * @return The class index of the jars.
+     */
+    public static JarClassIndex load(Path cacheDirectory, List<File> jarFiles) {
+        long start = System.currentTimeMillis();
+        Path indexFile = cacheDirectory.resolve(INDEX_FILE);
+        Map<String, IndexedJar> previousJars = read(indexFile);
+        Map<String, IndexedJar> previousByChecksum = new HashMap<>();
+        previousJars.values().forEach(jar -> previousByChecksum.putIfAbsent(jar.checksum, jar));
+
+        Map<String, IndexedJar> currentJars = new LinkedHashMap<>();
+        int indexedCount = 0;
+        for (File jarFile : jarFiles) {
+            String jarPath = jarFile.getAbsolutePath();
+            IndexedJar previous = previousJars.get(jarPath);
+            if (previous != null && previous.size == jarFile.length()
+                    && previous.lastModified == jarFile.lastModified()) {
+                currentJars.put(jarPath, previous);
+                continue;
+            }
+            try {
+                String checksum = AnalysisCache.hashFile(jarPath);
+                IndexedJar sameContent = previousByChecksum.get(checksum);
+                List<String> classEntries = sameContent != null ? sameContent.classEntries : readClassEntries(jarFile);
+                if (sameContent == null) {
+                    indexedCount++;
+                }
+                currentJars.put(jarPath,
+                        new IndexedJar(jarFile.length(), jarFile.lastModified(), checksum, classEntries));
+            } catch (IOException e) {
+                logger.warn("Failed to index library {}: {}", jarPath, e.getMessage());
+            }
+        }
+        if (!currentJars.equals(previousJars)) {
+            write(indexFile, currentJars);
+        }
+
+        Map<String, ClassLocation> classesByName = new HashMap<>();
+        Map<String, ClassLocation> classesByBinaryName = new HashMap<>();
+        currentJars.forEach((jarPath, jar) -> {
+            for (String entryName : jar.classEntries) {
+                ClassLocation location = new ClassLocation(jarPath, entryName);
+                classesByName.putIfAbsent(location.getBinaryName().replace('$', '.'), location);
+                classesByBinaryName.putIfAbsent(location.getBinaryName(), location);
+            }
+        });
+        logger.info("Library class index: {} jar(s), {} read again, {} classes, {} ms", currentJars.size(),
+                indexedCount, classesByName.size(), System.currentTimeMillis() - start);
+        return new JarClassIndex(classesByName, classesByBinaryName);
+    }
+
+    /**
+     * Finds a class by its canonical name, with member classes separated by
+     * dots.
+     *
+     * @param canonicalName The name of the class.
+     * @return The location of the class, or an empty optional if no jar
+     *         contains it.
+     */
+    public Optional<ClassLocation> findByName(String canonicalName) {
+        return Optional.ofNullable(classesByName.get(canonicalName));
+    }
+
+    /**
+     * Finds a class by its binary name, with member classes separated by
+     * {@code $}.
+     *
+     * @param binaryName The binary name of the class.
+     * @return The location of the class, or an empty optional if no jar
+     *         contains it.
+     */
+    public Optional<ClassLocation> findByBinaryName(String binaryName) {
+        return Optional.ofNullable(classesByBinaryName.get(binaryName));
+    }
+
+    /**
+     * Gets the number of indexed classes.
+     *
+     * @return The number of classes.
+     */
+    public int size() {
+        return classesByName.size();
+    }
+
+    private static List<String> readClassEntries(File jarFile) throws IOException {
+        List<String> classEntries = new ArrayList<>();
+        try (JarFile jar = new JarFile(jarFile)) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && entry.getName().endsWith(CLASS_SUFFIX)) {
+                    classEntries.add(entry.getName());
+                }
+            }
+        }
+        return classEntries;
+    }
+
+    private static Map<String, IndexedJar> read(Path indexFile) {
+        if (!Files.isRegularFile(indexFile)) {
+            return new HashMap<>();
+        }
+        try (InputStream fileIn = new BufferedInputStream(Files.newInputStream(indexFile));
+                ObjectInputStream in = new ObjectInputStream(fileIn)) {
+            in.setObjectInputFilter(AnalysisCache::filterCachedClass);
+            if (in.readInt() != INDEX_VERSION) {
+                return new HashMap<>();
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, IndexedJar> jars = (Map<String, IndexedJar>) in.readObject();
+            return jars;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Ignoring unreadable library class index {}: {}", indexFile, e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private static void write(Path indexFile, Map<String, IndexedJar> jars) {
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path tempFile = Files.createTempFile(indexFile.getParent(), INDEX_FILE, ".tmp");
+            try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(tempFile));
+                    ObjectOutputStream out = new ObjectOutputStream(fileOut)) {
+                out.writeInt(INDEX_VERSION);
+                out.writeObject(new HashMap<>(jars));
+            }
+            Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to save the library class index {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    /**
+     * The jar and entry a class is stored in.
+     */
+    public static final class ClassLocation {
+        private final String jarPath;
+        private final String entryName;
+
+        private ClassLocation(String jarPath, String entryName) {
+            this.jarPath = jarPath;
+            this.entryName = entryName;
+        }
+
+        /**
+         * Gets the absolute path of the jar.
+         *
+         * @return The jar path.
+         */
+        public String getJarPath() {
+            return jarPath;
+        }
+
+        /**
+         * Gets the name of the class file entry within the jar.
+         *
+         * @return The entry name, such as {@code a/b/Outer$Inner.class}.
+         */
+        public String getEntryName() {
+            return entryName;
+        }
+
+        /**
+         * Gets the binary name of the class.
+         *
+         * @return The binary name, such as {@code a.b.Outer$Inner}.
+         */
+        public String getBinaryName() {
+            return entryName.substring(0, entryName.length() - CLASS_SUFFIX.length()).replace('/', '.');
+        }
+    }
+
+    /**
+     * The persisted class table of one jar.
+     */
+    private static final class IndexedJar implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long size;
+        private final long lastModified;
+        private final String checksum; // SHA-256 of the jar content
+        private final ArrayList<String> classEntries; // Not modified once indexed
+
+        private IndexedJar(long size, long lastModified, String checksum, List<String> classEntries) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checksum = checksum;
+            this.classEntries = new ArrayList<>(classEntries);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof IndexedJar)) {
+                return false;
+            }
+            IndexedJar jar = (IndexedJar) other;
+            return size == jar.size && lastModified == jar.lastModified && checksum.equals(jar.checksum);
+        }
+
+        @Override
+        public int hashCode() {
+            return checksum.hashCode();
+        }
+    }
+}
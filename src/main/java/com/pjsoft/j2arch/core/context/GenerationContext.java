@@ -13,6 +13,7 @@ package com.pjsoft.j2arch.core.context;
  * - Provide access to the output directory for generated files.
  * - Define the package inclusion filter for processing specific packages.
  * - Provide paths for PlantUML files, image outputs, and library dependencies.
+ * - Provide the {@link GenerationOptions} that tune how the work is scheduled.
  * 
  * Limitations:
  * - Assumes that the paths returned by the methods are valid and accessible.
@@ -80,4 +81,14 @@ public interface GenerationContext {
      * @since 1.0
      */
     String getLibsDirPath();
+
+    /**
+     * Gets the tuning options for the generation process.
+     * 
+     * @return the generation options, never {@code null}.
+     * @since 1.3
+     */
+    default GenerationOptions getOptions() {
+        return GenerationOptions.defaults();
+    }
 }
@@ -0,0 +1,656 @@
+package com.pjsoft.j2arch.core.context;
+
+import java.util.Properties;
+
+/**
+ * GenerationOptions
+ *
+ * Holds the tuning options shared by all generation processes. Unlike the
+ * paths exposed by {@link GenerationContext}, these options change how the
+ * work is done rather than what it is done on; only the analysis mode trades
+ * the accuracy of the result for speed.
+ *
+ * Responsibilities:
+ * - Read the tuning options from the application properties.
+ * - Provide defaults for every option that is missing or malformed.
+ *
+ * Supported Properties:
+ * - {@code parser.threads}: number of worker threads used to parse source
+ * files. {@code 1} parses sequentially, {@code 0} uses one worker per
+ * available processor.
+ * - {@code parser.registry.capacity}: number of parsed compilation units each
+ * parser worker keeps for reuse during symbol resolution. Defaults to
+ * {@code 1000}.
+ * - {@code analysis.cache.enabled}: reuse the analysis of unchanged source
+ * files from the cache in the output directory. Defaults to {@code true}.
+ * - {@code jdk.type.solver}: how JDK types are resolved, {@code jrt} (read
+ * from the class files of a JDK) or {@code reflection} (loaded into the
+ * tool's JVM). Defaults to {@code reflection}, the faster of the two; use
+ * {@code jrt} to resolve against a JDK other than the one running the tool.
+ * - {@code jdk.home}: the JDK whose class files the {@code jrt} solver reads.
+ * Defaults to the running JDK.
+ * - {@code analysis.mode}: how the types of call and field access targets are
+ * determined, {@code full} (resolved by the symbol solver) or {@code fast}
+ * (inferred from the declarations and imports of each file). Defaults to
+ * {@code full}.
+ * - {@code analysis.fast.sample.files}: in fast mode, the number of parsed
+ * files also analyzed in full mode to report how far the modes differ.
+ * Defaults to {@code 0}, no comparison.
+ * - {@code analysis.tiered}: analyze UML projects in two tiers, a structural
+ * pass whose class diagrams render at once and the call resolution of the
+ * same parsed files for the sequence diagrams in the background. Ignored with
+ * the analysis cache. Defaults to {@code false}.
+ * - {@code sequence.threads}: number of threads that build the sequence
+ * scenarios. {@code 1} works sequentially, {@code 0} uses one thread per
+ * available processor.
+ * - {@code sequence.max.depth}: the call depth up to which sequence scenarios
+ * are expanded; deeper calls are collapsed into a note. Defaults to {@code 0},
+ * no limit.
+ * - {@code sequence.max.fanout}: the number of calls shown per method in a
+ * sequence scenario; further calls are collapsed into a note. Defaults to
+ * {@code 0}, no limit.
+ * - {@code sequence.max.interactions}: the number of interactions per sequence
+ * diagram; larger scenarios are split into diagrams named
+ * {@code <scenario>_partN} that refer to each other, and that the HTML
+ * documentation links in order. Defaults to {@code 500}, {@code 0} for no
+ * limit.
+ * - {@code sequence.deduplicate}: render sequence scenarios without
+ * interactions, and scenarios with the same interactions as an earlier one,
+ * not at all; a manifest lists them with the diagram rendered in their place.
+ * Their `.puml` files are still written, and the HTML documentation shows them
+ * with the image from the manifest. Defaults to {@code true}.
+ * - {@code diagram.puml.files}: write the PlantUML source of every diagram to
+ * a `.puml` file next to its image. Images are rendered from memory either
+ * way. Defaults to {@code true}.
+ * - {@code render.threads}: number of threads that render the diagram images
+ * of all diagram types. {@code 1} renders each diagram as soon as it is
+ * generated, {@code 0} uses one thread per available processor.
+ * - {@code render.queue.capacity}: number of diagrams that may wait for a
+ * render thread; further diagrams are generated once a render finishes.
+ * Defaults to {@code 64}.
+ * - {@code render.cache.enabled}: reuse diagram images rendered by earlier
+ * runs from identical PlantUML sources, kept in the cache directory of the
+ * output directory. Defaults to {@code true}.
+ * - {@code render.cache.max.mb}: the size of the render cache in megabytes;
+ * the least recently used images are evicted beyond it. Defaults to
+ * {@code 256}.
+ * - {@code render.format}: the image format of the diagrams, {@code png},
+ * {@code svg}, {@code both}, or {@code lazy_png} (SVG, with a PNG rendered
+ * from the `.puml` file only when one is asked for, as by the preview).
+ * Defaults to {@code png} for UML diagrams and javadoc pages, and to
+ * {@code svg} for the HTML pages of `.puml` files.
+ * - {@code render.timeout.seconds}: the time the rendering of one diagram may
+ * take before it is stopped and reported in {@code render-failures.properties}
+ * of the output directory. Defaults to {@code 300}, {@code 0} for no limit.
+ * - {@code render.max.allocation.mb}: the memory the rendering of one diagram
+ * may allocate before it is stopped and reported. Defaults to {@code 0}, no
+ * limit.
+ * - {@code render.retry.simplified}: render a class or package diagram that
+ * exceeded its budget again with members hidden and one edge per related pair
+ * of classes. Defaults to {@code true}.
+ *
+ * Thread Safety:
+ * - This class is immutable and therefore thread-safe.
+ *
+ * Usage Example:
+ * {@code
+ * GenerationOptions options = GenerationOptions.fromProperties(properties);
+ * int workers = options.getParserThreads();
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public final class GenerationOptions {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(GenerationOptions.class);
+
+    public static final String PARSER_THREADS = "parser.threads";
+    public static final String PARSER_REGISTRY_CAPACITY = "parser.registry.capacity";
+    public static final String ANALYSIS_CACHE_ENABLED = "analysis.cache.enabled";
+    public static final String JDK_TYPE_SOLVER = "jdk.type.solver";
+    public static final String JDK_HOME = "jdk.home";
+    public static final String ANALYSIS_MODE = "analysis.mode";
+    public static final String ANALYSIS_FAST_SAMPLE_FILES = "analysis.fast.sample.files";
+    public static final String ANALYSIS_TIERED = "analysis.tiered";
+    public static final String SEQUENCE_THREADS = "sequence.threads";
+    public static final String SEQUENCE_MAX_DEPTH = "sequence.max.depth";
+    public static final String SEQUENCE_MAX_FANOUT = "sequence.max.fanout";
+    public static final String SEQUENCE_MAX_INTERACTIONS = "sequence.max.interactions";
+    public static final String SEQUENCE_DEDUPLICATE = "sequence.deduplicate";
+    public static final String DIAGRAM_PUML_FILES = "diagram.puml.files";
+    public static final String RENDER_THREADS = "render.threads";
+    public static final String RENDER_QUEUE_CAPACITY = "render.queue.capacity";
+    public static final String RENDER_CACHE_ENABLED = "render.cache.enabled";
+    public static final String RENDER_CACHE_MAX_MB = "render.cache.max.mb";
+    public static final String RENDER_FORMAT = "render.format";
+    public static final String RENDER_TIMEOUT_SECONDS = "render.timeout.seconds";
+    public static final String RENDER_MAX_ALLOCATION_MB = "render.max.allocation.mb";
+    public static final String RENDER_RETRY_SIMPLIFIED = "render.retry.simplified";
+
+    private static final int DEFAULT_PARSER_THREADS = 1;
+    private static final int DEFAULT_PARSER_REGISTRY_CAPACITY = 1000;
+    private static final boolean DEFAULT_ANALYSIS_CACHE_ENABLED = true;
+    private static final JdkTypeSolver DEFAULT_JDK_TYPE_SOLVER = JdkTypeSolver.REFLECTION;
+    private static final AnalysisMode DEFAULT_ANALYSIS_MODE = AnalysisMode.FULL;
+    private static final int DEFAULT_ANALYSIS_FAST_SAMPLE_FILES = 0;
+    private static final boolean DEFAULT_ANALYSIS_TIERED = false;
+    private static final int DEFAULT_SEQUENCE_THREADS = 1;
+    private static final int DEFAULT_SEQUENCE_MAX_DEPTH = 0;
+    private static final int DEFAULT_SEQUENCE_MAX_FANOUT = 0;
+    private static final int DEFAULT_SEQUENCE_MAX_INTERACTIONS = 500;
+    private static final boolean DEFAULT_SEQUENCE_DEDUPLICATE = true;
+    private static final boolean DEFAULT_DIAGRAM_PUML_FILES = true;
+    private static final int DEFAULT_RENDER_THREADS = 1;
+    private static final int DEFAULT_RENDER_QUEUE_CAPACITY = 64;
+    private static final boolean DEFAULT_RENDER_CACHE_ENABLED = true;
+    private static final int DEFAULT_RENDER_CACHE_MAX_MB = 256;
+    private static final DiagramFormat DEFAULT_RENDER_FORMAT = DiagramFormat.PNG;
+    private static final int DEFAULT_RENDER_TIMEOUT_SECONDS = 300;
+    private static final int DEFAULT_RENDER_MAX_ALLOCATION_MB = 0;
+    private static final boolean DEFAULT_RENDER_RETRY_SIMPLIFIED = true;
+
+    private static final GenerationOptions DEFAULTS = new GenerationOptions(new Properties());
+
+    private final int parserThreads; // Number of parser workers, 0 for one per processor
+    private final int parserRegistryCapacity; // Parsed units kept per parser worker
+    private final boolean analysisCacheEnabled; // Reuse the analysis of unchanged files
+    private final JdkTypeSolver jdkTypeSolver; // How JDK types are resolved
+    private final String jdkHome; // JDK read by the jrt solver, or null for the running JDK
+    private final AnalysisMode analysisMode; // How the targets of relationships are determined
+    private final int analysisFastSampleFiles; // Files compared with full mode in fast mode
+    private final boolean analysisTiered; // Structure first, calls in the background
+    private final int sequenceThreads; // Scenario builders and renderers, 0 for one per processor
+    private final int sequenceMaxDepth; // Call depth expanded in scenarios, 0 for no limit
+    private final int sequenceMaxFanout; // Calls shown per method in scenarios, 0 for no limit
+    private final int sequenceMaxInteractions; // Interactions per sequence diagram, 0 for no limit
+    private final boolean sequenceDeduplicate; // Skip empty and duplicate scenarios
+    private final boolean diagramPumlFiles; // Write the PlantUML source of each diagram
+    private final int renderThreads; // Diagram render threads, 0 for one per processor
+    private final int renderQueueCapacity; // Diagrams that may wait for a render thread
+    private final boolean renderCacheEnabled; // Reuse images rendered from identical sources
+    private final int renderCacheMaxMb; // Size of the render cache in megabytes
+    private final DiagramFormat renderFormat; // Image format of the diagrams, or null if not configured
+    private final int renderTimeoutSeconds; // Time budget of a render, 0 for no limit
+    private final int renderMaxAllocationMb; // Memory budget of a render, 0 for no limit
+    private final boolean renderRetrySimplified; // Render diagrams over budget again, simplified
+
+    private GenerationOptions(Properties properties) {
+        this.parserThreads = readInt(properties, PARSER_THREADS, DEFAULT_PARSER_THREADS, 0);
+        this.parserRegistryCapacity = readInt(properties, PARSER_REGISTRY_CAPACITY,
+                DEFAULT_PARSER_REGISTRY_CAPACITY, 1);
+        this.analysisCacheEnabled = readBoolean(properties, ANALYSIS_CACHE_ENABLED, DEFAULT_ANALYSIS_CACHE_ENABLED);
+        this.jdkTypeSolver = readJdkTypeSolver(properties);
+        String home = properties.getProperty(JDK_HOME);
+        this.jdkHome = home == null || home.isBlank() ? null : home.trim();
+        this.analysisMode = readAnalysisMode(properties);
+        this.analysisFastSampleFiles = readInt(properties, ANALYSIS_FAST_SAMPLE_FILES,
+                DEFAULT_ANALYSIS_FAST_SAMPLE_FILES, 0);
+        this.analysisTiered = readBoolean(properties, ANALYSIS_TIERED, DEFAULT_ANALYSIS_TIERED);
+        this.sequenceThreads = readInt(properties, SEQUENCE_THREADS, DEFAULT_SEQUENCE_THREADS, 0);
+        this.sequenceMaxDepth = readInt(properties, SEQUENCE_MAX_DEPTH, DEFAULT_SEQUENCE_MAX_DEPTH, 0);
+        this.sequenceMaxFanout = readInt(properties, SEQUENCE_MAX_FANOUT, DEFAULT_SEQUENCE_MAX_FANOUT, 0);
+        this.sequenceMaxInteractions = readInt(properties, SEQUENCE_MAX_INTERACTIONS,
+                DEFAULT_SEQUENCE_MAX_INTERACTIONS, 0);
+        this.sequenceDeduplicate = readBoolean(properties, SEQUENCE_DEDUPLICATE, DEFAULT_SEQUENCE_DEDUPLICATE);
+        this.diagramPumlFiles = readBoolean(properties, DIAGRAM_PUML_FILES, DEFAULT_DIAGRAM_PUML_FILES);
+        this.renderThreads = readInt(properties, RENDER_THREADS, DEFAULT_RENDER_THREADS, 0);
+        this.renderQueueCapacity = readInt(properties, RENDER_QUEUE_CAPACITY, DEFAULT_RENDER_QUEUE_CAPACITY, 1);
+        this.renderCacheEnabled = readBoolean(properties, RENDER_CACHE_ENABLED, DEFAULT_RENDER_CACHE_ENABLED);
+        this.renderCacheMaxMb = readInt(properties, RENDER_CACHE_MAX_MB, DEFAULT_RENDER_CACHE_MAX_MB, 1);
+        this.renderFormat = readRenderFormat(properties);
+        this.renderTimeoutSeconds = readInt(properties, RENDER_TIMEOUT_SECONDS, DEFAULT_RENDER_TIMEOUT_SECONDS, 0);
+        this.renderMaxAllocationMb = readInt(properties, RENDER_MAX_ALLOCATION_MB,
+                DEFAULT_RENDER_MAX_ALLOCATION_MB, 0);
+        this.renderRetrySimplified = readBoolean(properties, RENDER_RETRY_SIMPLIFIED,
+                DEFAULT_RENDER_RETRY_SIMPLIFIED);
+        if (renderFormat == DiagramFormat.LAZY_PNG && !diagramPumlFiles) {
+            logger.warn("{}=lazy_png needs the .puml files to render PNG images from; {} is false", RENDER_FORMAT,
+                    DIAGRAM_PUML_FILES);
+        }
+    }
+
+    /**
+     * Returns the options used when no configuration is available.
+     *
+     * @return the default options.
+     * @since 1.3
+     */
+    public static GenerationOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Reads the options from the given properties. Missing or malformed values
+     * fall back to their defaults.
+     *
+     * @param properties the application properties.
+     * @return the options read from the properties.
+     * @since 1.3
+     */
+    public static GenerationOptions fromProperties(Properties properties) {
+        if (properties == null) {
+            return DEFAULTS;
+        }
+        return new GenerationOptions(properties);
+    }
+
+    /**
+     * Gets the configured number of parser worker threads.
+     *
+     * @return the configured worker count, {@code 0} meaning one per processor.
+     * @since 1.3
+     */
+    public int getParserThreads() {
+        return parserThreads;
+    }
+
+    /**
+     * Resolves the number of parser workers to use for the given amount of work.
+     *
+     * @param numberOfFiles the number of files to parse.
+     * @return the effective worker count, at least 1 and at most the number of
+     *         files.
+     * @since 1.3
+     */
+    public int resolveParserThreads(int numberOfFiles) {
+        int workers = parserThreads == 0 ? Runtime.getRuntime().availableProcessors() : parserThreads;
+        return Math.max(1, Math.min(workers, numberOfFiles));
+    }
+
+    /**
+     * Gets the number of parsed compilation units each parser worker keeps for
+     * reuse.
+     *
+     * @return the registry capacity per worker, at least 1.
+     * @since 1.3
+     */
+    public int getParserRegistryCapacity() {
+        return parserRegistryCapacity;
+    }
+
+    /**
+     * Checks whether the analysis of unchanged source files is reused from the
+     * persistent analysis cache.
+     *
+     * @return {@code true} if the analysis cache is enabled.
+     * @since 1.3
+     */
+    public boolean isAnalysisCacheEnabled() {
+        return analysisCacheEnabled;
+    }
+
+    /**
+     * Gets how JDK types are resolved.
+     *
+     * @return the JDK type solver to use.
+     * @since 1.3
+     */
+    public JdkTypeSolver getJdkTypeSolver() {
+        return jdkTypeSolver;
+    }
+
+    /**
+     * Gets the home directory of the JDK whose class files are read by the
+     * {@link JdkTypeSolver#JRT} solver.
+     *
+     * @return the JDK home, or {@code null} for the running JDK.
+     * @since 1.3
+     */
+    public String getJdkHome() {
+        return jdkHome;
+    }
+
+    /**
+     * Gets how the types of call and field access targets are determined.
+     *
+     * @return the analysis mode.
+     * @since 1.3
+     */
+    public AnalysisMode getAnalysisMode() {
+        return analysisMode;
+    }
+
+    /**
+     * Gets the number of files that the fast analysis mode also analyzes in
+     * full mode, to report how far the modes differ.
+     *
+     * @return the sample size, {@code 0} for no comparison.
+     * @since 1.3
+     */
+    public int getAnalysisFastSampleFiles() {
+        return analysisFastSampleFiles;
+    }
+
+    /**
+     * Checks whether UML projects are analyzed in two tiers: a structural pass
+     * first, and the resolution of calls in the background.
+     *
+     * @return {@code true} if the analysis is tiered.
+     * @since 1.3
+     */
+    public boolean isAnalysisTiered() {
+        return analysisTiered;
+    }
+
+    /**
+     * Gets the configured number of threads that build sequence scenarios.
+     *
+     * @return the configured thread count, {@code 0} meaning one per processor.
+     * @since 1.3
+     */
+    public int getSequenceThreads() {
+        return sequenceThreads;
+    }
+
+    /**
+     * Resolves the number of threads to build the given number of sequence
+     * scenarios with.
+     *
+     * @param numberOfScenarios the number of scenarios.
+     * @return the effective thread count, at least 1 and at most the number of
+     *         scenarios.
+     * @since 1.3
+     */
+    public int resolveSequenceThreads(int numberOfScenarios) {
+        int threads = sequenceThreads == 0 ? Runtime.getRuntime().availableProcessors() : sequenceThreads;
+        return Math.max(1, Math.min(threads, numberOfScenarios));
+    }
+
+    /**
+     * Gets the call depth up to which sequence scenarios are expanded.
+     *
+     * @return the maximum depth, {@code 0} for no limit.
+     * @since 1.3
+     */
+    public int getSequenceMaxDepth() {
+        return sequenceMaxDepth;
+    }
+
+    /**
+     * Gets the number of calls shown per method in a sequence scenario.
+     *
+     * @return the maximum fan-out, {@code 0} for no limit.
+     * @since 1.3
+     */
+    public int getSequenceMaxFanout() {
+        return sequenceMaxFanout;
+    }
+
+    /**
+     * Gets the number of interactions per sequence diagram, beyond which a
+     * scenario is split into several diagrams.
+     *
+     * @return the maximum number of interactions, {@code 0} for no limit.
+     * @since 1.3
+     */
+    public int getSequenceMaxInteractions() {
+        return sequenceMaxInteractions;
+    }
+
+    /**
+     * Checks whether empty and duplicate sequence scenarios are skipped instead
+     * of rendered.
+     *
+     * @return {@code true} if each distinct sequence diagram is rendered once.
+     * @since 1.3
+     */
+    public boolean isSequenceDeduplicate() {
+        return sequenceDeduplicate;
+    }
+
+    /**
+     * Checks whether the PlantUML source of each diagram is written to a
+     * `.puml` file.
+     *
+     * @return {@code true} if `.puml` files are written next to the images.
+     * @since 1.3
+     */
+    public boolean isDiagramPumlFiles() {
+        return diagramPumlFiles;
+    }
+
+    /**
+     * Gets the configured number of diagram render threads.
+     *
+     * @return the configured thread count, {@code 0} meaning one per processor.
+     * @since 1.3
+     */
+    public int getRenderThreads() {
+        return renderThreads;
+    }
+
+    /**
+     * Resolves the number of diagram render threads to use.
+     *
+     * @return the effective thread count, at least 1.
+     * @since 1.3
+     */
+    public int resolveRenderThreads() {
+        return renderThreads == 0 ? Runtime.getRuntime().availableProcessors() : renderThreads;
+    }
+
+    /**
+     * Gets the number of diagrams that may wait for a render thread.
+     *
+     * @return the render queue capacity, at least 1.
+     * @since 1.3
+     */
+    public int getRenderQueueCapacity() {
+        return renderQueueCapacity;
+    }
+
+    /**
+     * Checks whether diagram images are reused from the render cache.
+     *
+     * @return {@code true} if the render cache is enabled.
+     * @since 1.3
+     */
+    public boolean isRenderCacheEnabled() {
+        return renderCacheEnabled;
+    }
+
+    /**
+     * Gets the size of the render cache.
+     *
+     * @return the size in bytes above which cached images are evicted.
+     * @since 1.3
+     */
+    public long getRenderCacheMaxBytes() {
+        return renderCacheMaxMb * 1024L * 1024L;
+    }
+
+    /**
+     * Gets the image format of the UML diagrams and of the diagrams of javadoc
+     * pages.
+     *
+     * @return the configured format, {@link DiagramFormat#PNG} if none is
+     *         configured.
+     * @since 1.3
+     */
+    public DiagramFormat getRenderFormat() {
+        return resolveRenderFormat(DEFAULT_RENDER_FORMAT);
+    }
+
+    /**
+     * Resolves the image format for a generation process with a default of its
+     * own.
+     *
+     * @param defaultFormat the format of the process if none is configured.
+     * @return the configured format, or the given default.
+     * @since 1.3
+     */
+    public DiagramFormat resolveRenderFormat(DiagramFormat defaultFormat) {
+        return renderFormat != null ? renderFormat : defaultFormat;
+    }
+
+    /**
+     * Gets the time the rendering of one diagram may take.
+     *
+     * @return the time budget in milliseconds, {@code 0} for no limit.
+     * @since 1.3
+     */
+    public long getRenderTimeoutMillis() {
+        return renderTimeoutSeconds * 1000L;
+    }
+
+    /**
+     * Gets the memory the rendering of one diagram may allocate.
+     *
+     * @return the memory budget in bytes, {@code 0} for no limit.
+     * @since 1.3
+     */
+    public long getRenderMaxAllocationBytes() {
+        return renderMaxAllocationMb * 1024L * 1024L;
+    }
+
+    /**
+     * Checks whether a diagram that exceeded its render budget is rendered
+     * again in a simplified form.
+     *
+     * @return {@code true} if simplified diagrams are rendered.
+     * @since 1.3
+     */
+    public boolean isRenderRetrySimplified() {
+        return renderRetrySimplified;
+    }
+
+    private static AnalysisMode readAnalysisMode(Properties properties) {
+        String value = properties.getProperty(ANALYSIS_MODE);
+        if (value == null || value.isBlank()) {
+            return DEFAULT_ANALYSIS_MODE;
+        }
+        for (AnalysisMode mode : AnalysisMode.values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        logger.warn("Ignoring {}={}: expected full or fast", ANALYSIS_MODE, value);
+        return DEFAULT_ANALYSIS_MODE;
+    }
+
+    private static JdkTypeSolver readJdkTypeSolver(Properties properties) {
+        String value = properties.getProperty(JDK_TYPE_SOLVER);
+        if (value == null || value.isBlank()) {
+            return DEFAULT_JDK_TYPE_SOLVER;
+        }
+        for (JdkTypeSolver solver : JdkTypeSolver.values()) {
+            if (solver.name().equalsIgnoreCase(value.trim())) {
+                return solver;
+            }
+        }
+        logger.warn("Ignoring {}={}: expected jrt or reflection", JDK_TYPE_SOLVER, value);
+        return DEFAULT_JDK_TYPE_SOLVER;
+    }
+
+    private static DiagramFormat readRenderFormat(Properties properties) {
+        String value = properties.getProperty(RENDER_FORMAT);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (DiagramFormat format : DiagramFormat.values()) {
+            if (format.name().equalsIgnoreCase(value.trim().replace('-', '_'))) {
+                return format;
+            }
+        }
+        logger.warn("Ignoring {}={}: expected png, svg, both or lazy_png", RENDER_FORMAT, value);
+        return null;
+    }
+
+    private static int readInt(Properties properties, String key, int defaultValue, int minValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < minValue) {
+                logger.warn("Ignoring {}={}: value must be at least {}", key, value, minValue);
+                return defaultValue;
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring {}={}: not a number", key, value);
+            return defaultValue;
+        }
+    }
+
+    private static boolean readBoolean(Properties properties, String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        String trimmed = value.trim();
+        if (trimmed.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (trimmed.equalsIgnoreCase("false")) {
+            return false;
+        }
+        logger.warn("Ignoring {}={}: expected true or false", key, value);
+        return defaultValue;
+    }
+
+    /**
+     * The ways JDK types can be resolved.
+     */
+    public enum JdkTypeSolver {
+        /** Read class files from the {@code jrt:/} file system of a JDK. */
+        JRT,
+        /** Load classes into the tool's own JVM. */
+        REFLECTION
+    }
+
+    /**
+     * The ways the targets of calls and field accesses can be determined.
+     */
+    public enum AnalysisMode {
+        /** Resolve types with the symbol solver, across files and libraries. */
+        FULL,
+        /** Infer types from the declarations and imports of each file alone. */
+        FAST
+    }
+
+    /**
+     * The image formats diagrams can be rendered in. The pages of a
+     * generation process link to the image with the {@link #getImageSuffix()
+     * suffix} of the format.
+     */
+    public enum DiagramFormat {
+        /** Raster images only. */
+        PNG,
+        /** Vector images only; the fastest to render and the smallest. */
+        SVG,
+        /** Vector and raster images; pages link to the vector images. */
+        BOTH,
+        /** Vector images; raster images are rendered when first asked for. */
+        LAZY_PNG;
+
+        /**
+         * Checks whether SVG images are rendered.
+         *
+         * @return {@code true} for all formats but {@link #PNG}.
+         */
+        public boolean rendersSvg() {
+            return this != PNG;
+        }
+
+        /**
+         * Checks whether PNG images are rendered along with the diagrams.
+         *
+         * @return {@code true} for {@link #PNG} and {@link #BOTH}.
+         */
+        public boolean rendersPng() {
+            return this == PNG || this == BOTH;
+        }
+
+        /**
+         * Gets the file suffix of the image that pages link to.
+         *
+         * @return {@code .png} for {@link #PNG}, {@code .svg} otherwise.
+         */
+        public String getImageSuffix() {
+            return this == PNG ? ".png" : ".svg";
+        }
+    }
+}
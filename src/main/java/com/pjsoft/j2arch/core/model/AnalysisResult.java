@@ -0,0 +1,178 @@
+package com.pjsoft.j2arch.core.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Represents the outcome of analyzing a project once.
+ *
+ * A single analysis result is produced per run and handed to every generator
+ * (class, sequence, package and javadoc), so the source files are parsed and
+ * resolved only once.
+ *
+ * Responsibilities:
+ * - Hold the parsed {@link CodeEntity} objects in their parse order.
+ * - Group the entities into {@link PackageEntity} objects, member types into
+ * the package of their enclosing type.
+ * - Index the entities by their fully qualified name, the packages by name
+ * and the methods by their signature, for constant-time lookups.
+ * - Build the {@link CallGraph} of the entities on first use.
+ *
+ * Limitations:
+ * - The collections are read-only, but the entities themselves remain mutable
+ * so generators can attach diagram paths to them.
+ * - The entities are indexed as given; their relationships keep whatever
+ * targets the analysis gave them, parsed classes or {@link SymbolTable}
+ * handles.
+ * - The call graph does not see relationships added after its first use.
+ *
+ * Usage Example:
+ * {@code
+ * AnalysisResult result = new AnalysisResult(codeEntities);
+ * Map<String, PackageEntity> packages = result.getPackages();
+ * Optional<CodeEntity> entity = result.findEntity("com.example.ClassA");
+ * Optional<MethodEntity> method = result.findMethod("com.example.ClassA", "run", List.of("int count"));
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class AnalysisResult {
+
+    private final List<CodeEntity> codeEntities; // Parsed classes in parse order
+    private final Map<String, PackageEntity> packages; // Package name to package entity
+    private final Map<String, CodeEntity> entitiesByName; // Fully qualified name to class
+    private final Map<String, MethodEntity> methodsBySignature; // Class, name and parameters to method
+    private CallGraph callGraph; // Built on first use
+
+    /**
+     * Creates an analysis result from the parsed entities.
+     *
+     * @param codeEntities The parsed classes, in parse order.
+     */
+    public AnalysisResult(List<CodeEntity> codeEntities) {
+        this.codeEntities = Collections.unmodifiableList(new ArrayList<>(codeEntities));
+
+        Map<String, PackageEntity> packageMap = new LinkedHashMap<>();
+        Map<String, CodeEntity> nameIndex = new HashMap<>();
+        Map<String, String> packageNames = new HashMap<>(); // Class name to package name
+        for (CodeEntity codeEntity : codeEntities) {
+            // A member type belongs to the package of its enclosing type, which is parsed before it
+            String enclosingName = codeEntity.getEnclosingEntityName();
+            String packageName = enclosingName != null && packageNames.containsKey(enclosingName)
+                    ? packageNames.get(enclosingName)
+                    : extractPackageName(codeEntity.getName());
+            packageNames.putIfAbsent(codeEntity.getName(), packageName);
+            packageMap.computeIfAbsent(packageName, PackageEntity::new).addClass(codeEntity);
+            nameIndex.putIfAbsent(codeEntity.getName(), codeEntity);
+        }
+        this.packages = Collections.unmodifiableMap(packageMap);
+        this.entitiesByName = nameIndex;
+
+        Map<String, MethodEntity> methodIndex = new HashMap<>();
+        for (CodeEntity codeEntity : nameIndex.values()) {
+            for (MethodEntity method : codeEntity.getMethods()) {
+                methodIndex.putIfAbsent(signatureOf(codeEntity.getName(), method.getName(), method.getParameters()),
+                        method);
+            }
+        }
+        this.methodsBySignature = methodIndex;
+    }
+
+    /**
+     * Gets the parsed classes in parse order.
+     *
+     * @return A read-only list of {@link CodeEntity} objects.
+     */
+    public List<CodeEntity> getCodeEntities() {
+        return codeEntities;
+    }
+
+    /**
+     * Gets the parsed classes grouped by package.
+     *
+     * @return A read-only map of package names to {@link PackageEntity} objects.
+     */
+    public Map<String, PackageEntity> getPackages() {
+        return packages;
+    }
+
+    /**
+     * Finds a parsed class by its fully qualified name.
+     *
+     * @param fullyQualifiedName The fully qualified name of the class.
+     * @return The matching {@link CodeEntity}, or an empty optional if the class
+     *         was not parsed.
+     */
+    public Optional<CodeEntity> findEntity(String fullyQualifiedName) {
+        return Optional.ofNullable(entitiesByName.get(fullyQualifiedName));
+    }
+
+    /**
+     * Finds a package by its name.
+     *
+     * @param packageName The package name, empty for the default package.
+     * @return The matching {@link PackageEntity}, or an empty optional if no
+     *         parsed class is in the package.
+     */
+    public Optional<PackageEntity> findPackage(String packageName) {
+        return Optional.ofNullable(packages.get(packageName));
+    }
+
+    /**
+     * Finds a method of a parsed class by its signature.
+     *
+     * @param fullyQualifiedName The fully qualified name of the class.
+     * @param methodName         The method name.
+     * @param parameters         The parameters as declared, such as
+     *                           {@code "int count"}.
+     * @return The matching {@link MethodEntity}, or an empty optional if the
+     *         class or method was not parsed.
+     */
+    public Optional<MethodEntity> findMethod(String fullyQualifiedName, String methodName, List<String> parameters) {
+        return Optional.ofNullable(methodsBySignature.get(signatureOf(fullyQualifiedName, methodName, parameters)));
+    }
+
+    /**
+     * Gets the call graph of the parsed classes, building it on the first call.
+     *
+     * @return The {@link CallGraph} indexed by caller method.
+     * @since 1.3
+     */
+    public synchronized CallGraph getCallGraph() {
+        if (callGraph == null) {
+            callGraph = CallGraph.build(this);
+        }
+        return callGraph;
+    }
+
+    /**
+     * Gets the number of parsed classes.
+     *
+     * @return The number of classes.
+     */
+    public int size() {
+        return codeEntities.size();
+    }
+
+    private static String signatureOf(String className, String methodName, List<String> parameters) {
+        return className + '#' + methodName + parameters;
+    }
+
+    /**
+     * Extracts the package name from a fully qualified class name.
+     *
+     * @param fullyQualifiedName The fully qualified name of the class.
+     * @return The package name, or an empty string for the default package.
+     */
+    private static String extractPackageName(String fullyQualifiedName) {
+        int lastDotIndex = fullyQualifiedName.lastIndexOf('.');
+        return (lastDotIndex == -1) ? "" : fullyQualifiedName.substring(0, lastDotIndex);
+    }
+}
@@ -0,0 +1,208 @@
+package com.pjsoft.j2arch.core.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CallGraph
+ *
+ * The caller-callee relationships of an analysis result, indexed by caller
+ * method. Every method that calls something gets an integer ID and an array
+ * of its calls, so following the calls of a method costs time proportional to
+ * their number instead of a scan over all relationships of its class.
+ *
+ * Responsibilities:
+ * - Number the calling methods of the parsed classes.
+ * - Keep the calls of each method in the order of the class's relationships.
+ * - Link each call to the parsed class it targets and to the ID of the called
+ * method, if that method calls something itself.
+ *
+ * Limitations:
+ * - A method is identified by its class and its name, return type and
+ * parameters, as {@link MethodEntity#equals(Object)} compares them. Called
+ * methods are only linked when the call's method handle equals a calling
+ * method in that sense.
+ * - The graph is a snapshot; relationships added afterwards are not seen.
+ *
+ * Thread Safety:
+ * - This class is immutable and therefore thread-safe.
+ *
+ * Usage Example:
+ * {@code
+ * CallGraph callGraph = analysisResult.getCallGraph();
+ * int methodId = callGraph.findMethod(codeEntity, method);
+ * for (int call : callGraph.getCalls(methodId)) {
+ *     System.out.println(callGraph.getCalleeName(call) + "." + callGraph.getCalleeMethod(call).getName());
+ * }
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public final class CallGraph {
+    private static final int[] NO_CALLS = new int[0];
+
+    private final Map<CodeEntity, Map<MethodEntity, Integer>> methodIds; // Class (by identity) and method to ID
+    private final int[][] calls; // Method ID to the IDs of its calls
+    private final String[] calleeNames; // Call ID to the name of the called class
+    private final CodeEntity[] callees; // Call ID to the called class, null if not parsed
+    private final MethodEntity[] calleeMethods; // Call ID to the called method
+    private final int[] calleeMethodIds; // Call ID to the ID of the called method, -1 if it calls nothing
+
+    private CallGraph(Map<CodeEntity, Map<MethodEntity, Integer>> methodIds, int[][] calls, String[] calleeNames,
+            CodeEntity[] callees, MethodEntity[] calleeMethods, int[] calleeMethodIds) {
+        this.methodIds = methodIds;
+        this.calls = calls;
+        this.calleeNames = calleeNames;
+        this.callees = callees;
+        this.calleeMethods = calleeMethods;
+        this.calleeMethodIds = calleeMethodIds;
+    }
+
+    /**
+     * Builds the call graph of an analysis result. The called classes are
+     * looked up by name in the result.
+     *
+     * @param analysisResult the result of analyzing the project.
+     * @return the call graph.
+     * @since 1.3
+     */
+    public static CallGraph build(AnalysisResult analysisResult) {
+        Map<CodeEntity, Map<MethodEntity, Integer>> methodIds = new IdentityHashMap<>();
+        List<List<Relative>> callsByMethod = new ArrayList<>();
+        int callCount = 0;
+        for (CodeEntity codeEntity : analysisResult.getCodeEntities()) {
+            for (Relative relative : codeEntity.getRelatives()) {
+                if (relative.getRelationshipType() != Relative.RelationshipType.CALLER_CALLEE
+                        || relative.getCallerMethodEntity() == null) {
+                    continue;
+                }
+                Integer methodId = methodIds.computeIfAbsent(codeEntity, key -> new HashMap<>())
+                        .computeIfAbsent(relative.getCallerMethodEntity(), key -> {
+                            callsByMethod.add(new ArrayList<>());
+                            return callsByMethod.size() - 1;
+                        });
+                callsByMethod.get(methodId).add(relative);
+                callCount++;
+            }
+        }
+
+        int[][] calls = new int[callsByMethod.size()][];
+        String[] calleeNames = new String[callCount];
+        CodeEntity[] callees = new CodeEntity[callCount];
+        MethodEntity[] calleeMethods = new MethodEntity[callCount];
+        int[] calleeMethodIds = new int[callCount];
+        int callId = 0;
+        for (int methodId = 0; methodId < calls.length; methodId++) {
+            List<Relative> methodCalls = callsByMethod.get(methodId);
+            calls[methodId] = new int[methodCalls.size()];
+            for (int i = 0; i < methodCalls.size(); i++) {
+                Relative relative = methodCalls.get(i);
+                calleeNames[callId] = relative.getCalleeEntity().getName();
+                callees[callId] = analysisResult.findEntity(calleeNames[callId]).orElse(null);
+                calleeMethods[callId] = relative.getCalleeMethodEntity();
+                calls[methodId][i] = callId++;
+            }
+        }
+        // Link the calls to the called methods once all methods are numbered
+        for (int id = 0; id < callCount; id++) {
+            Map<MethodEntity, Integer> calleeIds = callees[id] != null ? methodIds.get(callees[id]) : null;
+            Integer calleeMethodId = calleeIds != null ? calleeIds.get(calleeMethods[id]) : null;
+            calleeMethodIds[id] = calleeMethodId != null ? calleeMethodId : -1;
+        }
+        return new CallGraph(methodIds, calls, calleeNames, callees, calleeMethods, calleeMethodIds);
+    }
+
+    /**
+     * Finds the ID of a calling method.
+     *
+     * @param codeEntity the class declaring the method.
+     * @param method     the method.
+     * @return the method ID, or {@code -1} if the method calls nothing.
+     * @since 1.3
+     */
+    public int findMethod(CodeEntity codeEntity, MethodEntity method) {
+        Map<MethodEntity, Integer> ids = methodIds.get(codeEntity);
+        Integer methodId = ids != null ? ids.get(method) : null;
+        return methodId != null ? methodId : -1;
+    }
+
+    /**
+     * Gets the calls of a method, in the order of its class's relationships.
+     *
+     * @param methodId the method ID, or {@code -1}.
+     * @return the call IDs; empty for {@code -1}. The array must not be modified.
+     * @since 1.3
+     */
+    public int[] getCalls(int methodId) {
+        return methodId < 0 ? NO_CALLS : calls[methodId];
+    }
+
+    /**
+     * Gets the fully qualified name of the class a call targets.
+     *
+     * @param callId the call ID.
+     * @return the name of the called class.
+     * @since 1.3
+     */
+    public String getCalleeName(int callId) {
+        return calleeNames[callId];
+    }
+
+    /**
+     * Gets the parsed class a call targets.
+     *
+     * @param callId the call ID.
+     * @return the called class, or {@code null} if it was not parsed.
+     * @since 1.3
+     */
+    public CodeEntity getCallee(int callId) {
+        return callees[callId];
+    }
+
+    /**
+     * Gets the method a call targets.
+     *
+     * @param callId the call ID.
+     * @return the called method.
+     * @since 1.3
+     */
+    public MethodEntity getCalleeMethod(int callId) {
+        return calleeMethods[callId];
+    }
+
+    /**
+     * Gets the ID of the method a call targets.
+     *
+     * @param callId the call ID.
+     * @return the ID of the called method, or {@code -1} if it calls nothing.
+     * @since 1.3
+     */
+    public int getCalleeMethodId(int callId) {
+        return calleeMethodIds[callId];
+    }
+
+    /**
+     * Gets the number of calling methods.
+     *
+     * @return the number of method IDs.
+     * @since 1.3
+     */
+    public int getMethodCount() {
+        return calls.length;
+    }
+
+    /**
+     * Gets the number of calls.
+     *
+     * @return the number of call IDs.
+     * @since 1.3
+     */
+    public int getCallCount() {
+        return calleeNames.length;
+    }
+}
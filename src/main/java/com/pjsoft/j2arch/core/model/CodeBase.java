@@ -1,13 +1,19 @@
 package com.pjsoft.j2arch.core.model;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class CodeBase {
     private List<CodeEntity> classes;
+    private final Map<String, CodeEntity> classesByName = new HashMap<>(); // Name to first class of that name
 
     public CodeBase(List<CodeEntity> classes) {
         this.classes = classes;
+        for (CodeEntity codeEntity : classes) {
+            classesByName.putIfAbsent(codeEntity.getName(), codeEntity);
+        }
     }
 
     public List<CodeEntity> getClasses() {
@@ -15,9 +21,8 @@ public class CodeBase {
     }
 
     public Optional<CodeEntity> findClassByName(String name) {
-        return classes.stream().filter(c -> c.getName().equals(name)).findFirst();
+        return Optional.ofNullable(classesByName.get(name));
     }
 
     // More helper methods can be added as needed...
 }
-
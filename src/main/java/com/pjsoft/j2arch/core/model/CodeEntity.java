@@ -12,7 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Represents a Java class or interface.
+ * Represents a Java type: a class, interface, enum, record or annotation type.
  * 
  * This class encapsulates the details of a Java entity, including its name,
  * methods, fields, annotations, constructors, and relationships with other entities.
@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
  * 
  * Responsibilities:
  * - Encapsulates the details of a Java class or interface.
+ * - Links a member type to the type it is nested in.
  * - Manages methods, fields, annotations, constructors, and relationships associated with the entity.
  * - Supports equality checks, hash code generation, and string representation.
  * - Provides thread-safe access to methods, fields, and relationships.
@@ -56,6 +57,7 @@ public class CodeEntity implements Serializable {
     private final List<MethodEntity> constructors = new ArrayList<>(); // List of constructors
     private final List<String> annotations = new ArrayList<>(); // List of annotations
     private String classDiagram; // Path to the class diagram (optional)
+    private String enclosingEntityName; // Type this member type is nested in, null for top-level types
     private boolean isEntryPoint; // Indicates if this class is an entry point
     private String entryPointType;
     
@@ -102,6 +104,28 @@ public class CodeEntity implements Serializable {
         return name;
     }
 
+    /**
+     * Gets the fully qualified name of the type this type is nested in.
+     * 
+     * @return the name of the enclosing type, or {@code null} for a top-level
+     *         type.
+     * @since 1.3
+     */
+    public String getEnclosingEntityName() {
+        return enclosingEntityName;
+    }
+
+    /**
+     * Sets the fully qualified name of the type this type is nested in.
+     * 
+     * @param enclosingEntityName the name of the enclosing type, or {@code null}
+     *                            for a top-level type.
+     * @since 1.3
+     */
+    public void setEnclosingEntityName(String enclosingEntityName) {
+        this.enclosingEntityName = enclosingEntityName;
+    }
+
     /**
      * Gets the path to the class diagram.
      * 
@@ -1,5 +1,6 @@
 package com.pjsoft.j2arch.core.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -36,11 +37,12 @@ import java.util.Objects;
  * Version: 1.2
  * Since: 1.0
  */
-public class FieldEntity implements Comparable<FieldEntity> {
+public class FieldEntity implements Comparable<FieldEntity>, Serializable {
+    private static final long serialVersionUID = 1L;
     private String name; // The name of the field
     private String type; // The type of the field
     private String visibility; // The visibility of the field (e.g., public, private)
-    private final List<String> annotations = new ArrayList<>(); // List of annotations applied to the field
+    private final ArrayList<String> annotations = new ArrayList<>(); // List of annotations applied to the field
 
     /**
      * Constructs a new FieldEntity with the specified name and type.
@@ -1,5 +1,6 @@
 package com.pjsoft.j2arch.core.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -43,14 +44,15 @@ import java.util.Objects;
  * Version: 1.2
  * Since: 1.0
  */
-public class MethodEntity implements Comparable<MethodEntity> {
+public class MethodEntity implements Comparable<MethodEntity>, Serializable {
+    private static final long serialVersionUID = 1L;
     private String name; // The name of the method
     private String returnType; // The return type of the method
-    private List<String> parameters; // The list of parameter types
+    private ArrayList<String> parameters; // The list of parameter types
     private String visibility; // The visibility of the method (e.g., public, private)
-    private final List<MethodEntity> constructors = new ArrayList<>(); // List of constructors associated with the
+    private final ArrayList<MethodEntity> constructors = new ArrayList<>(); // List of constructors associated with the
                                                                        // method
-    private final List<String> annotations = new ArrayList<>(); // List of annotations applied to the method
+    private final ArrayList<String> annotations = new ArrayList<>(); // List of annotations applied to the method
 
     /**
      * Constructs a new MethodEntity with the specified name and return type.
@@ -96,13 +98,14 @@ public class MethodEntity implements Comparable<MethodEntity> {
     }
 
     /**
-     * Sets the list of parameter types for the method.
+     * Sets the list of parameter types for the method. The method keeps a
+     * copy of the list.
      * 
      * @param parameters the list of parameter types to set.
      * @since 1.1
      */
     public void setParameters(List<String> parameters) {
-        this.parameters = parameters;
+        this.parameters = new ArrayList<>(parameters);
     }
 
     /**
@@ -0,0 +1,129 @@
+package com.pjsoft.j2arch.core.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Represents the result of parsing one Java source file.
+ *
+ * Besides the extracted {@link CodeEntity} objects, a parsed source records which
+ * types the file declares and which project types were looked up while its
+ * symbols were resolved. The analysis cache uses this to decide which files
+ * must be parsed again when other files change.
+ *
+ * Responsibilities:
+ * - Hold a {@link CodeEntity} for every top-level and member type extracted
+ * from the file, outer types before the types nested in them.
+ * - Record the fully qualified names of the types declared in the file.
+ * - Record the project type names the file depends on, including names that
+ * could not be resolved.
+ *
+ * Limitations:
+ * - A file whose parsing failed is reported as failed and must not be cached.
+ *
+ * Usage Example:
+ * {@code
+ * ParsedSource source = new ParsedSource(path, entities, declaredTypes, dependencies);
+ * if (!source.isFailed()) {
+ *     allEntities.addAll(source.getCodeEntities());
+ * }
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class ParsedSource implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String filePath; // Absolute path of the source file
+    private final ArrayList<CodeEntity> codeEntities; // Extracted types, empty if the file was skipped
+    private final TreeSet<String> declaredTypes; // Types declared in the file
+    private final TreeSet<String> dependencies; // Project type names looked up while resolving
+    private final boolean failed; // True if the file could not be parsed
+
+    /**
+     * Creates the result of a successfully parsed file.
+     *
+     * @param filePath      The absolute path of the source file.
+     * @param codeEntities  The extracted types, outer types first; empty if the
+     *                      file was skipped.
+     * @param declaredTypes The fully qualified names of the declared types.
+     * @param dependencies  The project type names looked up while resolving.
+     */
+    public ParsedSource(String filePath, List<CodeEntity> codeEntities, Set<String> declaredTypes,
+            Set<String> dependencies) {
+        this(filePath, codeEntities, declaredTypes, dependencies, false);
+    }
+
+    private ParsedSource(String filePath, List<CodeEntity> codeEntities, Set<String> declaredTypes,
+            Set<String> dependencies, boolean failed) {
+        this.filePath = filePath;
+        this.codeEntities = new ArrayList<>(codeEntities);
+        this.declaredTypes = new TreeSet<>(declaredTypes);
+        this.dependencies = new TreeSet<>(dependencies);
+        this.failed = failed;
+    }
+
+    /**
+     * Creates the result of a file that could not be parsed.
+     *
+     * @param filePath The absolute path of the source file.
+     * @return A failed parse result.
+     */
+    public static ParsedSource failed(String filePath) {
+        return new ParsedSource(filePath, Collections.emptyList(), Collections.emptySet(), Collections.emptySet(),
+                true);
+    }
+
+    /**
+     * Gets the absolute path of the source file.
+     *
+     * @return The file path.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Gets the types extracted from the file.
+     *
+     * @return A read-only list of {@link CodeEntity} objects, outer types before
+     *         the types nested in them; empty if the file was skipped or could
+     *         not be parsed.
+     */
+    public List<CodeEntity> getCodeEntities() {
+        return Collections.unmodifiableList(codeEntities);
+    }
+
+    /**
+     * Gets the fully qualified names of the types declared in the file.
+     *
+     * @return A sorted, read-only set of type names.
+     */
+    public Set<String> getDeclaredTypes() {
+        return Collections.unmodifiableSet(declaredTypes);
+    }
+
+    /**
+     * Gets the project type names looked up while resolving the file.
+     *
+     * @return A sorted, read-only set of type names.
+     */
+    public Set<String> getDependencies() {
+        return Collections.unmodifiableSet(dependencies);
+    }
+
+    /**
+     * Checks whether the file could not be parsed.
+     *
+     * @return {@code true} if parsing failed.
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+}
@@ -1,5 +1,7 @@
 package com.pjsoft.j2arch.core.model;
 
+import java.io.Serializable;
+
 /**
  * Represents a relationship between two code entities in a UML diagram.
  * 
@@ -12,12 +14,15 @@ package com.pjsoft.j2arch.core.model;
  * - Encapsulates the details of a relationship, including its type, source, and
  * target.
  * - Supports relationships involving methods (e.g., caller-callee).
+ * - Tells whether the target was resolved or inferred heuristically.
  * - Converts relationships into PlantUML syntax for diagram generation.
  * 
  * Limitations:
  * - Assumes that the source and target entities are valid and have fully
  * qualified names.
  * - Does not validate the correctness of the relationship type or entities.
+ * - The target entity is shared with the other relationships of the run and
+ * must not be modified through a relationship.
  * 
  * Usage Example:
  * {@code
@@ -38,7 +43,8 @@ package com.pjsoft.j2arch.core.model;
  * Version: 1.1
  * Since: 1.0
  */
-public class Relative {
+public class Relative implements Serializable {
+    private static final long serialVersionUID = 1L;
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(Relative.class);
 
     /**
@@ -56,6 +62,7 @@ public class Relative {
     private String calleeMethod; // The method being called in the callee (if applicable)
     private String callerMethod; // The method in the current class initiating the relationship (if applicable)
     private String details = ""; // Additional details about the relationship
+    private boolean heuristic; // Whether the target was inferred without the symbol solver
 
     private MethodEntity callerMethodEntity;
     private MethodEntity calleeMethodEntity;
@@ -96,6 +103,27 @@ public class Relative {
         this.details = details;
     }
 
+    /**
+     * Checks whether the target of the relationship was inferred heuristically,
+     * as in the fast analysis mode, rather than resolved by the symbol solver.
+     * 
+     * @return {@code true} if the relationship is heuristic.
+     * @since 1.3
+     */
+    public boolean isHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Sets whether the target of the relationship was inferred heuristically.
+     * 
+     * @param heuristic {@code true} if the relationship is heuristic.
+     * @since 1.3
+     */
+    public void setHeuristic(boolean heuristic) {
+        this.heuristic = heuristic;
+    }
+
     /**
      * Constructs a new Relative object for relationships without methods.
      * 
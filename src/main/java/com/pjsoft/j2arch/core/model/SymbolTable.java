@@ -0,0 +1,114 @@
+package com.pjsoft.j2arch.core.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SymbolTable
+ *
+ * Hands out the canonical handles that relationships use for their targets:
+ * one {@link CodeEntity} per fully qualified type name and one
+ * {@link MethodEntity} per called method signature. Without it, every
+ * relationship would create its own target entity, with its own empty
+ * collections, although most relationships of a project point at the same
+ * few types and methods.
+ *
+ * Responsibilities:
+ * - Return the same type handle for every request with the same fully
+ * qualified name.
+ * - Return the same method handle for every request with the same type,
+ * method name and argument types.
+ * - Count how often handles were shared instead of created.
+ *
+ * Limitations:
+ * - The handles only carry names and argument types. They are replaced by the
+ * parsed entities when an {@link AnalysisResult} is built.
+ * - Handles are shared, so they must not be modified.
+ *
+ * Thread Safety:
+ * - This class is thread-safe; all parser workers of a run share one table.
+ *
+ * Usage Example:
+ * {@code
+ * SymbolTable symbolTable = new SymbolTable();
+ * CodeEntity callee = symbolTable.getType("com.example.ClassB");
+ * MethodEntity calleeMethod = symbolTable.getMethod("com.example.ClassB", "run", List.of("int"));
+ * codeEntity.addRelative(new Relative(Relative.RelationshipType.CALLER_CALLEE, callee, calleeMethod, caller));
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class SymbolTable {
+
+    private final Map<String, CodeEntity> types = new ConcurrentHashMap<>(); // Fully qualified name to handle
+    private final Map<String, MethodEntity> methods = new ConcurrentHashMap<>(); // Signature to handle
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * Gets the handle of a type.
+     *
+     * @param qualifiedName the fully qualified name of the type.
+     * @return the shared handle of the type.
+     * @throws IllegalArgumentException if the name is null or empty.
+     * @since 1.3
+     */
+    public CodeEntity getType(String qualifiedName) {
+        requests.increment();
+        CodeEntity type = types.get(qualifiedName);
+        return type != null ? type : types.computeIfAbsent(qualifiedName, CodeEntity::new);
+    }
+
+    /**
+     * Gets the handle of a called method. Methods are told apart by their
+     * type, name and argument types, so that overloads get their own handles.
+     *
+     * @param typeName       the fully qualified name of the method's type.
+     * @param methodName     the method name.
+     * @param parameterTypes the types of the arguments of the call.
+     * @return the shared handle of the method, without return type.
+     * @since 1.3
+     */
+    public MethodEntity getMethod(String typeName, String methodName, List<String> parameterTypes) {
+        requests.increment();
+        String signature = typeName + '#' + methodName + parameterTypes;
+        return methods.computeIfAbsent(signature, key -> {
+            MethodEntity method = new MethodEntity(methodName, ""); // Return type unknown at the call
+            method.setParameters(parameterTypes);
+            return method;
+        });
+    }
+
+    /**
+     * Gets the number of type handles in the table.
+     *
+     * @return the number of distinct types.
+     * @since 1.3
+     */
+    public int getTypeCount() {
+        return types.size();
+    }
+
+    /**
+     * Gets the number of method handles in the table.
+     *
+     * @return the number of distinct method signatures.
+     * @since 1.3
+     */
+    public int getMethodCount() {
+        return methods.size();
+    }
+
+    /**
+     * Gets the number of handles requested, shared or not.
+     *
+     * @return the number of requests.
+     * @since 1.3
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+}
@@ -0,0 +1,107 @@
+package com.pjsoft.j2arch.core.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Represents the outcome of a tiered project analysis.
+ *
+ * The structural result is available as soon as the source files are parsed,
+ * while the calls are still being resolved in the background. Class diagrams
+ * can be rendered from the structure at once; sequence diagrams wait for the
+ * call graph.
+ *
+ * Responsibilities:
+ * - Hold the structural {@link AnalysisResult}: everything but the
+ * caller-callee relationships.
+ * - Add the caller-callee relationships to the structure's entities once
+ * their background analysis has finished, and hand out the complete
+ * {@link AnalysisResult}.
+ *
+ * Thread Safety:
+ * - This class is thread-safe; the call graph may be awaited from any thread.
+ * - The relationships are added on the first thread that awaits them, so the
+ * structure must not be read concurrently with that call.
+ *
+ * Usage Example:
+ * {@code
+ * TieredAnalysis analysis = projectAnalyzer.analyzeTiered(context, progressTracker);
+ * classDiagramService.generateClassDiagramByPackage(analysis.getStructure().getPackages(), context, progressTracker);
+ * List<CodeEntity> entities = analysis.awaitCallGraph().getCodeEntities();
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class TieredAnalysis {
+
+    private final AnalysisResult structure; // Result of the structural tier
+    private final Future<Map<CodeEntity, List<Relative>>> callRelatives; // Calls of the call graph tier, still running
+    private AnalysisResult callGraph; // Complete result, set once the calls are added
+
+    /**
+     * Creates a tiered analysis result.
+     *
+     * @param structure     The result of the structural tier.
+     * @param callRelatives The pending caller-callee relationships of the
+     *                      structure's entities, keyed by identity.
+     */
+    public TieredAnalysis(AnalysisResult structure, Future<Map<CodeEntity, List<Relative>>> callRelatives) {
+        this.structure = structure;
+        this.callRelatives = callRelatives;
+    }
+
+    /**
+     * Gets the result of the structural tier. Its entities have no
+     * caller-callee relationships until {@link #awaitCallGraph()} has
+     * returned.
+     *
+     * @return The structural analysis result.
+     */
+    public AnalysisResult getStructure() {
+        return structure;
+    }
+
+    /**
+     * Checks whether the call graph tier has finished.
+     *
+     * @return {@code true} if {@link #awaitCallGraph()} returns without
+     *         waiting.
+     */
+    public boolean isCallGraphDone() {
+        return callRelatives.isDone();
+    }
+
+    /**
+     * Waits for the call graph tier and adds its caller-callee relationships to
+     * the structure's entities on the first call.
+     *
+     * @return The complete analysis result.
+     * @throws RuntimeException if the call graph analysis failed or the wait was
+     *                          interrupted.
+     */
+    public synchronized AnalysisResult awaitCallGraph() {
+        if (callGraph != null) {
+            return callGraph;
+        }
+        try {
+            Map<CodeEntity, List<Relative>> relativesByEntity = callRelatives.get();
+            for (CodeEntity codeEntity : structure.getCodeEntities()) {
+                List<Relative> relatives = relativesByEntity.get(codeEntity);
+                if (relatives != null) {
+                    relatives.forEach(codeEntity::addRelative);
+                }
+            }
+            callGraph = new AnalysisResult(structure.getCodeEntities());
+            return callGraph;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Call graph analysis was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Call graph analysis failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+
+/**
+ * DependencyRecordingTypeSolver
+ *
+ * A {@link TypeSolver} that records which project types are looked up while a
+ * file is being resolved. The recorded names tell the analysis cache which
+ * files have to be parsed again when a type changes.
+ *
+ * Responsibilities:
+ * - Becomes the root of the wrapped type solver so that every lookup passes
+ * through it.
+ * - Records the names of types declared in source code, and of types that
+ * could not be resolved at all, between {@link #startRecording()} and
+ * {@link #stopRecording()}.
+ *
+ * Library types are not recorded; they can only change through the libraries
+ * themselves, which invalidates the whole cache.
+ *
+ * Thread Safety:
+ * - This class is not thread-safe. Each parser worker owns its own instance.
+ *
+ * Usage Example:
+ * {@code
+ * DependencyRecordingTypeSolver typeSolver = DependencyRecordingTypeSolver.wrap(workerTypeSolver);
+ * typeSolver.startRecording();
+ * // resolve symbols of one file
+ * Set<String> dependencies = typeSolver.stopRecording();
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class DependencyRecordingTypeSolver implements TypeSolver {
+    private final TypeSolver delegate;
+    private TypeSolver parent;
+    private Set<String> recordedTypes; // Null while not recording
+
+    private DependencyRecordingTypeSolver(TypeSolver delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the given type solver and makes the recording solver its parent.
+     *
+     * @param delegate the type solver to record lookups for.
+     * @return the recording solver.
+     * @since 1.3
+     */
+    public static DependencyRecordingTypeSolver wrap(TypeSolver delegate) {
+        DependencyRecordingTypeSolver recordingSolver = new DependencyRecordingTypeSolver(delegate);
+        delegate.setParent(recordingSolver);
+        return recordingSolver;
+    }
+
+    /**
+     * Starts recording the looked up project types, discarding any previous
+     * recording.
+     *
+     * @since 1.3
+     */
+    public void startRecording() {
+        recordedTypes = new HashSet<>();
+    }
+
+    /**
+     * Stops recording and returns the recorded type names.
+     *
+     * @return the names recorded since {@link #startRecording()}.
+     * @since 1.3
+     */
+    public Set<String> stopRecording() {
+        Set<String> recorded = recordedTypes != null ? recordedTypes : Collections.emptySet();
+        recordedTypes = null;
+        return recorded;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        SymbolReference<ResolvedReferenceTypeDeclaration> reference = delegate.tryToSolveType(name);
+        if (recordedTypes != null && (!reference.isSolved() || isSourceDeclaration(reference))) {
+            recordedTypes.add(name);
+        }
+        return reference;
+    }
+
+    private boolean isSourceDeclaration(SymbolReference<ResolvedReferenceTypeDeclaration> reference) {
+        return reference.getCorrespondingDeclaration().toAst().isPresent();
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        if (this.parent != null) {
+            throw new IllegalStateException("This TypeSolver already has a parent.");
+        }
+        this.parent = parent;
+    }
+}
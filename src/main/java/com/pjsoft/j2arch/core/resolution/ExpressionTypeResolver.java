@@ -0,0 +1,82 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+/**
+ * ExpressionTypeResolver
+ *
+ * Determines the types the extraction needs from a compilation unit: the
+ * types of call scopes, call arguments and field access scopes, and the types
+ * a class extends.
+ *
+ * Responsibilities:
+ * - Give the fully qualified name of the reference type of an expression.
+ * - Describe the type of an expression, including primitive, array and
+ * generic types.
+ * - Tell whether its results are resolved or inferred heuristically.
+ *
+ * Implementations:
+ * - {@link SolverTypeResolver}: resolves with the symbol solver.
+ * - {@link LexicalTypeResolver}: infers from the declarations and imports of
+ * the unit, without the symbol solver.
+ *
+ * Thread Safety:
+ * - Implementations are not required to be thread-safe. Each parser worker
+ * owns its own instance.
+ *
+ * Usage Example:
+ * {@code
+ * ExpressionTypeResolver typeResolver = new SolverTypeResolver(resolutionMemo);
+ * String calleeClassName = typeResolver.resolveTypeName(call.getScope().get());
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public interface ExpressionTypeResolver {
+
+    /**
+     * Gets the fully qualified name of the type of an expression.
+     *
+     * @param expression the expression.
+     * @return the qualified name, or {@code null} if the type is not a reference
+     *         type, such as a primitive or array type.
+     * @throws RuntimeException if the type cannot be determined.
+     * @since 1.3
+     */
+    String resolveTypeName(Expression expression);
+
+    /**
+     * Describes the type of an expression, such as {@code int} or
+     * {@code java.util.List<java.lang.String>}.
+     *
+     * @param expression the expression.
+     * @return the type description.
+     * @throws RuntimeException if the type cannot be determined.
+     * @since 1.3
+     */
+    String describeType(Expression expression);
+
+    /**
+     * Gets the fully qualified name of a type named in the source, such as an
+     * extended type.
+     *
+     * @param type the type as written in the source.
+     * @return the qualified name, or {@code null} if the type is not a reference
+     *         type.
+     * @throws RuntimeException if the type cannot be determined.
+     * @since 1.3
+     */
+    String resolveTypeName(ClassOrInterfaceType type);
+
+    /**
+     * Checks whether the results are inferred heuristically rather than
+     * resolved by the symbol solver.
+     *
+     * @return {@code true} for heuristic results.
+     * @since 1.3
+     */
+    boolean isHeuristic();
+}
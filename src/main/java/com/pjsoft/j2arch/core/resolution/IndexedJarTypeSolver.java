@@ -0,0 +1,148 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+import com.pjsoft.j2arch.core.cache.JarClassIndex;
+
+import javassist.ClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+/**
+ * IndexedJarTypeSolver
+ *
+ * A {@link TypeSolver} for all external library jars at once. Unlike one
+ * {@code JarTypeSolver} per jar, it does not read any jar up front: the
+ * {@link JarClassIndex} tells which jar holds a class, and the jar is only
+ * opened, and the class only loaded, when a type from it is resolved.
+ *
+ * Responsibilities:
+ * - Look up type names in the jar class index.
+ * - Load the class files of resolved types lazily through a Javassist
+ * {@link ClassPool}.
+ *
+ * Limitations:
+ * - Opened jars stay open for the lifetime of the solver.
+ *
+ * Thread Safety:
+ * - This class is not thread-safe. Share it through a {@link SharedTypeSolver}.
+ *
+ * Usage Example:
+ * {@code
+ * JarClassIndex index = JarClassIndex.load(cacheDirectory, jarFiles);
+ * CombinedTypeSolver libraries = new CombinedTypeSolver(new ReflectionTypeSolver(),
+ *         new IndexedJarTypeSolver(index));
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class IndexedJarTypeSolver implements TypeSolver {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(IndexedJarTypeSolver.class);
+
+    private final JarClassIndex classIndex;
+    private final ClassPool classPool = new ClassPool();
+    private final Map<String, JarFile> openJars = new HashMap<>(); // Jar path to opened jar
+    private TypeSolver parent;
+
+    /**
+     * Creates a type solver for the classes of the given index.
+     *
+     * @param classIndex the index of the library classes.
+     * @since 1.3
+     */
+    public IndexedJarTypeSolver(JarClassIndex classIndex) {
+        this.classIndex = classIndex;
+        classPool.appendClassPath(new IndexedClassPath());
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        Optional<JarClassIndex.ClassLocation> location = classIndex.findByName(name);
+        if (location.isEmpty()) {
+            return SymbolReference.unsolved();
+        }
+        try {
+            CtClass ctClass = classPool.get(location.get().getBinaryName());
+            return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass, getRoot()));
+        } catch (NotFoundException e) {
+            logger.warn("Failed to load library class {} from {}: {}", name, location.get().getJarPath(),
+                    e.getMessage());
+            return SymbolReference.unsolved();
+        }
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        if (this.parent != null) {
+            throw new IllegalStateException("This TypeSolver already has a parent.");
+        }
+        this.parent = parent;
+    }
+
+    private JarFile openJar(String jarPath) throws IOException {
+        JarFile jar = openJars.get(jarPath);
+        if (jar == null) {
+            jar = new JarFile(jarPath);
+            openJars.put(jarPath, jar);
+        }
+        return jar;
+    }
+
+    /**
+     * Class path of the class pool, reading class files from the indexed jars.
+     */
+    private final class IndexedClassPath implements ClassPath {
+
+        @Override
+        public InputStream openClassfile(String className) throws NotFoundException {
+            Optional<JarClassIndex.ClassLocation> location = classIndex.findByBinaryName(className);
+            if (location.isEmpty()) {
+                return null;
+            }
+            try {
+                JarFile jar = openJar(location.get().getJarPath());
+                ZipEntry entry = jar.getEntry(location.get().getEntryName());
+                if (entry == null) {
+                    throw new NotFoundException(className + " is no longer in " + location.get().getJarPath());
+                }
+                return jar.getInputStream(entry);
+            } catch (IOException e) {
+                throw new NotFoundException("Failed to read " + className, e);
+            }
+        }
+
+        @Override
+        public URL find(String className) {
+            return classIndex.findByBinaryName(className).map(location -> {
+                try {
+                    return URI.create("jar:" + Paths.get(location.getJarPath()).toUri() + "!/"
+                            + location.getEntryName()).toURL();
+                } catch (MalformedURLException | IllegalArgumentException e) {
+                    return null;
+                }
+            }).orElse(null);
+        }
+    }
+}
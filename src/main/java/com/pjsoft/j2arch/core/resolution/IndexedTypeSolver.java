@@ -0,0 +1,97 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.resolution.Navigator;
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+
+/**
+ * IndexedTypeSolver
+ *
+ * A {@link TypeSolver} for the project's own source files. It replaces
+ * {@code JavaParserTypeSolver}, which probes the file system for every
+ * candidate package path, with a lookup in the {@link ProjectTypeIndex} and
+ * takes the compilation units from the worker's {@link ParsedUnitRegistry}.
+ *
+ * Responsibilities:
+ * - Find the file and declaration of a type name in the index.
+ * - Resolve the declaration in the unit provided by the registry.
+ * - Remember the resolved declarations on the unit itself, so they are
+ * released together with the unit once the registry evicts it.
+ *
+ * Thread Safety:
+ * - This class is not thread-safe. Each parser worker owns its own instance.
+ *
+ * Usage Example:
+ * {@code
+ * TypeSolver projectSolver = new IndexedTypeSolver(typeIndex, unitRegistry);
+ * CombinedTypeSolver typeSolver = new CombinedTypeSolver(librarySolver, projectSolver);
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class IndexedTypeSolver implements TypeSolver {
+    private static final DataKey<Map<String, Optional<ResolvedReferenceTypeDeclaration>>> SOLVED_TYPES = new DataKey<>() {
+    };
+
+    private final ProjectTypeIndex typeIndex;
+    private final ParsedUnitRegistry unitRegistry;
+    private TypeSolver parent;
+
+    /**
+     * Creates a type solver for the indexed project types.
+     *
+     * @param typeIndex    the index of the project's types.
+     * @param unitRegistry the registry providing the compilation units.
+     * @since 1.3
+     */
+    public IndexedTypeSolver(ProjectTypeIndex typeIndex, ParsedUnitRegistry unitRegistry) {
+        this.typeIndex = typeIndex;
+        this.unitRegistry = unitRegistry;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        Optional<ProjectTypeIndex.TypeLocation> location = typeIndex.find(name);
+        if (location.isEmpty()) {
+            return SymbolReference.unsolved();
+        }
+        Optional<CompilationUnit> unit = unitRegistry.findUnit(location.get().getFile());
+        if (unit.isEmpty()) {
+            return SymbolReference.unsolved();
+        }
+        Optional<ResolvedReferenceTypeDeclaration> declaration = solvedTypesOf(unit.get())
+                .computeIfAbsent(name, key -> Navigator.findType(unit.get(), location.get().getRelativeName())
+                        .map(type -> JavaParserFacade.get(this).getTypeDeclaration(type)));
+        return declaration.map(SymbolReference::solved).orElseGet(SymbolReference::unsolved);
+    }
+
+    private static Map<String, Optional<ResolvedReferenceTypeDeclaration>> solvedTypesOf(CompilationUnit unit) {
+        if (!unit.containsData(SOLVED_TYPES)) {
+            unit.setData(SOLVED_TYPES, new HashMap<>());
+        }
+        return unit.getData(SOLVED_TYPES);
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        if (this.parent != null) {
+            throw new IllegalStateException("This TypeSolver already has a parent.");
+        }
+        this.parent = parent;
+    }
+}
@@ -0,0 +1,200 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+
+import javassist.ClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+/**
+ * JrtTypeSolver
+ *
+ * A {@link TypeSolver} for the JDK that reads class files from the
+ * {@code jrt:/} file system of a JDK instead of loading classes into the
+ * tool's own JVM, as {@code ReflectionTypeSolver} does. Resolution therefore
+ * depends on the chosen JDK rather than on the tool's runtime, and resolved
+ * types do not take up metaspace.
+ *
+ * Responsibilities:
+ * - Open the {@code jrt:/} file system of the running JDK or of a given JDK
+ * home.
+ * - Map packages to the modules containing them.
+ * - Read and cache class metadata through a Javassist {@link ClassPool}.
+ *
+ * Like {@code ReflectionTypeSolver} in its default mode, only types in the
+ * {@code java.} and {@code javax.} packages are resolved.
+ *
+ * Limitations:
+ * - A JDK home other than the running one must be a JDK 9 or later, since it
+ * needs a {@code jrt:/} file system.
+ *
+ * Thread Safety:
+ * - This class is not thread-safe. Share it through a {@link SharedTypeSolver}.
+ *
+ * Usage Example:
+ * {@code
+ * TypeSolver jdkTypeSolver = new JrtTypeSolver(null); // the running JDK
+ * TypeSolver otherJdkTypeSolver = new JrtTypeSolver("/usr/lib/jvm/jdk-17");
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class JrtTypeSolver implements TypeSolver {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(JrtTypeSolver.class);
+
+    private static final URI JRT_URI = URI.create("jrt:/");
+
+    private final FileSystem jrtFileSystem;
+    private final Map<String, List<String>> modulesByPackage; // Package name to module names
+    private final ClassPool classPool = new ClassPool();
+    private TypeSolver parent;
+
+    /**
+     * Creates a type solver for the JDK at the given home directory.
+     *
+     * @param jdkHome the JDK home directory, or {@code null} or blank for the
+     *                running JDK.
+     * @throws IllegalArgumentException if the JDK home has no {@code jrt:/}
+     *                                  file system.
+     * @since 1.3
+     */
+    public JrtTypeSolver(String jdkHome) {
+        this.jrtFileSystem = openJrtFileSystem(jdkHome);
+        this.modulesByPackage = readPackages(jrtFileSystem);
+        classPool.appendClassPath(new JrtClassPath());
+        logger.debug("JDK type solver reads {} packages from {}", modulesByPackage.size(),
+                jdkHome == null || jdkHome.isBlank() ? "the running JDK" : jdkHome);
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        if (!name.startsWith("java.") && !name.startsWith("javax.")) {
+            return SymbolReference.unsolved();
+        }
+        // Member types: the package is the longest known prefix, the rest is nested with '$'
+        for (int dot = name.lastIndexOf('.'); dot > 0; dot = name.lastIndexOf('.', dot - 1)) {
+            String packageName = name.substring(0, dot);
+            if (modulesByPackage.containsKey(packageName)) {
+                String binaryName = packageName + "." + name.substring(dot + 1).replace('.', '$');
+                try {
+                    CtClass ctClass = classPool.get(binaryName);
+                    return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass, getRoot()));
+                } catch (NotFoundException e) {
+                    return SymbolReference.unsolved();
+                }
+            }
+        }
+        return SymbolReference.unsolved();
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        if (this.parent != null) {
+            throw new IllegalStateException("This TypeSolver already has a parent.");
+        }
+        this.parent = parent;
+    }
+
+    private static FileSystem openJrtFileSystem(String jdkHome) {
+        try {
+            if (jdkHome == null || jdkHome.isBlank()) {
+                return FileSystems.getFileSystem(JRT_URI);
+            }
+            return FileSystems.newFileSystem(JRT_URI, Map.of("java.home", jdkHome));
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot open the jrt:/ file system of JDK home: " + jdkHome, e);
+        }
+    }
+
+    /**
+     * Reads the package to module mapping from the {@code /packages} directory
+     * of the jrt file system.
+     */
+    private static Map<String, List<String>> readPackages(FileSystem jrtFileSystem) {
+        Map<String, List<String>> modulesByPackage = new HashMap<>();
+        try (DirectoryStream<Path> packages = Files.newDirectoryStream(jrtFileSystem.getPath("/packages"))) {
+            for (Path packageDir : packages) {
+                List<String> modules = new ArrayList<>();
+                try (DirectoryStream<Path> moduleLinks = Files.newDirectoryStream(packageDir)) {
+                    moduleLinks.forEach(module -> modules.add(module.getFileName().toString()));
+                }
+                modulesByPackage.put(packageDir.getFileName().toString(), modules);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read the packages of the jrt:/ file system", e);
+        }
+        return modulesByPackage;
+    }
+
+    private Path findClassFile(String binaryName) {
+        int dot = binaryName.lastIndexOf('.');
+        List<String> modules = dot > 0 ? modulesByPackage.get(binaryName.substring(0, dot)) : null;
+        if (modules == null) {
+            return null;
+        }
+        String classFile = binaryName.replace('.', '/') + ".class";
+        for (String module : modules) {
+            Path path = jrtFileSystem.getPath("/modules", module, classFile);
+            if (Files.exists(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Class path of the class pool, reading class files from the jrt file
+     * system.
+     */
+    private final class JrtClassPath implements ClassPath {
+
+        @Override
+        public InputStream openClassfile(String className) throws NotFoundException {
+            Path classFile = findClassFile(className);
+            if (classFile == null) {
+                return null;
+            }
+            try {
+                return Files.newInputStream(classFile);
+            } catch (IOException e) {
+                throw new NotFoundException("Failed to read " + className, e);
+            }
+        }
+
+        @Override
+        public URL find(String className) {
+            Path classFile = findClassFile(className);
+            try {
+                return classFile != null ? classFile.toUri().toURL() : null;
+            } catch (MalformedURLException e) {
+                return null;
+            }
+        }
+    }
+}
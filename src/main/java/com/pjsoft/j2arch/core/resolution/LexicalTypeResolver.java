@@ -0,0 +1,958 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.ArrayAccessExpr;
+import com.github.javaparser.ast.expr.ArrayCreationExpr;
+import com.github.javaparser.ast.expr.AssignExpr;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.BooleanLiteralExpr;
+import com.github.javaparser.ast.expr.CastExpr;
+import com.github.javaparser.ast.expr.CharLiteralExpr;
+import com.github.javaparser.ast.expr.ClassExpr;
+import com.github.javaparser.ast.expr.ConditionalExpr;
+import com.github.javaparser.ast.expr.DoubleLiteralExpr;
+import com.github.javaparser.ast.expr.EnclosedExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.InstanceOfExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.LongLiteralExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.NullLiteralExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.PatternExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.SuperExpr;
+import com.github.javaparser.ast.expr.TextBlockLiteralExpr;
+import com.github.javaparser.ast.expr.ThisExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.nodeTypes.NodeWithTypeParameters;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.CatchClause;
+import com.github.javaparser.ast.stmt.ExpressionStmt;
+import com.github.javaparser.ast.stmt.ForEachStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.IfStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.stmt.SwitchEntry;
+import com.github.javaparser.ast.stmt.TryStmt;
+import com.github.javaparser.ast.stmt.WhileStmt;
+import com.github.javaparser.ast.type.ArrayType;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.PrimitiveType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.type.UnknownType;
+import com.github.javaparser.ast.type.VoidType;
+import com.github.javaparser.ast.type.WildcardType;
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+
+/**
+ * LexicalTypeResolver
+ *
+ * An {@link ExpressionTypeResolver} that infers types from the source of the
+ * unit alone, without the symbol solver: no other unit is parsed and no
+ * library class is loaded. It trades accuracy for speed and backs the
+ * {@code fast} analysis mode.
+ *
+ * Responsibilities:
+ * - Qualify type names through the types declared in the unit, its single-type
+ * imports, the types of its own package in the {@link ProjectTypeIndex}, its
+ * on-demand imports and {@code java.lang}.
+ * - Infer the type of a name from the nearest local variable, parameter,
+ * pattern variable, field or enum constant declaring it, or else read the
+ * name as a type.
+ * - Infer the types of literals, object creations, casts, {@code this} and
+ * simple operators, and the return types of the methods declared in the unit.
+ * - Record the project type names looked up, like
+ * {@link DependencyRecordingTypeSolver}, so the analysis cache knows what a
+ * unit depends on.
+ *
+ * Limitations:
+ * - Fields, methods and member types inherited from types of other units are
+ * unknown, as are the return types of their methods; expressions using them
+ * fail to resolve.
+ * - Overloads are told apart by their number of arguments only.
+ * - Lambda parameters without a declared type and generic method results are
+ * not inferred.
+ * - JDK types named through on-demand imports are looked up in the running
+ * JDK; library types only resolve through single-type imports.
+ *
+ * Thread Safety:
+ * - This class is not thread-safe. Each parser worker owns its own instance.
+ *
+ * Usage Example:
+ * {@code
+ * LexicalTypeResolver typeResolver = new LexicalTypeResolver(typeIndex);
+ * typeResolver.startRecording();
+ * String calleeClassName = typeResolver.resolveTypeName(call.getScope().get());
+ * Set<String> dependencies = typeResolver.stopRecording();
+ * typeResolver.clear(); // once the unit has been analyzed
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class LexicalTypeResolver implements ExpressionTypeResolver {
+    private static final String JAVA_LANG = "java.lang.";
+    private static final String STRING = "java.lang.String";
+    private static final List<String> NUMERIC_TYPES = List.of("byte", "short", "char", "int", "long", "float",
+            "double"); // In the order of numeric promotion
+    private static final int MAX_SUPERTYPE_DEPTH = 8;
+
+    // JDK type names to whether the running JDK has them, shared by all workers
+    private static final Map<String, Boolean> JDK_TYPES = new ConcurrentHashMap<>();
+
+    private final ProjectTypeIndex typeIndex;
+    private final Map<String, String> unitTypeNames = new HashMap<>(); // Simple name to qualified name, or null
+    private CompilationUnit cachedUnit; // Unit the type names were qualified in
+    private Set<String> recordedTypes; // Null while not recording
+
+    private long lookups;
+    private long failures;
+
+    /**
+     * Creates a resolver that finds project types in the given index.
+     *
+     * @param typeIndex the index of the project's types.
+     * @since 1.3
+     */
+    public LexicalTypeResolver(ProjectTypeIndex typeIndex) {
+        this.typeIndex = typeIndex;
+    }
+
+    @Override
+    public String resolveTypeName(Expression expression) {
+        return lookupType(expression).qualifiedName;
+    }
+
+    @Override
+    public String describeType(Expression expression) {
+        return lookupType(expression).description;
+    }
+
+    @Override
+    public String resolveTypeName(ClassOrInterfaceType type) {
+        lookups++;
+        LexicalType lexicalType = typeOf(type);
+        if (lexicalType == null) {
+            failures++;
+            throw new UnsolvedSymbolException(type.getNameWithScope());
+        }
+        return lexicalType.qualifiedName;
+    }
+
+    @Override
+    public boolean isHeuristic() {
+        return true;
+    }
+
+    /**
+     * Starts recording the looked up project type names, discarding any
+     * previous recording.
+     *
+     * @since 1.3
+     */
+    public void startRecording() {
+        recordedTypes = new HashSet<>();
+    }
+
+    /**
+     * Stops recording and returns the recorded type names, including those
+     * that were not found.
+     *
+     * @return the names recorded since {@link #startRecording()}.
+     * @since 1.3
+     */
+    public Set<String> stopRecording() {
+        Set<String> recorded = recordedTypes != null ? recordedTypes : Collections.emptySet();
+        recordedTypes = null;
+        return recorded;
+    }
+
+    /**
+     * Forgets the type names qualified in the current unit. Call this once the
+     * unit has been analyzed; the statistics are kept.
+     *
+     * @since 1.3
+     */
+    public void clear() {
+        cachedUnit = null;
+        unitTypeNames.clear();
+    }
+
+    /**
+     * Gets the number of types asked for.
+     *
+     * @return the lookup count.
+     * @since 1.3
+     */
+    public long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * Gets the number of types that could not be inferred.
+     *
+     * @return the failure count.
+     * @since 1.3
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    private LexicalType lookupType(Expression expression) {
+        lookups++;
+        LexicalType type = inferType(expression);
+        if (type == null) {
+            failures++;
+            throw new UnsolvedSymbolException(expression.toString());
+        }
+        return type;
+    }
+
+    private LexicalType inferType(Expression expression) {
+        if (expression instanceof EnclosedExpr) {
+            return inferType(((EnclosedExpr) expression).getInner());
+        }
+        if (expression instanceof StringLiteralExpr || expression instanceof TextBlockLiteralExpr) {
+            return LexicalType.reference(STRING, STRING);
+        }
+        if (expression instanceof IntegerLiteralExpr) {
+            return LexicalType.other("int");
+        }
+        if (expression instanceof LongLiteralExpr) {
+            return LexicalType.other("long");
+        }
+        if (expression instanceof CharLiteralExpr) {
+            return LexicalType.other("char");
+        }
+        if (expression instanceof BooleanLiteralExpr || expression instanceof InstanceOfExpr) {
+            return LexicalType.other("boolean");
+        }
+        if (expression instanceof DoubleLiteralExpr) {
+            String value = ((DoubleLiteralExpr) expression).getValue();
+            return LexicalType.other(value.endsWith("f") || value.endsWith("F") ? "float" : "double");
+        }
+        if (expression instanceof NullLiteralExpr) {
+            return LexicalType.other("null");
+        }
+        if (expression instanceof ClassExpr) {
+            LexicalType type = typeOf(((ClassExpr) expression).getType());
+            return LexicalType.reference("java.lang.Class",
+                    "java.lang.Class<" + (type != null ? type.description : "?") + ">");
+        }
+        if (expression instanceof ThisExpr) {
+            return thisType((ThisExpr) expression);
+        }
+        if (expression instanceof SuperExpr) {
+            return superType(expression);
+        }
+        if (expression instanceof NameExpr) {
+            return nameType((NameExpr) expression);
+        }
+        if (expression instanceof FieldAccessExpr) {
+            return fieldAccessType((FieldAccessExpr) expression);
+        }
+        if (expression instanceof MethodCallExpr) {
+            return methodCallType((MethodCallExpr) expression);
+        }
+        if (expression instanceof ObjectCreationExpr) {
+            return typeOf(((ObjectCreationExpr) expression).getType());
+        }
+        if (expression instanceof ArrayCreationExpr) {
+            ArrayCreationExpr creation = (ArrayCreationExpr) expression;
+            LexicalType type = typeOf(creation.getElementType());
+            for (int level = 0; type != null && level < creation.getLevels().size(); level++) {
+                type = LexicalType.array(type);
+            }
+            return type;
+        }
+        if (expression instanceof ArrayAccessExpr) {
+            LexicalType arrayType = inferType(((ArrayAccessExpr) expression).getName());
+            return arrayType != null ? arrayType.componentType : null;
+        }
+        if (expression instanceof CastExpr) {
+            return typeOf(((CastExpr) expression).getType());
+        }
+        if (expression instanceof ConditionalExpr) {
+            LexicalType thenType = inferType(((ConditionalExpr) expression).getThenExpr());
+            return thenType != null && !thenType.description.equals("null") ? thenType
+                    : inferType(((ConditionalExpr) expression).getElseExpr());
+        }
+        if (expression instanceof AssignExpr) {
+            return inferType(((AssignExpr) expression).getTarget());
+        }
+        if (expression instanceof UnaryExpr) {
+            UnaryExpr unary = (UnaryExpr) expression;
+            return unary.getOperator() == UnaryExpr.Operator.LOGICAL_COMPLEMENT ? LexicalType.other("boolean")
+                    : inferType(unary.getExpression());
+        }
+        if (expression instanceof BinaryExpr) {
+            return binaryType((BinaryExpr) expression);
+        }
+        return null; // Lambdas, method references, switch expressions and the like
+    }
+
+    private LexicalType thisType(ThisExpr thisExpr) {
+        if (thisExpr.getTypeName().isPresent()) {
+            String typeName = qualifyTypeName(thisExpr.getTypeName().get().asString(), thisExpr);
+            return typeName != null ? LexicalType.reference(typeName, typeName) : null;
+        }
+        TypeDeclaration<?> type = findEnclosing(thisExpr, TypeDeclaration.class);
+        if (type == null) {
+            return null;
+        }
+        String typeName = qualifiedNameOf(type);
+        return LexicalType.reference(typeName, typeName);
+    }
+
+    private LexicalType superType(Expression superExpr) {
+        ClassOrInterfaceDeclaration type = findEnclosing(superExpr, ClassOrInterfaceDeclaration.class);
+        if (type == null || type.getExtendedTypes().isEmpty()) {
+            return LexicalType.reference("java.lang.Object", "java.lang.Object");
+        }
+        return typeOf(type.getExtendedTypes().get(0));
+    }
+
+    private LexicalType nameType(NameExpr nameExpr) {
+        String name = nameExpr.getNameAsString();
+        Node declaration = findVariable(nameExpr, name);
+        if (declaration != null) {
+            return typeOfDeclaration(declaration);
+        }
+        // Not a variable in scope, so a type as in a static call
+        String typeName = qualifyTypeName(name, nameExpr);
+        return typeName != null ? LexicalType.reference(typeName, typeName) : null;
+    }
+
+    private LexicalType fieldAccessType(FieldAccessExpr fieldAccess) {
+        // A qualified type name such as Outer.Inner or java.util.List, unless it starts with a variable
+        String qualifiedName = qualifiedNameOf(fieldAccess);
+        if (qualifiedName != null) {
+            int dot = qualifiedName.indexOf('.');
+            if (findVariable(fieldAccess, qualifiedName.substring(0, dot)) == null) {
+                String typeName = qualifyTypeName(qualifiedName, fieldAccess);
+                if (typeName != null && isTypeName(typeName, fieldAccess)) {
+                    return LexicalType.reference(typeName, typeName);
+                }
+            }
+        }
+
+        LexicalType scopeType = inferType(fieldAccess.getScope());
+        if (scopeType == null) {
+            return null;
+        }
+        if (scopeType.componentType != null && fieldAccess.getNameAsString().equals("length")) {
+            return LexicalType.other("int");
+        }
+        TypeDeclaration<?> type = scopeType.qualifiedName != null
+                ? findUnitType(fieldAccess, scopeType.qualifiedName)
+                : null;
+        Node field = type != null ? findField(type, fieldAccess.getNameAsString(), 0) : null;
+        return field != null ? typeOfDeclaration(field) : null;
+    }
+
+    private LexicalType methodCallType(MethodCallExpr call) {
+        String name = call.getNameAsString();
+        int arity = call.getArguments().size();
+        if (call.getScope().isPresent()) {
+            LexicalType scopeType = inferType(call.getScope().get());
+            TypeDeclaration<?> type = scopeType != null && scopeType.qualifiedName != null
+                    ? findUnitType(call, scopeType.qualifiedName)
+                    : null;
+            MethodDeclaration method = type != null ? findMethod(type, name, arity, 0) : null;
+            return method != null ? typeOf(method.getType()) : objectMethodType(name, arity);
+        }
+        // A method of an enclosing type, innermost first
+        for (Node node = call.getParentNode().orElse(null); node != null; node = node.getParentNode().orElse(null)) {
+            if (node instanceof TypeDeclaration) {
+                MethodDeclaration method = findMethod((TypeDeclaration<?>) node, name, arity, 0);
+                if (method != null) {
+                    return typeOf(method.getType());
+                }
+            }
+        }
+        return objectMethodType(name, arity);
+    }
+
+    /**
+     * Gets the result type of the methods every object inherits from
+     * {@code java.lang.Object}.
+     */
+    private static LexicalType objectMethodType(String name, int arity) {
+        if (arity == 0 && name.equals("toString")) {
+            return LexicalType.reference(STRING, STRING);
+        }
+        if (arity == 0 && name.equals("hashCode")) {
+            return LexicalType.other("int");
+        }
+        if (arity == 1 && name.equals("equals")) {
+            return LexicalType.other("boolean");
+        }
+        return null;
+    }
+
+    private LexicalType binaryType(BinaryExpr binary) {
+        switch (binary.getOperator()) {
+            case OR:
+            case AND:
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESS:
+            case GREATER:
+            case LESS_EQUALS:
+            case GREATER_EQUALS:
+                return LexicalType.other("boolean");
+            default:
+                break;
+        }
+        LexicalType left = inferType(binary.getLeft());
+        LexicalType right = inferType(binary.getRight());
+        if (binary.getOperator() == BinaryExpr.Operator.PLUS
+                && (left != null && STRING.equals(left.qualifiedName)
+                        || right != null && STRING.equals(right.qualifiedName))) {
+            return LexicalType.reference(STRING, STRING);
+        }
+        if (left == null || right == null) {
+            return null;
+        }
+        if (left.description.equals("boolean") && right.description.equals("boolean")) {
+            return left;
+        }
+        int leftRank = NUMERIC_TYPES.indexOf(left.description);
+        int rightRank = NUMERIC_TYPES.indexOf(right.description);
+        if (leftRank < 0 || rightRank < 0) {
+            return null;
+        }
+        // Numeric promotion: at least int, else the wider operand
+        return LexicalType.other(NUMERIC_TYPES.get(Math.max(NUMERIC_TYPES.indexOf("int"),
+                Math.max(leftRank, rightRank))));
+    }
+
+    /**
+     * Finds the nearest declaration of a variable visible from a node: a local
+     * variable, parameter, pattern variable, field, record component or enum
+     * constant.
+     *
+     * @return the declaring node, or {@code null} if no declaration is visible.
+     */
+    private Node findVariable(Node from, String name) {
+        Node child = from;
+        for (Node parent = from.getParentNode().orElse(null); parent != null;
+                child = parent, parent = parent.getParentNode().orElse(null)) {
+            Node declaration = findDeclarationIn(parent, child, name);
+            if (declaration != null) {
+                return declaration;
+            }
+        }
+        return null;
+    }
+
+    private Node findDeclarationIn(Node parent, Node child, String name) {
+        if (parent instanceof BlockStmt) {
+            return findLocalVariable(((BlockStmt) parent).getStatements(), child, name);
+        }
+        if (parent instanceof SwitchEntry) {
+            return findLocalVariable(((SwitchEntry) parent).getStatements(), child, name);
+        }
+        if (parent instanceof ForStmt) {
+            for (Expression initialization : ((ForStmt) parent).getInitialization()) {
+                Node variable = findVariableIn(initialization, name);
+                if (variable != null) {
+                    return variable;
+                }
+            }
+            return null;
+        }
+        if (parent instanceof ForEachStmt) {
+            return findVariableIn(((ForEachStmt) parent).getVariable(), name);
+        }
+        if (parent instanceof TryStmt) {
+            for (Expression resource : ((TryStmt) parent).getResources()) {
+                Node variable = findVariableIn(resource, name);
+                if (variable != null) {
+                    return variable;
+                }
+            }
+            return null;
+        }
+        if (parent instanceof CatchClause) {
+            Parameter parameter = ((CatchClause) parent).getParameter();
+            return parameter.getNameAsString().equals(name) ? parameter : null;
+        }
+        if (parent instanceof LambdaExpr) {
+            return ((LambdaExpr) parent).getParameters().stream()
+                    .filter(parameter -> parameter.getNameAsString().equals(name))
+                    .findFirst()
+                    .orElse(null);
+        }
+        if (parent instanceof CallableDeclaration) {
+            return ((CallableDeclaration<?>) parent).getParameterByName(name).orElse(null);
+        }
+        // Pattern variables of a condition are in scope in the guarded code
+        if (parent instanceof IfStmt && child != ((IfStmt) parent).getCondition()) {
+            return findPatternVariable(((IfStmt) parent).getCondition(), name);
+        }
+        if (parent instanceof WhileStmt && child != ((WhileStmt) parent).getCondition()) {
+            return findPatternVariable(((WhileStmt) parent).getCondition(), name);
+        }
+        if (parent instanceof ConditionalExpr && child != ((ConditionalExpr) parent).getCondition()) {
+            return findPatternVariable(((ConditionalExpr) parent).getCondition(), name);
+        }
+        if (parent instanceof BinaryExpr && child == ((BinaryExpr) parent).getRight()) {
+            return findPatternVariable(((BinaryExpr) parent).getLeft(), name);
+        }
+        if (parent instanceof TypeDeclaration) {
+            return findField((TypeDeclaration<?>) parent, name, 0);
+        }
+        if (parent instanceof ObjectCreationExpr) {
+            return ((ObjectCreationExpr) parent).getAnonymousClassBody()
+                    .map(body -> findFieldIn(body, name))
+                    .orElse(null);
+        }
+        if (parent instanceof EnumConstantDeclaration) {
+            return findFieldIn(((EnumConstantDeclaration) parent).getClassBody(), name);
+        }
+        return null;
+    }
+
+    /**
+     * Finds a local variable declared by one of the statements preceding a
+     * statement of a block.
+     */
+    private static Node findLocalVariable(NodeList<Statement> statements, Node child, String name) {
+        for (Statement statement : statements) {
+            if (statement == child) {
+                break;
+            }
+            if (statement instanceof ExpressionStmt) {
+                Node variable = findVariableIn(((ExpressionStmt) statement).getExpression(), name);
+                if (variable != null) {
+                    return variable;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Node findVariableIn(Expression expression, String name) {
+        if (!(expression instanceof VariableDeclarationExpr)) {
+            return null;
+        }
+        return ((VariableDeclarationExpr) expression).getVariables().stream()
+                .filter(variable -> variable.getNameAsString().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Node findPatternVariable(Expression condition, String name) {
+        return condition.findFirst(PatternExpr.class, pattern -> pattern.getNameAsString().equals(name))
+                .orElse(null);
+    }
+
+    /**
+     * Finds a field, record component or enum constant of a type, or of one of
+     * its supertypes declared in the same unit.
+     */
+    private Node findField(TypeDeclaration<?> type, String name, int depth) {
+        Node field = findFieldIn(type.getMembers(), name);
+        if (field != null) {
+            return field;
+        }
+        if (type instanceof RecordDeclaration) {
+            for (Parameter component : ((RecordDeclaration) type).getParameters()) {
+                if (component.getNameAsString().equals(name)) {
+                    return component;
+                }
+            }
+        }
+        if (type instanceof EnumDeclaration) {
+            for (EnumConstantDeclaration constant : ((EnumDeclaration) type).getEntries()) {
+                if (constant.getNameAsString().equals(name)) {
+                    return constant;
+                }
+            }
+        }
+        if (depth < MAX_SUPERTYPE_DEPTH) {
+            for (TypeDeclaration<?> supertype : findUnitSupertypes(type)) {
+                field = findField(supertype, name, depth + 1);
+                if (field != null) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Node findFieldIn(List<BodyDeclaration<?>> members, String name) {
+        for (BodyDeclaration<?> member : members) {
+            if (member instanceof FieldDeclaration) {
+                for (VariableDeclarator variable : ((FieldDeclaration) member).getVariables()) {
+                    if (variable.getNameAsString().equals(name)) {
+                        return variable;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a method of a type, or of one of its supertypes declared in the
+     * same unit, by name and number of arguments.
+     */
+    private MethodDeclaration findMethod(TypeDeclaration<?> type, String name, int arity, int depth) {
+        for (MethodDeclaration method : type.getMethodsByName(name)) {
+            int parameters = method.getParameters().size();
+            boolean varArgs = parameters > 0 && method.getParameter(parameters - 1).isVarArgs();
+            if (parameters == arity || varArgs && arity >= parameters - 1) {
+                return method;
+            }
+        }
+        if (depth < MAX_SUPERTYPE_DEPTH) {
+            for (TypeDeclaration<?> supertype : findUnitSupertypes(type)) {
+                MethodDeclaration method = findMethod(supertype, name, arity, depth + 1);
+                if (method != null) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<TypeDeclaration<?>> findUnitSupertypes(TypeDeclaration<?> type) {
+        if (!(type instanceof ClassOrInterfaceDeclaration)) {
+            return Collections.emptyList();
+        }
+        ClassOrInterfaceDeclaration classDecl = (ClassOrInterfaceDeclaration) type;
+        List<TypeDeclaration<?>> supertypes = new ArrayList<>();
+        for (NodeList<ClassOrInterfaceType> supertypeNames : List.of(classDecl.getExtendedTypes(),
+                classDecl.getImplementedTypes())) {
+            for (ClassOrInterfaceType supertypeName : supertypeNames) {
+                String qualifiedName = qualifyTypeName(supertypeName.getNameWithScope(), supertypeName);
+                TypeDeclaration<?> supertype = qualifiedName != null ? findUnitType(type, qualifiedName) : null;
+                if (supertype != null && supertype != type) {
+                    supertypes.add(supertype);
+                }
+            }
+        }
+        return supertypes;
+    }
+
+    private LexicalType typeOfDeclaration(Node declaration) {
+        if (declaration instanceof VariableDeclarator) {
+            VariableDeclarator variable = (VariableDeclarator) declaration;
+            if (variable.getType().isVarType()) {
+                return variable.getInitializer().map(this::inferType).orElse(null);
+            }
+            return typeOf(variable.getType());
+        }
+        if (declaration instanceof Parameter) {
+            Parameter parameter = (Parameter) declaration;
+            if (parameter.getType() instanceof UnknownType) {
+                return null; // A lambda parameter without a declared type
+            }
+            LexicalType type = typeOf(parameter.getType());
+            return type != null && parameter.isVarArgs() ? LexicalType.array(type) : type;
+        }
+        if (declaration instanceof PatternExpr) {
+            return typeOf(((PatternExpr) declaration).getType());
+        }
+        if (declaration instanceof EnumConstantDeclaration) {
+            EnumDeclaration type = findEnclosing(declaration, EnumDeclaration.class);
+            if (type == null) {
+                return null;
+            }
+            String typeName = qualifiedNameOf(type);
+            return LexicalType.reference(typeName, typeName);
+        }
+        return null;
+    }
+
+    /**
+     * Describes a type written in the source.
+     *
+     * @return the type, or {@code null} if it cannot be qualified.
+     */
+    private LexicalType typeOf(Type type) {
+        if (type instanceof PrimitiveType) {
+            return LexicalType.other(type.asString());
+        }
+        if (type instanceof VoidType) {
+            return LexicalType.other("void");
+        }
+        if (type instanceof ArrayType) {
+            LexicalType componentType = typeOf(((ArrayType) type).getComponentType());
+            return componentType != null ? LexicalType.array(componentType) : null;
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType) type;
+            if (wildcard.getExtendedType().isPresent()) {
+                LexicalType bound = typeOf(wildcard.getExtendedType().get());
+                return bound != null ? LexicalType.other("? extends " + bound.description) : null;
+            }
+            if (wildcard.getSuperType().isPresent()) {
+                LexicalType bound = typeOf(wildcard.getSuperType().get());
+                return bound != null ? LexicalType.other("? super " + bound.description) : null;
+            }
+            return LexicalType.other("?");
+        }
+        if (!(type instanceof ClassOrInterfaceType)) {
+            return null; // var, union and intersection types
+        }
+        ClassOrInterfaceType classType = (ClassOrInterfaceType) type;
+        if (classType.getScope().isEmpty() && isTypeVariable(classType.getNameAsString(), classType)) {
+            return LexicalType.other(classType.getNameAsString());
+        }
+        String qualifiedName = qualifyTypeName(classType.getNameWithScope(), classType);
+        if (qualifiedName == null) {
+            return null;
+        }
+        StringBuilder description = new StringBuilder(qualifiedName);
+        NodeList<Type> typeArguments = classType.getTypeArguments().orElse(null);
+        if (typeArguments != null && !typeArguments.isEmpty()) {
+            description.append('<');
+            for (int i = 0; i < typeArguments.size(); i++) {
+                LexicalType typeArgument = typeOf(typeArguments.get(i));
+                description.append(i > 0 ? ", " : "")
+                        .append(typeArgument != null ? typeArgument.description : typeArguments.get(i).asString());
+            }
+            description.append('>');
+        }
+        return LexicalType.reference(qualifiedName, description.toString());
+    }
+
+    private static boolean isTypeVariable(String name, Node from) {
+        for (Node node = from; node != null; node = node.getParentNode().orElse(null)) {
+            if (node instanceof NodeWithTypeParameters && ((NodeWithTypeParameters<?>) node).getTypeParameters()
+                    .stream().anyMatch(typeParameter -> typeParameter.getNameAsString().equals(name))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Qualifies a simple or qualified type name as seen from a node.
+     *
+     * @return the fully qualified name, or {@code null} if the name cannot be
+     *         qualified.
+     */
+    private String qualifyTypeName(String name, Node from) {
+        int dot = name.indexOf('.');
+        String firstName = dot < 0 ? name : name.substring(0, dot);
+        String qualifiedFirstName = qualifySimpleTypeName(firstName, from);
+        if (qualifiedFirstName != null) {
+            return dot < 0 ? qualifiedFirstName : qualifiedFirstName + name.substring(dot);
+        }
+        // The first name is no type in scope, so the name is fully qualified
+        return dot > 0 ? name : null;
+    }
+
+    private String qualifySimpleTypeName(String name, Node from) {
+        // The enclosing types and their member types
+        for (Node node = from; node != null; node = node.getParentNode().orElse(null)) {
+            if (node instanceof TypeDeclaration) {
+                TypeDeclaration<?> type = (TypeDeclaration<?>) node;
+                if (type.getNameAsString().equals(name)) {
+                    return qualifiedNameOf(type);
+                }
+                for (BodyDeclaration<?> member : type.getMembers()) {
+                    if (member instanceof TypeDeclaration
+                            && ((TypeDeclaration<?>) member).getNameAsString().equals(name)) {
+                        return qualifiedNameOf((TypeDeclaration<?>) member);
+                    }
+                }
+            }
+        }
+        CompilationUnit unit = from.findCompilationUnit().orElse(null);
+        if (unit == null) {
+            return null;
+        }
+        if (unit != cachedUnit) {
+            cachedUnit = unit;
+            unitTypeNames.clear();
+        }
+        if (!unitTypeNames.containsKey(name)) {
+            unitTypeNames.put(name, qualifyInUnit(unit, name));
+        }
+        return unitTypeNames.get(name);
+    }
+
+    /**
+     * Qualifies a simple type name through the top-level types, imports and
+     * package of a unit, in the order of precedence of the Java language.
+     */
+    private String qualifyInUnit(CompilationUnit unit, String name) {
+        for (TypeDeclaration<?> type : unit.getTypes()) {
+            if (type.getNameAsString().equals(name)) {
+                return qualifiedNameOf(type);
+            }
+        }
+        String suffix = "." + name;
+        for (ImportDeclaration importDeclaration : unit.getImports()) {
+            String importedName = importDeclaration.getNameAsString();
+            if (!importDeclaration.isAsterisk() && importedName.endsWith(suffix)
+                    && (!importDeclaration.isStatic() || isProjectType(importedName) || isJdkType(importedName))) {
+                return importedName;
+            }
+        }
+        String packageName = unit.getPackageDeclaration().map(declaration -> declaration.getNameAsString())
+                .orElse("");
+        String samePackageName = packageName.isEmpty() ? name : packageName + suffix;
+        if (isProjectType(samePackageName)) {
+            return samePackageName;
+        }
+        for (ImportDeclaration importDeclaration : unit.getImports()) {
+            String candidate = importDeclaration.getNameAsString() + suffix;
+            if (importDeclaration.isAsterisk() && (isProjectType(candidate) || isJdkType(candidate))) {
+                return candidate;
+            }
+        }
+        return isJdkType(JAVA_LANG + name) ? JAVA_LANG + name : null;
+    }
+
+    private boolean isTypeName(String qualifiedName, Node from) {
+        return isProjectType(qualifiedName) || isJdkType(qualifiedName) || findUnitType(from, qualifiedName) != null;
+    }
+
+    private boolean isProjectType(String qualifiedName) {
+        if (recordedTypes != null) {
+            recordedTypes.add(qualifiedName);
+        }
+        return typeIndex.find(qualifiedName).isPresent();
+    }
+
+    /**
+     * Checks whether the running JDK has a type, by looking for its class file
+     * without loading it.
+     */
+    private static boolean isJdkType(String qualifiedName) {
+        if (!qualifiedName.startsWith("java.") && !qualifiedName.startsWith("javax.")) {
+            return false;
+        }
+        return JDK_TYPES.computeIfAbsent(qualifiedName, name -> {
+            // Member types: replace the dots after the outer type with '$', innermost first
+            String binaryName = name;
+            while (ClassLoader.getSystemResource(binaryName.replace('.', '/') + ".class") == null) {
+                int dot = binaryName.lastIndexOf('.');
+                if (dot < 0) {
+                    return false;
+                }
+                binaryName = binaryName.substring(0, dot) + "$" + binaryName.substring(dot + 1);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Finds the declaration of a type in the unit of a node.
+     */
+    private static TypeDeclaration<?> findUnitType(Node from, String qualifiedName) {
+        CompilationUnit unit = from.findCompilationUnit().orElse(null);
+        return unit != null ? findType(unit.getTypes(), qualifiedName) : null;
+    }
+
+    /**
+     * Finds the nearest ancestor of a node that is of a type.
+     */
+    private static <N extends Node> N findEnclosing(Node from, Class<N> type) {
+        for (Node node = from.getParentNode().orElse(null); node != null; node = node.getParentNode().orElse(null)) {
+            if (type.isInstance(node)) {
+                return type.cast(node);
+            }
+        }
+        return null;
+    }
+
+    private static TypeDeclaration<?> findType(List<? extends BodyDeclaration<?>> declarations,
+            String qualifiedName) {
+        for (BodyDeclaration<?> declaration : declarations) {
+            if (declaration instanceof TypeDeclaration) {
+                TypeDeclaration<?> type = (TypeDeclaration<?>) declaration;
+                String typeName = qualifiedNameOf(type);
+                if (typeName.equals(qualifiedName)) {
+                    return type;
+                }
+                if (qualifiedName.startsWith(typeName + ".")) {
+                    return findType(type.getMembers(), qualifiedName);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String qualifiedNameOf(TypeDeclaration<?> type) {
+        return type.getFullyQualifiedName().orElse(type.getNameAsString());
+    }
+
+    /**
+     * Gets the dotted name of a field access made of names only, such as
+     * {@code java.util.List}.
+     */
+    private static String qualifiedNameOf(Expression expression) {
+        if (expression instanceof NameExpr) {
+            return ((NameExpr) expression).getNameAsString();
+        }
+        if (expression instanceof FieldAccessExpr && ((FieldAccessExpr) expression).getTypeArguments().isEmpty()) {
+            String scopeName = qualifiedNameOf(((FieldAccessExpr) expression).getScope());
+            return scopeName != null ? scopeName + "." + ((FieldAccessExpr) expression).getNameAsString() : null;
+        }
+        return null;
+    }
+
+    /**
+     * An inferred type: its description and, for class and interface types,
+     * its qualified name.
+     */
+    private static final class LexicalType {
+        private final String qualifiedName; // Null unless a class or interface type
+        private final String description;
+        private final LexicalType componentType; // Null unless an array type
+
+        private LexicalType(String qualifiedName, String description, LexicalType componentType) {
+            this.qualifiedName = qualifiedName;
+            this.description = description;
+            this.componentType = componentType;
+        }
+
+        private static LexicalType reference(String qualifiedName, String description) {
+            return new LexicalType(qualifiedName, description, null);
+        }
+
+        private static LexicalType array(LexicalType componentType) {
+            return new LexicalType(null, componentType.description + "[]", componentType);
+        }
+
+        private static LexicalType other(String description) {
+            return new LexicalType(null, description, null);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.Problem;
+import com.github.javaparser.ast.CompilationUnit;
+
+/**
+ * ParsedUnitRegistry
+ *
+ * Holds the compilation units parsed from the project's source files so that
+ * every file is parsed once, whether it is first needed by the main analysis
+ * loop or by the type solver while resolving another file.
+ *
+ * Responsibilities:
+ * - Parse source files on demand with the parser of the owning worker.
+ * - Keep the most recently used units, evicting the least recently used one
+ * once the configured capacity is reached.
+ * - Serve both the main analysis loop ({@link #getOrParse}) and the project
+ * type solver ({@link #findUnit}).
+ * - Count hits, misses and evictions.
+ *
+ * Limitations:
+ * - Units that failed to parse are kept together with their problems; the main
+ * loop rejects them while the type solver still uses whatever could be parsed,
+ * as {@code JavaParserTypeSolver} does on its own.
+ * - An evicted unit is parsed again when it is needed later.
+ *
+ * Thread Safety:
+ * - This class is not thread-safe. Symbol resolution stores its results in the
+ * nodes of a unit, so units must never be shared between threads; each parser
+ * worker owns its own registry.
+ *
+ * Usage Example:
+ * {@code
+ * ParsedUnitRegistry registry = new ParsedUnitRegistry(parser, 1000);
+ * TypeSolver projectSolver = new IndexedTypeSolver(typeIndex, registry);
+ * CompilationUnit unit = registry.getOrParse(Paths.get("src/main/java/com/example/ClassA.java"));
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class ParsedUnitRegistry {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ParsedUnitRegistry.class);
+
+    private final JavaParser parser;
+    private final int capacity;
+    private final Map<Path, ParsedUnit> units;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param parser   the parser used to parse missing units.
+     * @param capacity the maximum number of units kept; at least 1.
+     * @since 1.3
+     */
+    public ParsedUnitRegistry(JavaParser parser, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Registry capacity must be at least 1: " + capacity);
+        }
+        this.parser = parser;
+        this.capacity = capacity;
+        // Access order makes the eldest entry the least recently used one
+        this.units = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, ParsedUnit> eldest) {
+                if (size() > ParsedUnitRegistry.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the unit of a source file, parsing it if it is not registered.
+     *
+     * @param file the path of the source file.
+     * @return the parsed compilation unit.
+     * @throws IOException           if the file cannot be read.
+     * @throws ParseProblemException if the file has syntax or validation
+     *                               problems.
+     * @since 1.3
+     */
+    public CompilationUnit getOrParse(Path file) throws IOException {
+        ParsedUnit parsedUnit = lookup(file);
+        if (parsedUnit == null) {
+            parsedUnit = parse(file);
+        }
+        if (!parsedUnit.problems.isEmpty() || parsedUnit.unit == null) {
+            throw new ParseProblemException(parsedUnit.problems);
+        }
+        return parsedUnit.unit;
+    }
+
+    /**
+     * Gets the unit of a source file for symbol resolution, parsing it if it is
+     * not registered. Like {@code JavaParserTypeSolver}, this returns whatever
+     * could be parsed, even if the file has problems.
+     *
+     * @param file the path of the source file.
+     * @return the parsed compilation unit, or an empty optional if the file
+     *         cannot be read or nothing could be parsed.
+     * @since 1.3
+     */
+    public Optional<CompilationUnit> findUnit(Path file) {
+        ParsedUnit parsedUnit = lookup(file);
+        if (parsedUnit == null) {
+            try {
+                parsedUnit = parse(file);
+            } catch (IOException e) {
+                logger.debug("Failed to read source file {}: {}", file, e.getMessage());
+                return Optional.empty();
+            }
+        }
+        return Optional.ofNullable(parsedUnit.unit);
+    }
+
+    /**
+     * Gets the number of lookups answered from the registry.
+     *
+     * @return the hit count.
+     * @since 1.3
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that required parsing a file.
+     *
+     * @return the miss count.
+     * @since 1.3
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of units dropped because the capacity was reached.
+     *
+     * @return the eviction count.
+     * @since 1.3
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the number of units currently registered.
+     *
+     * @return the number of units.
+     * @since 1.3
+     */
+    public int size() {
+        return units.size();
+    }
+
+    private ParsedUnit lookup(Path file) {
+        ParsedUnit parsedUnit = units.get(key(file));
+        if (parsedUnit != null) {
+            hits++;
+        }
+        return parsedUnit;
+    }
+
+    private ParsedUnit parse(Path file) throws IOException {
+        misses++;
+        ParseResult<CompilationUnit> result = parser.parse(file);
+        ParsedUnit parsedUnit = new ParsedUnit(result.getResult().orElse(null), result.getProblems());
+        units.put(key(file), parsedUnit);
+        return parsedUnit;
+    }
+
+    private static Path key(Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    /**
+     * A registered unit together with the problems reported while parsing it.
+     */
+    private static final class ParsedUnit {
+        private final CompilationUnit unit; // Null if nothing could be parsed
+        private final List<Problem> problems;
+
+        private ParsedUnit(CompilationUnit unit, List<Problem> problems) {
+            this.unit = unit;
+            this.problems = Collections.unmodifiableList(problems);
+        }
+    }
+}
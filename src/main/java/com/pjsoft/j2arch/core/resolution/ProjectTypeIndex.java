@@ -0,0 +1,326 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ProjectTypeIndex
+ *
+ * Maps the fully qualified name of every type declared in the project's
+ * source files to the file and declaration it comes from. The index is built
+ * once per run by a lightweight lexical scan, so resolving a project type
+ * becomes a hash lookup instead of probing the file system for candidate
+ * package paths.
+ *
+ * Responsibilities:
+ * - Scan source files for their package and type declarations without
+ * parsing them.
+ * - Index top-level types, secondary top-level types and member types
+ * (classes, interfaces, enums, records and annotation types).
+ *
+ * Limitations:
+ * - Local and anonymous classes are not indexed; they cannot be referenced by
+ * a fully qualified name anyway.
+ * - If several files declare the same type, the first file wins.
+ *
+ * Thread Safety:
+ * - Instances are immutable and can be shared by all parser workers.
+ *
+ * Usage Example:
+ * {@code
+ * ProjectTypeIndex index = ProjectTypeIndex.build(files);
+ * Optional<ProjectTypeIndex.TypeLocation> location = index.find("com.example.Outer.Inner");
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public final class ProjectTypeIndex {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ProjectTypeIndex.class);
+
+    private final Map<String, TypeLocation> types; // Fully qualified name to location
+
+    private ProjectTypeIndex(Map<String, TypeLocation> types) {
+        this.types = Collections.unmodifiableMap(types);
+    }
+
+    /**
+     * Builds the index of the given source files.
+     *
+     * @param files the absolute paths of the project's source files.
+     * @return the type index.
+     * @since 1.3
+     */
+    public static ProjectTypeIndex build(Collection<String> files) {
+        long start = System.currentTimeMillis();
+        Map<String, TypeLocation> types = new HashMap<>();
+        for (String filePath : files) {
+            Path file = Paths.get(filePath);
+            String source;
+            try {
+                source = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                logger.warn("Failed to index source file {}: {}", filePath, e.getMessage());
+                continue;
+            }
+            for (TypeLocation location : scan(file, source)) {
+                TypeLocation existing = types.putIfAbsent(location.getQualifiedName(), location);
+                if (existing != null) {
+                    logger.debug("Type {} is declared in {} and {}; using the former", location.getQualifiedName(),
+                            existing.getFile(), file);
+                }
+            }
+        }
+        logger.info("Indexed {} project type(s) in {} file(s) in {} ms", types.size(), files.size(),
+                System.currentTimeMillis() - start);
+        return new ProjectTypeIndex(types);
+    }
+
+    /**
+     * Finds where a type is declared.
+     *
+     * @param qualifiedName the fully qualified name of the type, with member
+     *                      types separated by dots.
+     * @return the location of the declaration, or an empty optional if the type
+     *         is not declared in the project.
+     * @since 1.3
+     */
+    public Optional<TypeLocation> find(String qualifiedName) {
+        return Optional.ofNullable(types.get(qualifiedName));
+    }
+
+    /**
+     * Gets the number of indexed types.
+     *
+     * @return the number of types.
+     * @since 1.3
+     */
+    public int size() {
+        return types.size();
+    }
+
+    /**
+     * Gets the first names of the packages of the indexed types, such as
+     * {@code com} for {@code com.example.ClassA}.
+     *
+     * @return the package roots.
+     * @since 1.3
+     */
+    public Set<String> getPackageRoots() {
+        Set<String> packageRoots = new HashSet<>();
+        for (TypeLocation location : types.values()) {
+            String qualifiedName = location.getQualifiedName();
+            if (qualifiedName.length() > location.getRelativeName().length()) {
+                packageRoots.add(qualifiedName.substring(0, qualifiedName.indexOf('.')));
+            }
+        }
+        return packageRoots;
+    }
+
+    /**
+     * Collects the type declarations of one source file.
+     *
+     * A type keyword followed by a name declares a type, unless it is part of a
+     * class literal. The next brace at the same parenthesis depth opens its
+     * body; any other brace opens a block. Declarations inside a block are
+     * local and therefore skipped.
+     */
+    private static List<TypeLocation> scan(Path file, String source) {
+        List<String> tokens = tokenize(source);
+        List<TypeLocation> locations = new ArrayList<>();
+        String packageName = "";
+        Deque<String> bodies = new ArrayDeque<>(); // Enclosing type names, or null for blocks
+        List<String> enclosingTypes = new ArrayList<>();
+        int blockDepth = 0;
+        int parenDepth = 0;
+        String pendingType = null; // Declared type whose body has not been opened yet
+        int pendingParenDepth = 0;
+
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            String previous = i > 0 ? tokens.get(i - 1) : "";
+            switch (token) {
+                case "(":
+                    parenDepth++;
+                    break;
+                case ")":
+                    parenDepth--;
+                    break;
+                case "{":
+                    if (pendingType != null && parenDepth == pendingParenDepth) {
+                        bodies.push(pendingType);
+                        enclosingTypes.add(pendingType);
+                        pendingType = null;
+                    } else {
+                        bodies.push("");
+                        blockDepth++;
+                    }
+                    break;
+                case "}":
+                    if (!bodies.isEmpty()) {
+                        if (bodies.pop().isEmpty()) {
+                            blockDepth--;
+                        } else {
+                            enclosingTypes.remove(enclosingTypes.size() - 1);
+                        }
+                    }
+                    break;
+                case "package":
+                    if (bodies.isEmpty() && locations.isEmpty()) {
+                        StringBuilder name = new StringBuilder();
+                        while (i + 1 < tokens.size() && !tokens.get(i + 1).equals(";")) {
+                            name.append(tokens.get(++i));
+                        }
+                        packageName = name.toString();
+                    }
+                    break;
+                default:
+                    if (isTypeKeyword(tokens, i, previous)) {
+                        String typeName = tokens.get(++i);
+                        if (blockDepth == 0) {
+                            List<String> path = new ArrayList<>(enclosingTypes);
+                            path.add(typeName);
+                            String relativeName = String.join(".", path);
+                            String qualifiedName = packageName.isEmpty() ? relativeName
+                                    : packageName + "." + relativeName;
+                            locations.add(new TypeLocation(qualifiedName, file, relativeName));
+                        }
+                        pendingType = typeName;
+                        pendingParenDepth = parenDepth;
+                    }
+                    break;
+            }
+        }
+        return locations;
+    }
+
+    private static boolean isTypeKeyword(List<String> tokens, int index, String previous) {
+        if (previous.equals(".") || index + 1 >= tokens.size() || !isIdentifier(tokens.get(index + 1))) {
+            return false;
+        }
+        switch (tokens.get(index)) {
+            case "class":
+            case "interface":
+            case "enum":
+                return true;
+            case "record":
+                // "record" is only a keyword in front of a name and a component list
+                return index + 2 < tokens.size()
+                        && (tokens.get(index + 2).equals("(") || tokens.get(index + 2).equals("<"));
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isIdentifier(String token) {
+        return Character.isJavaIdentifierStart(token.charAt(0));
+    }
+
+    /**
+     * Splits source code into identifiers and single punctuation characters,
+     * dropping whitespace, comments and literals.
+     */
+    private static List<String> tokenize(String source) {
+        List<String> tokens = new ArrayList<>();
+        int length = source.length();
+        int i = 0;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+                int end = source.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+                int end = source.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (source.startsWith("\"\"\"", i)) {
+                i = skipLiteral(source, i + 3, "\"\"\"");
+            } else if (c == '"' || c == '\'') {
+                i = skipLiteral(source, i + 1, String.valueOf(c));
+            } else if (Character.isJavaIdentifierPart(c)) {
+                int start = i;
+                while (i < length && Character.isJavaIdentifierPart(source.charAt(i))) {
+                    i++;
+                }
+                tokens.add(source.substring(start, i));
+            } else {
+                tokens.add(String.valueOf(c));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static int skipLiteral(String source, int index, String delimiter) {
+        int i = index;
+        while (i < source.length()) {
+            if (source.charAt(i) == '\\') {
+                i += 2;
+            } else if (source.startsWith(delimiter, i)) {
+                return i + delimiter.length();
+            } else {
+                i++;
+            }
+        }
+        return source.length();
+    }
+
+    /**
+     * The location of one type declaration.
+     */
+    public static final class TypeLocation {
+        private final String qualifiedName;
+        private final Path file;
+        private final String relativeName;
+
+        private TypeLocation(String qualifiedName, Path file, String relativeName) {
+            this.qualifiedName = qualifiedName;
+            this.file = file;
+            this.relativeName = relativeName;
+        }
+
+        /**
+         * Gets the fully qualified name of the type.
+         *
+         * @return the qualified name.
+         */
+        public String getQualifiedName() {
+            return qualifiedName;
+        }
+
+        /**
+         * Gets the source file declaring the type.
+         *
+         * @return the file path.
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * Gets the name of the type relative to its package, such as
+         * {@code Outer.Inner} for a member type.
+         *
+         * @return the name within the compilation unit.
+         */
+        public String getRelativeName() {
+            return relativeName;
+        }
+    }
+}
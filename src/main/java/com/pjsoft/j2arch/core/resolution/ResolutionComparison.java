@@ -0,0 +1,156 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.pjsoft.j2arch.core.model.CodeEntity;
+import com.pjsoft.j2arch.core.model.MethodEntity;
+import com.pjsoft.j2arch.core.model.Relative;
+
+/**
+ * ResolutionComparison
+ *
+ * Compares the relationships extracted from the same files in the fast and in
+ * the full analysis mode, to show how far the heuristic results of the fast
+ * mode can be trusted for a project.
+ *
+ * Responsibilities:
+ * - Match the relationships of each entity by type, target, method and
+ * arguments, counting repeated relationships separately.
+ * - Count, per relationship type, the resolved relationships the fast mode
+ * reproduced, missed or added.
+ * - Log a summary, with the individual differences at debug level.
+ *
+ * Thread Safety:
+ * - This class is not thread-safe.
+ *
+ * Usage Example:
+ * {@code
+ * ResolutionComparison comparison = new ResolutionComparison();
+ * comparison.add(fastSource.getCodeEntities(), fullSource.getCodeEntities());
+ * comparison.log(logger);
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class ResolutionComparison {
+    private static final int MATCHED = 0;
+    private static final int MISSED = 1;
+    private static final int ADDED = 2;
+
+    private final Map<Relative.RelationshipType, long[]> counts = new EnumMap<>(Relative.RelationshipType.class);
+    private final List<String> differences = new ArrayList<>();
+    private int files;
+
+    /**
+     * Adds the entities extracted from one file in both modes.
+     *
+     * @param heuristicEntities the entities extracted in fast mode.
+     * @param resolvedEntities  the entities extracted in full mode.
+     * @since 1.3
+     */
+    public void add(List<CodeEntity> heuristicEntities, List<CodeEntity> resolvedEntities) {
+        files++;
+        Map<String, Integer> resolved = new HashMap<>();
+        for (CodeEntity entity : resolvedEntities) {
+            for (Relative relative : entity.getRelatives()) {
+                resolved.merge(keyOf(entity, relative), 1, Integer::sum);
+            }
+        }
+        for (CodeEntity entity : heuristicEntities) {
+            for (Relative relative : entity.getRelatives()) {
+                String key = keyOf(entity, relative);
+                Integer remaining = resolved.get(key);
+                if (remaining != null) {
+                    count(relative.getRelationshipType(), MATCHED);
+                    if (remaining == 1) {
+                        resolved.remove(key);
+                    } else {
+                        resolved.put(key, remaining - 1);
+                    }
+                } else {
+                    count(relative.getRelationshipType(), ADDED);
+                    differences.add("only in fast mode: " + key);
+                }
+            }
+        }
+        for (CodeEntity entity : resolvedEntities) {
+            for (Relative relative : entity.getRelatives()) {
+                String key = keyOf(entity, relative);
+                Integer remaining = resolved.get(key);
+                if (remaining != null) {
+                    count(relative.getRelationshipType(), MISSED);
+                    differences.add("only in full mode: " + key);
+                    if (remaining == 1) {
+                        resolved.remove(key);
+                    } else {
+                        resolved.put(key, remaining - 1);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the share of the resolved relationships that the fast mode
+     * reproduced.
+     *
+     * @return the share in percent, {@code 100} if there were none.
+     * @since 1.3
+     */
+    public long getAgreementPercent() {
+        long matched = total(MATCHED);
+        long resolved = matched + total(MISSED);
+        return resolved == 0 ? 100 : matched * 100 / resolved;
+    }
+
+    /**
+     * Logs the summary of the comparison, and every difference at debug level.
+     *
+     * @param logger the logger to write to.
+     * @since 1.3
+     */
+    public void log(org.slf4j.Logger logger) {
+        long matched = total(MATCHED);
+        logger.info("Fast mode compared with full resolution on {} file(s): {} of {} resolved relationship(s) "
+                + "reproduced ({}%), {} relationship(s) only found in fast mode", files, matched,
+                matched + total(MISSED), getAgreementPercent(), total(ADDED));
+        counts.forEach((type, typeCounts) -> logger.info(" - {}: {} reproduced, {} missed, {} added", type,
+                typeCounts[MATCHED], typeCounts[MISSED], typeCounts[ADDED]));
+        differences.forEach(difference -> logger.debug(" - {}", difference));
+    }
+
+    private void count(Relative.RelationshipType type, int outcome) {
+        counts.computeIfAbsent(type, key -> new long[3])[outcome]++;
+    }
+
+    private long total(int outcome) {
+        return counts.values().stream().mapToLong(typeCounts -> typeCounts[outcome]).sum();
+    }
+
+    /**
+     * Describes a relationship by everything the modes may disagree on.
+     */
+    private static String keyOf(CodeEntity entity, Relative relative) {
+        StringBuilder key = new StringBuilder(entity.getName()).append(' ')
+                .append(relative.getRelationshipType()).append(' ')
+                .append(relative.getCalleeEntity().getName());
+        MethodEntity calleeMethod = relative.getCalleeMethodEntity();
+        if (calleeMethod != null) {
+            key.append('.').append(calleeMethod.getName()).append(calleeMethod.getParameters());
+        } else if (relative.getCalleeMethod() != null) {
+            key.append('.').append(relative.getCalleeMethod());
+        }
+        MethodEntity callerMethod = relative.getCallerMethodEntity();
+        String caller = callerMethod != null ? callerMethod.getName() : relative.getCallerMethod();
+        if (caller != null) {
+            key.append(" <- ").append(caller);
+        }
+        return key.toString();
+    }
+}
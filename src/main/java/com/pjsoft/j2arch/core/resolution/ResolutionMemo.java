@@ -0,0 +1,355 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.PatternExpr;
+import com.github.javaparser.ast.expr.ThisExpr;
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import com.github.javaparser.resolution.types.ResolvedType;
+
+/**
+ * ResolutionMemo
+ *
+ * Remembers the resolved types of the expressions of one compilation unit by
+ * the declaration they refer to rather than by the expression node, so that
+ * the many occurrences of the same scope, such as {@code logger},
+ * {@code this.repository} or a method parameter {@code context}, are resolved
+ * once per file instead of once per occurrence.
+ *
+ * Responsibilities:
+ * - Derive a key from the name of an expression and the declaration scope in
+ * which that name has a single meaning.
+ * - Remember the resolved type, or the failure, of the first occurrence and
+ * answer later occurrences from it.
+ * - Consult the run-wide {@link UnresolvableScopeCache} for package-qualified
+ * names, which fail the same way in every file.
+ * - Count lookups, hits and the resolutions actually performed, with their
+ * time.
+ *
+ * Memoized expressions:
+ * - A simple name that is not declared anywhere within the enclosing member
+ * (method, constructor, initializer or field) refers to the same field, type or
+ * static import throughout the enclosing type, and is keyed by that type.
+ * - A simple name declared exactly once within the enclosing member, as one of
+ * its parameters, is keyed by that member.
+ * - {@code this} and {@code this.field} are keyed by the enclosing type.
+ * - All other expressions are resolved every time.
+ *
+ * Limitations:
+ * - Entries are keyed by AST nodes and hold on to them, so the memo must be
+ * cleared once the unit has been analyzed. Sharing it across units is not
+ * possible: a name only has a meaning within its own unit. Only the failures of
+ * package-qualified names are shared, through the {@link UnresolvableScopeCache}.
+ *
+ * Thread Safety:
+ * - This class is not thread-safe. Each parser worker owns its own instance.
+ *
+ * Usage Example:
+ * {@code
+ * ResolutionMemo memo = new ResolutionMemo(new UnresolvableScopeCache(typeIndex.getPackageRoots()));
+ * ResolvedType type = memo.calculateResolvedType(call.getScope().get());
+ * memo.clear(); // once the unit has been analyzed
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class ResolutionMemo {
+    private static final String THIS = "this";
+
+    private final UnresolvableScopeCache unresolvableScopes;
+    private final Map<Node, Map<String, Resolution>> resolutionsByScope = new IdentityHashMap<>();
+    private final Map<Node, Map<String, Integer>> declaredNamesByNode = new IdentityHashMap<>();
+
+    private long lookups;
+    private long hits;
+    private long resolutions;
+    private long resolutionNanos; // Time spent in resolutions actually performed
+
+    /**
+     * Creates an empty memo.
+     *
+     * @param unresolvableScopes the run-wide cache of unresolvable
+     *                           package-qualified names.
+     * @since 1.3
+     */
+    public ResolutionMemo(UnresolvableScopeCache unresolvableScopes) {
+        this.unresolvableScopes = unresolvableScopes;
+    }
+
+    /**
+     * Calculates the resolved type of an expression, reusing the result of an
+     * earlier expression with the same meaning.
+     *
+     * @param expression the expression to resolve.
+     * @return the resolved type.
+     * @throws RuntimeException the exception thrown when the expression, or the
+     *                          earlier expression with the same meaning, was
+     *                          resolved.
+     * @since 1.3
+     */
+    public ResolvedType calculateResolvedType(Expression expression) {
+        lookups++;
+        Map<String, Resolution> scopeResolutions = null;
+        String name = memoName(expression);
+        Node scope = name != null ? memoScope(expression, name) : null;
+        if (scope != null) {
+            scopeResolutions = resolutionsByScope.computeIfAbsent(scope, key -> new HashMap<>());
+            Resolution resolution = scopeResolutions.get(name);
+            if (resolution != null) {
+                hits++;
+                return resolution.get();
+            }
+        }
+
+        String packageQualifiedName = packageQualifiedName(expression);
+        RuntimeException knownFailure = packageQualifiedName != null ? unresolvableScopes.find(packageQualifiedName)
+                : null;
+        Resolution resolution;
+        if (knownFailure != null) {
+            resolution = new Resolution(null, knownFailure);
+        } else {
+            resolution = resolve(expression);
+            if (packageQualifiedName != null && resolution.failure instanceof UnsolvedSymbolException) {
+                unresolvableScopes.add(packageQualifiedName, resolution.failure);
+            }
+        }
+        if (scopeResolutions != null) {
+            scopeResolutions.put(name, resolution);
+        }
+        return resolution.get();
+    }
+
+    /**
+     * Forgets all remembered resolutions. Call this once the current unit has
+     * been analyzed; the statistics are kept.
+     *
+     * @since 1.3
+     */
+    public void clear() {
+        resolutionsByScope.clear();
+        declaredNamesByNode.clear();
+    }
+
+    /**
+     * Gets the number of expressions resolved through the memo.
+     *
+     * @return the lookup count.
+     * @since 1.3
+     */
+    public long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * Gets the number of expressions answered from the memo.
+     *
+     * @return the hit count.
+     * @since 1.3
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of expressions actually resolved, that is, answered
+     * neither from the memo nor from the {@link UnresolvableScopeCache}.
+     *
+     * @return the resolution count.
+     * @since 1.3
+     */
+    public long getResolutions() {
+        return resolutions;
+    }
+
+    /**
+     * Gets the time spent resolving the expressions that were actually
+     * resolved.
+     *
+     * @return the resolution time in nanoseconds.
+     * @since 1.3
+     */
+    public long getResolutionNanos() {
+        return resolutionNanos;
+    }
+
+    private Resolution resolve(Expression expression) {
+        resolutions++;
+        long start = System.nanoTime();
+        try {
+            return new Resolution(expression.calculateResolvedType(), null);
+        } catch (RuntimeException e) {
+            return new Resolution(null, e);
+        } finally {
+            resolutionNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Gets the name under which an expression's failure may be shared with
+     * other units.
+     *
+     * @return the qualified name, or {@code null} if the expression is not a
+     *         qualified name starting with a package root that the unit does
+     *         not hide with a declaration of its own.
+     */
+    private String packageQualifiedName(Expression expression) {
+        String qualifiedName = qualifiedNameOf(expression);
+        if (qualifiedName == null || !unresolvableScopes.isPackageQualified(qualifiedName)) {
+            return null;
+        }
+        CompilationUnit unit = expression.findCompilationUnit().orElse(null);
+        String root = qualifiedName.substring(0, qualifiedName.indexOf('.'));
+        return unit != null && !declaredNamesOf(unit).containsKey(root) ? qualifiedName : null;
+    }
+
+    private static String qualifiedNameOf(Expression expression) {
+        if (expression instanceof NameExpr) {
+            return ((NameExpr) expression).getNameAsString();
+        }
+        if (expression instanceof FieldAccessExpr && ((FieldAccessExpr) expression).getTypeArguments().isEmpty()) {
+            String scopeName = qualifiedNameOf(((FieldAccessExpr) expression).getScope());
+            return scopeName != null ? scopeName + "." + ((FieldAccessExpr) expression).getNameAsString() : null;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the name under which an expression is memoized.
+     *
+     * @return the name, or {@code null} if the expression is not memoized.
+     */
+    private static String memoName(Expression expression) {
+        if (expression instanceof NameExpr) {
+            return ((NameExpr) expression).getNameAsString();
+        }
+        if (expression instanceof ThisExpr && ((ThisExpr) expression).getTypeName().isEmpty()) {
+            return THIS;
+        }
+        if (expression instanceof FieldAccessExpr) {
+            FieldAccessExpr fieldAccess = (FieldAccessExpr) expression;
+            if (fieldAccess.getScope() instanceof ThisExpr
+                    && ((ThisExpr) fieldAccess.getScope()).getTypeName().isEmpty()) {
+                return THIS + "." + fieldAccess.getNameAsString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the declaration scope in which the name of an expression has a
+     * single meaning.
+     *
+     * @return the enclosing type or member, or {@code null} if the name may have
+     *         several meanings.
+     */
+    private Node memoScope(Expression expression, String name) {
+        Node member = expression;
+        Node type = member.getParentNode().orElse(null);
+        while (type != null && !isMemberOf(member, type)) {
+            member = type;
+            type = type.getParentNode().orElse(null);
+        }
+        if (type == null) {
+            return null;
+        }
+        if (!(expression instanceof NameExpr)) {
+            return type;
+        }
+        int declarations = declaredNamesOf(member).getOrDefault(name, 0);
+        if (declarations == 0) {
+            return type;
+        }
+        if (declarations == 1 && member instanceof CallableDeclaration
+                && ((CallableDeclaration<?>) member).getParameterByName(name).isPresent()) {
+            return member;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a node is a member of a type body: of a named type, of an
+     * anonymous class or of an enum constant's class body.
+     */
+    private static boolean isMemberOf(Node node, Node type) {
+        if (!(node instanceof BodyDeclaration)) {
+            return false;
+        }
+        if (type instanceof TypeDeclaration) {
+            return true;
+        }
+        if (type instanceof ObjectCreationExpr) {
+            return ((ObjectCreationExpr) type).getAnonymousClassBody()
+                    .map(body -> body.stream().anyMatch(bodyMember -> bodyMember == node))
+                    .orElse(false);
+        }
+        if (type instanceof EnumConstantDeclaration) {
+            return ((EnumConstantDeclaration) type).getClassBody().stream()
+                    .anyMatch(bodyMember -> bodyMember == node);
+        }
+        return false;
+    }
+
+    /**
+     * Counts the declarations of every name within a member or unit, including
+     * those of nested lambdas, blocks and classes.
+     */
+    private Map<String, Integer> declaredNamesOf(Node declaringNode) {
+        return declaredNamesByNode.computeIfAbsent(declaringNode, key -> {
+            Map<String, Integer> declaredNames = new HashMap<>();
+            declaringNode.walk(node -> {
+                String declaredName = null;
+                if (node instanceof VariableDeclarator) {
+                    declaredName = ((VariableDeclarator) node).getNameAsString();
+                } else if (node instanceof Parameter) {
+                    declaredName = ((Parameter) node).getNameAsString();
+                } else if (node instanceof PatternExpr) {
+                    declaredName = ((PatternExpr) node).getNameAsString();
+                } else if (node instanceof TypeDeclaration) {
+                    declaredName = ((TypeDeclaration<?>) node).getNameAsString();
+                } else if (node instanceof EnumConstantDeclaration) {
+                    declaredName = ((EnumConstantDeclaration) node).getNameAsString();
+                }
+                if (declaredName != null) {
+                    declaredNames.merge(declaredName, 1, Integer::sum);
+                }
+            });
+            return declaredNames;
+        });
+    }
+
+    /**
+     * The resolved type, or the failure, of the first expression of a key.
+     */
+    private static final class Resolution {
+        private final ResolvedType type;
+        private final RuntimeException failure;
+
+        private Resolution(ResolvedType type, RuntimeException failure) {
+            this.type = type;
+            this.failure = failure;
+        }
+
+        private ResolvedType get() {
+            if (failure != null) {
+                throw failure;
+            }
+            return type;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+
+/**
+ * SharedTypeSolver
+ *
+ * A thread-safe {@link TypeSolver} that lets several parser workers share one
+ * expensive type solver, typically the JDK and the external libraries.
+ *
+ * Responsibilities:
+ * - Serializes access to the wrapped type solver, which is not thread-safe.
+ * - Caches every lookup result so repeated lookups never take the lock.
+ * - Hands out lightweight per-worker views that can be attached to a
+ * worker's own {@code CombinedTypeSolver}.
+ *
+ * The shared solver becomes the root of the wrapped solver, so declarations it
+ * returns resolve their own dependencies through the same lock. Because a type
+ * solver can only have one parent, workers must add a {@link #newView()} to
+ * their combined solver instead of the shared instance itself.
+ *
+ * Thread Safety:
+ * - This class is thread-safe.
+ *
+ * Usage Example:
+ * {@code
+ * SharedTypeSolver libraries = SharedTypeSolver.wrap(new ReflectionTypeSolver());
+ * CombinedTypeSolver workerSolver = new CombinedTypeSolver(libraries.newView(), projectSolver);
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class SharedTypeSolver implements TypeSolver {
+    private final TypeSolver delegate;
+    private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> solvedTypes = new ConcurrentHashMap<>();
+
+    private SharedTypeSolver(TypeSolver delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the given type solver and makes the shared solver its parent. The
+     * wrapped solver must not have a parent yet and must not be used directly
+     * afterwards.
+     *
+     * @param delegate the type solver to share.
+     * @return the shared solver.
+     * @since 1.3
+     */
+    public static SharedTypeSolver wrap(TypeSolver delegate) {
+        SharedTypeSolver sharedSolver = new SharedTypeSolver(delegate);
+        delegate.setParent(sharedSolver);
+        return sharedSolver;
+    }
+
+    /**
+     * Creates a view of this solver that can be added to another combined type
+     * solver. Every view delegates to this shared instance.
+     *
+     * @return a new view of this solver.
+     * @since 1.3
+     */
+    public TypeSolver newView() {
+        return new View();
+    }
+
+    /**
+     * Gets the number of distinct type names looked up so far.
+     *
+     * @return the number of cached lookups.
+     * @since 1.3
+     */
+    public int getCachedLookupCount() {
+        return solvedTypes.size();
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        SymbolReference<ResolvedReferenceTypeDeclaration> cached = solvedTypes.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        SymbolReference<ResolvedReferenceTypeDeclaration> reference;
+        synchronized (delegate) {
+            reference = delegate.tryToSolveType(name);
+        }
+        SymbolReference<ResolvedReferenceTypeDeclaration> previous = solvedTypes.putIfAbsent(name, reference);
+        return previous != null ? previous : reference;
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return null;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        throw new UnsupportedOperationException("A shared type solver cannot have a parent, add a view instead");
+    }
+
+    /**
+     * A per-worker view of the shared solver. It keeps its own parent so it can
+     * be added to a worker's combined type solver.
+     */
+    private class View implements TypeSolver {
+        private TypeSolver parent;
+
+        @Override
+        public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+            return SharedTypeSolver.this.tryToSolveType(name);
+        }
+
+        @Override
+        public TypeSolver getParent() {
+            return parent;
+        }
+
+        @Override
+        public void setParent(TypeSolver parent) {
+            if (this.parent != null) {
+                throw new IllegalStateException("This view already has a parent");
+            }
+            this.parent = parent;
+        }
+    }
+}
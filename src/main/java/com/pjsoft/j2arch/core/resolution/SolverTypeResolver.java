@@ -0,0 +1,63 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.resolution.types.ResolvedType;
+
+/**
+ * SolverTypeResolver
+ *
+ * An {@link ExpressionTypeResolver} backed by the symbol solver attached to
+ * the parser of the unit. Expression types go through a
+ * {@link ResolutionMemo}, so repeated occurrences of the same name are
+ * resolved once per unit.
+ *
+ * Thread Safety:
+ * - This class is not thread-safe. Each parser worker owns its own instance.
+ *
+ * Usage Example:
+ * {@code
+ * ExpressionTypeResolver typeResolver = new SolverTypeResolver(resolutionMemo);
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class SolverTypeResolver implements ExpressionTypeResolver {
+    private final ResolutionMemo resolutionMemo;
+
+    /**
+     * Creates a resolver that resolves expressions through the given memo.
+     *
+     * @param resolutionMemo the memo of the worker's current unit.
+     * @since 1.3
+     */
+    public SolverTypeResolver(ResolutionMemo resolutionMemo) {
+        this.resolutionMemo = resolutionMemo;
+    }
+
+    @Override
+    public String resolveTypeName(Expression expression) {
+        return qualifiedNameOf(resolutionMemo.calculateResolvedType(expression));
+    }
+
+    @Override
+    public String describeType(Expression expression) {
+        return resolutionMemo.calculateResolvedType(expression).describe();
+    }
+
+    @Override
+    public String resolveTypeName(ClassOrInterfaceType type) {
+        return qualifiedNameOf(type.resolve());
+    }
+
+    @Override
+    public boolean isHeuristic() {
+        return false;
+    }
+
+    private static String qualifiedNameOf(ResolvedType resolvedType) {
+        return resolvedType.isReferenceType() ? resolvedType.asReferenceType().getQualifiedName() : null;
+    }
+}
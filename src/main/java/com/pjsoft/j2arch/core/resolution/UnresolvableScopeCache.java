@@ -0,0 +1,129 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UnresolvableScopeCache
+ *
+ * Remembers, for a whole run, the package-qualified names that failed to
+ * resolve as expressions, such as {@code javax.swing} in
+ * {@code javax.swing.SwingUtilities.invokeLater(task)} or {@code java.util} in
+ * {@code java.util.List.of()}. Every fully qualified type name used in an
+ * expression contains such package names; they never resolve, so resolving them
+ * again in every file only repeats the same failure.
+ *
+ * Responsibilities:
+ * - Decide whether a dotted name starts with a known package root.
+ * - Remember the failure of the first attempt and answer repeat attempts in
+ * any file from it.
+ * - Count the repeat attempts that were skipped.
+ *
+ * A package-qualified name means the same in every file unless a variable or
+ * type of the root's name hides the package; {@link ResolutionMemo} only uses
+ * this cache when the unit declares no such name.
+ *
+ * Limitations:
+ * - A field named like a package root and inherited from a type of another
+ * unit is not detected. Bare names, such as {@code java} on its own, are
+ * therefore never cached: an expression made of just such a field would
+ * otherwise fail in every file. Only the longer names built on a root are.
+ * - Package roots of external libraries that do not also occur in the project
+ * or the JDK are not known, so their names are not cached.
+ *
+ * Thread Safety:
+ * - This class is thread-safe and shared by all parser workers of a run.
+ *
+ * Usage Example:
+ * {@code
+ * UnresolvableScopeCache cache = new UnresolvableScopeCache(typeIndex.getPackageRoots());
+ * ResolutionMemo memo = new ResolutionMemo(cache);
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class UnresolvableScopeCache {
+    private final Set<String> packageRoots;
+    private final Map<String, RuntimeException> failures = new ConcurrentHashMap<>(); // Qualified name to failure
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Creates an empty cache for the given package roots and those of the JDK.
+     *
+     * @param projectPackageRoots the package roots of the project's types.
+     * @since 1.3
+     */
+    public UnresolvableScopeCache(Set<String> projectPackageRoots) {
+        Set<String> roots = new HashSet<>(projectPackageRoots);
+        ModuleLayer.boot().modules().forEach(module -> module.getPackages()
+                .forEach(packageName -> roots.add(packageName.split("\\.", 2)[0])));
+        this.packageRoots = Collections.unmodifiableSet(roots);
+    }
+
+    /**
+     * Checks whether a qualified name starts with a known package root and may
+     * therefore be cached.
+     *
+     * @param qualifiedName the name, such as {@code javax.swing}.
+     * @return {@code true} if the name is dotted and its first part is a
+     *         package root; {@code false} for a bare name.
+     * @since 1.3
+     */
+    public boolean isPackageQualified(String qualifiedName) {
+        int dot = qualifiedName.indexOf('.');
+        return dot > 0 && packageRoots.contains(qualifiedName.substring(0, dot));
+    }
+
+    /**
+     * Finds the failure of an earlier attempt to resolve a name.
+     *
+     * @param qualifiedName the package-qualified name.
+     * @return the failure, or {@code null} if the name is not known to be
+     *         unresolvable.
+     * @since 1.3
+     */
+    public RuntimeException find(String qualifiedName) {
+        RuntimeException failure = failures.get(qualifiedName);
+        if (failure != null) {
+            hits.increment();
+        }
+        return failure;
+    }
+
+    /**
+     * Remembers that a name could not be resolved.
+     *
+     * @param qualifiedName the package-qualified name.
+     * @param failure       the exception thrown while resolving it.
+     * @since 1.3
+     */
+    public void add(String qualifiedName, RuntimeException failure) {
+        failures.putIfAbsent(qualifiedName, failure);
+    }
+
+    /**
+     * Gets the number of repeat attempts answered from the cache.
+     *
+     * @return the hit count.
+     * @since 1.3
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of names known to be unresolvable.
+     *
+     * @return the number of names.
+     * @since 1.3
+     */
+    public int size() {
+        return failures.size();
+    }
+}
@@ -0,0 +1,163 @@
+package com.pjsoft.j2arch.core.resolution;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+
+/**
+ * UnresolvedSymbolReport
+ *
+ * Collects the symbol resolution failures of a run and summarizes them once
+ * at the end, grouped by cause, instead of logging every occurrence with its
+ * stack trace.
+ *
+ * Responsibilities:
+ * - Count failures per kind of resolved element.
+ * - Count failures per cause, ignoring the line and context details that
+ * differ between occurrences of the same cause.
+ * - Log a compact summary with the most frequent causes.
+ *
+ * Thread Safety:
+ * - This class is thread-safe; all parser workers of a run record into the same
+ * report.
+ *
+ * Usage Example:
+ * {@code
+ * UnresolvedSymbolReport report = new UnresolvedSymbolReport();
+ * report.record(UnresolvedSymbolReport.Kind.CALL_SCOPE, exception);
+ * report.log(logger);
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class UnresolvedSymbolReport {
+    private static final int MAX_REPORTED_CAUSES = 20;
+    private static final int MAX_CAUSE_LENGTH = 160;
+
+    private final Map<Kind, LongAdder> failuresByKind = new EnumMap<>(Kind.class);
+    private final Map<String, LongAdder> failuresByCause = new ConcurrentHashMap<>();
+
+    /**
+     * The kinds of elements whose resolution can fail.
+     */
+    public enum Kind {
+        CALL_SCOPE("call scope(s)"),
+        CALL_ARGUMENT("call argument(s)"),
+        FIELD_ACCESS_SCOPE("field access scope(s)"),
+        PARENT_TYPE("parent type(s)");
+
+        private final String description;
+
+        Kind(String description) {
+            this.description = description;
+        }
+    }
+
+    /**
+     * Creates an empty report.
+     *
+     * @since 1.3
+     */
+    public UnresolvedSymbolReport() {
+        for (Kind kind : Kind.values()) {
+            failuresByKind.put(kind, new LongAdder());
+        }
+    }
+
+    /**
+     * Records a resolution failure.
+     *
+     * @param kind    the kind of element that failed to resolve.
+     * @param failure the exception thrown while resolving it.
+     * @since 1.3
+     */
+    public void record(Kind kind, Throwable failure) {
+        failuresByKind.get(kind).increment();
+        failuresByCause.computeIfAbsent(causeOf(failure), cause -> new LongAdder()).increment();
+    }
+
+    /**
+     * Forgets all recorded failures.
+     *
+     * @since 1.3
+     */
+    public void clear() {
+        failuresByKind.values().forEach(LongAdder::reset);
+        failuresByCause.clear();
+    }
+
+    /**
+     * Gets the number of recorded failures.
+     *
+     * @return the failure count.
+     * @since 1.3
+     */
+    public long getFailureCount() {
+        return failuresByKind.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Logs the summary of the recorded failures: the counts per kind and the
+     * most frequent causes as warnings, and all causes at debug level. Nothing
+     * is logged if no failure was recorded.
+     *
+     * @param logger the logger to write to.
+     * @since 1.3
+     */
+    public void log(org.slf4j.Logger logger) {
+        long failureCount = getFailureCount();
+        if (failureCount == 0) {
+            return;
+        }
+        StringBuilder kinds = new StringBuilder();
+        for (Kind kind : Kind.values()) {
+            long count = failuresByKind.get(kind).sum();
+            if (count > 0) {
+                kinds.append(kinds.length() > 0 ? ", " : "").append(count).append(' ').append(kind.description);
+            }
+        }
+        logger.warn("Symbol resolution failed {} time(s): {}; {} distinct cause(s)", failureCount, kinds,
+                failuresByCause.size());
+
+        // Most frequent first; equal counts by cause so the output does not depend on the worker scheduling
+        List<Map.Entry<String, Long>> causes = new ArrayList<>();
+        failuresByCause.forEach((cause, count) -> causes.add(Map.entry(cause, count.sum())));
+        causes.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        logger.warn("Most frequent causes (see the debug log for all):");
+        for (int i = 0; i < causes.size(); i++) {
+            Map.Entry<String, Long> cause = causes.get(i);
+            if (i < MAX_REPORTED_CAUSES) {
+                logger.warn(" - {} x {}", cause.getValue(), cause.getKey());
+            } else {
+                logger.debug(" - {} x {}", cause.getValue(), cause.getKey());
+            }
+        }
+    }
+
+    /**
+     * Describes the cause of a failure without the details that differ between
+     * its occurrences, such as line numbers and resolution contexts.
+     */
+    private static String causeOf(Throwable failure) {
+        String message = failure.getMessage() != null ? failure.getMessage() : "";
+        if (!(failure instanceof UnsolvedSymbolException)) {
+            int contextStart = message.indexOf(" in context ");
+            if (contextStart >= 0) {
+                message = message.substring(0, contextStart);
+            }
+            message = failure.getClass().getSimpleName() + (message.isEmpty() ? "" : ": " + message);
+        }
+        int lineEnd = message.indexOf('\n');
+        if (lineEnd >= 0) {
+            message = message.substring(0, lineEnd);
+        }
+        return message.length() > MAX_CAUSE_LENGTH ? message.substring(0, MAX_CAUSE_LENGTH) + "..." : message;
+    }
+}
@@ -17,8 +17,10 @@ public class EntryPointDetector {
     }
 
     public void detectAndTagEntryPoints(List<CodeEntity> codeEntities) {
+        // Index the classes once for all strategies
+        CodeBase codeBase = new CodeBase(codeEntities);
         for (EntryPointStrategy strategy : strategies) {
-            for (CodeEntity codeEntity : strategy.identifyEntryPoints(new CodeBase(codeEntities))) {
+            for (CodeEntity codeEntity : strategy.identifyEntryPoints(codeBase)) {
                 codeEntity.setEntryPoint(true);
                 codeEntity.setEntryPointType(strategy.getClass().getSimpleName().replace("Strategy", ""));
             }
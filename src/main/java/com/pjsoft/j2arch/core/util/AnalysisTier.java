@@ -0,0 +1,51 @@
+package com.pjsoft.j2arch.core.util;
+
+/**
+ * AnalysisTier
+ *
+ * The tiers of a tiered project analysis. The structural tier parses the
+ * source files and extracts all but the method calls, so that class diagrams
+ * can be rendered early; the call graph tier then resolves the calls of the
+ * same parsed files for the sequence diagrams.
+ *
+ * Responsibilities:
+ * - Tell the {@link JavaParserService} which relationships to extract.
+ * - Let the {@link ProgressTracker} report the progress of each tier
+ * separately.
+ *
+ * Usage Example:
+ * {@code
+ * JavaParserService parser = new JavaParserService(typeIndex, AnalysisTier.STRUCTURE);
+ * List<CodeEntity> structure = parser.parseFiles(files, context, progressTracker);
+ * Map<CodeEntity, List<Relative>> calls = parser.extractCallRelatives(context, progressTracker);
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public enum AnalysisTier {
+    /**
+     * Types, members, inheritance and associations, including those through
+     * field accesses.
+     */
+    STRUCTURE("Structural analysis"),
+    /** The caller-callee relationships of the files parsed by the structure. */
+    CALL_GRAPH("Call graph analysis");
+
+    private final String displayName;
+
+    AnalysisTier(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the name of the tier shown in progress messages.
+     *
+     * @return the display name.
+     * @since 1.3
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -43,6 +43,8 @@ public class DirectoryConstants {
 
     /** Directory for external library files. */
     public static final String LIBS_DIR = "libs";
+    /** Directory, inside the output directory, for the persistent analysis cache. */
+    public static final String CACHE_DIR = ".j2arch-cache";
 
     // Default paths
 
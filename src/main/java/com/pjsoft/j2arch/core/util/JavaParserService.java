@@ -2,27 +2,53 @@ package com.pjsoft.j2arch.core.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
-import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
-import com.github.javaparser.resolution.types.ResolvedReferenceType;
-import com.github.javaparser.resolution.types.ResolvedType;
 
 import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.context.GenerationOptions.AnalysisMode;
+import com.pjsoft.j2arch.core.model.AnalysisResult;
 import com.pjsoft.j2arch.core.model.CodeEntity;
 import com.pjsoft.j2arch.core.model.FieldEntity;
 import com.pjsoft.j2arch.core.model.MethodEntity;
 import com.pjsoft.j2arch.core.model.PackageEntity;
+import com.pjsoft.j2arch.core.model.ParsedSource;
 import com.pjsoft.j2arch.core.model.Relative;
+import com.pjsoft.j2arch.core.model.SymbolTable;
+import com.pjsoft.j2arch.core.resolution.DependencyRecordingTypeSolver;
+import com.pjsoft.j2arch.core.resolution.ExpressionTypeResolver;
+import com.pjsoft.j2arch.core.resolution.LexicalTypeResolver;
+import com.pjsoft.j2arch.core.resolution.ParsedUnitRegistry;
+import com.pjsoft.j2arch.core.resolution.ProjectTypeIndex;
+import com.pjsoft.j2arch.core.resolution.ResolutionComparison;
+import com.pjsoft.j2arch.core.resolution.ResolutionMemo;
+import com.pjsoft.j2arch.core.resolution.SharedTypeSolver;
+import com.pjsoft.j2arch.core.resolution.SolverTypeResolver;
+import com.pjsoft.j2arch.core.resolution.UnresolvableScopeCache;
+import com.pjsoft.j2arch.core.resolution.UnresolvedSymbolReport;
 import com.pjsoft.j2arch.core.strategy.ConsoleStrategy;
 import com.pjsoft.j2arch.core.strategy.EntryPointDetector;
 import com.pjsoft.j2arch.core.strategy.EntryPointStrategy;
@@ -46,9 +72,14 @@ import com.pjsoft.j2arch.core.util.ProgressTracker.WorkUnitType;
  * - Parse Java source files to extract class-level metadata.
  * - Extract relationships such as inheritance, method calls, and field
  * associations.
- * - Resolve types and symbols using JavaSymbolSolver.
+ * - Point all relationships of a run at shared targets from one
+ * {@link SymbolTable}.
+ * - Resolve types and symbols using JavaSymbolSolver, or in the fast analysis
+ * mode infer them from each file alone (see the "analysis.mode" property).
  * - Filter classes based on the "include.package" configuration property.
- * - Track unresolved symbols during parsing for debugging purposes.
+ * - Summarize the symbols that could not be resolved once parsing is done.
+ * - In the structural tier of a tiered analysis, keep the parsed units so that
+ * the call graph tier resolves their method calls without parsing them again.
  * 
  * Features:
  * - Supports extracting annotations, constructors, methods, fields, and
@@ -62,8 +93,14 @@ import com.pjsoft.j2arch.core.util.ProgressTracker.WorkUnitType;
  * - JavaParser library: For parsing Java source files.
  * 
  * Thread Safety:
- * - This class is not thread-safe as it relies on mutable state and uses
- * {@link ThreadLocal} for unresolved symbols.
+ * - A single {@link #parseFiles} call may parse files on several worker
+ * threads (see the "parser.threads" property). Each worker owns its own
+ * {@link JavaParser}, {@link ParsedUnitRegistry} and
+ * {@link ExpressionTypeResolver}; only the library type solver is shared.
+ * - Concurrent calls to {@link #parseFiles} on the same instance are not
+ * supported. {@link #extractCallRelatives} may run on another thread once
+ * {@link #parseFiles} has returned; each worker's units are then resolved on
+ * one thread.
  * 
  * Limitations:
  * - Assumes that the input files are valid `.java` files.
@@ -85,14 +122,67 @@ import com.pjsoft.j2arch.core.util.ProgressTracker.WorkUnitType;
  */
 public class JavaParserService {
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(JavaParserService.class);
-    private final ThreadLocal<List<String>> unresolvedSymbols = ThreadLocal.withInitial(ArrayList::new);
+    private final UnresolvedSymbolReport unresolvedSymbols = new UnresolvedSymbolReport();
+    private final SymbolTable symbolTable = new SymbolTable(); // Targets of the relationships of this run
+    private final ProjectTypeIndex typeIndex; // Index of all project types, or null to index the parsed files
+    private final AnalysisTier tier; // Tier of a tiered analysis, or null for a complete analysis
+    private List<UnitCalls> pendingCalls = List.of(); // Calls left by the structural tier, in file order
+
+    /**
+     * Creates a service that indexes the types of the files it is asked to
+     * parse.
+     * 
+     * @since 1.0
+     */
+    public JavaParserService() {
+        this(null);
+    }
+
+    /**
+     * Creates a service that resolves project types with the given index.
+     * Use this constructor when only part of the project's files are parsed at
+     * a time, so that types declared in the other files still resolve.
+     * 
+     * @param typeIndex the index of all the project's types.
+     * @since 1.3
+     */
+    public JavaParserService(ProjectTypeIndex typeIndex) {
+        this(typeIndex, null);
+    }
+
+    /**
+     * Creates a service for one tier of a tiered analysis. The
+     * {@link AnalysisTier#STRUCTURE structural} tier extracts everything but
+     * the method calls, and keeps the parsed units for
+     * {@link #extractCallRelatives}.
+     * 
+     * @param typeIndex the index of all the project's types.
+     * @param tier      the analysis tier, or {@code null} for a complete
+     *                  analysis.
+     * @since 1.3
+     */
+    public JavaParserService(ProjectTypeIndex typeIndex, AnalysisTier tier) {
+        this.typeIndex = typeIndex;
+        this.tier = tier;
+    }
+
+    /**
+     * Gets the tier of the analysis this service performs.
+     * 
+     * @return the analysis tier, or {@code null} for a complete analysis.
+     * @since 1.3
+     */
+    public AnalysisTier getTier() {
+        return tier;
+    }
 
     /**
      * Parses a list of Java source files and extracts {@link CodeEntity} objects.
      * 
      * Responsibilities:
      * - Configures the symbol solver for type resolution.
-     * - Parses each file to extract classes, methods, fields, and relationships.
+     * - Parses each file to extract classes, methods, fields, and relationships,
+     * optionally on several worker threads.
      * - Filters classes based on the "include.package" configuration property.
      * - Tracks unresolved symbols encountered during parsing.
      * 
@@ -102,7 +192,7 @@ public class JavaParserService {
      * 
      * Postconditions:
      * - A list of {@link CodeEntity} objects is returned, representing parsed
-     * classes.
+     * classes, in the order of the input files regardless of the worker count.
      * - Unresolved symbols are logged for debugging purposes.
      * - Progress is tracked using the {@link ProgressTracker}.
      * 
@@ -115,76 +205,247 @@ public class JavaParserService {
      * @since 1.0
      */
     public List<CodeEntity> parseFiles(List<String> files, GenerationContext context, ProgressTracker progressTracker) {
-        int numberOfFiles = files.size();
-        String inputDir = context.getInputDirectory();
-        SymbolSolverConfig.configureSymbolSolver(inputDir, context); // Configure SymbolSolver
         List<CodeEntity> parsedEntities = new ArrayList<>();
+        for (ParsedSource parsedSource : parseSources(files, context, progressTracker)) {
+            parsedEntities.addAll(parsedSource.getCodeEntities());
+        }
+        detectEntryPoints(parsedEntities);
+        return parsedEntities;
+    }
+
+    /**
+     * Parses a list of Java source files and returns one {@link ParsedSource}
+     * per file, including the types each file declares and depends on.
+     * 
+     * Responsibilities:
+     * - Configures a parser and type resolver per worker thread: the symbol
+     * solver in the full analysis mode, a {@link LexicalTypeResolver} in the
+     * fast mode.
+     * - Parses each file to extract classes, methods, fields, and relationships.
+     * - Records the project types looked up while resolving each file.
+     * - In the structural tier of a tiered analysis, extracts no method calls
+     * and keeps the parsed units for {@link #extractCallRelatives}.
+     * - In the fast mode, optionally analyzes a sample of the files again in
+     * full mode and logs how far the results differ.
+     * 
+     * Entry points are not detected here; callers combine the results first and
+     * then call {@link #detectEntryPoints(List)}.
+     * 
+     * @param files           the list of file paths to parse.
+     * @param context         the {@link GenerationContext} containing configuration
+     *                        and context data.
+     * @param progressTracker the {@link ProgressTracker} to track parsing progress.
+     * @return the parse results, in the order of the input files.
+     * @since 1.3
+     */
+    public List<ParsedSource> parseSources(List<String> files, GenerationContext context,
+            ProgressTracker progressTracker) {
+        int numberOfFiles = files.size();
+        long start = System.currentTimeMillis();
+        ProjectTypeIndex projectTypes = typeIndex != null ? typeIndex : ProjectTypeIndex.build(files);
+        int workers = context.getOptions().resolveParserThreads(numberOfFiles);
+        int registryCapacity = context.getOptions().getParserRegistryCapacity();
+        AnalysisMode analysisMode = context.getOptions().getAnalysisMode();
+        boolean structureOnly = tier == AnalysisTier.STRUCTURE;
+        boolean fastMode = analysisMode == AnalysisMode.FAST;
+        // The fast mode needs neither library types nor the other units
+        SharedTypeSolver libraryTypeSolver = fastMode ? null : SymbolSolverConfig.createLibraryTypeSolver(context);
+        UnresolvableScopeCache unresolvableScopes = fastMode ? null
+                : new UnresolvableScopeCache(projectTypes.getPackageRoots());
+        // Each worker owns its parser, unit registry and project type solver; only the library solver and the
+        // unresolvable scopes are shared
+        Queue<ParserWorker> createdWorkers = new ConcurrentLinkedQueue<>();
+        ThreadLocal<ParserWorker> parserWorkers = ThreadLocal.withInitial(() -> {
+            ParserWorker worker = fastMode ? ParserWorker.fast(projectTypes)
+                    : ParserWorker.full(projectTypes, libraryTypeSolver, unresolvableScopes, registryCapacity);
+            createdWorkers.add(worker);
+            return worker;
+        });
+        Map<String, UnitCalls> callsByFile = structureOnly ? new ConcurrentHashMap<>() : null;
+        unresolvedSymbols.clear();
         logger.info("Starting project analysis...");
-        logger.info("Total files to parse: {}", numberOfFiles);
+        logger.info("Total files to parse: {} using {} worker(s) in {} analysis mode{}", numberOfFiles, workers,
+                analysisMode.name().toLowerCase(), structureOnly ? ", structural tier" : "");
         progressTracker.onStatusUpdate("Number of files to parse: "+numberOfFiles);
         progressTracker.onStatusUpdate("File parsing starts...");
-        progressTracker.addTotalUnits(WorkUnitType.FILE_PARSING, numberOfFiles);
-        for (String filePath : files) {
-            try {
-                File file = new File(filePath);
-                CompilationUnit compilationUnit = StaticJavaParser.parse(file);
+        progressTracker.addTotalUnits(tier, WorkUnitType.FILE_PARSING, numberOfFiles);
 
-                Optional<ClassOrInterfaceDeclaration> classDeclaration = compilationUnit
-                        .findFirst(ClassOrInterfaceDeclaration.class);
-
-                if (classDeclaration.isPresent()) {
-                    ClassOrInterfaceDeclaration classDecl = classDeclaration.get();
-
-                    // Use fully qualified name if available, otherwise fallback to simple name
-                    String fullyQualifiedName = classDecl.getFullyQualifiedName().orElse(classDecl.getNameAsString());
+        List<ParsedSource> parsedSources = new ArrayList<>(numberOfFiles);
+        if (workers == 1) {
+            for (String filePath : files) {
+                parsedSources.add(parseFile(filePath, parserWorkers.get(), context, progressTracker, callsByFile));
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(workers);
+            try {
+                List<Future<ParsedSource>> futures = new ArrayList<>(numberOfFiles);
+                for (String filePath : files) {
+                    futures.add(executor.submit(
+                            () -> parseFile(filePath, parserWorkers.get(), context, progressTracker, callsByFile)));
+                }
+                // Collect in submission order so the result does not depend on scheduling
+                for (Future<ParsedSource> future : futures) {
+                    parsedSources.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("File parsing was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("File parsing failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
 
-                    // Filter classes based on the "include.package" configuration
-                    String includePackage = context.getIncludePackage();
-                    if (includePackage != null && !includePackage.isEmpty()
-                            && !fullyQualifiedName.startsWith(includePackage)) {
-                        logger.debug("Skipping class outside the include package: {}", fullyQualifiedName);
-                        continue; // Skip this class if it does not belong to the specified package
-                    }
+        progressTracker.onStatusUpdate("File parsing completed.");
+        logExtractionStatistics(createdWorkers, numberOfFiles);
+        logSymbolTableStatistics();
+        if (fastMode) {
+            logLexicalResolutionStatistics(createdWorkers);
+        } else {
+            logRegistryStatistics(createdWorkers);
+            logResolutionStatistics(createdWorkers, unresolvableScopes);
+        }
+        // Log unresolved symbols after parsing all files
+        logUnresolvedSymbols();
 
-                    CodeEntity codeEntity = new CodeEntity(fullyQualifiedName);
+        if (fastMode && !structureOnly && context.getOptions().getAnalysisFastSampleFiles() > 0) {
+            compareWithFullResolution(files, parsedSources, projectTypes, context, progressTracker,
+                    System.currentTimeMillis() - start);
+        }
+        if (structureOnly) {
+            List<UnitCalls> calls = new ArrayList<>(callsByFile.size());
+            for (String filePath : files) {
+                UnitCalls unitCalls = callsByFile.get(filePath);
+                if (unitCalls != null) {
+                    calls.add(unitCalls);
+                }
+            }
+            pendingCalls = calls;
+        }
+        return parsedSources;
+    }
 
-                    // **Extract Class Annotations**
-                    classDecl.getAnnotations().forEach(annotation -> {
-                        String annotationName = annotation.getNameAsString();
-                        codeEntity.addAnnotation(annotationName); // Add annotation to the CodeEntity
-                    });
+    /**
+     * Extracts the caller-callee relationships that the structural tier left
+     * out, from the units kept by the last {@link #parseSources} call.
+     * 
+     * Responsibilities:
+     * - Resolves the method calls of the kept units with the workers that parsed
+     * them, so no file is parsed or indexed again.
+     * - Releases the kept units once their calls are extracted.
+     * 
+     * The relationships are returned instead of added to the entities so that
+     * the structure can be read while they are extracted; the callee entities
+     * are not linked yet.
+     * 
+     * @param context         the {@link GenerationContext} containing configuration
+     *                        and context data.
+     * @param progressTracker the {@link ProgressTracker} to track the progress.
+     * @return the relationships of each entity with calls, in the order of the
+     *         calls.
+     * @throws IllegalStateException if the service is not for the structural
+     *                               tier.
+     * @since 1.3
+     */
+    public Map<CodeEntity, List<Relative>> extractCallRelatives(GenerationContext context,
+            ProgressTracker progressTracker) {
+        if (tier != AnalysisTier.STRUCTURE) {
+            throw new IllegalStateException("Only the structural tier leaves calls to extract");
+        }
+        List<UnitCalls> calls = pendingCalls;
+        pendingCalls = List.of();
+        // A worker's parser and resolvers are not thread-safe, so each worker resolves its own units
+        Map<ParserWorker, List<UnitCalls>> callsByWorker = new LinkedHashMap<>();
+        for (UnitCalls unitCalls : calls) {
+            callsByWorker.computeIfAbsent(unitCalls.worker, worker -> new ArrayList<>()).add(unitCalls);
+        }
+        unresolvedSymbols.clear();
+        logger.info("Extracting the calls of {} file(s) using {} worker(s)", calls.size(), callsByWorker.size());
+        progressTracker.addTotalUnits(AnalysisTier.CALL_GRAPH, WorkUnitType.FILE_PARSING, calls.size());
 
-                    // Extract relationships and details
-                    extractParentRelationships(classDecl, codeEntity, context);
-                    extractMethodsAndRelationships(classDecl, codeEntity, context);
-                    extractFieldsAndRelationships(classDecl, codeEntity, context);
+        List<Map<CodeEntity, List<Relative>>> results = new ArrayList<>();
+        if (callsByWorker.size() <= 1) {
+            for (List<UnitCalls> workerCalls : callsByWorker.values()) {
+                results.add(extractCallRelatives(workerCalls, context, progressTracker));
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(callsByWorker.size());
+            try {
+                List<Future<Map<CodeEntity, List<Relative>>>> futures = new ArrayList<>();
+                for (List<UnitCalls> workerCalls : callsByWorker.values()) {
+                    futures.add(executor.submit(() -> extractCallRelatives(workerCalls, context, progressTracker)));
+                }
+                for (Future<Map<CodeEntity, List<Relative>>> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Call extraction was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Call extraction failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
 
-                    // Add the parsed entity
-                    parsedEntities.add(codeEntity);
+        // Entities are equal by content, so they are keyed by identity
+        Map<CodeEntity, List<Relative>> callRelatives = new IdentityHashMap<>();
+        results.forEach(callRelatives::putAll);
+        logSymbolTableStatistics();
+        logUnresolvedSymbols();
+        return callRelatives;
+    }
 
-                    // Log relationships for debugging
-                    // logRelationships(codeEntity);
-                } else {
-                    logger.warn("No class or interface declaration found in file: {}", file.getName());
+    /**
+     * Extracts the caller-callee relationships of the units kept by one worker.
+     * A unit that fails is logged and skipped.
+     * 
+     * @param workerCalls     the units of one worker.
+     * @param context         the {@link GenerationContext} containing configuration
+     *                        and context data.
+     * @param progressTracker the {@link ProgressTracker} to track the progress.
+     * @return the relationships of each entity with calls.
+     * @since 1.3
+     */
+    private Map<CodeEntity, List<Relative>> extractCallRelatives(List<UnitCalls> workerCalls,
+            GenerationContext context, ProgressTracker progressTracker) {
+        Map<CodeEntity, List<Relative>> callRelatives = new IdentityHashMap<>();
+        for (UnitCalls unitCalls : workerCalls) {
+            ParserWorker worker = unitCalls.worker;
+            try {
+                Map<CodeEntity, List<Relative>> unitRelatives = new IdentityHashMap<>();
+                for (PendingMethod pending : unitCalls.methods) {
+                    List<Relative> relatives = extractCallRelationships(pending.method, pending.methodEntity,
+                            pending.codeEntity, unitCalls.elements, worker.typeResolver, context);
+                    if (worker.typeResolver.isHeuristic()) {
+                        relatives.forEach(relative -> relative.setHeuristic(true));
+                    }
+                    unitRelatives.computeIfAbsent(pending.codeEntity, entity -> new ArrayList<>()).addAll(relatives);
                 }
-            } catch (IOException e) {
-                logger.error("Error parsing file: {}", filePath, e);
+                unitRelatives.forEach((entity, relatives) -> callRelatives
+                        .computeIfAbsent(entity, key -> new ArrayList<>()).addAll(relatives));
             } catch (Exception e) {
-                logger.error("Error parsing file: {} - {}", filePath, e.getMessage());
+                logger.error("Error extracting the calls of file: {} - {}", unitCalls.filePath, e.getMessage());
                 logger.debug("Stack trace:", e);
+            } catch (StackOverflowError e) {
+                logger.error("Error extracting the calls of file: {} - too deeply nested to analyze",
+                        unitCalls.filePath);
             } finally {
-                // Update progress tracker after processing each file
-                progressTracker.addCompletedUnits(WorkUnitType.FILE_PARSING, 1);
-
+                worker.clear();
+                progressTracker.addCompletedUnits(AnalysisTier.CALL_GRAPH, WorkUnitType.FILE_PARSING, 1);
             }
-         
-
         }
+        return callRelatives;
+    }
 
-        progressTracker.onStatusUpdate("File parsing completed.");
-        // Log unresolved symbols after parsing all files
-        logUnresolvedSymbols();
-
+    /**
+     * Detects and tags the entry points among the given classes.
+     * 
+     * @param codeEntities the parsed classes of the whole project.
+     * @since 1.3
+     */
+    public void detectEntryPoints(List<CodeEntity> codeEntities) {
         // Apply EntryPointDetector
         List<EntryPointStrategy> strategies = List.of(
                 new ConsoleStrategy(),
@@ -193,9 +454,182 @@ public class JavaParserService {
                 new LibraryStrategy());
         EntryPointDetector detector = new EntryPointDetector(strategies);
         
-        detector.detectAndTagEntryPoints(parsedEntities);
-       
-        return parsedEntities;
+        detector.detectAndTagEntryPoints(codeEntities);
+    }
+
+    /**
+     * Analyzes a sample of the files parsed in the fast mode again in full mode,
+     * and logs how far the relationships of the two modes differ. The sampled
+     * files are spread evenly over the input, so that the sample covers the
+     * whole project.
+     * 
+     * @param files           the parsed files.
+     * @param parsedSources   the fast mode results, in the order of the files.
+     * @param projectTypes    the index of the project's types.
+     * @param context         the {@link GenerationContext} containing configuration
+     *                        and context data.
+     * @param progressTracker the {@link ProgressTracker} to track parsing progress.
+     * @param fastMillis      the time the fast mode took for all files.
+     * @since 1.3
+     */
+    private void compareWithFullResolution(List<String> files, List<ParsedSource> parsedSources,
+            ProjectTypeIndex projectTypes, GenerationContext context, ProgressTracker progressTracker,
+            long fastMillis) {
+        int sampleSize = Math.min(context.getOptions().getAnalysisFastSampleFiles(), files.size());
+        logger.info("Comparing the fast analysis of {} sampled file(s) with full resolution...", sampleSize);
+        progressTracker.onStatusUpdate("Comparing " + sampleSize + " file(s) with full resolution...");
+        progressTracker.addTotalUnits(tier, WorkUnitType.FILE_PARSING, sampleSize);
+
+        long start = System.currentTimeMillis();
+        ParserWorker worker = ParserWorker.full(projectTypes, SymbolSolverConfig.createLibraryTypeSolver(context),
+                new UnresolvableScopeCache(projectTypes.getPackageRoots()),
+                context.getOptions().getParserRegistryCapacity());
+        ResolutionComparison comparison = new ResolutionComparison();
+        for (int i = 0; i < sampleSize; i++) {
+            int index = (int) ((long) i * files.size() / sampleSize);
+            ParsedSource heuristic = parsedSources.get(index);
+            ParsedSource resolved = parseFile(files.get(index), worker, context, progressTracker, null);
+            if (!heuristic.isFailed() && !resolved.isFailed()) {
+                comparison.add(heuristic.getCodeEntities(), resolved.getCodeEntities());
+            }
+        }
+        comparison.log(logger);
+        logger.info("Full resolution took {} ms for the {} sampled file(s); the fast mode took {} ms for all {}",
+                System.currentTimeMillis() - start, sampleSize, fastMillis, files.size());
+    }
+
+    /**
+     * Parses a single Java source file and extracts a {@link CodeEntity} for each
+     * of its types.
+     * 
+     * Responsibilities:
+     * - Takes the file's unit from the registry of the calling worker, parsing
+     * it only if the type solver has not done so already.
+     * - Extracts the top-level types and, from the same unit, their member
+     * classes, interfaces, enums, records and annotation types. Local and
+     * anonymous classes are not extracted.
+     * - Filters the types based on the "include.package" configuration property.
+     * - Extracts annotations, relationships, methods, and fields.
+     * - Records the declared types and the project types looked up.
+     * - In the structural tier, keeps the unit and its methods for the call
+     * graph tier instead of extracting their calls.
+     * 
+     * Errors are logged and reported as a failed {@link ParsedSource} so that
+     * one bad file does not abort the analysis.
+     * 
+     * @param filePath        the path of the file to parse.
+     * @param worker          the parser worker owned by the calling thread.
+     * @param context         the {@link GenerationContext} containing configuration
+     *                        and context data.
+     * @param progressTracker the {@link ProgressTracker} to track parsing progress.
+     * @param callsByFile     receives the calls left for the call graph tier, or
+     *                        {@code null} to extract the calls at once.
+     * @return the parse result of the file.
+     * @since 1.3
+     */
+    private ParsedSource parseFile(String filePath, ParserWorker worker, GenerationContext context,
+            ProgressTracker progressTracker, Map<String, UnitCalls> callsByFile) {
+        worker.startRecording();
+        try {
+            File file = new File(filePath);
+            // The unit may already have been parsed to resolve a type of an earlier file
+            CompilationUnit compilationUnit = worker.unitRegistry.getOrParse(Paths.get(filePath));
+            // One traversal collects everything the extraction needs from the unit
+            UnitElements elements = UnitElements.collect(compilationUnit);
+            worker.visitedNodes += elements.getVisitedNodes();
+
+            Set<String> declaredTypes = new HashSet<>();
+            for (TypeDeclaration<?> type : elements.getTypes()) {
+                type.getFullyQualifiedName().ifPresent(declaredTypes::add);
+            }
+
+            UnitCalls unitCalls = callsByFile != null ? new UnitCalls(filePath, worker, elements) : null;
+            List<CodeEntity> codeEntities = new ArrayList<>();
+            for (TypeDeclaration<?> type : elements.getTopLevelAndMemberTypes()) {
+                CodeEntity codeEntity = extractCodeEntity(type, elements, worker.typeResolver, context, unitCalls);
+                if (codeEntity != null) {
+                    codeEntities.add(codeEntity);
+                }
+            }
+            if (elements.getTopLevelAndMemberTypes().isEmpty()) {
+                logger.warn("No type declaration found in file: {}", file.getName());
+            }
+            if (unitCalls != null && !unitCalls.methods.isEmpty()) {
+                callsByFile.put(filePath, unitCalls);
+            }
+            Set<String> dependencies = worker.stopRecording();
+            return new ParsedSource(filePath, codeEntities, declaredTypes, dependencies);
+        } catch (IOException e) {
+            logger.error("Error parsing file: {}", filePath, e);
+        } catch (Exception e) {
+            logger.error("Error parsing file: {} - {}", filePath, e.getMessage());
+            logger.debug("Stack trace:", e);
+        } catch (StackOverflowError e) {
+            // JavaParser recurses over the tree; skip a file nested too deeply for it
+            logger.error("Error parsing file: {} - too deeply nested to analyze", filePath);
+        } finally {
+            // A recording left by a failed file is discarded when the next file starts recording
+            worker.clear();
+            // Update progress tracker after processing each file
+            progressTracker.addCompletedUnits(tier, WorkUnitType.FILE_PARSING, 1);
+        }
+        return ParsedSource.failed(filePath);
+    }
+
+    /**
+     * Extracts the {@link CodeEntity} of a type declaration. A member type is
+     * linked to its enclosing type by name.
+     * 
+     * @param typeDecl       the class, interface, enum, record or annotation type
+     *                       declaration.
+     * @param elements       the elements collected from the type's unit.
+     * @param typeResolver   the type resolver of the type's unit.
+     * @param context        the {@link GenerationContext} containing configuration
+     *                       and context data.
+     * @param unitCalls      receives the methods whose calls the call graph tier
+     *                       extracts, or {@code null} to extract them at once.
+     * @return the extracted {@link CodeEntity}, or {@code null} if the type is
+     *         outside the include package.
+     * @since 1.3
+     */
+    private CodeEntity extractCodeEntity(TypeDeclaration<?> typeDecl, UnitElements elements,
+            ExpressionTypeResolver typeResolver, GenerationContext context, UnitCalls unitCalls) {
+        // Use fully qualified name if available, otherwise fallback to simple name
+        String fullyQualifiedName = typeDecl.getFullyQualifiedName().orElse(typeDecl.getNameAsString());
+
+        // Filter classes based on the "include.package" configuration
+        String includePackage = context.getIncludePackage();
+        if (includePackage != null && !includePackage.isEmpty()
+                && !fullyQualifiedName.startsWith(includePackage)) {
+            logger.debug("Skipping class outside the include package: {}", fullyQualifiedName);
+            return null; // Skip this class if it does not belong to the specified package
+        }
+
+        CodeEntity codeEntity = new CodeEntity(fullyQualifiedName);
+        typeDecl.getParentNode()
+                .filter(TypeDeclaration.class::isInstance)
+                .flatMap(parent -> ((TypeDeclaration<?>) parent).getFullyQualifiedName())
+                .ifPresent(codeEntity::setEnclosingEntityName);
+
+        // **Extract Class Annotations**
+        typeDecl.getAnnotations().forEach(annotation -> {
+            String annotationName = annotation.getNameAsString();
+            codeEntity.addAnnotation(annotationName); // Add annotation to the CodeEntity
+        });
+
+        // Extract relationships and details
+        if (typeDecl instanceof ClassOrInterfaceDeclaration) {
+            extractParentRelationships((ClassOrInterfaceDeclaration) typeDecl, codeEntity, typeResolver, context);
+        }
+        extractMethodsAndRelationships(typeDecl, codeEntity, elements, typeResolver, context, unitCalls);
+        extractFieldsAndRelationships(typeDecl, codeEntity, context);
+        if (typeResolver.isHeuristic()) {
+            codeEntity.getRelatives().forEach(relative -> relative.setHeuristic(true));
+        }
+
+        // Log relationships for debugging
+        // logRelationships(codeEntity);
+        return codeEntity;
     }
 
     /**
@@ -218,20 +652,19 @@ public class JavaParserService {
      * - Inheritance relationships are added to the {@link CodeEntity}.
      * - Irrelevant or unresolved parent types are logged and skipped.
      * 
-     * @param classDecl  the class or interface declaration.
-     * @param codeEntity the {@link CodeEntity} representing the class.
-     * @param context    the {@link GenerationContext} containing configuration and
-     *                   context data.
+     * @param classDecl    the class or interface declaration.
+     * @param codeEntity   the {@link CodeEntity} representing the class.
+     * @param typeResolver the type resolver of the class's unit.
+     * @param context      the {@link GenerationContext} containing configuration
+     *                     and context data.
      * @since 1.0
      */
     private void extractParentRelationships(ClassOrInterfaceDeclaration classDecl, CodeEntity codeEntity,
-            GenerationContext context) {
+            ExpressionTypeResolver typeResolver, GenerationContext context) {
         classDecl.getExtendedTypes().forEach(parent -> {
             try {
-                ResolvedType resolvedType = parent.resolve();
-                if (resolvedType.isReferenceType()) {
-                    ResolvedReferenceType referenceType = resolvedType.asReferenceType();
-                    String parentName = referenceType.getQualifiedName(); // Fully qualified name
+                String parentName = typeResolver.resolveTypeName(parent); // Fully qualified name
+                if (parentName != null) {
 
                     if (isIrrelevantEntity(parentName, context)) {
                         logger.debug("Skipping irrelevant parent: {}", parentName);
@@ -239,11 +672,12 @@ public class JavaParserService {
                     }
 
                     Relative parentRelative = new Relative(Relative.RelationshipType.INHERITANCE,
-                            new CodeEntity(parentName));
+                            symbolTable.getType(parentName));
                     codeEntity.addRelative(parentRelative);
                 }
             } catch (Exception e) {
-                logger.warn("Failed to resolve parent type: {}", parent, e);
+                logger.debug("Failed to resolve parent type: {}", parent, e);
+                unresolvedSymbols.record(UnresolvedSymbolReport.Kind.PARENT_TYPE, e);
             }
         });
     }
@@ -251,7 +685,7 @@ public class JavaParserService {
     /**
      * Extracts methods and their relationships (e.g., method calls and field
      * accesses)
-     * from a class declaration.
+     * from a type declaration.
      * 
      * Responsibilities:
      * - Extracts constructors and their metadata, including visibility,
@@ -262,6 +696,7 @@ public class JavaParserService {
      * to the {@link CodeEntity}.
      * - Identifies field access relationships within methods and adds association
      * relationships to the {@link CodeEntity}.
+     * - Leaves the method calls to the call graph tier in the structural tier.
      * 
      * Preconditions:
      * - The class declaration must not be null.
@@ -275,16 +710,21 @@ public class JavaParserService {
      * - Association relationships are added for field accesses.
      * - Irrelevant or unresolved entities are logged and skipped.
      * 
-     * @param classDecl  the class or interface declaration.
-     * @param codeEntity the {@link CodeEntity} representing the class.
-     * @param context    the {@link GenerationContext} containing configuration and
-     *                   context data.
+     * @param typeDecl       the type declaration.
+     * @param codeEntity     the {@link CodeEntity} representing the type.
+     * @param elements       the elements collected from the type's unit.
+     * @param typeResolver   the type resolver of the type's unit.
+     * @param context        the {@link GenerationContext} containing configuration
+     *                       and context data.
+     * @param unitCalls      receives the methods whose calls the call graph tier
+     *                       extracts, or {@code null} to extract them at once.
      * @since 1.0
      */
-    private void extractMethodsAndRelationships(ClassOrInterfaceDeclaration classDecl, CodeEntity codeEntity,
-            GenerationContext context) {
+    private void extractMethodsAndRelationships(TypeDeclaration<?> typeDecl, CodeEntity codeEntity,
+            UnitElements elements, ExpressionTypeResolver typeResolver, GenerationContext context,
+            UnitCalls unitCalls) {
         // Extract constructors
-        classDecl.getConstructors().forEach(constructor -> {
+        typeDecl.getConstructors().forEach(constructor -> {
             String visibility = constructor.getAccessSpecifier().asString();
             MethodEntity constructorEntity = new MethodEntity(constructor.getNameAsString(), ""); // No return type for
                                                                                                   // constructors
@@ -308,7 +748,7 @@ public class JavaParserService {
             codeEntity.addConstructor(constructorEntity);
         });
 
-        for (MethodDeclaration method : classDecl.getMethods()) {
+        for (MethodDeclaration method : typeDecl.getMethods()) {
             String visibility = method.getAccessSpecifier().asString();
             MethodEntity methodEntity = new MethodEntity(method.getNameAsString(), method.getTypeAsString());
             methodEntity.setVisibility(visibility);
@@ -330,37 +770,63 @@ public class JavaParserService {
 
             codeEntity.addMethod(methodEntity);
 
-            // Extract Caller Callee relatives and fill code entity with relatives.
-            method.findAll(MethodCallExpr.class).forEach(call -> {
-                String calleeClassName = resolveCalleeClassName(call, codeEntity);
-                if (calleeClassName == null || isIrrelevantEntity(calleeClassName, context)) {
-                    return;
-                }
-                String calleeMethodName = call.getNameAsString();
-
-                // Create MethodEntity for the callee method
-                MethodEntity calleeMethodEntity = new MethodEntity(calleeMethodName, ""); // Return type unknown here
-                calleeMethodEntity.setParameters(resolveCalleeMethodParameters(call));
-
-                // Create Relative with caller and callee MethodEntity
-                Relative calleeRelative = new Relative(Relative.RelationshipType.CALLER_CALLEE,
-                        new CodeEntity(calleeClassName), calleeMethodEntity, methodEntity);
-                codeEntity.addRelative(calleeRelative);
-            });
+            if (unitCalls != null) {
+                // The call graph tier extracts the calls from the kept unit
+                unitCalls.methods.add(new PendingMethod(codeEntity, methodEntity, method));
+            } else {
+                // Extract Caller Callee relatives and fill code entity with relatives.
+                extractCallRelationships(method, methodEntity, codeEntity, elements, typeResolver, context)
+                        .forEach(codeEntity::addRelative);
+            }
 
             // Extract field access relationships
-            extractFieldAccessRelationships(method, codeEntity, context);
+            extractFieldAccessRelationships(method, codeEntity, elements, typeResolver, context);
         }
     }
 
-    private List<String> resolveCalleeMethodParameters(MethodCallExpr call) {
+    /**
+     * Extracts the caller-callee relationships of the calls a method makes.
+     * 
+     * @param method       the method declaration.
+     * @param methodEntity the {@link MethodEntity} of the method.
+     * @param codeEntity   the {@link CodeEntity} declaring the method.
+     * @param elements     the elements collected from the method's unit.
+     * @param typeResolver the type resolver of the method's unit.
+     * @param context      the {@link GenerationContext} containing configuration
+     *                     and context data.
+     * @return the relationships, in the order of the calls.
+     * @since 1.3
+     */
+    private List<Relative> extractCallRelationships(MethodDeclaration method, MethodEntity methodEntity,
+            CodeEntity codeEntity, UnitElements elements, ExpressionTypeResolver typeResolver,
+            GenerationContext context) {
+        List<Relative> calleeRelatives = new ArrayList<>();
+        elements.getMethodCalls(method).forEach(call -> {
+            String calleeClassName = resolveCalleeClassName(call, codeEntity, typeResolver);
+            if (calleeClassName == null || isIrrelevantEntity(calleeClassName, context)) {
+                return;
+            }
+            String calleeMethodName = call.getNameAsString();
+
+            // Share one MethodEntity per called signature
+            MethodEntity calleeMethodEntity = symbolTable.getMethod(calleeClassName, calleeMethodName,
+                    resolveCalleeMethodParameters(call, typeResolver));
+
+            // Create Relative with caller and callee MethodEntity
+            calleeRelatives.add(new Relative(Relative.RelationshipType.CALLER_CALLEE,
+                    symbolTable.getType(calleeClassName), calleeMethodEntity, methodEntity));
+        });
+        return calleeRelatives;
+    }
+
+    private List<String> resolveCalleeMethodParameters(MethodCallExpr call, ExpressionTypeResolver typeResolver) {
         List<String> parameterTypes = new ArrayList<>();
         call.getArguments().forEach(arg -> {
             try {
-                ResolvedType resolvedType = arg.calculateResolvedType();
-                parameterTypes.add(resolvedType.describe());
+                parameterTypes.add(typeResolver.describeType(arg));
             } catch (Exception e) {
-                logger.warn("Failed to resolve parameter type for argument: {}", arg, e);
+                logger.debug("Failed to resolve parameter type for argument: {}", arg, e);
+                unresolvedSymbols.record(UnresolvedSymbolReport.Kind.CALL_ARGUMENT, e);
                 parameterTypes.add("Unknown");
             }
         });
@@ -368,10 +834,11 @@ public class JavaParserService {
     }
 
     /**
-     * Extracts fields and relationships from a given class declaration and updates
-     * the provided CodeEntity with the extracted information.
+     * Extracts fields and relationships from a given type declaration and updates
+     * the provided CodeEntity with the extracted information. The components of
+     * a record are extracted as its private fields.
      *
-     * @param classDecl  The class or interface declaration to process.
+     * @param typeDecl   The type declaration to process.
      * @param codeEntity The CodeEntity object to populate with field and
      *                   relationship data.
      * @param context    The GenerationContext containing project-specific metadata.
@@ -393,37 +860,58 @@ public class JavaParserService {
      *                   also skipped for
      *                   relationship processing.
      */
-    private void extractFieldsAndRelationships(ClassOrInterfaceDeclaration classDecl, CodeEntity codeEntity,
+    private void extractFieldsAndRelationships(TypeDeclaration<?> typeDecl, CodeEntity codeEntity,
             GenerationContext context) {
-        classDecl.getFields().forEach(field -> {
+        if (typeDecl instanceof RecordDeclaration) {
+            ((RecordDeclaration) typeDecl).getParameters().forEach(component -> addField(codeEntity,
+                    component.getNameAsString(), component.getType().asString(), "private",
+                    component.getAnnotations(), context));
+        }
+        typeDecl.getFields().forEach(field -> {
             String visibility = field.getAccessSpecifier().asString();
-            field.getVariables().forEach(variable -> {
-                FieldEntity fieldEntity = new FieldEntity(variable.getNameAsString(), variable.getType().asString());
-                fieldEntity.setVisibility(visibility);
-
-                field.getAnnotations().forEach(annotation -> {
-                    String annotationName = annotation.getNameAsString();
-                    fieldEntity.addAnnotation(annotationName);
-                });
-
-                codeEntity.addField(fieldEntity);
-
-                String fieldType = variable.getType().asString();
-                // Skip self-referencing fields
-                if (fieldType.equals(codeEntity.getName())) {
-                    logger.debug("Skipping self-referencing field in class: {}", codeEntity.getName());
-                    return;
-                }
+            field.getVariables().forEach(variable -> addField(codeEntity, variable.getNameAsString(),
+                    variable.getType().asString(), visibility, field.getAnnotations(), context));
+        });
+    }
 
-                if (isProjectEntity(fieldType, context)) {
-                    Relative associationRelative = new Relative(Relative.RelationshipType.ASSOCIATION,
-                            new CodeEntity(fieldType));
-                    codeEntity.addRelative(associationRelative);
-                } else {
-                    logger.debug("Skipping association for non-project entity: {}", fieldType);
-                }
-            });
+    /**
+     * Adds a field to a {@link CodeEntity}, with an association relationship if
+     * its type is another project entity.
+     * 
+     * @param codeEntity  the {@link CodeEntity} declaring the field.
+     * @param name        the field name.
+     * @param fieldType   the declared type of the field.
+     * @param visibility  the field visibility.
+     * @param annotations the annotations of the field.
+     * @param context     the {@link GenerationContext} containing configuration
+     *                    and context data.
+     * @since 1.3
+     */
+    private void addField(CodeEntity codeEntity, String name, String fieldType, String visibility,
+            List<AnnotationExpr> annotations, GenerationContext context) {
+        FieldEntity fieldEntity = new FieldEntity(name, fieldType);
+        fieldEntity.setVisibility(visibility);
+
+        annotations.forEach(annotation -> {
+            String annotationName = annotation.getNameAsString();
+            fieldEntity.addAnnotation(annotationName);
         });
+
+        codeEntity.addField(fieldEntity);
+
+        // Skip self-referencing fields
+        if (fieldType.equals(codeEntity.getName())) {
+            logger.debug("Skipping self-referencing field in class: {}", codeEntity.getName());
+            return;
+        }
+
+        if (isProjectEntity(fieldType, context)) {
+            Relative associationRelative = new Relative(Relative.RelationshipType.ASSOCIATION,
+                    symbolTable.getType(fieldType));
+            codeEntity.addRelative(associationRelative);
+        } else {
+            logger.debug("Skipping association for non-project entity: {}", fieldType);
+        }
     }
 
     /**
@@ -447,26 +935,28 @@ public class JavaParserService {
      * relevant field access.
      * - Irrelevant or unresolved field accesses are logged and skipped.
      * 
-     * @param method     the method declaration to analyze.
-     * @param codeEntity the {@link CodeEntity} representing the class.
-     * @param context    the {@link GenerationContext} containing configuration and
-     *                   context data.
+     * @param method         the method declaration to analyze.
+     * @param codeEntity     the {@link CodeEntity} representing the class.
+     * @param elements       the elements collected from the method's unit.
+     * @param typeResolver   the type resolver of the class's unit.
+     * @param context        the {@link GenerationContext} containing configuration
+     *                       and context data.
      * @since 1.0
      */
     private void extractFieldAccessRelationships(MethodDeclaration method, CodeEntity codeEntity,
-            GenerationContext context) {
-        method.findAll(FieldAccessExpr.class).forEach(fieldAccess -> {
+            UnitElements elements, ExpressionTypeResolver typeResolver, GenerationContext context) {
+        elements.getFieldAccesses(method).forEach(fieldAccess -> {
             // Resolve the scope of the field access
             String accessedClassName = Optional.ofNullable(fieldAccess.getScope())
                     .map(scope -> {
                         try {
-                            ResolvedType resolvedType = scope.calculateResolvedType();
-                            if (resolvedType.isReferenceType()) {
-                                ResolvedReferenceType referenceType = resolvedType.asReferenceType();
-                                return referenceType.getQualifiedName(); // Fully qualified name
+                            String typeName = typeResolver.resolveTypeName(scope); // Fully qualified name
+                            if (typeName != null) {
+                                return typeName;
                             }
                         } catch (Exception e) {
-                            logger.warn("Failed to resolve field access scope: {}", scope, e);
+                            logger.debug("Failed to resolve field access scope: {}", scope, e);
+                            unresolvedSymbols.record(UnresolvedSymbolReport.Kind.FIELD_ACCESS_SCOPE, e);
                         }
                         return "Unknown";
                     })
@@ -487,7 +977,7 @@ public class JavaParserService {
             // Add an association relationship for the accessed variable
             Relative fieldAccessRelative = new Relative(
                     Relative.RelationshipType.ASSOCIATION,
-                    new CodeEntity(accessedClassName),
+                    symbolTable.getType(accessedClassName),
                     fieldAccess.getNameAsString(), // Field name
                     method.getNameAsString()); // Accessing method
             codeEntity.addRelative(fieldAccessRelative);
@@ -504,8 +994,8 @@ public class JavaParserService {
      * - Resolves the type of the scope of the method call expression.
      * - Returns the fully qualified name of the resolved type if it is a reference
      * type.
-     * - Handles unresolved symbols by logging and adding them to the unresolved
-     * symbols list.
+     * - Handles unresolved symbols by logging them at debug level and recording
+     * them in the unresolved symbol report.
      * - Returns "Unknown" if the type cannot be resolved.
      * - Defaults to the name of the calling class if the scope is not present.
      * 
@@ -516,27 +1006,26 @@ public class JavaParserService {
      * Postconditions:
      * - The fully qualified name of the callee class is returned, or "Unknown" if
      * it cannot be resolved.
-     * - Unresolved symbols are logged and added to the unresolved symbols list.
+     * - Unresolved symbols are recorded in the unresolved symbol report.
      * 
-     * @param call       the method call expression to analyze.
-     * @param codeEntity the {@link CodeEntity} representing the calling class.
+     * @param call           the method call expression to analyze.
+     * @param codeEntity     the {@link CodeEntity} representing the calling class.
+     * @param typeResolver   the type resolver of the class's unit.
      * @return the fully qualified name of the callee class, or "Unknown" if it
      *         cannot be resolved.
      * @since 1.0
      */
-    private String resolveCalleeClassName(MethodCallExpr call, CodeEntity codeEntity) {
+    private String resolveCalleeClassName(MethodCallExpr call, CodeEntity codeEntity,
+            ExpressionTypeResolver typeResolver) {
         return call.getScope().map(scope -> {
             try {
-                ResolvedType resolvedType = scope.calculateResolvedType();
-                if (resolvedType.isReferenceType()) {
-                    ResolvedReferenceType referenceType = resolvedType.asReferenceType();
-                    return referenceType.getQualifiedName(); // Fully qualified name
+                String typeName = typeResolver.resolveTypeName(scope); // Fully qualified name
+                if (typeName != null) {
+                    return typeName;
                 }
-            } catch (com.github.javaparser.resolution.UnsolvedSymbolException e) {
-                logger.debug("Unresolved symbol for scope: {}", scope, e);
-                addUnresolvedSymbol(scope.toString());
             } catch (Exception e) {
-                logger.warn("Failed to resolve type for scope: {}", scope, e);
+                logger.debug("Failed to resolve type for scope: {}", scope, e);
+                unresolvedSymbols.record(UnresolvedSymbolReport.Kind.CALL_SCOPE, e);
             }
             return "Unknown";
         }).orElse(codeEntity.getName());
@@ -649,7 +1138,8 @@ public class JavaParserService {
      * Responsibilities:
      * - Parses the provided files to extract {@link CodeEntity} objects using the
      * {@link #parseFiles} method.
-     * - Groups the extracted {@link CodeEntity} objects by their package names.
+     * - Groups the extracted {@link CodeEntity} objects by their package names
+     * using an {@link AnalysisResult}.
      * - Creates a map of package names to {@link PackageEntity} objects, where each
      * package contains its respective classes.
      * 
@@ -672,70 +1162,200 @@ public class JavaParserService {
      */
     public Map<String, PackageEntity> parsePackages(List<String> files, GenerationContext context,
             ProgressTracker progressTracker) {
-        // Step 1: Parse files to extract CodeEntity objects
-        List<CodeEntity> codeEntities = parseFiles(files, context, progressTracker);
+        // Parse files and group the extracted CodeEntity objects by package name
+        return new AnalysisResult(parseFiles(files, context, progressTracker)).getPackages();
+    }
 
-        // Step 2: Group CodeEntity objects by package name
-        Map<String, PackageEntity> packageMap = new HashMap<>();
-        for (CodeEntity codeEntity : codeEntities) {
-            String packageName = extractPackageName(codeEntity.getName());
-            packageMap.computeIfAbsent(packageName, PackageEntity::new).addClass(codeEntity);
+    /**
+     * Logs how often the parser workers reused an already parsed unit.
+     *
+     * @param workers the parser workers of the finished run.
+     */
+    private void logRegistryStatistics(Iterable<ParserWorker> workers) {
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        for (ParserWorker worker : workers) {
+            hits += worker.unitRegistry.getHits();
+            misses += worker.unitRegistry.getMisses();
+            evictions += worker.unitRegistry.getEvictions();
+        }
+        logger.info("Parsed-unit registry: {} hit(s), {} miss(es), {} eviction(s)", hits, misses, evictions);
+    }
+
+    /**
+     * Logs how many AST nodes the extraction visited.
+     *
+     * @param workers       the parser workers of the finished run.
+     * @param numberOfFiles the number of parsed files.
+     */
+    private void logExtractionStatistics(Iterable<ParserWorker> workers, int numberOfFiles) {
+        long visitedNodes = 0;
+        for (ParserWorker worker : workers) {
+            visitedNodes += worker.visitedNodes;
         }
+        logger.info("Extraction visited {} AST node(s) in {} file(s)", visitedNodes, numberOfFiles);
+    }
 
-        // Step 3: Return the map of package entities
-        return packageMap;
+    /**
+     * Logs how many relationship targets the symbol table shared instead of
+     * creating one entity per relationship.
+     */
+    private void logSymbolTableStatistics() {
+        logger.info("Symbol table: {} type(s) and {} method signature(s) shared by {} relationship target(s)",
+                symbolTable.getTypeCount(), symbolTable.getMethodCount(), symbolTable.getRequests());
     }
 
     /**
-     * Extracts the package name from a fully qualified class name.
-     * 
-     * Responsibilities:
-     * - Identifies the last occurrence of the '.' character in the fully qualified
-     * name.
-     * - Extracts the substring before the last '.' as the package name.
-     * - Returns an empty string if no '.' is found, indicating a default package.
-     * 
-     * Preconditions:
-     * - The fully qualified name must not be null.
-     * 
-     * Postconditions:
-     * - Returns the package name as a string.
-     * - If the class is in the default package, an empty string is returned.
-     * 
-     * @param fullyQualifiedName The fully qualified name of the class.
-     * @return The package name as a string, or an empty string if the class is in
-     *         the default package.
-     * @since 1.0
+     * Logs how many expression types the parser workers took from their
+     * resolution memo instead of resolving them again, and how many repeat
+     * attempts the unresolvable scope cache skipped. The saved time is estimated
+     * from the average time of the resolutions actually performed.
+     *
+     * @param workers            the parser workers of the finished run.
+     * @param unresolvableScopes the unresolvable scope cache of the finished run.
      */
-    private String extractPackageName(String fullyQualifiedName) {
-        int lastDotIndex = fullyQualifiedName.lastIndexOf('.');
-        return (lastDotIndex == -1) ? "" : fullyQualifiedName.substring(0, lastDotIndex);
+    private void logResolutionStatistics(Iterable<ParserWorker> workers, UnresolvableScopeCache unresolvableScopes) {
+        long lookups = 0;
+        long hits = 0;
+        long resolutions = 0;
+        long resolutionNanos = 0;
+        for (ParserWorker worker : workers) {
+            lookups += worker.resolutionMemo.getLookups();
+            hits += worker.resolutionMemo.getHits();
+            resolutions += worker.resolutionMemo.getResolutions();
+            resolutionNanos += worker.resolutionMemo.getResolutionNanos();
+        }
+        long averageNanos = resolutions == 0 ? 0 : resolutionNanos / resolutions;
+        logger.info("Resolution memo: {} of {} lookup(s) reused ({}%), about {} ms saved", hits, lookups,
+                lookups == 0 ? 0 : hits * 100 / lookups, hits * averageNanos / 1_000_000);
+        logger.info("Unresolvable scope cache: {} name(s), {} repeat attempt(s) skipped, about {} ms saved",
+                unresolvableScopes.size(), unresolvableScopes.getHits(),
+                unresolvableScopes.getHits() * averageNanos / 1_000_000);
     }
 
     /**
-     * Logs any unresolved symbols encountered during parsing.
-     * If there are unresolved symbols, they are retrieved from the
-     * thread-local storage and logged as warnings.
+     * Logs how many types the fast analysis mode inferred.
+     *
+     * @param workers the parser workers of the finished run.
+     */
+    private void logLexicalResolutionStatistics(Iterable<ParserWorker> workers) {
+        long lookups = 0;
+        long failures = 0;
+        for (ParserWorker worker : workers) {
+            lookups += worker.lexicalTypeResolver.getLookups();
+            failures += worker.lexicalTypeResolver.getFailures();
+        }
+        logger.info("Lexical resolution: {} of {} type(s) inferred ({}%)", lookups - failures, lookups,
+                lookups == 0 ? 100 : (lookups - failures) * 100 / lookups);
+    }
+
+    /**
+     * Logs a summary of the symbols that could not be resolved during parsing.
+     * The individual failures, with their stack traces, are only logged at
+     * debug level as they occur.
      * This method helps in identifying symbols that could not be resolved
      * during the parsing process.
      */
     private void logUnresolvedSymbols() {
+        unresolvedSymbols.log(logger);
+    }
 
-        List<String> symbols = unresolvedSymbols.get();
-        if (!symbols.isEmpty()) {
-            logger.warn("Unresolved symbols encountered during parsing:");
-            symbols.forEach(symbol -> logger.warn(" - {}", symbol));
+    /**
+     * The parser, unit registry and type resolver owned by one worker thread.
+     * In the full analysis mode, types are resolved by a type solver through a
+     * resolution memo; in the fast mode by a lexical type resolver.
+     */
+    /**
+     * The methods of a unit whose calls the structural tier left for the call
+     * graph tier, with the worker and elements needed to resolve them.
+     */
+    private static final class UnitCalls {
+        private final String filePath;
+        private final ParserWorker worker;
+        private final UnitElements elements;
+        private final List<PendingMethod> methods = new ArrayList<>();
+
+        private UnitCalls(String filePath, ParserWorker worker, UnitElements elements) {
+            this.filePath = filePath;
+            this.worker = worker;
+            this.elements = elements;
         }
     }
 
     /**
-     * Adds a symbol to the list of unresolved symbols.
-     *
-     * @param symbol the name of the symbol to be added to the unresolved symbols
-     *               list
+     * A method whose calls are still to be extracted.
      */
-    private void addUnresolvedSymbol(String symbol) {
-        unresolvedSymbols.get().add(symbol);
+    private static final class PendingMethod {
+        private final CodeEntity codeEntity;
+        private final MethodEntity methodEntity;
+        private final MethodDeclaration method;
+
+        private PendingMethod(CodeEntity codeEntity, MethodEntity methodEntity, MethodDeclaration method) {
+            this.codeEntity = codeEntity;
+            this.methodEntity = methodEntity;
+            this.method = method;
+        }
     }
 
-}
\ No newline at end of file
+    private static final class ParserWorker {
+        private final JavaParser parser;
+        private final ParsedUnitRegistry unitRegistry;
+        private final DependencyRecordingTypeSolver typeSolver; // Null in the fast mode
+        private final ResolutionMemo resolutionMemo; // Null in the fast mode
+        private final LexicalTypeResolver lexicalTypeResolver; // Null in the full mode
+        private final ExpressionTypeResolver typeResolver;
+        private long visitedNodes; // AST nodes visited by the extraction
+
+        private ParserWorker(JavaParser parser, ParsedUnitRegistry unitRegistry,
+                DependencyRecordingTypeSolver typeSolver, ResolutionMemo resolutionMemo,
+                LexicalTypeResolver lexicalTypeResolver) {
+            this.parser = parser;
+            this.unitRegistry = unitRegistry;
+            this.typeSolver = typeSolver;
+            this.resolutionMemo = resolutionMemo;
+            this.lexicalTypeResolver = lexicalTypeResolver;
+            this.typeResolver = resolutionMemo != null ? new SolverTypeResolver(resolutionMemo) : lexicalTypeResolver;
+        }
+
+        private static ParserWorker full(ProjectTypeIndex typeIndex, SharedTypeSolver libraryTypeSolver,
+                UnresolvableScopeCache unresolvableScopes, int registryCapacity) {
+            JavaParser parser = SymbolSolverConfig.createParser();
+            ParsedUnitRegistry unitRegistry = new ParsedUnitRegistry(parser, registryCapacity);
+            DependencyRecordingTypeSolver typeSolver = DependencyRecordingTypeSolver.wrap(
+                    SymbolSolverConfig.createProjectTypeSolver(typeIndex, libraryTypeSolver, unitRegistry));
+            SymbolSolverConfig.attachSymbolSolver(parser, typeSolver);
+            return new ParserWorker(parser, unitRegistry, typeSolver, new ResolutionMemo(unresolvableScopes), null);
+        }
+
+        private static ParserWorker fast(ProjectTypeIndex typeIndex) {
+            JavaParser parser = SymbolSolverConfig.createParser();
+            // No other unit is ever looked up, so only the unit being analyzed is kept
+            return new ParserWorker(parser, new ParsedUnitRegistry(parser, 1), null, null,
+                    new LexicalTypeResolver(typeIndex));
+        }
+
+        private void startRecording() {
+            if (typeSolver != null) {
+                typeSolver.startRecording();
+            } else {
+                lexicalTypeResolver.startRecording();
+            }
+        }
+
+        private Set<String> stopRecording() {
+            return typeSolver != null ? typeSolver.stopRecording() : lexicalTypeResolver.stopRecording();
+        }
+
+        /**
+         * Forgets the state kept for the unit just analyzed.
+         */
+        private void clear() {
+            if (resolutionMemo != null) {
+                resolutionMemo.clear();
+            } else {
+                lexicalTypeResolver.clear();
+            }
+        }
+    }
+}
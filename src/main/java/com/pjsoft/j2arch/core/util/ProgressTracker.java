@@ -1,5 +1,8 @@
 package com.pjsoft.j2arch.core.util;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import javafx.application.Platform;
 import javafx.scene.control.Label;
 import com.pjsoft.j2arch.gui.ProgressBarComponent;
@@ -17,6 +20,8 @@ import com.pjsoft.j2arch.gui.ProgressBarComponent;
  * - Track the total and completed units of work.
  * - Update progress in the CLI or GUI.
  * - Handle task weightage for different types of work units.
+ * - Track the progress of each {@link AnalysisTier} of a tiered analysis
+ * separately.
  * - Provide status updates during task execution.
  * 
  * Dependencies:
@@ -73,6 +78,7 @@ public class ProgressTracker {
 
     private int totalUnits = 0; // Total units of work
     private int completedUnits = 0; // Completed units of work
+    private final Map<AnalysisTier, int[]> tierUnits = new EnumMap<>(AnalysisTier.class); // Total and completed
 
     // Task weightage (as proportions of the total workload) for Javadoc generation
     private static final int CSS_WEIGHT = 1;
@@ -137,6 +143,50 @@ public class ProgressTracker {
         updateProgress();
     }
 
+    /**
+     * Adds to the total number of work units of an analysis tier.
+     * 
+     * @param tier  The analysis tier the units belong to, or {@code null} if the
+     *              analysis is not tiered.
+     * @param type  The type of work unit.
+     * @param units The number of units to add.
+     * @since 1.3
+     */
+    public synchronized void addTotalUnits(AnalysisTier tier, WorkUnitType type, int units) {
+        if (tier != null) {
+            tierUnits.computeIfAbsent(tier, key -> new int[2])[0] += units;
+        }
+        addTotalUnits(type, units);
+    }
+
+    /**
+     * Adds completed work units of an analysis tier.
+     * 
+     * @param tier  The analysis tier the units belong to, or {@code null} if the
+     *              analysis is not tiered.
+     * @param type  The type of work unit.
+     * @param units The number of completed units to add.
+     * @since 1.3
+     */
+    public synchronized void addCompletedUnits(AnalysisTier tier, WorkUnitType type, int units) {
+        if (tier != null) {
+            tierUnits.computeIfAbsent(tier, key -> new int[2])[1] += units;
+        }
+        addCompletedUnits(type, units);
+    }
+
+    /**
+     * Gets the progress of an analysis tier.
+     * 
+     * @param tier The analysis tier.
+     * @return The progress in percent, {@code 0} if the tier has not started.
+     * @since 1.3
+     */
+    public synchronized int getTierProgress(AnalysisTier tier) {
+        int[] counts = tierUnits.get(tier);
+        return counts == null || counts[0] == 0 ? 0 : counts[1] * 100 / counts[0];
+    }
+
     /**
      * Applies weight to the work units based on the work unit type.
      * 
@@ -202,7 +252,7 @@ public class ProgressTracker {
         if (totalUnits > 0) {
             double progress = (double) completedUnits / totalUnits;
             if (isCLI) {
-                System.out.print("\rProgress: " + (int) (progress * 100) + "%");
+                System.out.print("\rProgress: " + (int) (progress * 100) + "%" + describeTiers());
                 if (progress >= 1.0) {
                     System.out.println("\nTask Completed!");
                 }
@@ -212,6 +262,26 @@ public class ProgressTracker {
         }
     }
 
+    /**
+     * Describes the progress of each analysis tier, for the CLI progress line.
+     * 
+     * @return The progress of the tiers, or an empty string if the analysis is
+     *         not tiered.
+     */
+    private String describeTiers() {
+        if (tierUnits.isEmpty()) {
+            return "";
+        }
+        StringBuilder description = new StringBuilder(" (");
+        for (AnalysisTier tier : tierUnits.keySet()) {
+            if (description.length() > 2) {
+                description.append(", ");
+            }
+            description.append(tier.getDisplayName()).append(": ").append(getTierProgress(tier)).append('%');
+        }
+        return description.append(')').toString();
+    }
+
     /**
      * Updates the status message in the CLI or GUI.
      * 
@@ -1,14 +1,30 @@
 package com.pjsoft.j2arch.core.util;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 
+import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.resolution.TypeSolver;
 import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.cache.NoCache;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import com.pjsoft.j2arch.core.cache.JarClassIndex;
 import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.context.GenerationOptions;
+import com.pjsoft.j2arch.core.resolution.IndexedJarTypeSolver;
+import com.pjsoft.j2arch.core.resolution.IndexedTypeSolver;
+import com.pjsoft.j2arch.core.resolution.JrtTypeSolver;
+import com.pjsoft.j2arch.core.resolution.ParsedUnitRegistry;
+import com.pjsoft.j2arch.core.resolution.ProjectTypeIndex;
+import com.pjsoft.j2arch.core.resolution.SharedTypeSolver;
 
 /**
  * SymbolSolverConfig
@@ -19,8 +35,13 @@ import com.pjsoft.j2arch.core.context.GenerationContext;
  * 
  * Responsibilities:
  * - Adds the JDK and project source files to the CombinedTypeSolver.
- * - Adds external libraries from the `libs/` directory to the CombinedTypeSolver.
+ * - Adds external libraries from the `libs/` directory to the CombinedTypeSolver,
+ * through a persisted class index for the per-worker parsers.
  * - Configures the StaticJavaParser with the symbol solver.
+ * - Builds per-worker parsers that share one thread-safe library type solver.
+ * - Resolves project types through a {@link ProjectTypeIndex} and reads source
+ * files through a {@link ParsedUnitRegistry} instead of parsing them a second
+ * time.
  * 
  * Dependencies:
  * - JavaParser: For parsing and analyzing Java source code.
@@ -32,11 +53,19 @@ import com.pjsoft.j2arch.core.context.GenerationContext;
  * 
  * Thread Safety:
  * - This class is thread-safe as it only configures static components.
+ * - Parsers returned by {@link #createParser} must each be confined to one
+ * thread; the {@link SharedTypeSolver} behind them may be shared freely.
  * 
  * Usage Example:
  * {@code
  * GenerationContext context = ...;
  * SymbolSolverConfig.configureSymbolSolver("src/main/java", context);
+ * 
+ * SharedTypeSolver libraries = SymbolSolverConfig.createLibraryTypeSolver(context);
+ * JavaParser parser = SymbolSolverConfig.createParser();
+ * ParsedUnitRegistry registry = new ParsedUnitRegistry(parser, 1000);
+ * SymbolSolverConfig.attachSymbolSolver(parser,
+ *         SymbolSolverConfig.createProjectTypeSolver(ProjectTypeIndex.build(files), libraries, registry));
  * }
  * 
  * Author: JagsProgramming
@@ -45,6 +74,9 @@ import com.pjsoft.j2arch.core.context.GenerationContext;
 public class SymbolSolverConfig {
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SymbolSolverConfig.class);
 
+    // The highest level the parser supports; the default rejects records and text blocks
+    private static final ParserConfiguration.LanguageLevel LANGUAGE_LEVEL = ParserConfiguration.LanguageLevel.JAVA_17;
+
     /**
      * Configures the JavaSymbolSolver with the given source root path.
      * Automatically includes the JDK, project source files, and external libraries
@@ -81,13 +113,116 @@ public class SymbolSolverConfig {
 
         // Attach the SymbolSolver to the StaticJavaParser
         JavaSymbolSolver symbolSolver = new JavaSymbolSolver(combinedTypeSolver);
-        ParserConfiguration parserConfiguration = new ParserConfiguration();
+        ParserConfiguration parserConfiguration = new ParserConfiguration().setLanguageLevel(LANGUAGE_LEVEL);
         parserConfiguration.setSymbolResolver(symbolSolver);
         StaticJavaParser.setConfiguration(parserConfiguration);
 
         logger.debug("Symbol Solver configured with input source root: {}", inputSourceRootPath);
     }
 
+    /**
+     * Creates the thread-safe type solver for the JDK and the external libraries
+     * from the `libs/` directory. One instance is meant to be shared by all
+     * parser workers of a run.
+     * 
+     * JDK types are read from the class files of a JDK unless the
+     * "jdk.type.solver" option selects the reflection based solver. The
+     * libraries are resolved through a {@link JarClassIndex} persisted in
+     * the output directory, so a jar's class table is only read when the jar is
+     * new or has changed, and its classes are only loaded when resolved.
+     * 
+     * @param context The {@link GenerationContext} containing configuration details.
+     * @return the shared library type solver.
+     * @since 1.3
+     */
+    public static SharedTypeSolver createLibraryTypeSolver(GenerationContext context) {
+        CombinedTypeSolver libraryTypeSolver = new CombinedTypeSolver();
+        libraryTypeSolver.add(createJdkTypeSolver(context.getOptions()));
+        List<File> jarFiles = listExternalLibraries(context.getLibsDirPath());
+        if (!jarFiles.isEmpty()) {
+            // Class tables of unchanged jars come from the persisted index; classes load on demand
+            Path cacheDirectory = Paths.get(context.getOutputDirectory(), DirectoryConstants.CACHE_DIR);
+            libraryTypeSolver.add(new IndexedJarTypeSolver(JarClassIndex.load(cacheDirectory, jarFiles)));
+        }
+        return SharedTypeSolver.wrap(libraryTypeSolver);
+    }
+
+    /**
+     * Creates the type solver for the JDK selected by the options.
+     * 
+     * @param options The tuning options of the run.
+     * @return the JDK type solver.
+     * @throws IllegalArgumentException If the configured JDK home cannot be read.
+     */
+    private static TypeSolver createJdkTypeSolver(GenerationOptions options) {
+        if (options.getJdkTypeSolver() == GenerationOptions.JdkTypeSolver.REFLECTION) {
+            return new ReflectionTypeSolver();
+        }
+        return new JrtTypeSolver(options.getJdkHome());
+    }
+
+    /**
+     * Creates a type solver for one parser worker. Library types are looked up
+     * in the shared solver first, project types are looked up in the project's
+     * type index and resolved in the units of the worker's registry, so a file
+     * parsed to resolve a type is not parsed again when the analysis reaches
+     * it, and vice versa.
+     * 
+     * @param typeIndex         The index of the project's types.
+     * @param libraryTypeSolver The shared library type solver.
+     * @param unitRegistry      The parsed-unit registry of the worker.
+     * @return a type solver to be confined to one worker.
+     * @since 1.3
+     */
+    public static TypeSolver createProjectTypeSolver(ProjectTypeIndex typeIndex, SharedTypeSolver libraryTypeSolver,
+            ParsedUnitRegistry unitRegistry) {
+        // No combined cache: it would keep every resolved declaration, and with it its unit, reachable
+        return new CombinedTypeSolver(CombinedTypeSolver.ExceptionHandlers.IGNORE_NONE,
+                List.of(libraryTypeSolver.newView(), new IndexedTypeSolver(typeIndex, unitRegistry)),
+                NoCache.create());
+    }
+
+    /**
+     * Creates a parser without a symbol resolver. Use
+     * {@link #attachSymbolSolver} once the parser's type solver is built. The
+     * parser accepts Java 17 sources, so records and text blocks are parsed.
+     * 
+     * @return a new parser instance.
+     * @since 1.3
+     */
+    public static JavaParser createParser() {
+        return new JavaParser(new ParserConfiguration().setLanguageLevel(LANGUAGE_LEVEL));
+    }
+
+    /**
+     * Makes the given parser resolve symbols with the given type solver. Units
+     * parsed afterwards carry the resolver.
+     * 
+     * @param parser     The parser to configure.
+     * @param typeSolver The type solver used for symbol resolution.
+     * @since 1.3
+     */
+    public static void attachSymbolSolver(JavaParser parser, TypeSolver typeSolver) {
+        parser.getParserConfiguration().setSymbolResolver(new JavaSymbolSolver(typeSolver));
+    }
+
+    /**
+     * Lists the JAR files of the `libs/` directory, sorted by file name.
+     * 
+     * @param libsDirPath The path to the `libs/` directory containing external libraries.
+     * @return the JAR files, or an empty list if there are none.
+     */
+    private static List<File> listExternalLibraries(String libsDirPath) {
+        File[] jarFiles = libsDirPath != null ? new File(libsDirPath).listFiles((dir, name) -> name.endsWith(".jar"))
+                : null;
+        if (jarFiles == null) {
+            logger.warn("No external libraries found. Directory `libs/` does not exist or is empty.");
+            return List.of();
+        }
+        Arrays.sort(jarFiles, Comparator.comparing(File::getName));
+        return Arrays.asList(jarFiles);
+    }
+
     /**
      * Adds external libraries from the `libs/` directory to the CombinedTypeSolver.
      * 
@@ -0,0 +1,177 @@
+package com.pjsoft.j2arch.core.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+
+/**
+ * UnitElements
+ *
+ * The elements of a compilation unit needed for extraction, collected in a
+ * single traversal of the unit instead of one {@code findAll} walk per element
+ * kind and method.
+ *
+ * Responsibilities:
+ * - Collect the type declarations of the unit, and among them the top-level
+ * and member types, which are the types extracted into the model.
+ * - Collect the method calls and field accesses within each method, including
+ * those of nested lambdas and anonymous or local classes, as
+ * {@code method.findAll(...)} does.
+ *
+ * The unit is traversed in pre-order over the child nodes, which is the order
+ * {@code findAll} reports its matches in, so the extracted relationships keep
+ * their order. The traversal keeps its own stack, so deeply nested expressions,
+ * such as long string concatenations, cannot overflow the thread's stack.
+ *
+ * Thread Safety:
+ * - Instances are not modified after collection, but the nodes they refer to
+ * belong to the unit's worker thread.
+ *
+ * Usage Example:
+ * {@code
+ * UnitElements elements = UnitElements.collect(compilationUnit);
+ * for (MethodDeclaration method : type.getMethods()) {
+ *     elements.getMethodCalls(method).forEach(call -> ...);
+ * }
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public final class UnitElements {
+    private final List<TypeDeclaration<?>> types = new ArrayList<>();
+    private final List<TypeDeclaration<?>> topLevelAndMemberTypes = new ArrayList<>();
+    private final Set<Node> topLevelAndMemberTypeNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<MethodDeclaration, List<MethodCallExpr>> methodCalls = new IdentityHashMap<>();
+    private final Map<MethodDeclaration, List<FieldAccessExpr>> fieldAccesses = new IdentityHashMap<>();
+    private final Deque<MethodDeclaration> enclosingMethods = new ArrayDeque<>(); // Only used while collecting
+    private int visitedNodes;
+
+    private UnitElements() {
+    }
+
+    /**
+     * Collects the elements of a compilation unit.
+     *
+     * @param compilationUnit the unit to traverse.
+     * @return the collected elements.
+     * @since 1.3
+     */
+    public static UnitElements collect(CompilationUnit compilationUnit) {
+        UnitElements elements = new UnitElements();
+        elements.visit(compilationUnit);
+        return elements;
+    }
+
+    /**
+     * Gets the type declarations of the unit, including nested and local ones,
+     * in pre-order.
+     *
+     * @return the type declarations.
+     * @since 1.3
+     */
+    public List<TypeDeclaration<?>> getTypes() {
+        return Collections.unmodifiableList(types);
+    }
+
+    /**
+     * Gets the top-level types of the unit and the types nested in them as
+     * members, excluding local classes and the members of anonymous classes.
+     *
+     * @return the type declarations, in pre-order, so every member type follows
+     *         its enclosing type.
+     * @since 1.3
+     */
+    public List<TypeDeclaration<?>> getTopLevelAndMemberTypes() {
+        return Collections.unmodifiableList(topLevelAndMemberTypes);
+    }
+
+    /**
+     * Gets the method calls within a method of the unit.
+     *
+     * @param method the method declaration.
+     * @return the calls, in pre-order.
+     * @since 1.3
+     */
+    public List<MethodCallExpr> getMethodCalls(MethodDeclaration method) {
+        return methodCalls.getOrDefault(method, Collections.emptyList());
+    }
+
+    /**
+     * Gets the field accesses within a method of the unit.
+     *
+     * @param method the method declaration.
+     * @return the field accesses, in pre-order.
+     * @since 1.3
+     */
+    public List<FieldAccessExpr> getFieldAccesses(MethodDeclaration method) {
+        return fieldAccesses.getOrDefault(method, Collections.emptyList());
+    }
+
+    /**
+     * Gets the number of nodes of the unit visited while collecting.
+     *
+     * @return the node count.
+     * @since 1.3
+     */
+    public int getVisitedNodes() {
+        return visitedNodes;
+    }
+
+    private void visit(Node root) {
+        Deque<Node> pending = new ArrayDeque<>();
+        Deque<Integer> methodEnds = new ArrayDeque<>(); // Pending sizes at which the enclosing methods end
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            while (!methodEnds.isEmpty() && pending.size() == methodEnds.peek()) {
+                methodEnds.pop();
+                enclosingMethods.pop();
+            }
+            Node node = pending.pop();
+            collect(node);
+            if (node instanceof MethodDeclaration) {
+                enclosingMethods.push((MethodDeclaration) node);
+                methodEnds.push(pending.size());
+            }
+            // Push the children last to first, so they are visited in order
+            List<Node> children = node.getChildNodes();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                pending.push(children.get(i));
+            }
+        }
+        enclosingMethods.clear();
+    }
+
+    private void collect(Node node) {
+        visitedNodes++;
+        if (node instanceof TypeDeclaration) {
+            types.add((TypeDeclaration<?>) node);
+            Node parent = node.getParentNode().orElse(null);
+            if (parent instanceof CompilationUnit || topLevelAndMemberTypeNodes.contains(parent)) {
+                topLevelAndMemberTypes.add((TypeDeclaration<?>) node);
+                topLevelAndMemberTypeNodes.add(node);
+            }
+        } else if (node instanceof MethodCallExpr) {
+            for (MethodDeclaration method : enclosingMethods) {
+                methodCalls.computeIfAbsent(method, key -> new ArrayList<>()).add((MethodCallExpr) node);
+            }
+        } else if (node instanceof FieldAccessExpr) {
+            for (MethodDeclaration method : enclosingMethods) {
+                fieldAccesses.computeIfAbsent(method, key -> new ArrayList<>()).add((FieldAccessExpr) node);
+            }
+        }
+    }
+}
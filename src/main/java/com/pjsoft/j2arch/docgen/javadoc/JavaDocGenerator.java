@@ -1,13 +1,18 @@
 package com.pjsoft.j2arch.docgen.javadoc;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
+import com.pjsoft.j2arch.core.model.AnalysisResult;
 import com.pjsoft.j2arch.core.model.PackageEntity;
 import com.pjsoft.j2arch.core.util.ProgressTracker;
 import com.pjsoft.j2arch.core.util.ProgressTracker.WorkUnitType;
@@ -17,6 +22,7 @@ import com.pjsoft.j2arch.docgen.javadoc.service.JavaDocPackagePageGenerator;
 import com.pjsoft.j2arch.docgen.javadoc.util.JavaDocGenerationContext;
 import com.pjsoft.j2arch.uml.service.ClassDiagramService;
 import com.pjsoft.j2arch.uml.service.PackageDiagramService;
+import com.pjsoft.j2arch.uml.util.DiagramRenderPool;
 import com.pjsoft.j2arch.uml.util.ProjectAnalyzer;
 
 /**
@@ -83,22 +89,51 @@ public class JavaDocGenerator {
      * @throws IOException If an error occurs during the documentation generation process.
      */
     public void generateJavaDoc(JavaDocGenerationContext context, ProgressTracker progressTracker) throws IOException {
+        AnalysisResult analysisResult;
         try {
             // Step 1: Analyze the project to extract package and class information
             progressTracker.onStatusUpdate("Analyzing project...");
             ProjectAnalyzer projectAnalyzer = new ProjectAnalyzer();
-            Map<String, PackageEntity> packageEntities = projectAnalyzer.analyzeProjectForPackages(context, progressTracker);
+            analysisResult = projectAnalyzer.analyze(context, progressTracker);
             progressTracker.onStatusUpdate("Project analysis completed");
+        } catch (Exception e) {
+            logger.error("Error during Javadoc generation: " + e.getMessage());
+            return;
+        }
+        generateJavaDoc(context, progressTracker, analysisResult);
+    }
 
-            // Step 2: Generate package-level documentation
-            progressTracker.onStatusUpdate("Generating package-level documentation...");
-            generatePackageDocumentation(packageEntities, context, progressTracker);
-            progressTracker.onStatusUpdate("Package documentation completed");
+    /**
+     * Generates the Javadoc from an existing analysis result.
+     * 
+     * Responsibilities:
+     * - Generates package-level and class-level documentation.
+     * - Generates the index page for the documentation.
+     * - Copies CSS files to the output directory.
+     * 
+     * @param context         The {@link JavaDocGenerationContext} containing configuration details.
+     * @param progressTracker The {@link ProgressTracker} to track progress and update status.
+     * @param analysisResult  The result of analyzing the project.
+     * @throws IOException If an error occurs during the documentation generation process.
+     * @since 1.3
+     */
+    public void generateJavaDoc(JavaDocGenerationContext context, ProgressTracker progressTracker,
+            AnalysisResult analysisResult) throws IOException {
+        try {
+            Map<String, PackageEntity> packageEntities = analysisResult.getPackages();
 
-            // Step 3: Generate class-level documentation
-            progressTracker.onStatusUpdate("Generating class-level documentation...");
-            generateClassDocumentation(packageEntities, context, progressTracker);
-            progressTracker.onStatusUpdate("Class level documentation completed");
+            // The package and class diagrams are rendered on one pool while the pages are written
+            try (DiagramRenderPool renderPool = DiagramRenderPool.forContext(context)) {
+                // Step 2: Generate package-level documentation
+                progressTracker.onStatusUpdate("Generating package-level documentation...");
+                generatePackageDocumentation(packageEntities, context, progressTracker, renderPool);
+                progressTracker.onStatusUpdate("Package documentation completed");
+
+                // Step 3: Generate class-level documentation
+                progressTracker.onStatusUpdate("Generating class-level documentation...");
+                generateClassDocumentation(packageEntities, context, progressTracker, renderPool);
+                progressTracker.onStatusUpdate("Class level documentation completed");
+            }
 
             // Step 4: Generate the index page
             progressTracker.addTotalUnits(WorkUnitType.INDEX_PAGE, 1);
@@ -130,19 +165,22 @@ public class JavaDocGenerator {
      * @param packageEntities A map of package names to {@link PackageEntity} objects.
      * @param context         The {@link JavaDocGenerationContext} containing configuration details.
      * @param progressTracker The {@link ProgressTracker} to track progress and update status.
+     * @param renderPool      The pool to render the package diagrams on.
      * @throws IOException If an error occurs during package documentation generation.
      */
     private void generatePackageDocumentation(Map<String, PackageEntity> packageEntities,
-            JavaDocGenerationContext context, ProgressTracker progressTracker) throws IOException {
+            JavaDocGenerationContext context, ProgressTracker progressTracker, DiagramRenderPool renderPool)
+            throws IOException {
 
         PackageDiagramService packageDiagramService = new PackageDiagramService();
         JavaDocPackagePageGenerator packagePageGenerator = new JavaDocPackagePageGenerator();
 
         Collection<PackageEntity> packages = packageEntities.values();
         progressTracker.addTotalUnits(WorkUnitType.PACKAGE_DOC, packages.size());
+        List<Future<File>> diagrams = new ArrayList<>();
         for (PackageEntity packageEntity : packages) {
             // Step 1: Generate package diagram
-            packageDiagramService.generatePackageDiagram(packageEntity, context);
+            diagrams.add(packageDiagramService.generatePackageDiagram(packageEntity, context, renderPool));
 
             // Step 2: Generate package page
             packagePageGenerator.generatePackagePage(packageEntity, context);
@@ -150,6 +188,9 @@ public class JavaDocGenerator {
             // Update progress tracker
             progressTracker.addCompletedUnits(WorkUnitType.PACKAGE_DOC, 1);
         }
+        for (Future<File> diagram : diagrams) {
+            awaitDiagram(diagram);
+        }
 
         logger.info("Package documentation generation completed.");
     }
@@ -164,20 +205,23 @@ public class JavaDocGenerator {
      * @param packageEntities A map of package names to {@link PackageEntity} objects.
      * @param context         The {@link JavaDocGenerationContext} containing configuration details.
      * @param progressTracker The {@link ProgressTracker} to track progress and update status.
+     * @param renderPool      The pool to render the class diagrams on.
      * @throws IOException If an error occurs during class documentation generation.
      */
     private void generateClassDocumentation(Map<String, PackageEntity> packageEntities,
-            JavaDocGenerationContext context, ProgressTracker progressTracker) throws IOException {
+            JavaDocGenerationContext context, ProgressTracker progressTracker, DiagramRenderPool renderPool)
+            throws IOException {
 
         ClassDiagramService classDiagramService = new ClassDiagramService();
         JavaDocClassPageGenerator classPageGenerator = new JavaDocClassPageGenerator();
 
         Collection<PackageEntity> packages = packageEntities.values();
         progressTracker.addTotalUnits(WorkUnitType.CLASS_DOC, packages.size());
+        List<Future<File>> diagrams = new ArrayList<>();
         for (PackageEntity packageEntity : packages) {
             for (var codeEntity : packageEntity.getClasses()) {
                 // Step 1: Generate class diagram
-                classDiagramService.generateClassDiagram(codeEntity, context);
+                diagrams.add(classDiagramService.generateClassDiagram(codeEntity, context, renderPool));
 
                 // Step 2: Generate class page
                 classPageGenerator.generateClassPage(codeEntity, context);
@@ -187,10 +231,30 @@ public class JavaDocGenerator {
             // Update progress tracker
             progressTracker.addCompletedUnits(WorkUnitType.CLASS_DOC, 1);
         }
+        for (Future<File> diagram : diagrams) {
+            awaitDiagram(diagram);
+        }
 
         logger.info("Class documentation generation completed.");
     }
 
+    /**
+     * Waits for a diagram of a page. A diagram that exceeded its render budget
+     * is already in the watchdog's failure report; it is logged and skipped,
+     * so the remaining diagrams, the index page and the CSS are still
+     * generated.
+     * 
+     * @param diagram The pending diagram.
+     * @throws RuntimeException If the rendering failed for another reason.
+     */
+    private static void awaitDiagram(Future<File> diagram) {
+        try {
+            DiagramRenderPool.await(diagram);
+        } catch (DiagramRenderPool.BudgetExceededException e) {
+            logger.error("Skipping diagram: {}", e.getMessage());
+        }
+    }
+
     /**
      * Generates the index page by delegating to {@link JavaDocIndexPageGenerator}.
      * 
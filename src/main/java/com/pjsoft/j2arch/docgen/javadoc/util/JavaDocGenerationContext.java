@@ -1,6 +1,7 @@
 package com.pjsoft.j2arch.docgen.javadoc.util;
 
 import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.context.GenerationOptions;
 import com.pjsoft.j2arch.core.util.DirectoryConstants;
 import com.pjsoft.j2arch.core.util.PathResolver;
 import com.pjsoft.j2arch.core.util.StyleConstants;
@@ -64,6 +65,7 @@ public class JavaDocGenerationContext implements GenerationContext {
     private final String styleOutputFile; // Path to the output CSS file
     private final String includePackage; // Package to include in the documentation
     private final String libsDirPath; // Path to the directory containing library files
+    private final GenerationOptions options; // Tuning options such as the number of parser threads
 
     /**
      * Constructs a new JavaDocGenerationContext.
@@ -85,6 +87,27 @@ public class JavaDocGenerationContext implements GenerationContext {
     public JavaDocGenerationContext(String inputDirectory, String outputDirectory, String indexTemplateFile,
             String classTemplateFile, String packageTemplateFile, String styleSourceFile,
             String includePackage, String libsDirPath) {
+        this(inputDirectory, outputDirectory, indexTemplateFile, classTemplateFile, packageTemplateFile,
+                styleSourceFile, includePackage, libsDirPath, GenerationOptions.defaults());
+    }
+
+    /**
+     * Constructs a new JavaDocGenerationContext with explicit tuning options.
+     * 
+     * @param inputDirectory      The directory containing input source files.
+     * @param outputDirectory     The directory where the generated documentation will be stored.
+     * @param indexTemplateFile   The path to the index HTML template file.
+     * @param classTemplateFile   The path to the class HTML template file.
+     * @param packageTemplateFile The path to the package HTML template file.
+     * @param styleSourceFile     The path to the source CSS file.
+     * @param includePackage      The package to include in the documentation.
+     * @param libsDirPath         The path to the directory containing library files.
+     * @param options             The tuning options, or {@code null} for the defaults.
+     * @throws IllegalArgumentException If the input or output directory is null or empty.
+     */
+    public JavaDocGenerationContext(String inputDirectory, String outputDirectory, String indexTemplateFile,
+            String classTemplateFile, String packageTemplateFile, String styleSourceFile,
+            String includePackage, String libsDirPath, GenerationOptions options) {
         if (inputDirectory == null || inputDirectory.isEmpty()) {
             throw new IllegalArgumentException("Input directory cannot be null or empty");
         }
@@ -104,6 +127,7 @@ public class JavaDocGenerationContext implements GenerationContext {
         this.styleOutputFile = PathResolver.resolvePath(this.htmlDirectory, StyleConstants.OUTPUT_JAVADOC_STYLE);
         this.includePackage = includePackage;
         this.libsDirPath = libsDirPath;
+        this.options = options != null ? options : GenerationOptions.defaults();
     }
 
     /**
@@ -213,4 +237,14 @@ public class JavaDocGenerationContext implements GenerationContext {
     public String getLibsDirPath() {
         return libsDirPath;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the tuning options for the documentation generation.
+     * 
+     * @return The generation options.
+     */
+    @Override
+    public GenerationOptions getOptions() {
+        return options;
+    }
+}
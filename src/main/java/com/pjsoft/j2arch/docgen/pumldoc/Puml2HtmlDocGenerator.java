@@ -2,12 +2,15 @@ package com.pjsoft.j2arch.docgen.pumldoc;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -15,6 +18,7 @@ import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.pjsoft.j2arch.core.context.GenerationOptions.DiagramFormat;
 import com.pjsoft.j2arch.core.util.DirectoryConstants;
 import com.pjsoft.j2arch.core.util.PathResolver;
 import com.pjsoft.j2arch.core.util.ProgressTracker;
@@ -23,6 +27,9 @@ import com.pjsoft.j2arch.docgen.pumldoc.model.DiagramInfo;
 import com.pjsoft.j2arch.docgen.pumldoc.model.DiagramResult;
 import com.pjsoft.j2arch.docgen.pumldoc.util.HtmlGenerationContext;
 import com.pjsoft.j2arch.docgen.pumldoc.util.HtmlGenerator;
+import com.pjsoft.j2arch.uml.model.Scenario;
+import com.pjsoft.j2arch.uml.util.DiagramImageGenerator;
+import com.pjsoft.j2arch.uml.util.ScenarioDeduplicator;
 
 import net.sourceforge.plantuml.FileFormat;
 import net.sourceforge.plantuml.FileFormatOption;
@@ -32,15 +39,19 @@ import net.sourceforge.plantuml.SourceFileReader;
  * PUML2HTMLDocGenerator
  * 
  * This class is responsible for generating HTML documentation from PlantUML (.puml) files.
- * It processes the input .puml files, generates diagrams in SVG format, and creates
+ * It processes the input .puml files, generates diagrams in SVG format unless another
+ * {@link DiagramFormat} is configured, and creates
  * corresponding HTML pages for each diagram. Additionally, it generates an index HTML
  * file to provide an overview of all diagrams.
  * 
  * Responsibilities:
  * - Locate and process .puml files from the specified input directory.
- * - Generate SVG diagrams using PlantUML.
+ * - Generate SVG diagrams, or diagrams in the configured format, using PlantUML.
  * - Create HTML pages for each diagram using predefined templates.
  * - Generate an index HTML file to link all diagrams.
+ * - Link the parts of split sequence diagrams to each other.
+ * - Show duplicate sequence diagrams, listed in the manifest of the sequence
+ *   diagram service, with the image of the diagram rendered in their place.
  * - Handle parallel processing of multiple .puml files for efficiency.
  * 
  * Dependencies:
@@ -113,8 +124,10 @@ public class Puml2HtmlDocGenerator {
                 return;
             }
 
+            DiagramFormat format = context.getOptions().resolveRenderFormat(DiagramFormat.SVG);
+            Properties aliases = loadAliases(inputDir);
             Map<String, DiagramInfo> diagramInfoMap = processFilesAndGenerateDocs(pumlFiles, outputDir,
-                    diagramTemplateFile, progressTracker);
+                    diagramTemplateFile, format, aliases, progressTracker);
             HtmlGenerator.generateIndexFile(diagramInfoMap, outputDir, docTitle, indexTemplateFile, progressTracker);
             progressTracker.markAllCompleted();
         } catch (Exception e) {
@@ -164,6 +177,8 @@ public class Puml2HtmlDocGenerator {
  * @param files        The list of .puml files to process.
  * @param outputDir    The output directory where the generated diagrams and HTML pages will be stored.
  * @param diagTemplate The path to the diagram HTML template.
+ * @param format       The image format of the diagrams.
+ * @param aliases      The duplicate sequence diagrams, with the diagram rendered in their place.
  * @return A map where the keys are base filenames of the diagrams, and the values are {@link DiagramInfo} objects containing metadata about the diagrams.
  * 
  * Limitations:
@@ -175,13 +190,13 @@ public class Puml2HtmlDocGenerator {
  * - Ensures thread safety for shared resources like logging and file operations.
  */
     private Map<String, DiagramInfo> processFilesAndGenerateDocs(List<File> files, String outputDir,
-            String diagTemplate, ProgressTracker progressTracker) {
+            String diagTemplate, DiagramFormat format, Properties aliases, ProgressTracker progressTracker) {
                 int numberOfFiles = files.size();
                 progressTracker.addTotalUnits(WorkUnitType.PUML2HTML_PAGE, numberOfFiles);
         ExecutorService executor = Executors.newFixedThreadPool(MAX_THREADS);
         List<Callable<DiagramResult>> tasks = new ArrayList<>();
         for (File file : files) {
-            tasks.add(() -> processFile(file, outputDir, progressTracker));
+            tasks.add(() -> processFile(file, outputDir, format, aliases, progressTracker));
         }
         Map<String, DiagramInfo> diagramInfoMap = new HashMap<>();
         try {
@@ -196,12 +211,15 @@ public class Puml2HtmlDocGenerator {
                     successCount++;
                     
                     diagramInfoMap.put(result.getBaseFilename(), result.getDiagramInfo());
-                    HtmlGenerator.generateDiagramPage(result.getDiagramInfo(), outputDir, diagramTemplate);
                 } else {
                     failureCount++;
                     logger.error("✗ " + result.getFilename() + " - " + result.getMessage());
+                    progressTracker.addCompletedUnits(WorkUnitType.PUML2HTML_PAGE, 1);
                 }
-
+            }
+            linkParts(diagramInfoMap);
+            for (DiagramInfo diagramInfo : diagramInfoMap.values()) {
+                HtmlGenerator.generateDiagramPage(diagramInfo, outputDir, diagramTemplate);
                 progressTracker.addCompletedUnits(WorkUnitType.PUML2HTML_PAGE, 1);
             }
             logger.info("Processing of puml file complete!");
@@ -221,12 +239,16 @@ public class Puml2HtmlDocGenerator {
  * Responsibilities:
  * - Reads the content of the given `.puml` file.
  * - Extracts metadata such as the title and description from the file content.
- * - Generates an SVG diagram using the PlantUML library.
+ * - Generates the diagram images of the format using the PlantUML library. A
+ *   duplicate sequence diagram shows the image of the diagram rendered in its
+ *   place instead.
  * - Creates a {@link DiagramInfo} object containing metadata about the diagram.
  * - Returns a {@link DiagramResult} indicating the success or failure of the operation.
  * 
  * @param inputFile The `.puml` file to process.
  * @param outputDir The output directory where the generated diagram will be stored.
+ * @param format    The image format of the diagram.
+ * @param aliases   The duplicate sequence diagrams, with the diagram rendered in their place.
  * @return A {@link DiagramResult} containing the result of the diagram generation, including metadata and status.
  * 
  * Limitations:
@@ -234,11 +256,12 @@ public class Puml2HtmlDocGenerator {
  * - Does not handle advanced error recovery for invalid `.puml` syntax.
  * - Relies on the PlantUML library for diagram generation.
  */
-    private DiagramResult processFile(File inputFile, String outputDir, ProgressTracker progressTracker) {
+    private DiagramResult processFile(File inputFile, String outputDir, DiagramFormat format, Properties aliases,
+            ProgressTracker progressTracker) {
 
         String pumlFilename = inputFile.getName();
         String baseFilename = pumlFilename.substring(0, pumlFilename.lastIndexOf('.'));
-        String imageName = baseFilename + ".svg";
+        String imageName = baseFilename + format.getImageSuffix();
         String imageDirName = PathResolver.resolvePath(outputDir , DirectoryConstants.IMAGES_DIR);
 
         try {
@@ -248,8 +271,19 @@ public class Puml2HtmlDocGenerator {
             String title = extractTitle(pumlContent, baseFilename);
             String description = extractDescription(pumlContent, "");
 
-            SourceFileReader reader = new SourceFileReader(inputFile, imageDir, new FileFormatOption(FileFormat.SVG));
-            List<?> diagrams = reader.getGeneratedImages();
+            List<?> diagrams = List.of();
+            String renderedId = renderedDiagram(baseFilename, aliases);
+            if (renderedId != null) {
+                // Same interactions as a diagram that is rendered anyway
+                imageName = renderedId + format.getImageSuffix();
+                description = "Shows the same interactions as <a href=\"" + renderedId + ".html\">" + renderedId
+                        + "</a>.";
+            } else {
+                for (FileFormat fileFormat : DiagramImageGenerator.fileFormats(format)) {
+                    SourceFileReader reader = new SourceFileReader(inputFile, imageDir, new FileFormatOption(fileFormat));
+                    diagrams = reader.getGeneratedImages();
+                }
+            }
 
             String relativeImagePath = PathResolver.resolvePath(DirectoryConstants.IMAGES_DIR, imageName);
             DiagramInfo diagramInfo = new DiagramInfo(baseFilename, title, description, relativeImagePath);
@@ -263,6 +297,86 @@ public class Puml2HtmlDocGenerator {
         }
     }
 
+/**
+ * Loads the manifest of the sequence diagrams whose image was skipped as a
+ * duplicate, written next to their `.puml` files by the sequence diagram
+ * service.
+ * 
+ * @param inputDir The directory of the `.puml` files.
+ * @return The diagram rendered in place of each skipped diagram; empty values
+ *         for scenarios without interactions. Empty if there is no manifest.
+ */
+    private Properties loadAliases(String inputDir) {
+        Properties aliases = new Properties();
+        File manifest = new File(inputDir, ScenarioDeduplicator.MANIFEST_FILE);
+        if (manifest.isFile()) {
+            try (Reader reader = Files.newBufferedReader(manifest.toPath(), StandardCharsets.UTF_8)) {
+                aliases.load(reader);
+                logger.debug("Loaded {} sequence diagram aliases from: {}", aliases.size(), manifest);
+            } catch (IOException e) {
+                logger.warn("Could not read the sequence diagram manifest, rendering all diagrams: {}", manifest, e);
+                aliases.clear();
+            }
+        }
+        return aliases;
+    }
+
+/**
+ * Finds the diagram whose image shows a duplicate sequence diagram. A part of a
+ * duplicate scenario is shown by the same part of the rendered one.
+ * 
+ * @param id      The base filename of the diagram.
+ * @param aliases The duplicate sequence diagrams, with the diagram rendered in their place.
+ * @return The base filename of the rendered diagram, or null if the diagram is
+ *         rendered itself.
+ */
+    private String renderedDiagram(String id, Properties aliases) {
+        String rendered = aliases.getProperty(id);
+        if (rendered != null) {
+            return rendered.isEmpty() ? null : rendered;
+        }
+        int suffix = id.lastIndexOf(Scenario.PART_SUFFIX);
+        if (suffix > 0) {
+            String firstPartRendered = aliases.getProperty(id.substring(0, suffix));
+            if (firstPartRendered != null && !firstPartRendered.isEmpty()) {
+                return firstPartRendered + id.substring(suffix);
+            }
+        }
+        return null;
+    }
+
+/**
+ * Links the parts of split sequence diagrams to each other. The parts of a
+ * scenario split by the sequence diagram service are named like the first part,
+ * followed by {@link Scenario#PART_SUFFIX} and the part number.
+ * 
+ * @param diagramInfoMap The diagrams by their base filenames; the entries of the
+ *                       parts are replaced by linked ones.
+ */
+    private void linkParts(Map<String, DiagramInfo> diagramInfoMap) {
+        Map<String, DiagramInfo> linkedParts = new HashMap<>();
+        for (DiagramInfo info : diagramInfoMap.values()) {
+            String id = info.getId();
+            int suffix = id.lastIndexOf(Scenario.PART_SUFFIX);
+            String firstPartId = id;
+            int part = 1;
+            if (suffix > 0 && id.substring(suffix + Scenario.PART_SUFFIX.length()).matches("[0-9]+")) {
+                firstPartId = id.substring(0, suffix);
+                part = Integer.parseInt(id.substring(suffix + Scenario.PART_SUFFIX.length()));
+            }
+            String previousPartId = part == 2 ? firstPartId : firstPartId + Scenario.PART_SUFFIX + (part - 1);
+            String nextPartId = firstPartId + Scenario.PART_SUFFIX + (part + 1);
+            boolean hasPrevious = part > 1 && diagramInfoMap.containsKey(previousPartId);
+            boolean hasNext = diagramInfoMap.containsKey(nextPartId);
+            if (hasPrevious || hasNext) {
+                linkedParts.put(id, new DiagramInfo(id, info.getTitle(), info.getDescription(), info.getImagePath(),
+                        hasPrevious ? previousPartId : null, hasNext ? nextPartId : null));
+            }
+        }
+        diagramInfoMap.putAll(linkedParts);
+        logger.debug("Linked {} parts of split diagrams", linkedParts.size());
+    }
+
     /**
      * Creates a directory if it does not exist.
      *
@@ -5,11 +5,13 @@ package com.pjsoft.j2arch.docgen.pumldoc.model;
  * 
  * Represents the information about a PlantUML diagram. This class encapsulates
  * metadata about the diagram, including its unique identifier, title, description,
- * and the path to the generated image.
+ * and the path to the generated image. A diagram that is a part of a split
+ * sequence scenario also knows the previous and next part.
  * 
  * Responsibilities:
  * - Stores metadata about a PlantUML diagram.
  * - Provides access to the diagram's ID, title, description, and image path.
+ * - Provides access to the IDs of the previous and next part of a split diagram.
  * 
  * Limitations:
  * - Assumes that the provided inputs (e.g., ID, title, description, image path) are valid and non-null.
@@ -38,6 +40,8 @@ public class DiagramInfo {
     private final String title; // The title of the diagram
     private final String description; // The description of the diagram
     private final String imagePath; // The path to the generated image of the diagram
+    private final String previousPartId; // The ID of the previous part, null if there is none
+    private final String nextPartId; // The ID of the next part, null if there is none
 
     /**
      * Constructs a new DiagramInfo object.
@@ -51,10 +55,28 @@ public class DiagramInfo {
      * @param imagePath   The path to the generated image of the diagram.
      */
     public DiagramInfo(String id, String title, String description, String imagePath) {
+        this(id, title, description, imagePath, null, null);
+    }
+
+    /**
+     * Constructs a new DiagramInfo object for a part of a split diagram.
+     * 
+     * @param id             The unique identifier for the diagram.
+     * @param title          The title of the diagram.
+     * @param description    The description of the diagram.
+     * @param imagePath      The path to the generated image of the diagram.
+     * @param previousPartId The ID of the previous part, or null for the first part.
+     * @param nextPartId     The ID of the next part, or null for the last part.
+     * @since 1.3
+     */
+    public DiagramInfo(String id, String title, String description, String imagePath, String previousPartId,
+            String nextPartId) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.imagePath = imagePath;
+        this.previousPartId = previousPartId;
+        this.nextPartId = nextPartId;
     }
 
     /**
@@ -92,4 +114,24 @@ public class DiagramInfo {
     public String getImagePath() {
         return imagePath;
     }
+
+    /**
+     * Gets the ID of the previous part of a split diagram.
+     * 
+     * @return The ID of the previous part, or null if there is none.
+     * @since 1.3
+     */
+    public String getPreviousPartId() {
+        return previousPartId;
+    }
+
+    /**
+     * Gets the ID of the next part of a split diagram.
+     * 
+     * @return The ID of the next part, or null if there is none.
+     * @since 1.3
+     */
+    public String getNextPartId() {
+        return nextPartId;
+    }
 }
\ No newline at end of file
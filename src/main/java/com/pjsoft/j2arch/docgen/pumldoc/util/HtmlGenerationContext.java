@@ -1,5 +1,6 @@
 package com.pjsoft.j2arch.docgen.pumldoc.util;
 
+import com.pjsoft.j2arch.core.context.GenerationOptions;
 import com.pjsoft.j2arch.core.util.DirectoryConstants;
 import com.pjsoft.j2arch.core.util.PathResolver;
 import com.pjsoft.j2arch.core.util.StyleConstants;
@@ -9,7 +10,7 @@ import com.pjsoft.j2arch.core.util.StyleConstants;
  * 
  * Represents the context for generating HTML documentation for PlantUML diagrams.
  * This class provides configuration details such as input/output directories,
- * template file paths, and stylesheet paths.
+ * template file paths, stylesheet paths, and the tuning options.
  * 
  * Responsibilities:
  * - Stores paths for input and output directories.
@@ -53,6 +54,7 @@ public class HtmlGenerationContext {
     private final String styleSourceFile; // Path to the source CSS file
     private final String imagesOutputDirectory; // Path to the output directory for images
     private final String styleOutputFile; // Path to the output CSS file
+    private final GenerationOptions options; // Tuning options, such as the image format
 
     /**
      * Constructs a new HTMLGenerationContext.
@@ -69,6 +71,23 @@ public class HtmlGenerationContext {
      */
     public HtmlGenerationContext(String inputDirectory, String outputDirectory, String diagramTemplateFile,
             String indexTemplateFile, String styleSourceFile) {
+        this(inputDirectory, outputDirectory, diagramTemplateFile, indexTemplateFile, styleSourceFile,
+                GenerationOptions.defaults());
+    }
+
+    /**
+     * Constructs a new HTMLGenerationContext with the given tuning options.
+     * 
+     * @param inputDirectory      The directory containing input .puml files.
+     * @param outputDirectory     The directory where the generated documentation will be stored.
+     * @param diagramTemplateFile The path to the diagram HTML template file.
+     * @param indexTemplateFile   The path to the index HTML template file.
+     * @param styleSourceFile     The path to the source CSS file.
+     * @param options             The tuning options, or {@code null} for the defaults.
+     * @since 1.3
+     */
+    public HtmlGenerationContext(String inputDirectory, String outputDirectory, String diagramTemplateFile,
+            String indexTemplateFile, String styleSourceFile, GenerationOptions options) {
         this.inputDirectory = inputDirectory;
         this.outputDirectory = outputDirectory;
         this.diagramTemplateFile = diagramTemplateFile;
@@ -76,6 +95,7 @@ public class HtmlGenerationContext {
         this.styleSourceFile = styleSourceFile;
         this.imagesOutputDirectory = PathResolver.resolvePath(outputDirectory, DirectoryConstants.IMAGES_DIR);
         this.styleOutputFile = PathResolver.resolvePath(outputDirectory, StyleConstants.OUTPUT_HTMLDOC_STYLE);
+        this.options = options != null ? options : GenerationOptions.defaults();
     }
 
     /**
@@ -140,4 +160,14 @@ public class HtmlGenerationContext {
     public String getStyleOutputFile() {
         return styleOutputFile;
     }
+
+    /**
+     * Retrieves the tuning options for the documentation generation.
+     * 
+     * @return The generation options.
+     * @since 1.3
+     */
+    public GenerationOptions getOptions() {
+        return options;
+    }
 }
@@ -7,6 +7,7 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Scanner;
 
@@ -25,7 +26,8 @@ import com.pjsoft.j2arch.uml.service.ClassDiagramService;
  * 
  * Responsibilities:
  * - Generate an index HTML file with links to all diagrams.
- * - Generate individual HTML pages for each diagram.
+ * - Generate individual HTML pages for each diagram, linking the parts of split
+ *   diagrams to each other.
  * - Load HTML templates from resources.
  * - Copy CSS files to the output directory.
  * 
@@ -89,9 +91,11 @@ public class HtmlGenerator {
         // Generate content 
         StringBuilder content = new StringBuilder();
         
-        // Sort diagrams by title
+        // Sort diagrams by title, keeping the parts of a split diagram together and in order
         diagramInfoMap.values().stream()
-                .sorted((d1, d2) -> d1.getTitle().compareTo(d2.getTitle()))
+                .sorted(Comparator.comparing((DiagramInfo diagram) -> firstPart(diagram, diagramInfoMap).getTitle())
+                        .thenComparing(diagram -> firstPart(diagram, diagramInfoMap).getId())
+                        .thenComparingInt(diagram -> partNumber(diagram, diagramInfoMap)))
                 .forEach(diagram -> {
                     // Add to sidebar
                     sidebarLinks.append("<li><a href=\"")
@@ -137,6 +141,8 @@ public class HtmlGenerator {
      * 
      * Responsibilities:
      * - Replaces placeholders in the diagram template with actual diagram metadata.
+     * - Links the previous and next part of a split diagram, in place of the
+     *   {@code {{navigation}}} placeholder or else before the description.
      * - Writes the generated HTML to the output directory.
      * 
      * @param info      The {@link DiagramInfo} object containing metadata about the diagram.
@@ -145,10 +151,19 @@ public class HtmlGenerator {
      * @throws IOException If an I/O error occurs during file operations.
      */
     public static void generateDiagramPage(DiagramInfo info, String outputDir, String template) throws IOException {
+        // Link the parts of a split diagram, before the description if the template has no place for it
+        String navigation = partNavigation(info);
+        String description = info.getDescription();
+        if (template.contains("{{navigation}}")) {
+            template = template.replace("{{navigation}}", navigation);
+        } else {
+            description = navigation + description;
+        }
+
         // Replace template placeholders
         String htmlContent = template
                 .replace("{{title}}", info.getTitle())
-                .replace("{{description}}", info.getDescription())
+                .replace("{{description}}", description)
                 .replace("{{imagePath}}", info.getImagePath())
                 .replace("{{imageAlt}}", info.getTitle());
         
@@ -158,6 +173,61 @@ public class HtmlGenerator {
         }
     }
 
+    /**
+     * Builds the links to the previous and next part of a split diagram.
+     * 
+     * @param info The diagram.
+     * @return The links, or an empty string if the diagram is not split.
+     */
+    private static String partNavigation(DiagramInfo info) {
+        if (info.getPreviousPartId() == null && info.getNextPartId() == null) {
+            return "";
+        }
+        StringBuilder navigation = new StringBuilder("<div class=\"diagram-parts\">");
+        if (info.getPreviousPartId() != null) {
+            navigation.append("<a href=\"").append(info.getPreviousPartId()).append(".html\">&laquo; Previous part</a>");
+        }
+        if (info.getNextPartId() != null) {
+            if (info.getPreviousPartId() != null) {
+                navigation.append(" | ");
+            }
+            navigation.append("<a href=\"").append(info.getNextPartId()).append(".html\">Next part &raquo;</a>");
+        }
+        return navigation.append("</div>\n").toString();
+    }
+
+    /**
+     * Finds the first part of a split diagram.
+     * 
+     * @param diagram        The diagram.
+     * @param diagramInfoMap All diagrams by their ID.
+     * @return The first part, or the diagram itself if it is not split.
+     */
+    private static DiagramInfo firstPart(DiagramInfo diagram, Map<String, DiagramInfo> diagramInfoMap) {
+        DiagramInfo first = diagram;
+        while (first.getPreviousPartId() != null && diagramInfoMap.containsKey(first.getPreviousPartId())) {
+            first = diagramInfoMap.get(first.getPreviousPartId());
+        }
+        return first;
+    }
+
+    /**
+     * Counts the parts of a split diagram up to the given one.
+     * 
+     * @param diagram        The diagram.
+     * @param diagramInfoMap All diagrams by their ID.
+     * @return The part number, starting at 1.
+     */
+    private static int partNumber(DiagramInfo diagram, Map<String, DiagramInfo> diagramInfoMap) {
+        int part = 1;
+        DiagramInfo current = diagram;
+        while (current.getPreviousPartId() != null && diagramInfoMap.containsKey(current.getPreviousPartId())) {
+            current = diagramInfoMap.get(current.getPreviousPartId());
+            part++;
+        }
+        return part;
+    }
+
     /**
      * Loads a template file as a String.
      * 
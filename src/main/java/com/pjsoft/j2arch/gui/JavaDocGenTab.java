@@ -267,7 +267,8 @@ public class JavaDocGenTab extends Tab {
                     initialContext.getPackageTemplateFile(),
                     initialContext.getStyleSourceFile(),
                     initialContext.getIncludePackage(),
-                    initialContext.getLibsDirPath());
+                    initialContext.getLibsDirPath(),
+                    initialContext.getOptions());
         } catch (IllegalArgumentException iae) {
             progressTracker.onStatusUpdate(iae.getMessage());
             throw iae;
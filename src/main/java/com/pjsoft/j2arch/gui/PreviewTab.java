@@ -1,5 +1,6 @@
 package com.pjsoft.j2arch.gui;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -15,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import com.pjsoft.j2arch.uml.util.DiagramImageGenerator;
 import com.pjsoft.j2arch.uml.util.UMLGenerationContext;
 
 /**
@@ -22,7 +24,9 @@ import com.pjsoft.j2arch.uml.util.UMLGenerationContext;
  * 
  * Represents the "Diagram Preview" tab in the GUI. This tab allows users to:
  * - Browse and select an output directory containing generated diagram images.
- * - Preview images (e.g., `.png`, `.jpg`) in the selected directory.
+ * - Preview images (e.g., `.png`, `.jpg`) in the selected directory. Diagrams
+ *   rendered as `.svg` only are rendered as `.png` from their `.puml` file when
+ *   first shown, on a background thread.
  * - Navigate between images using navigation buttons.
  * - Zoom in, zoom out, and pan the displayed image.
  * 
@@ -42,6 +46,7 @@ import com.pjsoft.j2arch.uml.util.UMLGenerationContext;
  * 
  * Thread Safety:
  * - This class is not thread-safe as it relies on JavaFX's single-threaded model.
+ * - Uses `Platform.runLater` to show images rendered on a background thread.
  * 
  * Usage Example:
  * {@code
@@ -61,6 +66,7 @@ public class PreviewTab {
 
     private final BorderPane layout; // The main layout of the tab
     private final UMLGenerationContext umlContext; // Context for UML generation configuration
+    private long displayRequest; // Counts the images selected for display, on the JavaFX application thread
 
     /**
      * Constructs a new PreviewTab.
@@ -175,7 +181,7 @@ public class PreviewTab {
             imageFiles.clear();
 
             File[] files = selectedDirectory.listFiles(
-                    (dir, name) -> name.endsWith(".png") || name.endsWith(".jpg") || name.endsWith(".jpeg"));
+                    PreviewTab::isPreviewable);
             if (files != null) {
                 imageFiles.addAll(Arrays.asList(files));
             }
@@ -223,7 +229,7 @@ public class PreviewTab {
             if (outputDir.exists() && outputDir.isDirectory()) {
                 pathField.setText(outputDirectory);
                 File[] files = outputDir.listFiles(
-                        (dir, name) -> name.endsWith(".png") || name.endsWith(".jpg") || name.endsWith(".jpeg"));
+                        PreviewTab::isPreviewable);
                 if (files != null) {
                     imageFiles.addAll(Arrays.asList(files));
                 }
@@ -250,7 +256,44 @@ public class PreviewTab {
         imageView.setTranslateY(0);
     }
 
+    private static boolean isPreviewable(File dir, String name) {
+        if (name.endsWith(".svg")) {
+            // Shown through its PNG image, which is listed itself if it exists
+            return !new File(dir, name.substring(0, name.length() - 4) + ".png").exists();
+        }
+        return name.endsWith(".png") || name.endsWith(".jpg") || name.endsWith(".jpeg");
+    }
+
     private void displayImage(File file, ImageView imageView) {
+        long request = ++displayRequest;
+        if (!file.getName().endsWith(".svg")) {
+            showImage(file, imageView);
+            return;
+        }
+
+        // Rendering the PNG image runs a full PlantUML layout; keep it off the JavaFX application thread
+        imageView.setImage(null);
+        String diagramName = file.getName().substring(0, file.getName().length() - 4);
+        File pumlDirectory = new File(umlContext.getPumlPath());
+        Thread renderThread = new Thread(() -> {
+            try {
+                File pngFile = new DiagramImageGenerator().getPngImage(diagramName, pumlDirectory,
+                        file.getParentFile());
+                Platform.runLater(() -> {
+                    // Another image may have been selected while this one was rendered
+                    if (request == displayRequest) {
+                        showImage(pngFile, imageView);
+                    }
+                });
+            } catch (Exception e) {
+                logger.error("Error rendering image: {}", e.getMessage());
+            }
+        }, "preview-render-" + diagramName);
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    private void showImage(File file, ImageView imageView) {
         try {
             Image image = new Image(file.toURI().toString());
             imageView.setImage(image);
@@ -161,7 +161,8 @@ public class Puml2HtmlDocGenTab extends Tab {
                     outputDir,
                     initialHtmlContext.getDiagramTemplateFile(),
                     initialHtmlContext.getIndexTemplateFile(),
-                    initialHtmlContext.getStyleSourceFile()
+                    initialHtmlContext.getStyleSourceFile(),
+                    initialHtmlContext.getOptions()
             );
 
             try {
@@ -428,7 +428,8 @@ public class UmlGenTab {
                 initialContext.getPumlPath(),
                 initialContext.getImagesOutputDirectory(),
                 initialContext.getUnifiedClassDiagram(),
-                initialContext.getLibsDirPath());
+                initialContext.getLibsDirPath(),
+                initialContext.getOptions());
     }
 
     // Method to update the explanation label based on the selected radio button
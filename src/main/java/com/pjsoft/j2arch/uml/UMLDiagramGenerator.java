@@ -2,16 +2,19 @@ package com.pjsoft.j2arch.uml;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.pjsoft.j2arch.core.model.CodeEntity;
+import com.pjsoft.j2arch.core.model.AnalysisResult;
 import com.pjsoft.j2arch.core.model.PackageEntity;
+import com.pjsoft.j2arch.core.model.TieredAnalysis;
 import com.pjsoft.j2arch.core.util.ProgressTracker;
 import com.pjsoft.j2arch.uml.service.ClassDiagramService;
 import com.pjsoft.j2arch.uml.service.SequenceDiagramService;
 import com.pjsoft.j2arch.uml.service.StorageService;
+import com.pjsoft.j2arch.uml.util.DiagramRenderPool;
 import com.pjsoft.j2arch.uml.util.ProjectAnalyzer;
 import com.pjsoft.j2arch.uml.util.UMLGenerationContext;
 
@@ -20,10 +23,13 @@ import com.pjsoft.j2arch.uml.util.UMLGenerationContext;
  * 
  * Responsibilities:
  * - Validates the input directory and ensures it contains valid `.java` files.
- * - Analyzes the project to extract parsed data (e.g., classes, methods,
- * relationships).
+ * - Analyzes the project once to extract parsed data (e.g., classes, methods,
+ * relationships) and shares the result between all diagram types.
  * - Generates class and sequence diagrams based on the configuration provided
  * in the context.
+ * - In a tiered analysis, renders the class diagrams from the structure while
+ * the call graph for the sequence diagrams is still being resolved.
+ * - Renders the images of all diagram types on one {@link DiagramRenderPool}.
  * - Tracks progress using the ProgressTracker.
  * - Logs the status and results of the diagram generation process.
  * 
@@ -80,40 +86,112 @@ public class UMLDiagramGenerator {
      *                          process.
      */
     public void generateDiagrams(UMLGenerationContext context, ProgressTracker progressTracker) {
+        // Tiering only pays off when the sequence diagrams have to wait for the call graph
+        if (context.getOptions().isAnalysisTiered() && getDiagramTypes(context).contains("sequence")) {
+            TieredAnalysis tieredAnalysis;
+            try {
+                progressTracker.onStatusUpdate("Starting tiered project analysis....");
+                tieredAnalysis = projectAnalyzer.analyzeTiered(context, progressTracker);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to generate UML diagrams: " + e.getMessage(), e);
+            }
+            generateDiagrams(context, progressTracker, tieredAnalysis);
+            return;
+        }
+
+        AnalysisResult analysisResult;
         try {
             // Start project analysis
             progressTracker.onStatusUpdate("Starting project analysis....");
 
-            // Analyze the project and extract parsed data
-            List<CodeEntity> parsedData = projectAnalyzer.analyzeProject(context, progressTracker);
-            Map<String, PackageEntity> packageEntities = projectAnalyzer.analyzeProjectForPackages(context,
-                    progressTracker);
+            // Analyze the project once; the result is shared by all diagram types
+            analysisResult = projectAnalyzer.analyze(context, progressTracker);
             progressTracker.onStatusUpdate("Project analysis completed.");
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate UML diagrams: " + e.getMessage(), e);
+        }
+        generateDiagrams(context, progressTracker, analysisResult);
+    }
 
-            // Get the types of diagrams to generate from the context
-            List<String> diagramTypes = List.of(context.getDiagramTypes().split(","));
+    /**
+     * Generates UML diagrams from an existing analysis result.
+     * 
+     * Responsibilities:
+     * - Generates diagrams (class or sequence) based on the specified types.
+     * - Updates the progress tracker during each step of the process.
+     * 
+     * @param context         The UML generation context containing configuration
+     *                        details.
+     * @param progressTracker The progress tracker to monitor and update the
+     *                        progress of the generation process.
+     * @param analysisResult  The result of analyzing the project, shared by all
+     *                        diagram types.
+     * 
+     * @throws RuntimeException if any error occurs during the diagram generation
+     *                          process.
+     * @since 1.3
+     */
+    public void generateDiagrams(UMLGenerationContext context, ProgressTracker progressTracker,
+            AnalysisResult analysisResult) {
+        // All diagram types share one render pool
+        try (DiagramRenderPool renderPool = DiagramRenderPool.forContext(context)) {
+            Map<String, PackageEntity> packageEntities = analysisResult.getPackages();
 
             // Generate diagrams based on the specified types
-            for (String diagramType : diagramTypes) {
-                switch (diagramType.toLowerCase()) {
+            for (String diagramType : getDiagramTypes(context)) {
+                switch (diagramType) {
                     case "class":
-                        logger.debug("Generating class diagram...");
-                        progressTracker.onStatusUpdate("Class diagram generation started ....");
-                        // String classDiagramPath =
-                        // classDiagramService.generateUnifiedClassDiagram(parsedData, context);
-                        classDiagramService.generateClassDiagramByPackage(packageEntities, context, progressTracker);
-                        progressTracker.onStatusUpdate("Class diagram generated.");
-                        // progressTracker.addCompletedUnits(WorkUnitType.CLASS_DIAGRAM, 1);
+                        generateClassDiagrams(packageEntities, context, progressTracker, renderPool);
                         break;
 
                     case "sequence":
-                        logger.debug("Generating sequence diagram...");
-                        progressTracker.onStatusUpdate("Sequence diagram generation started ....");
-                        String sequenceDiagramPath = sequenceDiagramService.generateSequenceDiagram(parsedData, context,
-                                progressTracker);
+                        generateSequenceDiagrams(analysisResult, context, progressTracker, renderPool);
+                        break;
 
-                        progressTracker.onStatusUpdate("Sequence diagram generated.");
-                        // progressTracker.addCompletedUnits(WorkUnitType.SEQUENCE_DIAGRAM, 1);
+                    default:
+                        logger.warn("Unsupported diagram type: {}", diagramType);
+                }
+            }
+
+            logger.debug("UML diagrams generated successfully.");
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate UML diagrams: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Generates UML diagrams from a tiered analysis.
+     * 
+     * Responsibilities:
+     * - Generates the class diagrams from the structural result at once. They
+     * show inheritance and field associations, but no caller-callee
+     * relationships.
+     * - Waits for the call graph and then generates the sequence diagrams.
+     * 
+     * @param context         The UML generation context containing configuration
+     *                        details.
+     * @param progressTracker The progress tracker to monitor and update the
+     *                        progress of the generation process.
+     * @param tieredAnalysis  The tiered analysis of the project, whose call graph
+     *                        may still be running.
+     * 
+     * @throws RuntimeException if any error occurs during the diagram generation
+     *                          process.
+     * @since 1.3
+     */
+    public void generateDiagrams(UMLGenerationContext context, ProgressTracker progressTracker,
+            TieredAnalysis tieredAnalysis) {
+        try (DiagramRenderPool renderPool = DiagramRenderPool.forContext(context)) {
+            List<String> diagramTypes = getDiagramTypes(context);
+            for (String diagramType : diagramTypes) {
+                switch (diagramType) {
+                    case "class":
+                        generateClassDiagrams(tieredAnalysis.getStructure().getPackages(), context, progressTracker,
+                                renderPool);
+                        break;
+
+                    case "sequence":
+                        // Generated below, once the call graph is resolved
                         break;
 
                     default:
@@ -121,12 +199,49 @@ public class UMLDiagramGenerator {
                 }
             }
 
+            if (diagramTypes.contains("sequence")) {
+                if (!tieredAnalysis.isCallGraphDone()) {
+                    progressTracker.onStatusUpdate("Waiting for the call graph analysis....");
+                }
+                generateSequenceDiagrams(tieredAnalysis.awaitCallGraph(), context, progressTracker, renderPool);
+            }
+
             logger.debug("UML diagrams generated successfully.");
         } catch (Exception e) {
-            throw new RuntimeException("Failed to generate UML diagrams: " + e.getMessage());
+            throw new RuntimeException("Failed to generate UML diagrams: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Gets the types of diagrams to generate from the context.
+     * 
+     * @param context The UML generation context.
+     * @return The diagram types, in lower case.
+     */
+    private List<String> getDiagramTypes(UMLGenerationContext context) {
+        return Stream.of(context.getDiagramTypes().split(",")).map(String::toLowerCase).toList();
+    }
+
+    private void generateClassDiagrams(Map<String, PackageEntity> packageEntities, UMLGenerationContext context,
+            ProgressTracker progressTracker, DiagramRenderPool renderPool) {
+        logger.debug("Generating class diagram...");
+        progressTracker.onStatusUpdate("Class diagram generation started ....");
+        // String classDiagramPath =
+        // classDiagramService.generateUnifiedClassDiagram(parsedData, context);
+        classDiagramService.generateClassDiagramByPackage(packageEntities, context, progressTracker, renderPool);
+        progressTracker.onStatusUpdate("Class diagram generated.");
+        // progressTracker.addCompletedUnits(WorkUnitType.CLASS_DIAGRAM, 1);
+    }
+
+    private void generateSequenceDiagrams(AnalysisResult analysisResult, UMLGenerationContext context,
+            ProgressTracker progressTracker, DiagramRenderPool renderPool) {
+        logger.debug("Generating sequence diagram...");
+        progressTracker.onStatusUpdate("Sequence diagram generation started ....");
+        sequenceDiagramService.generateSequenceDiagram(analysisResult, context, progressTracker, renderPool);
+        progressTracker.onStatusUpdate("Sequence diagram generated.");
+        // progressTracker.addCompletedUnits(WorkUnitType.SEQUENCE_DIAGRAM, 1);
+    }
+
    
 
 }
\ No newline at end of file
@@ -3,11 +3,13 @@ package com.pjsoft.j2arch.uml.model;
 /**
  * Interaction
  * 
- * Represents a single interaction (method call) in a sequence diagram.
+ * Represents a single interaction (method call) in a sequence diagram, or the
+ * calls of a method that were collapsed to keep the diagram small.
  * 
  * Responsibilities:
  * - Stores details about a caller-callee relationship, including the classes and methods involved.
  * - Provides getter methods to retrieve interaction details.
+ * - Counts the calls a collapsed interaction stands for.
  * 
  * Dependencies:
  * - None.
@@ -36,6 +38,7 @@ public class Interaction {
     private final String callerMethod; // The method making the call
     private final String calleeClass;  // The class being called
     private final String calleeMethod; // The method being called
+    private final int collapsedCalls;  // Calls not shown, 0 for a regular call
 
     /**
      * Constructs an Interaction with the specified details.
@@ -53,6 +56,28 @@ public class Interaction {
         this.callerMethod = callerMethod;
         this.calleeClass = calleeClass;
         this.calleeMethod = calleeMethod;
+        this.collapsedCalls = 0;
+    }
+
+    /**
+     * Constructs a collapsed interaction, standing for calls of a method that
+     * are not shown.
+     * 
+     * @param callerClass    The class making the calls.
+     * @param callerMethod   The method making the calls.
+     * @param collapsedCalls The number of calls not shown, at least 1.
+     * @throws IllegalArgumentException If the number of calls is less than 1.
+     * @since 1.3
+     */
+    public Interaction(String callerClass, String callerMethod, int collapsedCalls) {
+        if (collapsedCalls < 1) {
+            throw new IllegalArgumentException("A collapsed interaction stands for at least one call");
+        }
+        this.callerClass = callerClass;
+        this.callerMethod = callerMethod;
+        this.calleeClass = null;
+        this.calleeMethod = null;
+        this.collapsedCalls = collapsedCalls;
     }
 
     /**
@@ -76,7 +101,8 @@ public class Interaction {
     /**
      * Retrieves the class being called.
      * 
-     * @return The name of the callee class.
+     * @return The name of the callee class, or {@code null} if the interaction
+     *         is collapsed.
      */
     public String getCalleeClass() {
         return calleeClass;
@@ -85,9 +111,30 @@ public class Interaction {
     /**
      * Retrieves the method being called.
      * 
-     * @return The name of the callee method.
+     * @return The name of the callee method, or {@code null} if the interaction
+     *         is collapsed.
      */
     public String getCalleeMethod() {
         return calleeMethod;
     }
+
+    /**
+     * Checks whether the interaction stands for collapsed calls.
+     * 
+     * @return {@code true} if the calls are not shown.
+     * @since 1.3
+     */
+    public boolean isCollapsed() {
+        return collapsedCalls > 0;
+    }
+
+    /**
+     * Retrieves the number of calls a collapsed interaction stands for.
+     * 
+     * @return The number of calls not shown, {@code 0} for a regular call.
+     * @since 1.3
+     */
+    public int getCollapsedCalls() {
+        return collapsedCalls;
+    }
 }
\ No newline at end of file
@@ -11,10 +11,15 @@ import java.util.List;
  * - A starting method: The method in the entry class that initiates the sequence.
  * - A sequence of interactions: Caller-callee relationships that form the sequence diagram.
  * 
+ * A scenario too large for one diagram is split into parts, each rendered as a
+ * diagram of its own that refers to the previous and next part.
+ * 
  * Responsibilities:
  * - Stores the entry class, starting method, and interactions for a sequence diagram.
  * - Provides methods to add interactions and retrieve scenario details.
- * - Converts the scenario into PlantUML syntax for diagram generation.
+ * - Converts the scenario into PlantUML syntax for diagram generation, showing
+ * collapsed interactions as notes.
+ * - Splits the scenario into parts of a maximum number of interactions.
  * 
  * Dependencies:
  * - {@link Interaction}: Represents a single interaction (caller-callee relationship) in the sequence diagram.
@@ -40,9 +45,20 @@ import java.util.List;
  */
 public class Scenario {
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(Scenario.class);
+
+    /**
+     * The suffix before the part number in the diagram names of all parts of a
+     * split scenario but the first.
+     * 
+     * @since 1.3
+     */
+    public static final String PART_SUFFIX = "_part";
+
     private final String entryClass; // The entry class of the scenario
     private final String startingMethod; // The method in the entry class that starts the scenario
     private final List<Interaction> interactions; // List of interactions in the scenario
+    private final int part; // Number of this part, starting at 1
+    private final int partCount; // Number of parts the scenario was split into
 
     /**
      * Constructs a Scenario with the specified entry class and starting method.
@@ -54,9 +70,15 @@ public class Scenario {
      * @param startingMethod The name of the method in the entry class that starts the scenario.
      */
     public Scenario(String entryClass, String startingMethod) {
+        this(entryClass, startingMethod, 1, 1);
+    }
+
+    private Scenario(String entryClass, String startingMethod, int part, int partCount) {
         this.entryClass = entryClass;
         this.startingMethod = startingMethod;
         this.interactions = new ArrayList<>();
+        this.part = part;
+        this.partCount = partCount;
     }
 
     /**
@@ -71,6 +93,20 @@ public class Scenario {
         interactions.add(interaction);
     }
 
+    /**
+     * Adds a sequence of interactions to the scenario, in order.
+     *
+     * Responsibilities:
+     * - Appends the interactions; being immutable, they may be shared with
+     * other scenarios.
+     *
+     * @param interactions The interactions to add to the scenario.
+     * @since 1.3
+     */
+    public void addInteractions(List<Interaction> interactions) {
+        this.interactions.addAll(interactions);
+    }
+
     /**
      * Retrieves all interactions in the scenario.
      * 
@@ -107,12 +143,51 @@ public class Scenario {
         return startingMethod;
     }
 
+    /**
+     * Retrieves the name of the diagram of the scenario, which is also the base
+     * name of its files.
+     * 
+     * @return The entry class and starting method, followed by the part number
+     *         for all parts but the first.
+     * @since 1.3
+     */
+    public String getDiagramName() {
+        return diagramName(part);
+    }
+
+    /**
+     * Splits the scenario into parts of at most the given number of
+     * interactions.
+     * 
+     * @param maxInteractions The maximum number of interactions per part,
+     *                        {@code 0} for no limit.
+     * @return The parts in order; the scenario itself if it needs no splitting.
+     * @since 1.3
+     */
+    public List<Scenario> split(int maxInteractions) {
+        if (maxInteractions <= 0 || interactions.size() <= maxInteractions) {
+            return List.of(this);
+        }
+        int parts = (interactions.size() + maxInteractions - 1) / maxInteractions;
+        List<Scenario> scenarios = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++) {
+            Scenario scenario = new Scenario(entryClass, startingMethod, i + 1, parts);
+            scenario.addInteractions(interactions.subList(i * maxInteractions,
+                    Math.min(interactions.size(), (i + 1) * maxInteractions)));
+            scenarios.add(scenario);
+        }
+        logger.debug("Split scenario {} into {} parts", diagramName(1), parts);
+        return scenarios;
+    }
+
     /**
      * Converts the scenario to PlantUML syntax.
      * 
      * Responsibilities:
      * - Generates the PlantUML representation of the scenario.
      * - Includes the title and all interactions in the sequence diagram.
+     * - Shows collapsed interactions as notes, and links the parts of a split
+     * scenario with notes.
      * 
      * @return A string containing the PlantUML syntax for the scenario.
      */
@@ -120,9 +195,50 @@ public class Scenario {
         StringBuilder plantUml = new StringBuilder();
         plantUml.append("@startuml\n");
         plantUml.append("title Sequence Diagram for ").append(entryClass)
-                .append("::").append(startingMethod).append("\n");
+                .append("::").append(startingMethod);
+        if (partCount > 1) {
+            plantUml.append(" (part ").append(part).append(" of ").append(partCount).append(")");
+        }
+        plantUml.append("\n");
+        if (part > 1) {
+            plantUml.append("note across : Continued from ").append(diagramName(part - 1)).append("\n");
+        }
+
+        appendInteractions(plantUml);
+
+        if (part < partCount) {
+            plantUml.append("note across : Continued in ").append(diagramName(part + 1)).append("\n");
+        }
+        plantUml.append("@enduml");
+        return plantUml.toString();
+    }
 
+    /**
+     * Gets the PlantUML lines of the interactions, without the title. Scenarios
+     * with the same canonical content render the same diagram apart from their
+     * title.
+     * 
+     * @return The interactions in PlantUML syntax.
+     * @since 1.3
+     */
+    public String getCanonicalContent() {
+        StringBuilder plantUml = new StringBuilder();
+        appendInteractions(plantUml);
+        return plantUml.toString();
+    }
+
+    private void appendInteractions(StringBuilder plantUml) {
         for (Interaction interaction : interactions) {
+            if (interaction.isCollapsed()) {
+                plantUml.append("note over ")
+                        .append(interaction.getCallerClass())
+                        .append(" : ")
+                        .append(interaction.getCallerMethod())
+                        .append(": ")
+                        .append(interaction.getCollapsedCalls())
+                        .append(interaction.getCollapsedCalls() == 1 ? " call collapsed\n" : " calls collapsed\n");
+                continue;
+            }
             plantUml.append(interaction.getCallerClass())
                     .append(" -> ")
                     .append(interaction.getCalleeClass())
@@ -132,8 +248,10 @@ public class Scenario {
                     .append(interaction.getCalleeMethod())
                     .append("\n");
         }
+    }
 
-        plantUml.append("@enduml");
-        return plantUml.toString();
+    private String diagramName(int partNumber) {
+        String name = entryClass + "_" + startingMethod;
+        return partNumber > 1 ? name + PART_SUFFIX + partNumber : name;
     }
 }
\ No newline at end of file
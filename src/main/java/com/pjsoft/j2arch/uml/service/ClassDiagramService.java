@@ -4,13 +4,19 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import com.pjsoft.j2arch.core.context.GenerationContext;
 import com.pjsoft.j2arch.core.model.CodeEntity;
 import com.pjsoft.j2arch.core.model.FieldEntity;
 import com.pjsoft.j2arch.core.model.MethodEntity;
@@ -20,7 +26,7 @@ import com.pjsoft.j2arch.core.util.PathResolver;
 import com.pjsoft.j2arch.core.util.ProgressTracker;
 import com.pjsoft.j2arch.core.util.ProgressTracker.WorkUnitType;
 import com.pjsoft.j2arch.docgen.javadoc.util.JavaDocGenerationContext;
-import com.pjsoft.j2arch.uml.util.DiagramImageGenerator;
+import com.pjsoft.j2arch.uml.util.DiagramRenderPool;
 import com.pjsoft.j2arch.uml.util.UMLGenerationContext;
 
 /**
@@ -34,7 +40,9 @@ import com.pjsoft.j2arch.uml.util.UMLGenerationContext;
  * Responsibilities:
  * - Generates a unified `.puml` file containing class definitions and
  * relationships.
- * - Uses PlantUML to generate diagram images from the `.puml` file.
+ * - Uses PlantUML to generate diagram images from the PlantUML syntax in
+ * memory; the `.puml` files are only written if {@code diagram.puml.files} is
+ * enabled.
  * - Filters classes based on the "include.package" configuration property.
  * - Ensures output directories and files are created and managed properly.
  * - Supports generating individual class diagrams for specific entities.
@@ -43,8 +51,8 @@ import com.pjsoft.j2arch.uml.util.UMLGenerationContext;
  * - {@link ConfigurationManager}: Provides configuration details for the
  * project.
  * - {@link CodeEntity}: Represents a class or interface in the codebase.
- * - {@link DiagramImageGenerator}: Handles the generation of diagram images
- * from `.puml` files.
+ * - {@link DiagramRenderPool}: Handles the generation of diagram images
+ * from PlantUML syntax.
  * - PlantUML library: Used for generating UML diagrams.
  * 
  * Limitations:
@@ -88,8 +96,9 @@ public class ClassDiagramService {
      * {@link CodeEntity} objects.
      * 
      * Responsibilities:
-     * - Creates a `.puml` file with class definitions and relationships.
-     * - Generates a diagram image from the `.puml` file using PlantUML.
+     * - Creates a `.puml` file with class definitions and relationships, unless
+     * `.puml` files are disabled.
+     * - Generates a diagram image from the PlantUML syntax using PlantUML.
      * - Filters classes based on the "include.package" configuration property.
      * 
      * Preconditions:
@@ -108,14 +117,14 @@ public class ClassDiagramService {
     public String generateUnifiedClassDiagram(List<CodeEntity> codeEntities, UMLGenerationContext context) {
         logger.debug("Starting unified class diagram generation.");
 
-        // Generate the unified .puml file
-        generateUnifiedPumlFile(codeEntities, context);
+        // Generate the unified PlantUML syntax
+        String plantUmlSyntax = generateUnifiedPlantUml(codeEntities, context);
 
-        // Generate the diagram image from the .puml file
+        // Write the .puml file and generate the diagram image from the syntax, within the render budget
         File pumlFile = new File(PathResolver.resolvePath(context.getPumlPath(), context.getUnifiedClassDiagram()));
-        File imageDir = new File(context.getImagesOutputDirectory());
-        DiagramImageGenerator imageGenerator = new DiagramImageGenerator();
-        imageGenerator.generateDiagramImage(pumlFile, imageDir);
+        try (DiagramRenderPool renderPool = DiagramRenderPool.forContext(context)) {
+            DiagramRenderPool.await(writeAndRender(plantUmlSyntax, pumlFile, context, renderPool));
+        }
 
         logger.debug("Unified class diagram generation completed.");
 
@@ -123,27 +132,25 @@ public class ClassDiagramService {
     }
 
     /**
-     * Generates a unified `.puml` file containing class definitions and
+     * Generates the unified PlantUML syntax containing class definitions and
      * relationships.
      * 
      * Responsibilities:
-     * - Writes class definitions, fields, methods, and relationships to the `.puml`
-     * file.
+     * - Writes class definitions, fields, methods, and relationships in PlantUML
+     * syntax.
      * - Filters classes based on the "include.package" configuration property.
      * 
      * Preconditions:
      * - The list of {@link CodeEntity} objects must not be null or empty.
      * 
-     * Postconditions:
-     * - A `.puml` file is created with the class definitions and relationships.
-     * 
      * @param codeEntities the list of {@link CodeEntity} objects to include in the
-     *                     `.puml` file.
+     *                     diagram.
      * @param context      the UML generation context containing configuration
      *                     details.
-     * @throws RuntimeException if the `.puml` file cannot be created or written to.
+     * @return the PlantUML syntax of the unified class diagram.
+     * @throws RuntimeException if the PlantUML syntax cannot be written.
      */
-    private void generateUnifiedPumlFile(List<CodeEntity> codeEntities, UMLGenerationContext context) {
+    private String generateUnifiedPlantUml(List<CodeEntity> codeEntities, UMLGenerationContext context) {
         if (codeEntities.isEmpty()) {
             throw new IllegalArgumentException("No code entities provided for generating the class diagram.");
         }
@@ -158,7 +165,8 @@ public class ClassDiagramService {
 
         String pumlFileName = context.getPumlPath() + File.separator + context.getUnifiedClassDiagram();
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(pumlFileName))) {
+        StringWriter plantUml = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(plantUml)) {
             writer.write("@startuml\n");
             writer.write("skinparam linetype Ortho\n");
 
@@ -233,18 +241,20 @@ public class ClassDiagramService {
             }
 
             writer.write("@enduml\n");
-            logger.debug("Unified PUML file generated: " + pumlFileName);
+            logger.debug("Unified PUML generated: " + pumlFileName);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to generate unified PUML file: " + pumlFileName, e);
+            throw new RuntimeException("Failed to generate unified PUML: " + pumlFileName, e);
         }
+        return plantUml.toString();
     }
 
     /**
      * Generates an individual class diagram for a specific {@link CodeEntity}.
      * 
      * Responsibilities:
-     * - Creates a `.puml` file for the given class.
-     * - Generates a diagram image from the `.puml` file using PlantUML.
+     * - Creates a `.puml` file for the given class, unless `.puml` files are
+     * disabled.
+     * - Generates a diagram image from the PlantUML syntax using PlantUML.
      * - Updates the {@link CodeEntity} with the path to the generated diagram.
      * 
      * @param codeEntity the {@link CodeEntity} for which the diagram is to be
@@ -253,9 +263,31 @@ public class ClassDiagramService {
      *                   details.
      */
     public void generateClassDiagram(CodeEntity codeEntity, JavaDocGenerationContext context) {
-        // Step 1: Generate the `.puml` file for the individual entity
+        try (DiagramRenderPool renderPool = new DiagramRenderPool(1, 1, null,
+                context.getOptions().getRenderFormat(), null)) {
+            DiagramRenderPool.await(generateClassDiagram(codeEntity, context, renderPool));
+        }
+    }
+
+    /**
+     * Generates an individual class diagram for a specific {@link CodeEntity},
+     * rendering its image on a render pool shared with other diagram services.
+     * The {@link CodeEntity} is updated with the path to the diagram at once.
+     * 
+     * @param codeEntity the {@link CodeEntity} for which the diagram is to be
+     *                   generated.
+     * @param context    the JavaDoc generation context containing configuration
+     *                   details.
+     * @param renderPool the pool to render the diagram image on.
+     * @return a future completing with the image file once it is rendered.
+     * @since 1.3
+     */
+    public CompletableFuture<File> generateClassDiagram(CodeEntity codeEntity, JavaDocGenerationContext context,
+            DiagramRenderPool renderPool) {
+        // Step 1: Generate the PlantUML syntax for the individual entity
         String pumlFileName = context.getPumlPath() + File.separator + codeEntity.getName().replace(".", "_") + ".puml";
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(pumlFileName))) {
+        StringWriter plantUml = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(plantUml)) {
             writer.write("@startuml\n");
             writer.write("skinparam linetype Ortho\n");
 
@@ -268,32 +300,50 @@ public class ClassDiagramService {
             throw new RuntimeException("Failed to generate PUML file for class: " + codeEntity.getName(), e);
         }
 
-        // Step 2: Generate the image using the `.puml` file
-        File pumlFile = new File(pumlFileName);
-        File imageDir = new File(context.getImagesOutputDirectory());
-        // System.out.println("Class Diagram Service Generate class diagram, puml file
-        // and image dir: "+pumlFileName+ " "+imageDir);
-        DiagramImageGenerator imageGenerator = new DiagramImageGenerator();
-        imageGenerator.generateDiagramImage(pumlFile, imageDir);
-        logger.debug("Class diagram image generated for class: {}", codeEntity.getName());
+        // Step 2: Write the `.puml` file and submit the image for rendering
+        CompletableFuture<File> image = writeAndRender(plantUml.toString(), new File(pumlFileName), context,
+                renderPool);
+        logger.debug("Class diagram image submitted for class: {}", codeEntity.getName());
 
         // Step 3: Set the diagram path in the code entity
-        String imageFilePath = codeEntity.getName().replace(".", "_") + ".png";
+        String imageFilePath = codeEntity.getName().replace(".", "_") + renderPool.getFormat().getImageSuffix();
         codeEntity.setClassDiagram(imageFilePath);
         logger.debug("Class diagram generation completed for class: {}", codeEntity.getName());
+        return image;
     }
 
     public void generateClassDiagramByPackage(Map<String, PackageEntity> packageEntities, UMLGenerationContext context,
             ProgressTracker progressTracker) {
+        try (DiagramRenderPool renderPool = DiagramRenderPool.forContext(context)) {
+            generateClassDiagramByPackage(packageEntities, context, progressTracker, renderPool);
+        }
+    }
+
+    /**
+     * Generates a class diagram per package, rendering the images on a render
+     * pool shared with other diagram services. Returns once all images are
+     * rendered; an image that cannot be generated is logged and skipped.
+     * 
+     * @param packageEntities the packages by name.
+     * @param context         the UML generation context containing configuration
+     *                        details.
+     * @param progressTracker the progress tracker to monitor progress.
+     * @param renderPool      the pool to render the diagram images on.
+     * @since 1.3
+     */
+    public void generateClassDiagramByPackage(Map<String, PackageEntity> packageEntities, UMLGenerationContext context,
+            ProgressTracker progressTracker, DiagramRenderPool renderPool) {
         Collection<PackageEntity> packages = packageEntities.values();
                 progressTracker.addTotalUnits(WorkUnitType.CLASS_DIAGRAM, packages.size());
+        List<CompletableFuture<File>> images = new ArrayList<>();
         // Iterate over all packages to generate class diagrams for each package
         for (PackageEntity packageEntity : packages) {
             // Generate the start of the UML diagram for the package
             String pumlFileName = context.getPumlPath() + File.separator + packageEntity.getName().replace(".", "_")
                     + "_package.puml";
             File pumlFile = new File(pumlFileName);
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(pumlFile))) {
+            StringWriter plantUml = new StringWriter();
+            try (BufferedWriter writer = new BufferedWriter(plantUml)) {
                 writer.write("@startuml\n");
                 writer.write("skinparam linetype Ortho\n");
 
@@ -316,16 +366,20 @@ public class ClassDiagramService {
                 throw new RuntimeException("Failed to generate PUML file for package: " + packageEntity.getName(), e);
             }
 
-            // Step 2: Generate the image using the `.puml` file
+            // Step 2: Write the `.puml` file and submit the image for rendering
                 
             try {
-                File imageDir = new File(context.getImagesOutputDirectory());
-
-                DiagramImageGenerator imageGenerator = new DiagramImageGenerator();
-
-                imageGenerator.generateDiagramImage(pumlFile, imageDir);
+                images.add(writeAndRender(plantUml.toString(), pumlFile, context, renderPool)
+                        .handle((image, error) -> {
+                            if (error != null) {
+                                logger.error("Failed to generate image for package: {}", packageEntity.getName(), error);
+                            }
+                            progressTracker.addCompletedUnits(WorkUnitType.CLASS_DIAGRAM, 1);
+                            return image;
+                        }));
             } catch (Exception e) {
                 logger.error("Failed to generate image for package: {}", packageEntity.getName(), e);
+                progressTracker.addCompletedUnits(WorkUnitType.CLASS_DIAGRAM, 1);
             }
 
                 // Step 3: Set the diagram path in the code entity
@@ -333,11 +387,10 @@ public class ClassDiagramService {
                 // packageEntity.setPackageDiagram(imageFilePath);
 
                 // Log the package diagram creation
-
-            progressTracker.addCompletedUnits(WorkUnitType.CLASS_DIAGRAM, 1);
            
             
         }
+        CompletableFuture.allOf(images.toArray(new CompletableFuture<?>[0])).join();
     }
 
     // Currently not in use method
@@ -358,6 +411,34 @@ public class ClassDiagramService {
         }
     }
 
+    /**
+     * Writes the PlantUML syntax of a diagram to its `.puml` file, unless
+     * `.puml` files are disabled, and submits the diagram image for rendering.
+     * The image is named after the `.puml` file.
+     * 
+     * @param plantUmlSyntax the PlantUML syntax of the diagram.
+     * @param pumlFile       the `.puml` file of the diagram.
+     * @param context        the generation context containing configuration
+     *                       details.
+     * @param renderPool     the pool to render the diagram image on.
+     * @return a future completing with the image file once it is rendered.
+     * @throws RuntimeException if the `.puml` file cannot be written.
+     * @since 1.3
+     */
+    private CompletableFuture<File> writeAndRender(String plantUmlSyntax, File pumlFile, GenerationContext context,
+            DiagramRenderPool renderPool) {
+        if (context.getOptions().isDiagramPumlFiles()) {
+            try {
+                Files.writeString(pumlFile.toPath(), plantUmlSyntax, StandardCharsets.UTF_8);
+                logger.debug("PUML file written: {}", pumlFile);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write PUML file: " + pumlFile, e);
+            }
+        }
+        String diagramName = pumlFile.getName().replaceFirst("\\.puml$", "");
+        return renderPool.submit(plantUmlSyntax, diagramName, new File(context.getImagesOutputDirectory()));
+    }
+
     private void writeClassDiagram(CodeEntity codeEntity, BufferedWriter writer) {
         try {
             // Add class definition
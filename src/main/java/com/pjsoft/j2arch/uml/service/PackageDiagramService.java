@@ -1,13 +1,17 @@
 package com.pjsoft.j2arch.uml.service;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.pjsoft.j2arch.core.model.CodeEntity;
 import com.pjsoft.j2arch.core.model.PackageEntity;
 import com.pjsoft.j2arch.docgen.javadoc.util.JavaDocGenerationContext;
 import com.pjsoft.j2arch.uml.util.DiagramImageGenerator;
+import com.pjsoft.j2arch.uml.util.DiagramRenderPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,14 +19,16 @@ import org.slf4j.LoggerFactory;
  * Service for generating package-level UML diagrams.
  * 
  * Responsibilities:
- * - Generates `.puml` files for a given package.
- * - Delegates image generation to {@link DiagramImageGenerator}.
+ * - Generates `.puml` files for a given package, unless the
+ * {@code diagram.puml.files} option is disabled.
+ * - Delegates image generation to {@link DiagramImageGenerator}, directly or
+ * through a {@link DiagramRenderPool} shared with other diagram services.
  * - Updates the {@link PackageEntity} with the path to the generated diagram.
  * 
  * Dependencies:
  * - {@link PackageEntity}: Represents a package and its associated classes.
  * - {@link JavaDocGenerationContext}: Provides configuration details for diagram generation.
- * - {@link DiagramImageGenerator}: Handles the generation of diagram images from `.puml` files.
+ * - {@link DiagramImageGenerator}: Handles the generation of diagram images from PlantUML syntax.
  * 
  * Limitations:
  * - Assumes that the provided {@link PackageEntity} contains valid class information.
@@ -43,8 +49,8 @@ public class PackageDiagramService {
      * Generates a package diagram for the given {@link PackageEntity}.
      *
      * Responsibilities:
-     * - Writes PlantUML syntax to a `.puml` file for the package.
-     * - Generates a diagram image (e.g., `.png`) from the `.puml` file.
+     * - Writes PlantUML syntax to a `.puml` file for the package, if enabled.
+     * - Generates a diagram image (e.g., `.png`) from the PlantUML syntax.
      * - Updates the {@link PackageEntity} with the path to the generated diagram.
      * 
      * @param packageEntity The package entity for which the diagram is to be generated.
@@ -53,48 +59,80 @@ public class PackageDiagramService {
      * @throws RuntimeException If an error occurs during image generation.
      */
     public void generatePackageDiagram(PackageEntity packageEntity, JavaDocGenerationContext context) throws IOException {
-        logger.debug("Starting package diagram generation for package: {}", packageEntity.getName());
+        try (DiagramRenderPool renderPool = new DiagramRenderPool(1, 1, null,
+                context.getOptions().getRenderFormat(), null)) {
+            DiagramRenderPool.await(generatePackageDiagram(packageEntity, context, renderPool));
+        }
+    }
 
-        // Step 1: Generate the .puml file
-        String pumlFilePath = context.getPumlPath() + File.separator + packageEntity.getName().replace(".", "_") + ".puml";
-        File pumlFile = new File(pumlFilePath);
+    /**
+     * Generates a package diagram for the given {@link PackageEntity}, rendering
+     * its image on a render pool shared with other diagram services. The
+     * {@link PackageEntity} is updated with the path to the diagram at once.
+     * 
+     * @param packageEntity The package entity for which the diagram is to be generated.
+     * @param context       The context containing paths and configuration for diagram generation.
+     * @param renderPool    The pool to render the diagram image on.
+     * @return A future completing with the image file once it is rendered, or
+     *         exceptionally with a RuntimeException if it cannot be generated
+     *         (a {@link DiagramRenderPool.BudgetExceededException} if it
+     *         exceeded its render budget).
+     * @throws IOException If an error occurs while writing the `.puml` file.
+     * @since 1.3
+     */
+    public CompletableFuture<File> generatePackageDiagram(PackageEntity packageEntity,
+            JavaDocGenerationContext context, DiagramRenderPool renderPool) throws IOException {
+        logger.debug("Starting package diagram generation for package: {}", packageEntity.getName());
 
-        // Ensure the parent directory for the .puml file exists
-        File pumlDirectory = pumlFile.getParentFile();
-        if (!pumlDirectory.exists()) {
-            pumlDirectory.mkdirs(); // Create the directory if it doesn't exist
+        // Step 1: Generate the PlantUML syntax, and the .puml file if enabled
+        String diagramName = packageEntity.getName().replace(".", "_");
+        StringBuilder plantUml = new StringBuilder();
+        plantUml.append("@startuml\n");
+        plantUml.append("package ").append(packageEntity.getName()).append(" {\n");
+        for (CodeEntity codeEntity : packageEntity.getClasses()) {
+            plantUml.append("    ").append(codeEntity.getName()).append("\n");
         }
+        plantUml.append("}\n");
+        plantUml.append("@enduml\n");
+
+        if (context.getOptions().isDiagramPumlFiles()) {
+            String pumlFilePath = context.getPumlPath() + File.separator + diagramName + ".puml";
+            File pumlFile = new File(pumlFilePath);
 
-        try (FileWriter writer = new FileWriter(pumlFile)) {
-            writer.write("@startuml\n");
-            writer.write("package " + packageEntity.getName() + " {\n");
-            for (CodeEntity codeEntity : packageEntity.getClasses()) {
-                writer.write("    " + codeEntity.getName() + "\n");
+            // Ensure the parent directory for the .puml file exists
+            File pumlDirectory = pumlFile.getParentFile();
+            if (!pumlDirectory.exists()) {
+                pumlDirectory.mkdirs(); // Create the directory if it doesn't exist
+            }
+
+            try {
+                Files.writeString(pumlFile.toPath(), plantUml, StandardCharsets.UTF_8);
+                logger.debug("PUML file generated at: {}", pumlFilePath);
+            } catch (IOException e) {
+                logger.error("Error writing .puml file for package: {}", packageEntity.getName(), e);
+                throw e;
             }
-            writer.write("}\n");
-            writer.write("@enduml\n");
-            logger.debug("PUML file generated at: {}", pumlFilePath);
-        } catch (IOException e) {
-            logger.error("Error writing .puml file for package: {}", packageEntity.getName(), e);
-            throw e;
         }
 
-        // Step 2: Generate the diagram image
+        // Step 2: Submit the diagram image for rendering
         String outputImageDirectory = context.getImagesOutputDirectory();
         File outputImageDir = new File(outputImageDirectory);
 
-        DiagramImageGenerator generator = new DiagramImageGenerator();
-        try {
-            generator.generateDiagramImage(pumlFile, outputImageDir);
-            logger.debug("Diagram image generated at: {}", outputImageDirectory);
-        } catch (Exception e) {
-            logger.error("Error generating diagram image for package: {}", packageEntity.getName(), e);
-            throw new RuntimeException("Failed to generate diagram image for package: " + packageEntity.getName(), e);
-        }
+        CompletableFuture<File> image = renderPool.submit(plantUml.toString(), diagramName, outputImageDir)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof DiagramRenderPool.BudgetExceededException budgetExceeded) {
+                        // Left as is, so that callers can recognize and skip it
+                        throw budgetExceeded;
+                    }
+                    logger.error("Error generating diagram image for package: {}", packageEntity.getName(), e);
+                    throw new RuntimeException("Failed to generate diagram image for package: " + packageEntity.getName(), e);
+                });
 
         // Step 3: Set the diagram path in the package entity
-        String imageFilePath = packageEntity.getName().replace(".", "_") + ".png";
+        String imageFilePath = diagramName + renderPool.getFormat().getImageSuffix();
         packageEntity.setPackageDiagram(imageFilePath);
         logger.debug("Package diagram generation completed for package: {}", packageEntity.getName());
+        return image;
     }
 }
\ No newline at end of file
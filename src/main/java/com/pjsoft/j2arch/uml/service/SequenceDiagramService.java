@@ -3,19 +3,26 @@ package com.pjsoft.j2arch.uml.service;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
-import com.pjsoft.j2arch.uml.util.DiagramImageGenerator;
+import com.pjsoft.j2arch.uml.util.DiagramRenderPool;
 import com.pjsoft.j2arch.uml.util.ScenarioBuilder;
+import com.pjsoft.j2arch.uml.util.ScenarioDeduplicator;
 
 import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.context.GenerationOptions;
+import com.pjsoft.j2arch.core.model.AnalysisResult;
 import com.pjsoft.j2arch.core.model.CodeEntity;
 import com.pjsoft.j2arch.core.util.ProgressTracker;
 import com.pjsoft.j2arch.core.util.ProgressTracker.WorkUnitType;
 import com.pjsoft.j2arch.uml.model.Scenario;
 
-import net.sourceforge.plantuml.GeneratedImage;
-import net.sourceforge.plantuml.SourceFileReader;
 
 /**
  * SequenceDiagramService
@@ -26,13 +33,20 @@ import net.sourceforge.plantuml.SourceFileReader;
  * 
  * Responsibilities:
  * - Identifies scenarios using the {@link ScenarioBuilder}.
- * - Writes PlantUML syntax to `.puml` files for each scenario.
- * - Generates diagram images (e.g., `.png`) from the `.puml` files.
+ * - Writes PlantUML syntax to `.puml` files for each scenario, unless the
+ * {@code diagram.puml.files} option is disabled.
+ * - Generates diagram images (e.g., `.png`) from the PlantUML syntax in memory.
+ * - Builds scenarios on as many threads as the {@code sequence.threads} option
+ * allows, and submits each to the {@link DiagramRenderPool} as soon as it is
+ * built.
+ * - Keeps diagrams within the {@code sequence.max.*} budgets, splitting large
+ * scenarios into several diagrams.
+ * - Renders each distinct diagram once through the {@link ScenarioDeduplicator}.
  * - Manages output directories for `.puml` files and generated images.
  * 
  * Dependencies:
  * - {@link ScenarioBuilder}: Used to identify scenarios for sequence diagrams.
- * - {@link DiagramImageGenerator}: Used to generate diagram images from `.puml` files.
+ * - {@link DiagramRenderPool}: Used to generate diagram images from PlantUML syntax.
  * - {@link GenerationContext}: Provides configuration details for diagram generation.
  * 
  * Limitations:
@@ -66,7 +80,7 @@ public class SequenceDiagramService {
      * This method performs the following steps:
      * 1. Identifies scenarios using the {@link ScenarioBuilder}.
      * 2. Writes PlantUML syntax to `.puml` files for each scenario.
-     * 3. Generates diagram images (e.g., `.png`) from the `.puml` files.
+     * 3. Generates diagram images (e.g., `.png`) from the PlantUML syntax.
      * 
      * @param codeEntities The list of CodeEntity objects representing the parsed classes.
      * @param context      The generation context containing configuration details.
@@ -74,48 +88,123 @@ public class SequenceDiagramService {
      * @throws IllegalArgumentException If no CodeEntity objects are provided.
      */
     public String generateSequenceDiagram(List<CodeEntity> codeEntities, GenerationContext context,ProgressTracker progressTracker) {
-        if (codeEntities.isEmpty()) {
+        return generateSequenceDiagram(new AnalysisResult(codeEntities), context, progressTracker);
+    }
+
+    /**
+     * Generates sequence diagrams from an analysis result, whose index is used to
+     * look up the callees of each scenario.
+     * 
+     * @param analysisResult  The result of analyzing the project.
+     * @param context         The generation context containing configuration details.
+     * @param progressTracker The progress tracker to monitor progress.
+     * @return The path to the output directory containing the generated diagrams.
+     * @throws IllegalArgumentException If the analysis result has no classes.
+     * @since 1.3
+     */
+    public String generateSequenceDiagram(AnalysisResult analysisResult, GenerationContext context,
+            ProgressTracker progressTracker) {
+        try (DiagramRenderPool renderPool = DiagramRenderPool.forContext(context)) {
+            return generateSequenceDiagram(analysisResult, context, progressTracker, renderPool);
+        }
+    }
+
+    /**
+     * Generates sequence diagrams from an analysis result, rendering them on a
+     * render pool shared with other diagram services.
+     * 
+     * @param analysisResult  The result of analyzing the project.
+     * @param context         The generation context containing configuration details.
+     * @param progressTracker The progress tracker to monitor progress.
+     * @param renderPool      The pool to render the diagram images on.
+     * @return The path to the output directory containing the generated diagrams.
+     * @throws IllegalArgumentException If the analysis result has no classes.
+     * @throws RuntimeException         If a diagram image cannot be generated.
+     *                                  A diagram exceeding its render budget
+     *                                  is logged and skipped instead.
+     * @since 1.3
+     */
+    public String generateSequenceDiagram(AnalysisResult analysisResult, GenerationContext context,
+            ProgressTracker progressTracker, DiagramRenderPool renderPool) {
+        if (analysisResult.size() == 0) {
             throw new IllegalArgumentException("No code entities provided for generating the sequence diagram. Please check input or configuration property.");
         }
         logger.debug("Generating sequence diagram...");
 
-        // Step 1: Retrieve the output directory for `.puml` files
+        // Step 1: Retrieve the output directories for `.puml` files and images
         String outputDirectoryName = context.getPumlPath();
         File outputDirectory = new File(outputDirectoryName);
+        File imageOutputDirectory = new File(context.getImagesOutputDirectory());
+
+        // Step 2: Update progress tracker, one unit per scenario
+        GenerationOptions options = context.getOptions();
+        ScenarioBuilder scenarioBuilder = new ScenarioBuilder(context.getIncludePackage(),
+                options.getSequenceMaxDepth(), options.getSequenceMaxFanout());
+        int scenarioCount = scenarioBuilder.countScenarios(analysisResult);
+        progressTracker.addTotalUnits(WorkUnitType.SEQUENCE_DIAGRAM, scenarioCount);
+        int threads = options.resolveSequenceThreads(scenarioCount);
+        ScenarioDeduplicator deduplicator = options.isSequenceDeduplicate() ? new ScenarioDeduplicator() : null;
+        ScenarioRenderer scenarioRenderer = new ScenarioRenderer(outputDirectory, imageOutputDirectory,
+                options.getSequenceMaxInteractions(), options.isDiagramPumlFiles(), deduplicator, renderPool,
+                progressTracker);
 
-        // Step 2: Generate scenarios using ScenarioBuilder
-        ScenarioBuilder scenarioBuilder = new ScenarioBuilder(context.getIncludePackage());
-        List<Scenario> scenarios = scenarioBuilder.getScenarios(codeEntities);
-        
-        /// Update progress tracker
-        progressTracker.addTotalUnits(WorkUnitType.SEQUENCE_DIAGRAM, scenarios.size());
-        // Step 3: Retrieve the output directory for images
-        String imageOutputDir = context.getImagesOutputDirectory();
-        File imageOutputDirectory = new File(imageOutputDir);
-
-        // Step 4: Generate PlantUML syntax and write `.puml` files
+        // Step 3: Generate scenarios using ScenarioBuilder, submitting each for rendering as soon as it is built
+        Map<Scenario, Future<?>> renders = new ConcurrentHashMap<>();
+        List<Scenario> scenarios;
+        if (deduplicator == null) {
+            scenarios = scenarioBuilder.getScenarios(analysisResult, threads,
+                    scenario -> renders.put(scenario, scenarioRenderer.render(scenario)));
+        } else {
+            // Register in entry order once all are built, so the same duplicate is rendered on every run
+            scenarios = scenarioBuilder.getScenarios(analysisResult, threads, scenario -> {
+            });
+            for (Scenario scenario : scenarios) {
+                renders.put(scenario, scenarioRenderer.render(scenario));
+            }
+        }
+        // Wait in scenario order, so the first failing scenario is reported
         for (Scenario scenario : scenarios) {
-            try {
-                String plantUmlSyntax = scenario.toPlantUmlSyntax(); // Get PlantUML syntax from Scenario
-                String pumlFilePath = writePlantUmlToFile(plantUmlSyntax, outputDirectory, scenario);
+            awaitRender(scenario, renders.get(scenario));
+        }
 
-                // Step 5: Generate diagram images from `.puml` files
-                DiagramImageGenerator imageGenerator = new DiagramImageGenerator();
-                File pumlFile = new File(pumlFilePath);
-                imageGenerator.generateDiagramImage(pumlFile, imageOutputDirectory);
+        // Step 4: List the scenarios that were not rendered
+        if (deduplicator != null) {
+            try {
+                deduplicator.writeManifest(outputDirectory);
             } catch (IOException e) {
-                logger.error("Failed to process scenario: " + scenario.getEntryClass(), e);
-            } finally{
-                progressTracker.addCompletedUnits(WorkUnitType.SEQUENCE_DIAGRAM, 1);
+                logger.error("Failed to write the sequence diagram manifest in: " + outputDirectory, e);
             }
-
-            
         }
 
         logger.debug("Sequence diagram generation completed.");
         return outputDirectoryName; // Return the output directory path
     }
 
+    /**
+     * Waits for the rendering of a scenario. A diagram that exceeded its render
+     * budget is already in the watchdog's failure report; it is logged and the
+     * remaining scenarios are still rendered.
+     * 
+     * @param scenario The scenario rendered.
+     * @param render   The pending rendering.
+     * @throws RuntimeException If the rendering failed for another reason or
+     *                          the wait was interrupted.
+     */
+    private void awaitRender(Scenario scenario, Future<?> render) {
+        try {
+            render.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Sequence diagram generation was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DiagramRenderPool.BudgetExceededException) {
+                logger.error("Skipping sequence diagram of scenario: {}", scenario.getDiagramName(), e.getCause());
+                return;
+            }
+            throw new RuntimeException("Sequence diagram generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
     /**
      * Writes the PlantUML syntax to a `.puml` file.
      * 
@@ -128,15 +217,15 @@ public class SequenceDiagramService {
      * @throws IOException If an error occurs while writing the file.
      */
     private String writePlantUmlToFile(String plantUmlSyntax, File outputDirectory, Scenario scenario) throws IOException {
-        // Ensure the output directory exists
+        // Ensure the output directory exists; another renderer may create it at the same time
         if (!outputDirectory.exists()) {
-            if (!outputDirectory.mkdirs()) {
+            if (!outputDirectory.mkdirs() && !outputDirectory.isDirectory()) {
                 throw new IOException("Failed to create output directory: " + outputDirectory);
             }
         }
 
         // Create the `.puml` file
-        String fileName = scenario.getEntryClass() + "_" + scenario.getStartingMethod();
+        String fileName = scenario.getDiagramName();
         File pumlFile = new File(outputDirectory, fileName + ".puml");
         try (FileWriter writer = new FileWriter(pumlFile)) {
             // Write the PlantUML syntax to the file
@@ -150,5 +239,67 @@ public class SequenceDiagramService {
         return pumlFile.getAbsolutePath(); // Return the full path to the `.puml` file
     }
 
-   
-}
\ No newline at end of file
+    /**
+     * Writes and renders the scenarios of one generation run. A scenario with
+     * too many interactions is rendered in parts, the image of an empty or
+     * duplicate scenario not at all. Images are rendered from the PlantUML text on the
+     * render pool; the `.puml` files are only written if enabled.
+     * 
+     * Thread Safety:
+     * - Scenarios may be rendered concurrently.
+     */
+    private final class ScenarioRenderer {
+        private final File pumlDirectory; // Directory of the `.puml` files
+        private final File imageDirectory; // Directory of the images
+        private final int maxInteractions; // Interactions per diagram, 0 for no limit
+        private final boolean writePumlFiles; // Whether the `.puml` files are written
+        private final ScenarioDeduplicator deduplicator; // Null to render every scenario
+        private final DiagramRenderPool renderPool; // Renders the diagram images
+        private final ProgressTracker progressTracker;
+
+        private ScenarioRenderer(File pumlDirectory, File imageDirectory, int maxInteractions,
+                boolean writePumlFiles, ScenarioDeduplicator deduplicator, DiagramRenderPool renderPool,
+                ProgressTracker progressTracker) {
+            this.pumlDirectory = pumlDirectory;
+            this.imageDirectory = imageDirectory;
+            this.maxInteractions = maxInteractions;
+            this.writePumlFiles = writePumlFiles;
+            this.deduplicator = deduplicator;
+            this.renderPool = renderPool;
+            this.progressTracker = progressTracker;
+        }
+
+        /**
+         * Writes the `.puml` file of a scenario and submits its diagram image
+         * for rendering. The `.puml` file of an empty or duplicate scenario is
+         * written as well, so that the documentation generated from the
+         * `.puml` files still has a page for it; only its image is skipped.
+         * 
+         * @param scenario The scenario to render.
+         * @return A future completing once all images of the scenario are
+         *         rendered, or exceptionally if one cannot be generated.
+         */
+        private CompletableFuture<Void> render(Scenario scenario) {
+            List<CompletableFuture<File>> images = new ArrayList<>();
+            boolean distinct = deduplicator == null || deduplicator.register(scenario);
+            if (!distinct) {
+                logger.debug("Skipping the image of empty or duplicate scenario: {}", scenario.getDiagramName());
+            }
+            try {
+                for (Scenario part : scenario.split(maxInteractions)) {
+                    String plantUmlSyntax = part.toPlantUmlSyntax(); // Get PlantUML syntax from Scenario
+                    if (writePumlFiles) {
+                        writePlantUmlToFile(plantUmlSyntax, pumlDirectory, part);
+                    }
+                    if (distinct) {
+                        images.add(renderPool.submit(plantUmlSyntax, part.getDiagramName(), imageDirectory));
+                    }
+                }
+            } catch (IOException e) {
+                logger.error("Failed to process scenario: " + scenario.getEntryClass(), e);
+            }
+            return CompletableFuture.allOf(images.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((rendered, error) -> progressTracker.addCompletedUnits(WorkUnitType.SEQUENCE_DIAGRAM, 1));
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package com.pjsoft.j2arch.uml.util;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
 
+import com.pjsoft.j2arch.core.context.GenerationOptions.DiagramFormat;
+
+import net.sourceforge.plantuml.FileFormat;
+import net.sourceforge.plantuml.FileFormatOption;
 import net.sourceforge.plantuml.GeneratedImage;
 import net.sourceforge.plantuml.SourceFileReader;
+import net.sourceforge.plantuml.SourceStringReader;
+import net.sourceforge.plantuml.core.DiagramDescription;
 
 /**
  * Utility class for generating UML diagrams from `.puml` files using PlantUML.
@@ -17,6 +26,12 @@ import net.sourceforge.plantuml.SourceFileReader;
  * - Ensures output directories exist and are writable.
  * - Generates UML diagrams from `.puml` files using the PlantUML library.
  * - Moves generated images to the specified output directory.
+ * - Renders PlantUML text held in memory straight into the image files of a
+ * {@link DiagramFormat}, without a `.puml` file, a temporary image or a move.
+ * - Renders the PNG image of a diagram rendered as SVG from its `.puml` file
+ * when it is first asked for.
+ * - Reuses images rendered from identical PlantUML text through an optional
+ * {@link RenderCache}.
  * - Logs errors and progress during the diagram generation process.
  * 
  * Limitations:
@@ -25,11 +40,13 @@ import net.sourceforge.plantuml.SourceFileReader;
  * - Does not handle advanced file system operations (e.g., symbolic links).
  * 
  * Thread Safety:
- * - This class is not thread-safe as it relies on mutable state.
+ * - This class is not thread-safe as it relies on mutable state. The render
+ * cache may be shared between generators on different threads.
  * 
  * Dependencies:
  * - {@link PlantUML}: Used for generating UML diagrams.
  * - {@link SourceFileReader}: Reads `.puml` files and generates images.
+ * - {@link SourceStringReader}: Generates images from PlantUML text.
  * - {@link GeneratedImage}: Represents the generated diagram images.
  * 
  * @author PJSoft
@@ -39,6 +56,49 @@ import net.sourceforge.plantuml.SourceFileReader;
 public class DiagramImageGenerator {
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DiagramImageGenerator.class);
 
+    private final RenderCache renderCache; // Null to render every diagram
+    private final DiagramFormat format; // Image format of diagrams rendered from PlantUML text
+
+    /**
+     * Constructs a DiagramImageGenerator that renders every diagram as PNG.
+     */
+    public DiagramImageGenerator() {
+        this(null, DiagramFormat.PNG);
+    }
+
+    /**
+     * Constructs a DiagramImageGenerator that reuses the images of the render
+     * cache for diagrams rendered from PlantUML text.
+     *
+     * @param renderCache The render cache, or {@code null} to render every
+     *                    diagram.
+     * @param format      The image format of diagrams rendered from PlantUML
+     *                    text.
+     * @since 1.3
+     */
+    public DiagramImageGenerator(RenderCache renderCache, DiagramFormat format) {
+        this.renderCache = renderCache;
+        this.format = format;
+    }
+
+    /**
+     * Gets the PlantUML file formats rendered for a diagram format.
+     *
+     * @param format The diagram format.
+     * @return The file formats, SVG first.
+     * @since 1.3
+     */
+    public static List<FileFormat> fileFormats(DiagramFormat format) {
+        List<FileFormat> fileFormats = new ArrayList<>(2);
+        if (format.rendersSvg()) {
+            fileFormats.add(FileFormat.SVG);
+        }
+        if (format.rendersPng()) {
+            fileFormats.add(FileFormat.PNG);
+        }
+        return fileFormats;
+    }
+
     /**
      * Generates a diagram image from a `.puml` file and moves it to the specified
      * output directory.
@@ -82,6 +142,103 @@ public class DiagramImageGenerator {
         }
     }
 
+    /**
+     * Renders PlantUML text into the images of the generator's format in the
+     * output directory. The images are streamed straight to their final files;
+     * no `.puml` file is read and no temporary image is written. With a render
+     * cache, an image rendered earlier from the same text is restored instead.
+     * For {@link DiagramFormat#LAZY_PNG}, a PNG image left from an earlier
+     * rendering is deleted, so that it is rendered again when asked for.
+     *
+     * @param plantUmlSyntax The PlantUML text of one diagram.
+     * @param diagramName    The base name of the image files.
+     * @param outputDir      The directory to write the images to.
+     * @return The image file that pages link to.
+     * @throws RuntimeException If the output directory cannot be created or is
+     *                          not writable, or if no image is generated.
+     * @since 1.3
+     */
+    public File generateDiagramImage(String plantUmlSyntax, String diagramName, File outputDir) {
+        ensureDirectoryExists(outputDir);
+        for (FileFormat fileFormat : fileFormats(format)) {
+            renderImage(plantUmlSyntax, diagramName, outputDir, fileFormat);
+        }
+        if (format == DiagramFormat.LAZY_PNG) {
+            File staleImage = new File(outputDir, diagramName + FileFormat.PNG.getFileSuffix());
+            try {
+                Files.deleteIfExists(staleImage.toPath());
+            } catch (IOException e) {
+                logger.warn("Could not delete outdated image: {}", staleImage, e);
+            }
+        }
+        return new File(outputDir, diagramName + format.getImageSuffix());
+    }
+
+    /**
+     * Gets the PNG image of a diagram, rendering it from the diagram's `.puml`
+     * file if it was rendered as SVG only.
+     *
+     * @param diagramName   The base name of the image and `.puml` files.
+     * @param pumlDirectory The directory of the `.puml` file.
+     * @param imageDir      The directory of the images.
+     * @return The PNG image file.
+     * @throws RuntimeException If there is neither a PNG image nor a `.puml`
+     *                          file, or if no image is generated.
+     * @since 1.3
+     */
+    public File getPngImage(String diagramName, File pumlDirectory, File imageDir) {
+        File imageFile = new File(imageDir, diagramName + FileFormat.PNG.getFileSuffix());
+        if (imageFile.isFile()) {
+            return imageFile;
+        }
+        File pumlFile = new File(pumlDirectory, diagramName + ".puml");
+        validatePumlFile(pumlFile);
+        try {
+            String plantUmlSyntax = Files.readString(pumlFile.toPath());
+            logger.debug("Rendering PNG image on demand for: {}", diagramName);
+            return renderImage(plantUmlSyntax, diagramName, imageDir, FileFormat.PNG);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read PUML file: " + pumlFile, e);
+        }
+    }
+
+    /**
+     * Renders PlantUML text into one image file, or restores it from the
+     * render cache.
+     */
+    private File renderImage(String plantUmlSyntax, String diagramName, File outputDir, FileFormat fileFormat) {
+        File imageFile = new File(outputDir, diagramName + fileFormat.getFileSuffix());
+        String cacheKey = renderCache != null ? renderCache.key(plantUmlSyntax, fileFormat.name()) : null;
+        if (cacheKey != null && renderCache.restore(cacheKey, imageFile.toPath())) {
+            logger.debug("Diagram restored from the render cache: {}", imageFile.getName());
+            return imageFile;
+        }
+        try {
+            // The previous image may be linked to a render cache entry; replace it rather than overwrite it
+            Files.deleteIfExists(imageFile.toPath());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(imageFile.toPath()))) {
+                DiagramDescription description = new SourceStringReader(plantUmlSyntax).outputImage(out,
+                        new FileFormatOption(fileFormat));
+                if (description == null) {
+                    throw new IOException("No diagram image was generated");
+                }
+            }
+            if (cacheKey != null) {
+                renderCache.store(cacheKey, imageFile.toPath());
+            }
+            logger.debug("Diagram generation completed successfully for: {}", imageFile.getName());
+            return imageFile;
+        } catch (Exception e) {
+            logger.error("Error during diagram generation for: {}", diagramName, e);
+            try {
+                Files.deleteIfExists(imageFile.toPath()); // Do not leave a partial image behind
+            } catch (IOException deleteError) {
+                logger.debug("Could not delete partial image: {}", imageFile, deleteError);
+            }
+            throw new RuntimeException("Failed to generate diagram: " + diagramName, e);
+        }
+    }
+
     /**
      * Logs the content of a `.puml` file for debugging purposes.
      *
@@ -131,7 +288,8 @@ public class DiagramImageGenerator {
      *                          writable.
      */
     private void ensureDirectoryExists(File directory) {
-        if (!directory.exists() && !directory.mkdirs()) {
+        // Another generator may create the directory at the same time
+        if (!directory.exists() && !directory.mkdirs() && !directory.isDirectory()) {
             String errorMessage = "Failed to create directory: " + directory.getAbsolutePath();
             logger.error(errorMessage);
             throw new RuntimeException(errorMessage);
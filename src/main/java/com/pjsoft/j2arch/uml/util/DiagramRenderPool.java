@@ -0,0 +1,402 @@
+package com.pjsoft.j2arch.uml.util;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.context.GenerationOptions;
+import com.pjsoft.j2arch.core.context.GenerationOptions.DiagramFormat;
+
+import net.sourceforge.plantuml.FileFormat;
+
+/**
+ * DiagramRenderPool
+ *
+ * Renders diagram images for all diagram services of a generation run.
+ * Rendering is CPU-bound and every diagram is independent, so the services
+ * submit their PlantUML text here and carry on producing the next diagram
+ * while earlier ones are rendered.
+ *
+ * Responsibilities:
+ * - Render submitted diagrams on a fixed number of threads through the
+ * {@link DiagramImageGenerator}.
+ * - Return a future per diagram that completes with its image file, or with
+ * the failure of its rendering.
+ * - Bound the number of diagrams waiting to be rendered. A service submitting
+ * to a full queue waits until a render finishes, so the PlantUML text of
+ * thousands of diagrams is never held at once.
+ * - Render every diagram in the {@link DiagramFormat} of the run.
+ * - Reuse unchanged images through the {@link RenderCache} of the run.
+ * - Keep each render within the budget of the {@link RenderWatchdog} of the
+ * run. A class or package diagram over budget is rendered again as simplified
+ * by the {@link DiagramSimplifier}; a render that does not stop is given up on
+ * and its thread replaced, so the other diagrams are not held up. A diagram
+ * that cannot be rendered within its budget fails with a
+ * {@link BudgetExceededException}, so that callers can skip it.
+ * - Report the render time and the bytes written per run, and the statistics
+ * of the render cache, when the pool is closed. Comparing the reports of runs
+ * in different formats shows what each format costs.
+ *
+ * Limitations:
+ * - With a single thread and no render budget, diagrams are rendered on the
+ * submitting thread and the returned future is already complete.
+ * - A render thread must not submit to its own pool, as it could wait for a
+ * queue only it would drain.
+ *
+ * Thread Safety:
+ * - This class is thread-safe; diagrams may be submitted from any thread.
+ *
+ * Usage Example:
+ * {@code
+ * try (DiagramRenderPool renderPool = DiagramRenderPool.forContext(context)) {
+ *     Future<File> image = renderPool.submit(plantUmlSyntax, "MyDiagram", imageDirectory);
+ *     ...
+ *     image.get();
+ * }
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class DiagramRenderPool implements AutoCloseable {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DiagramRenderPool.class);
+
+    private final int threads; // Render threads, 1 to render on the submitting thread without a budget
+    private final ThreadPoolExecutor executor; // Null when rendering on the submitting thread
+    private final Semaphore queueSlots; // Diagrams that may be queued or rendering at once
+    private final RenderCache renderCache; // Null to render every diagram
+    private final DiagramFormat format; // Image format of the diagrams
+    private final RenderWatchdog watchdog; // Null for renders without a budget
+    private final AtomicInteger abandonedRenders = new AtomicInteger(); // Renders over budget that did not stop
+    private final LongAdder renderedDiagrams = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder(); // Summed over all render threads
+    private final LongAdder bytesWritten = new LongAdder();
+
+    /**
+     * Creates a render pool for PNG images without a render cache.
+     *
+     * @param threads       the number of render threads, at least 1.
+     * @param queueCapacity the number of diagrams that may wait for a render
+     *                      thread, at least 1.
+     * @throws IllegalArgumentException if a count is smaller than 1.
+     * @since 1.3
+     */
+    public DiagramRenderPool(int threads, int queueCapacity) {
+        this(threads, queueCapacity, null, DiagramFormat.PNG, null);
+    }
+
+    /**
+     * Creates a render pool.
+     *
+     * @param threads       the number of render threads, at least 1.
+     * @param queueCapacity the number of diagrams that may wait for a render
+     *                      thread, at least 1.
+     * @param renderCache   the render cache, or {@code null} to render every
+     *                      diagram.
+     * @param format        the image format of the diagrams.
+     * @param watchdog      the watchdog keeping renders within their budget,
+     *                      or {@code null} for renders without a budget. It is
+     *                      closed with the pool.
+     * @throws IllegalArgumentException if a count is smaller than 1.
+     * @since 1.3
+     */
+    public DiagramRenderPool(int threads, int queueCapacity, RenderCache renderCache, DiagramFormat format,
+            RenderWatchdog watchdog) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException(
+                    "Render threads and queue capacity must be at least 1: " + threads + ", " + queueCapacity);
+        }
+        this.threads = threads;
+        this.renderCache = renderCache;
+        this.format = format;
+        this.watchdog = watchdog;
+        this.queueSlots = new Semaphore(threads + queueCapacity);
+        if (threads == 1 && watchdog == null) {
+            this.executor = null;
+        } else {
+            // A render watched by the watchdog must not run on the thread that waits for it
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "diagram-render-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        logger.debug("Rendering {} diagrams on {} thread(s), at most {} queued", format, threads, queueCapacity);
+    }
+
+    /**
+     * Creates a render pool sized by the {@code render.*} options, rendering in
+     * the configured format within the configured budget, with the render
+     * cache of the context's output directory if it is enabled.
+     *
+     * @param context the generation context of the run.
+     * @return the render pool.
+     * @since 1.3
+     */
+    public static DiagramRenderPool forContext(GenerationContext context) {
+        GenerationOptions options = context.getOptions();
+        return new DiagramRenderPool(options.resolveRenderThreads(), options.getRenderQueueCapacity(),
+                options.isRenderCacheEnabled() ? RenderCache.forContext(context) : null, options.getRenderFormat(),
+                RenderWatchdog.forContext(context));
+    }
+
+    /**
+     * Submits a diagram for rendering. Waits while the queue is full.
+     *
+     * @param plantUmlSyntax the PlantUML text of the diagram.
+     * @param diagramName    the base name of the image files.
+     * @param outputDir      the directory to write the images to.
+     * @return a future completing with the image file that pages link to, or
+     *         exceptionally with
+     *         the error that failed the rendering.
+     * @throws RuntimeException if the wait for the queue is interrupted.
+     * @since 1.3
+     */
+    public CompletableFuture<File> submit(String plantUmlSyntax, String diagramName, File outputDir) {
+        if (executor == null) {
+            CompletableFuture<File> image = new CompletableFuture<>();
+            render(image, plantUmlSyntax, diagramName, outputDir);
+            return image;
+        }
+        try {
+            queueSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing diagram: " + diagramName, e);
+        }
+        CompletableFuture<File> image = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    render(image, plantUmlSyntax, diagramName, outputDir);
+                } finally {
+                    queueSlots.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            queueSlots.release();
+            throw e;
+        }
+        return image;
+    }
+
+    /**
+     * Waits for a rendered diagram.
+     *
+     * @param image the future returned by {@link #submit}.
+     * @return the image file.
+     * @throws RuntimeException the exception that failed the rendering, such as
+     *                          a {@link BudgetExceededException}, or a
+     *                          RuntimeException if the wait is interrupted.
+     * @since 1.3
+     */
+    public static File await(Future<File> image) {
+        try {
+            return image.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a diagram render", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Diagram rendering failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Gets the number of render threads.
+     *
+     * @return the number of threads, 1 if diagrams are rendered on the
+     *         submitting thread.
+     * @since 1.3
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the image format of the diagrams.
+     *
+     * @return the diagram format.
+     * @since 1.3
+     */
+    public DiagramFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Renders the diagrams already submitted, stops the render threads and
+     * logs the render statistics and those of the render cache. Renders that
+     * exceeded their budget and did not stop are not waited for; the watchdog
+     * writes its failure report.
+     *
+     * @throws RuntimeException if interrupted while waiting for the renders.
+     * @since 1.3
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            awaitTermination();
+        }
+        if (renderedDiagrams.sum() > 0) {
+            logger.info("Rendered {} diagram(s) as {}: {} ms render time, {} KB written", renderedDiagrams.sum(),
+                    format, TimeUnit.NANOSECONDS.toMillis(renderNanos.sum()), bytesWritten.sum() / 1024);
+        }
+        if (renderCache != null) {
+            renderCache.logSummary();
+        }
+        if (watchdog != null) {
+            watchdog.close();
+        }
+    }
+
+    private void awaitTermination() {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                int abandoned = abandonedRenders.get();
+                if (abandoned > 0 && executor.getActiveCount() <= abandoned && executor.getQueue().isEmpty()) {
+                    logger.warn("Not waiting for {} diagram render(s) that exceeded their budget", abandoned);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the diagram renders", e);
+        }
+    }
+
+    private void render(CompletableFuture<File> image, String plantUmlSyntax, String diagramName, File outputDir) {
+        long start = System.nanoTime();
+        try {
+            File imageFile = watchdog != null ? renderWithinBudget(image, plantUmlSyntax, diagramName, outputDir)
+                    : new DiagramImageGenerator(renderCache, format).generateDiagramImage(plantUmlSyntax, diagramName,
+                            outputDir);
+            renderNanos.add(System.nanoTime() - start);
+            renderedDiagrams.increment();
+            for (FileFormat fileFormat : DiagramImageGenerator.fileFormats(format)) {
+                bytesWritten.add(new File(outputDir, diagramName + fileFormat.getFileSuffix()).length());
+            }
+            image.complete(imageFile);
+        } catch (Throwable t) { // Also complete the future if PlantUML runs out of stack or memory
+            image.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Renders a diagram under the watchdog. A diagram over budget is rendered
+     * again simplified where possible, and reported either way.
+     */
+    private File renderWithinBudget(CompletableFuture<File> image, String plantUmlSyntax, String diagramName,
+            File outputDir) {
+        DiagramImageGenerator generator = new DiagramImageGenerator(renderCache, format);
+        Runnable giveUp = () -> giveUp(image, diagramName);
+        RenderWatchdog.Attempt attempt = watchdog.start(diagramName, giveUp);
+        File imageFile = renderAttempt(generator, plantUmlSyntax, diagramName, outputDir, attempt);
+        String exceeded = attempt.getExceededBudget();
+        if (exceeded == null) {
+            return imageFile;
+        }
+        forget(plantUmlSyntax);
+        String simplified = watchdog.isRetrySimplified() ? DiagramSimplifier.simplify(plantUmlSyntax) : null;
+        if (image.isDone() || simplified == null) {
+            if (!image.isDone()) { // A render given up on is already reported
+                watchdog.recordFailure(diagramName, exceeded);
+            }
+            throw new BudgetExceededException("Rendering exceeded its budget (" + exceeded + "): " + diagramName);
+        }
+
+        logger.info("Rendering {} again simplified, as it {}", diagramName, exceeded);
+        RenderWatchdog.Attempt retry = watchdog.start(diagramName, giveUp);
+        try {
+            imageFile = renderAttempt(generator, simplified, diagramName, outputDir, retry);
+        } catch (RuntimeException e) {
+            watchdog.recordFailure(diagramName, exceeded + "; the simplified diagram failed: " + e.getMessage());
+            throw e;
+        }
+        if (retry.getExceededBudget() != null) {
+            forget(simplified);
+            if (!image.isDone()) {
+                watchdog.recordFailure(diagramName, exceeded + "; so did the simplified diagram");
+            }
+            throw new BudgetExceededException("Rendering exceeded its budget (" + exceeded + "): " + diagramName);
+        }
+        watchdog.recordFailure(diagramName, exceeded + "; rendered simplified");
+        return imageFile;
+    }
+
+    /**
+     * Renders one attempt of a diagram.
+     *
+     * @return the image file, or {@code null} if the watchdog stopped the
+     *         render.
+     */
+    private File renderAttempt(DiagramImageGenerator generator, String plantUmlSyntax, String diagramName,
+            File outputDir, RenderWatchdog.Attempt attempt) {
+        try {
+            return generator.generateDiagramImage(plantUmlSyntax, diagramName, outputDir);
+        } catch (RuntimeException e) {
+            if (attempt.getExceededBudget() == null) {
+                throw e;
+            }
+            return null;
+        } finally {
+            watchdog.finish(attempt);
+        }
+    }
+
+    /**
+     * Removes the cached images of a diagram whose render was stopped, as
+     * PlantUML may have rendered an error image instead.
+     */
+    private void forget(String plantUmlSyntax) {
+        if (renderCache == null) {
+            return;
+        }
+        for (FileFormat fileFormat : DiagramImageGenerator.fileFormats(format)) {
+            renderCache.remove(renderCache.key(plantUmlSyntax, fileFormat.name()));
+        }
+    }
+
+    /**
+     * Fails a render that did not stop after exceeding its budget, and adds a
+     * thread in place of the one it keeps busy.
+     */
+    private void giveUp(CompletableFuture<File> image, String diagramName) {
+        image.completeExceptionally(
+                new BudgetExceededException("Rendering exceeded its budget and did not stop: " + diagramName));
+        abandonedRenders.incrementAndGet();
+        synchronized (executor) {
+            executor.setMaximumPoolSize(executor.getMaximumPoolSize() + 1);
+            executor.setCorePoolSize(executor.getCorePoolSize() + 1);
+        }
+    }
+
+    /**
+     * Fails the rendering of a diagram that exceeded its budget. The diagram is
+     * already recorded in the failure report of the watchdog, so the rest of
+     * the run may carry on without it.
+     *
+     * @since 1.3
+     */
+    public static final class BudgetExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private BudgetExceededException(String message) {
+            super(message);
+        }
+    }
+}
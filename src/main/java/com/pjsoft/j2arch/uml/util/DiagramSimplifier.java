@@ -0,0 +1,86 @@
+package com.pjsoft.j2arch.uml.util;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DiagramSimplifier
+ *
+ * Derives a simplified form of a class or package diagram whose layout
+ * exceeded its render budget. The simplified diagram shows the same classes
+ * and which of them are related, but is far cheaper to lay out.
+ *
+ * Responsibilities:
+ * - Drop the {@code skinparam linetype} setting, as orthogonal edges are the
+ * most expensive to route.
+ * - Hide the fields and methods of the classes.
+ * - Collapse all relationships between two classes into one edge without a
+ * label.
+ *
+ * Limitations:
+ * - Only diagrams declaring classes are simplified. Sequence diagrams are kept
+ * renderable by the {@code sequence.max.*} budgets instead.
+ * - Relationships are recognized by line, as this tool writes them:
+ * {@code A <arrow> B : label}.
+ *
+ * Usage Example:
+ * {@code
+ * String simplified = DiagramSimplifier.simplify(plantUmlSyntax);
+ * if (simplified != null) {
+ *     render(simplified);
+ * }
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class DiagramSimplifier {
+
+    /** The line added after {@code @startuml} to hide fields and methods. */
+    static final String HIDE_MEMBERS = "hide members";
+
+    private static final Pattern RELATIONSHIP = Pattern
+            .compile("^\\s*(\\S+)\\s+([-.<>|*o]*[-.][-.<>|*o]*)\\s+(\\S+)\\s*(:.*)?$");
+
+    /**
+     * Simplifies a class or package diagram.
+     *
+     * @param plantUmlSyntax The PlantUML text of the diagram.
+     * @return The simplified PlantUML text, or {@code null} if the diagram
+     *         declares no classes and cannot be simplified.
+     */
+    public static String simplify(String plantUmlSyntax) {
+        StringBuilder simplified = new StringBuilder(plantUmlSyntax.length());
+        Set<String> relatedPairs = new HashSet<>();
+        boolean declaresClasses = false;
+        for (String line : plantUmlSyntax.split("\r?\n")) {
+            String trimmed = line.trim().toLowerCase(Locale.ROOT);
+            if (trimmed.startsWith("skinparam linetype")) {
+                continue;
+            }
+            if (trimmed.startsWith("class ") || trimmed.startsWith("interface ") || trimmed.startsWith("enum ")
+                    || trimmed.startsWith("abstract ")) {
+                declaresClasses = true;
+            }
+            Matcher relationship = RELATIONSHIP.matcher(line);
+            if (relationship.matches()) {
+                String from = relationship.group(1);
+                String to = relationship.group(3);
+                String pair = from.compareTo(to) <= 0 ? from + " " + to : to + " " + from;
+                if (relatedPairs.add(pair)) {
+                    simplified.append(from).append(" -- ").append(to).append('\n');
+                }
+                continue;
+            }
+            simplified.append(line).append('\n');
+            if (trimmed.startsWith("@startuml")) {
+                simplified.append(HIDE_MEMBERS).append('\n');
+            }
+        }
+        return declaresClasses ? simplified.toString() : null;
+    }
+}
@@ -6,14 +6,24 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.pjsoft.j2arch.core.cache.IncrementalAnalyzer;
 import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.model.AnalysisResult;
 import com.pjsoft.j2arch.core.model.CodeEntity;
 import com.pjsoft.j2arch.core.model.PackageEntity;
+import com.pjsoft.j2arch.core.model.Relative;
+import com.pjsoft.j2arch.core.model.TieredAnalysis;
+import com.pjsoft.j2arch.core.resolution.ProjectTypeIndex;
+import com.pjsoft.j2arch.core.util.AnalysisTier;
 import com.pjsoft.j2arch.core.util.JavaParserService;
 import com.pjsoft.j2arch.core.util.ProgressTracker;
 import com.pjsoft.j2arch.core.util.SymbolSolverConfig;
@@ -26,6 +36,9 @@ import com.pjsoft.j2arch.core.util.SymbolSolverConfig;
  * - Recursively collects `.java` files from the input directory.
  * - Parses the collected files to extract code entities and package
  * information.
+ * - Points the relationships at the parsed classes they target.
+ * - Optionally analyzes the project in two tiers: the structure first, the
+ * calls of the same parsed files in the background.
  * - Identifies duplicate file names in the project.
  * - Tracks progress using the {@link ProgressTracker}.
  * 
@@ -35,7 +48,7 @@ import com.pjsoft.j2arch.core.util.SymbolSolverConfig;
  * ProgressTracker progressTracker = new ProgressTracker(...);
  * ProjectAnalyzer analyzer = new ProjectAnalyzer();
  * analyzer.configureSymbolSolver(context);
- * List<CodeEntity> entities = analyzer.analyzeProject(context, progressTracker);
+ * AnalysisResult result = analyzer.analyze(context, progressTracker);
  * }
  * 
  * Dependencies:
@@ -163,12 +176,175 @@ public class ProjectAnalyzer {
         }
     }
 
+    /**
+     * Analyzes the project once and returns the shared analysis result.
+     * 
+     * Responsibilities:
+     * - Collects `.java` files from the input directory and indexes the types
+     * they declare.
+     * - Parses the files using the {@link JavaParserService}, or only the changed
+     * ones using the {@link IncrementalAnalyzer} if the analysis cache is enabled.
+     * - Groups and indexes the parsed classes in an {@link AnalysisResult}.
+     * 
+     * Preconditions:
+     * - The input directory must be valid and contain `.java` files.
+     * 
+     * Postconditions:
+     * - An {@link AnalysisResult} is returned that can be shared by all
+     * generators of the run.
+     * 
+     * @param context         The generation context containing configuration
+     *                        details.
+     * @param progressTracker The progress tracker to monitor progress.
+     * @return The {@link AnalysisResult} of the project.
+     * @since 1.3
+     */
+    public AnalysisResult analyze(GenerationContext context, ProgressTracker progressTracker) {
+        // Collect Java files from the input directory
+        List<String> files = collectJavaFiles(context, progressTracker);
+
+        // Index the types of all files, also when only some of them are parsed again
+        JavaParserService parser = new JavaParserService(ProjectTypeIndex.build(files));
+        return analyzeFiles(files, parser, context, progressTracker);
+    }
+
+    /**
+     * Analyzes the project in two tiers.
+     * 
+     * Responsibilities:
+     * - Runs the structural tier: parses the files and extracts everything but
+     * the method calls, keeping the parsed units.
+     * - Starts the call graph tier in the background: resolves only the calls of
+     * the kept units and points them at the structure's classes.
+     * - Reports the progress of each tier separately through the
+     * {@link ProgressTracker}.
+     * 
+     * If the analysis cache is enabled, the complete analysis of {@link #analyze}
+     * is returned as the structure: the cache holds complete analyses, and the
+     * dependencies it records for each file include the types looked up while
+     * resolving its calls.
+     * 
+     * Postconditions:
+     * - The structural result is available when this method returns; the calls
+     * may still be resolved.
+     * 
+     * @param context         The generation context containing configuration
+     *                        details.
+     * @param progressTracker The progress tracker to monitor progress.
+     * @return The {@link TieredAnalysis} of the project.
+     * @since 1.3
+     */
+    public TieredAnalysis analyzeTiered(GenerationContext context, ProgressTracker progressTracker) {
+        if (context.getOptions().isAnalysisCacheEnabled()) {
+            logger.info("Analysis cache enabled; analyzing the project in a single tier");
+            return new TieredAnalysis(analyze(context, progressTracker), CompletableFuture.completedFuture(Map.of()));
+        }
+        List<String> files = collectJavaFiles(context, progressTracker);
+        JavaParserService parser = new JavaParserService(ProjectTypeIndex.build(files), AnalysisTier.STRUCTURE);
+
+        long start = System.currentTimeMillis();
+        List<CodeEntity> structure = parser.parseFiles(files, context, progressTracker);
+        Map<String, CodeEntity> entitiesByName = indexByName(structure);
+        for (CodeEntity codeEntity : structure) {
+            linkRelatives(codeEntity.getRelatives(), entitiesByName);
+        }
+        logger.info("Structural analysis of {} file(s) completed in {} ms", files.size(),
+                System.currentTimeMillis() - start);
+        progressTracker.onStatusUpdate(AnalysisTier.STRUCTURE.getDisplayName() + " completed.");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "call-graph-analysis");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Resolve the calls of the parsed units in the background while the structure is rendered
+            Future<Map<CodeEntity, List<Relative>>> callRelatives = executor.submit(() -> {
+                long callStart = System.currentTimeMillis();
+                Map<CodeEntity, List<Relative>> relatives = parser.extractCallRelatives(context, progressTracker);
+                relatives.values().forEach(entityRelatives -> linkRelatives(entityRelatives, entitiesByName));
+                logger.info("Call graph analysis completed in {} ms", System.currentTimeMillis() - callStart);
+                progressTracker.onStatusUpdate(AnalysisTier.CALL_GRAPH.getDisplayName() + " completed.");
+                return relatives;
+            });
+            return new TieredAnalysis(new AnalysisResult(structure), callRelatives);
+        } finally {
+            // Lets the call graph finish, then releases the thread
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Parses the files once, reusing the cached analysis of unchanged files if
+     * the analysis cache is enabled.
+     * 
+     * @param files           The `.java` files of the project.
+     * @param parser          The parser service to use.
+     * @param context         The generation context containing configuration
+     *                        details.
+     * @param progressTracker The progress tracker to monitor progress.
+     * @return The {@link AnalysisResult} of the files.
+     */
+    private AnalysisResult analyzeFiles(List<String> files, JavaParserService parser, GenerationContext context,
+            ProgressTracker progressTracker) {
+        List<CodeEntity> codeEntities = context.getOptions().isAnalysisCacheEnabled()
+                ? new IncrementalAnalyzer(parser).parseFiles(files, context, progressTracker)
+                : parser.parseFiles(files, context, progressTracker);
+        return new AnalysisResult(linkRelatives(codeEntities));
+    }
+
+    /**
+     * Points the relationships of the parsed classes at the parsed classes they
+     * target, replacing the name-only handles of the symbol table, so those
+     * handles can be collected. Targets outside the parsed classes keep their
+     * handles. Runs after the analysis cache is saved, so cached relationships
+     * keep their shared handles.
+     * 
+     * @param codeEntities The parsed classes.
+     * @return The same classes.
+     */
+    private static List<CodeEntity> linkRelatives(List<CodeEntity> codeEntities) {
+        Map<String, CodeEntity> entitiesByName = indexByName(codeEntities);
+        for (CodeEntity codeEntity : codeEntities) {
+            linkRelatives(codeEntity.getRelatives(), entitiesByName);
+        }
+        return codeEntities;
+    }
+
+    /**
+     * Indexes the parsed classes by name, keeping the first class of a name.
+     * 
+     * @param codeEntities The parsed classes.
+     * @return The classes by fully qualified name.
+     */
+    private static Map<String, CodeEntity> indexByName(List<CodeEntity> codeEntities) {
+        Map<String, CodeEntity> entitiesByName = new HashMap<>();
+        for (CodeEntity codeEntity : codeEntities) {
+            entitiesByName.putIfAbsent(codeEntity.getName(), codeEntity);
+        }
+        return entitiesByName;
+    }
+
+    /**
+     * Points the given relationships at the parsed classes they target.
+     * 
+     * @param relatives      The relationships to link.
+     * @param entitiesByName The parsed classes by fully qualified name.
+     */
+    private static void linkRelatives(List<Relative> relatives, Map<String, CodeEntity> entitiesByName) {
+        for (Relative relative : relatives) {
+            CodeEntity target = entitiesByName.get(relative.getCalleeEntity().getName());
+            if (target != null) {
+                relative.setCalleeEntity(target);
+            }
+        }
+    }
+
     /**
      * Parses the collected `.java` files and extracts {@link CodeEntity} objects.
      * 
      * Responsibilities:
-     * - Collects `.java` files from the input directory.
-     * - Parses the files using the {@link JavaParserService}.
+     * - Analyzes the project using {@link #analyze}.
      * 
      * Preconditions:
      * - The input directory must be valid and contain `.java` files.
@@ -183,12 +359,7 @@ public class ProjectAnalyzer {
      * @return A list of {@link CodeEntity} objects representing parsed classes.
      */
     public List<CodeEntity> analyzeProject(GenerationContext context, ProgressTracker progressTracker) {
-        // Collect Java files from the input directory
-        List<String> files = collectJavaFiles(context, progressTracker);
-
-        JavaParserService parser = new JavaParserService();
-        // Parse the files and return the extracted CodeEntity objects
-        return parser.parseFiles(files, context, progressTracker);
+        return analyze(context, progressTracker).getCodeEntities();
     }
 
     /**
@@ -196,8 +367,10 @@ public class ProjectAnalyzer {
      * objects.
      * 
      * Responsibilities:
-     * - Collects `.java` files from the input directory.
-     * - Parses the files using the {@link JavaParserService}.
+     * - Analyzes the project using {@link #analyze}.
+     * 
+     * Callers that also need the class list should call {@link #analyze} once
+     * instead of calling both {@link #analyzeProject} and this method.
      * 
      * @param context         The generation context containing configuration
      *                        details.
@@ -206,12 +379,7 @@ public class ProjectAnalyzer {
      */
     public Map<String, PackageEntity> analyzeProjectForPackages(GenerationContext context,
             ProgressTracker progressTracker) {
-        // Collect Java files from the input directory
-        List<String> files = collectJavaFiles(context, progressTracker);
-
-        // Parse the files and return the extracted PackageEntity objects
-        JavaParserService parser = new JavaParserService();
-        return parser.parsePackages(files, context, progressTracker);
+        return analyze(context, progressTracker).getPackages();
     }
 
     /**
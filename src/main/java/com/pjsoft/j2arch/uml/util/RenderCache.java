@@ -0,0 +1,354 @@
+package com.pjsoft.j2arch.uml.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.util.DirectoryConstants;
+
+import net.sourceforge.plantuml.version.Version;
+
+/**
+ * RenderCache
+ *
+ * Keeps rendered diagram images between runs, addressed by their content: the
+ * SHA-256 hash of the normalized PlantUML source, the image format and the
+ * PlantUML version. A diagram whose source did not change since an earlier run
+ * is linked or copied from the cache instead of being laid out again. The
+ * cache lives in the {@code render} directory of the
+ * {@link DirectoryConstants#CACHE_DIR} directory of the output directory.
+ *
+ * Responsibilities:
+ * - Compute the cache key of a diagram.
+ * - Restore a cached image as a hard link, or as a copy where links are not
+ * supported.
+ * - Store freshly rendered images.
+ * - Evict the least recently used images once the cache exceeds its size.
+ * The last use of an image is the modification time of a {@code .used} file
+ * next to it, as the image itself may share its file, and so its
+ * modification time, with a restored output image.
+ * - Count hits, misses and evictions for the run summary.
+ *
+ * Limitations:
+ * - Sources are normalized by line endings and trailing white space only.
+ * - The version of Graphviz is not part of the key; clear the cache directory
+ * after upgrading it.
+ * - A restored image may share its file with the cache entry. It must be
+ * replaced, not written in place, or the cache entry changes with it.
+ *
+ * Thread Safety:
+ * - This class is thread-safe; render threads may use one cache concurrently.
+ *
+ * Usage Example:
+ * {@code
+ * RenderCache cache = RenderCache.forContext(context);
+ * String key = cache.key(plantUmlSyntax, "PNG");
+ * if (!cache.restore(key, imageFile)) {
+ *     render(plantUmlSyntax, imageFile);
+ *     cache.store(key, imageFile);
+ * }
+ * cache.logSummary();
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class RenderCache {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(RenderCache.class);
+
+    /**
+     * Version of the cached images. Increase it whenever the rendering changes
+     * in a way the PlantUML version does not reflect.
+     */
+    static final int CACHE_VERSION = 1;
+
+    /** The directory, inside the cache directory, of the rendered images. */
+    public static final String RENDER_DIR = "render";
+
+    private static final String ENTRY_SUFFIX = ".img";
+    private static final String USED_SUFFIX = ".used"; // Empty file touched whenever its entry is restored
+    private static final double EVICTION_TARGET = 0.9; // Evict down to this share of the maximum size
+
+    private final Path directory;
+    private final long maxBytes;
+    private final String fingerprint; // Cache version and PlantUML version
+    private final AtomicLong size = new AtomicLong(); // Bytes held by the cache entries
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache stored in the given directory.
+     *
+     * @param directory The directory holding the cached images.
+     * @param maxBytes  The size above which the least recently used images are
+     *                  evicted.
+     */
+    public RenderCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.fingerprint = CACHE_VERSION + ":" + Version.versionString();
+        this.size.set(listEntries().stream().mapToLong(entry -> entry.size).sum());
+    }
+
+    /**
+     * Creates the render cache for the given generation context.
+     *
+     * @param context The {@link GenerationContext} of the run.
+     * @return The render cache of the context's output directory.
+     */
+    public static RenderCache forContext(GenerationContext context) {
+        Path directory = Paths.get(context.getOutputDirectory(), DirectoryConstants.CACHE_DIR, RENDER_DIR);
+        return new RenderCache(directory, context.getOptions().getRenderCacheMaxBytes());
+    }
+
+    /**
+     * Computes the cache key of a diagram.
+     *
+     * @param plantUmlSyntax The PlantUML source of the diagram.
+     * @param format         The name of the image format.
+     * @return The key, a lowercase hexadecimal string.
+     */
+    public String key(String plantUmlSyntax, String format) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update((fingerprint + '\n' + format + '\n').getBytes(StandardCharsets.UTF_8));
+        digest.update(normalize(plantUmlSyntax).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Restores a cached image, replacing the target file.
+     *
+     * @param key    The cache key of the diagram.
+     * @param target The image file to create.
+     * @return {@code true} if the image was cached and restored.
+     */
+    public boolean restore(String key, Path target) {
+        Path entry = entryFile(key);
+        if (!Files.isRegularFile(entry)) {
+            misses.increment();
+            return false;
+        }
+        try {
+            Files.deleteIfExists(target);
+            try {
+                Files.createLink(target, entry);
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(entry, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            markUsed(key);
+            hits.increment();
+            return true;
+        } catch (IOException e) {
+            // The entry may have been evicted meanwhile; render the diagram instead
+            logger.debug("Could not restore {} from the render cache: {}", target, e.getMessage());
+            misses.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Stores a rendered image, and evicts the least recently used images if the
+     * cache grows beyond its size. Failures are logged; the image itself is not
+     * affected.
+     *
+     * @param key   The cache key of the diagram.
+     * @param image The rendered image file.
+     */
+    public void store(String key, Path image) {
+        Path entry = entryFile(key);
+        Path tempFile = null;
+        long replacedSize = entry.toFile().length(); // 0 if the entry does not exist
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, key, ".tmp");
+            Files.copy(image, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to store {} in the render cache: {}", image, e.getMessage());
+            deleteQuietly(tempFile);
+            return;
+        }
+        markUsed(key);
+        if (size.addAndGet(entry.toFile().length() - replacedSize) > maxBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes an image from the cache, such as one PlantUML rendered for a
+     * diagram whose layout was stopped.
+     *
+     * @param key The cache key of the diagram.
+     */
+    public void remove(String key) {
+        Path entry = entryFile(key);
+        long entrySize = entry.toFile().length();
+        try {
+            if (Files.deleteIfExists(entry)) {
+                size.addAndGet(-entrySize);
+            }
+            Files.deleteIfExists(usedFile(entry));
+        } catch (IOException e) {
+            logger.warn("Failed to remove {} from the render cache: {}", entry, e.getMessage());
+        }
+    }
+
+    /**
+     * Logs the hits, misses and evictions of this run.
+     */
+    public void logSummary() {
+        logger.info("Render cache: {} hit(s), {} miss(es), {} eviction(s), {} KB in use", hits.sum(), misses.sum(),
+                evictions.sum(), size.get() / 1024);
+    }
+
+    /**
+     * Gets the number of diagrams restored from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of diagrams that had to be rendered.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Deletes the least recently used images until the cache is well below its
+     * size, so that not every store has to evict.
+     */
+    private synchronized void evict() {
+        List<Entry> entries = listEntries();
+        entries.sort(Comparator.comparing(entry -> entry.lastUsed));
+        long total = entries.stream().mapToLong(entry -> entry.size).sum();
+        long target = (long) (maxBytes * EVICTION_TARGET);
+        for (Entry entry : entries) {
+            if (total <= target) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(entry.file);
+                Files.deleteIfExists(usedFile(entry.file));
+                total -= entry.size;
+                evictions.increment();
+            } catch (IOException e) {
+                logger.debug("Could not evict {} from the render cache: {}", entry.file, e.getMessage());
+            }
+        }
+        size.set(total);
+    }
+
+    private List<Entry> listEntries() {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + ENTRY_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    Path usedFile = usedFile(file);
+                    FileTime lastUsed = Files.exists(usedFile) ? Files.getLastModifiedTime(usedFile)
+                            : attributes.lastModifiedTime();
+                    entries.add(new Entry(file, attributes.size(), lastUsed));
+                } catch (IOException e) {
+                    logger.debug("Skipping unreadable render cache entry {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to list the render cache {}: {}", directory, e.getMessage());
+        }
+        return entries;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path entryFile(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private static Path usedFile(Path entry) {
+        String name = entry.getFileName().toString();
+        return entry.resolveSibling(name.substring(0, name.length() - ENTRY_SUFFIX.length()) + USED_SUFFIX);
+    }
+
+    /**
+     * Records the use of an entry. Failures only affect the eviction order.
+     */
+    private void markUsed(String key) {
+        Path usedFile = usedFile(entryFile(key));
+        try {
+            try {
+                Files.createFile(usedFile);
+            } catch (FileAlreadyExistsException e) {
+                Files.setLastModifiedTime(usedFile, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+        } catch (IOException e) {
+            logger.debug("Could not mark {} as used: {}", usedFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Normalizes line endings and trailing white space, which do not change the
+     * rendered diagram.
+     */
+    private static String normalize(String plantUmlSyntax) {
+        StringBuilder normalized = new StringBuilder(plantUmlSyntax.length());
+        for (String line : plantUmlSyntax.split("\r\n|\r|\n")) {
+            normalized.append(line.stripTrailing()).append('\n');
+        }
+        return normalized.toString().strip();
+    }
+
+    /**
+     * A cached image file with its size and last use.
+     */
+    private static final class Entry {
+        private final Path file;
+        private final long size;
+        private final FileTime lastUsed;
+
+        private Entry(Path file, long size, FileTime lastUsed) {
+            this.file = file;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
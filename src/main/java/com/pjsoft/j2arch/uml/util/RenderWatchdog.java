@@ -0,0 +1,320 @@
+package com.pjsoft.j2arch.uml.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.context.GenerationOptions;
+
+import net.sourceforge.plantuml.OptionFlags;
+
+/**
+ * RenderWatchdog
+ *
+ * Keeps each diagram render within a budget of time and of allocated memory.
+ * A single pathological diagram, such as a package diagram with hundreds of
+ * classes, can keep a layout running for half an hour; the watchdog stops it
+ * so that the rest of the run is not held up.
+ *
+ * Responsibilities:
+ * - Check the running renders at a fixed interval on a thread of its own.
+ * - Interrupt a render that exceeds its budget, and have PlantUML kill a
+ * Graphviz process running longer than the time budget.
+ * - Give up on a render that does not stop within a grace period after being
+ * interrupted, so that its diagram can be reported as failed at once.
+ * - Record every diagram that exceeded its budget in a failure report in the
+ * output directory.
+ *
+ * Limitations:
+ * - Java layouts, such as those of sequence diagrams, stop only where they
+ * check for interruption. A render given up on keeps its thread busy until it
+ * ends.
+ * - Allocated memory is measured per thread, as the bytes allocated since the
+ * render started, not as the memory still in use. It is only measured on
+ * JVMs that support it.
+ * - The Graphviz time limit of PlantUML is global to the JVM.
+ * - The report covers the renders of one watchdog; the generation processes
+ * use one render pool, and so one watchdog, per run.
+ *
+ * Thread Safety:
+ * - This class is thread-safe; render threads may start and finish renders
+ * concurrently.
+ *
+ * Usage Example:
+ * {@code
+ * try (RenderWatchdog watchdog = RenderWatchdog.forContext(context)) {
+ *     RenderWatchdog.Attempt attempt = watchdog.start("MyDiagram", () -> giveUp());
+ *     try {
+ *         render();
+ *     } finally {
+ *         watchdog.finish(attempt);
+ *     }
+ *     if (attempt.getExceededBudget() != null) {
+ *         watchdog.recordFailure("MyDiagram", attempt.getExceededBudget());
+ *     }
+ * }
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public final class RenderWatchdog implements AutoCloseable {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(RenderWatchdog.class);
+
+    /** The name of the report of diagrams that exceeded their budget. */
+    public static final String REPORT_FILE = "render-failures.properties";
+
+    private static final long CHECK_INTERVAL_MILLIS = 500;
+    private static final long GRACE_PERIOD_MILLIS = 30_000; // Wait for an interrupted render before giving up on it
+
+    private final long timeoutMillis; // 0 for no time limit
+    private final long maxAllocationBytes; // 0 for no memory limit
+    private final boolean retrySimplified; // Render diagrams over budget again, simplified
+    private final File reportFile; // Null to log failures only
+    private final com.sun.management.ThreadMXBean threadBean; // Null if allocation is not measured
+    private final Set<Attempt> attempts = ConcurrentHashMap.newKeySet(); // Running renders
+    private final Map<String, String> failures = new ConcurrentSkipListMap<>(); // Diagram name to reason
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a watchdog and starts checking.
+     *
+     * @param timeoutMillis      the time a render may take, {@code 0} for no
+     *                           limit.
+     * @param maxAllocationBytes the bytes a render may allocate, {@code 0} for
+     *                           no limit.
+     * @param retrySimplified    whether diagrams over budget are rendered
+     *                           again in a simplified form.
+     * @param reportFile         the failure report, or {@code null} to log
+     *                           failures only.
+     * @since 1.3
+     */
+    public RenderWatchdog(long timeoutMillis, long maxAllocationBytes, boolean retrySimplified, File reportFile) {
+        this.timeoutMillis = timeoutMillis;
+        this.retrySimplified = retrySimplified;
+        this.reportFile = reportFile;
+        this.threadBean = maxAllocationBytes > 0 ? allocationBean() : null;
+        this.maxAllocationBytes = threadBean != null ? maxAllocationBytes : 0;
+        if (timeoutMillis > 0) {
+            // Graphviz runs in a process of its own; let PlantUML kill it once the render has been interrupted
+            OptionFlags.getInstance().setTimeoutMs(timeoutMillis + 2 * CHECK_INTERVAL_MILLIS);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "render-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, CHECK_INTERVAL_MILLIS, CHECK_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates the watchdog configured by the {@code render.*} options, with its
+     * report in the context's output directory.
+     *
+     * @param context the generation context of the run.
+     * @return the watchdog, or {@code null} if renders have no budget.
+     * @since 1.3
+     */
+    public static RenderWatchdog forContext(GenerationContext context) {
+        GenerationOptions options = context.getOptions();
+        if (options.getRenderTimeoutMillis() == 0 && options.getRenderMaxAllocationBytes() == 0) {
+            return null;
+        }
+        return new RenderWatchdog(options.getRenderTimeoutMillis(), options.getRenderMaxAllocationBytes(),
+                options.isRenderRetrySimplified(), new File(context.getOutputDirectory(), REPORT_FILE));
+    }
+
+    /**
+     * Starts watching a render on the current thread.
+     *
+     * @param diagramName the name of the diagram rendered.
+     * @param onGiveUp    called on the watchdog thread if the render does not
+     *                    stop within the grace period after exceeding its
+     *                    budget.
+     * @return the attempt to pass to {@link #finish(Attempt)}.
+     * @since 1.3
+     */
+    public Attempt start(String diagramName, Runnable onGiveUp) {
+        Thread thread = Thread.currentThread();
+        long allocatedBytes = threadBean != null ? threadBean.getThreadAllocatedBytes(thread.threadId()) : 0;
+        Attempt attempt = new Attempt(diagramName, thread, System.nanoTime(), allocatedBytes, onGiveUp);
+        attempts.add(attempt);
+        return attempt;
+    }
+
+    /**
+     * Stops watching a render. If the render exceeded its budget, the
+     * interrupt it received is cleared.
+     *
+     * @param attempt the attempt returned by {@link #start}.
+     * @since 1.3
+     */
+    public void finish(Attempt attempt) {
+        attempts.remove(attempt);
+        synchronized (attempt) {
+            attempt.finished = true;
+        }
+        if (attempt.exceededBudget != null) {
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Records a diagram that exceeded its budget in the failure report.
+     *
+     * @param diagramName the name of the diagram.
+     * @param reason      the budget exceeded and what became of the diagram.
+     * @since 1.3
+     */
+    public void recordFailure(String diagramName, String reason) {
+        failures.put(diagramName, reason);
+        logger.warn("Diagram {} exceeded its render budget: {}", diagramName, reason);
+    }
+
+    /**
+     * Checks whether diagrams over budget are rendered again in a simplified
+     * form, as derived by the {@link DiagramSimplifier}.
+     *
+     * @return {@code true} if simplified diagrams are rendered.
+     * @since 1.3
+     */
+    public boolean isRetrySimplified() {
+        return retrySimplified;
+    }
+
+    /**
+     * Gets the number of diagrams that exceeded their budget.
+     *
+     * @return the number of failures recorded.
+     * @since 1.3
+     */
+    public int getFailureCount() {
+        return failures.size();
+    }
+
+    /**
+     * Stops checking and writes the failure report, one {@code diagram=reason}
+     * line per diagram sorted by name. A report left by an earlier run is
+     * deleted if no diagram failed.
+     *
+     * @since 1.3
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        if (reportFile == null) {
+            return;
+        }
+        try {
+            if (failures.isEmpty()) {
+                Files.deleteIfExists(reportFile.toPath());
+                return;
+            }
+            StringBuilder report = new StringBuilder();
+            report.append("# Diagrams whose rendering exceeded its time or memory budget (render.* options).\n");
+            for (Map.Entry<String, String> failure : failures.entrySet()) {
+                report.append(failure.getKey()).append('=').append(failure.getValue()).append('\n');
+            }
+            Files.createDirectories(reportFile.toPath().getParent());
+            Files.writeString(reportFile.toPath(), report.toString(), StandardCharsets.UTF_8);
+            logger.warn("{} diagram(s) exceeded their render budget, see {}", failures.size(), reportFile);
+        } catch (IOException e) {
+            logger.error("Failed to write the render failure report: {}", reportFile, e);
+        }
+    }
+
+    private void check() {
+        long now = System.nanoTime();
+        for (Attempt attempt : attempts) {
+            if (attempt.exceededBudget == null) {
+                String exceeded = exceededBudget(attempt, now);
+                if (exceeded != null) {
+                    interrupt(attempt, exceeded, now);
+                }
+            } else if (now - attempt.interruptedAt > TimeUnit.MILLISECONDS.toNanos(GRACE_PERIOD_MILLIS)
+                    && attempts.remove(attempt)) {
+                recordFailure(attempt.diagramName, attempt.exceededBudget + ", and did not stop");
+                attempt.onGiveUp.run();
+            }
+        }
+    }
+
+    private String exceededBudget(Attempt attempt, long now) {
+        if (timeoutMillis > 0 && now - attempt.startedAt > TimeUnit.MILLISECONDS.toNanos(timeoutMillis)) {
+            return "took longer than " + timeoutMillis / 1000.0 + " s";
+        }
+        if (maxAllocationBytes > 0) {
+            long allocated = threadBean.getThreadAllocatedBytes(attempt.thread.threadId()) - attempt.allocatedBytes;
+            if (allocated > maxAllocationBytes) {
+                return "allocated more than " + maxAllocationBytes / (1024 * 1024) + " MB";
+            }
+        }
+        return null;
+    }
+
+    private static void interrupt(Attempt attempt, String exceeded, long now) {
+        synchronized (attempt) {
+            // Interrupt only a render still running, so that the interrupt cannot hit the next one
+            if (!attempt.finished) {
+                attempt.exceededBudget = exceeded;
+                attempt.interruptedAt = now;
+                attempt.thread.interrupt();
+            }
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        logger.warn("This JVM cannot measure allocated memory per thread; renders have no memory budget");
+        return null;
+    }
+
+    /**
+     * A render being watched.
+     */
+    public static final class Attempt {
+        private final String diagramName;
+        private final Thread thread;
+        private final long startedAt; // System.nanoTime()
+        private final long allocatedBytes; // Allocated by the thread before the render
+        private final Runnable onGiveUp;
+        private volatile String exceededBudget; // Null while within budget
+        private volatile long interruptedAt;
+        private boolean finished; // Guarded by the attempt
+
+        private Attempt(String diagramName, Thread thread, long startedAt, long allocatedBytes, Runnable onGiveUp) {
+            this.diagramName = diagramName;
+            this.thread = thread;
+            this.startedAt = startedAt;
+            this.allocatedBytes = allocatedBytes;
+            this.onGiveUp = onGiveUp;
+        }
+
+        /**
+         * Gets the budget the render exceeded.
+         *
+         * @return a description of the budget exceeded, or {@code null} if the
+         *         render stayed within its budget.
+         * @since 1.3
+         */
+        public String getExceededBudget() {
+            return exceededBudget;
+        }
+    }
+}
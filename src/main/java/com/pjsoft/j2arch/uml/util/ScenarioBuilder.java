@@ -1,7 +1,14 @@
 package com.pjsoft.j2arch.uml.util;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
+import com.pjsoft.j2arch.core.model.AnalysisResult;
+import com.pjsoft.j2arch.core.model.CallGraph;
 import com.pjsoft.j2arch.core.model.CodeEntity;
 import com.pjsoft.j2arch.core.model.MethodEntity;
 import com.pjsoft.j2arch.core.model.Relative;
@@ -19,8 +26,16 @@ import com.pjsoft.j2arch.uml.model.Scenario;
  * Responsibilities:
  * - Identifies entry classes (classes that are not callees).
  * - Generates scenarios for each entry class and its methods.
- * - Dynamically resolves caller-callee relationships during traversal.
+ * - Resolves caller-callee relationships during traversal through the
+ * {@link CallGraph} of an {@link AnalysisResult}, so expanding a method only
+ * visits the calls it makes.
  * - Avoids cycles in the relationship graph using a visited set.
+ * - Reuses the expanded subtrees of called methods across scenarios, so
+ * service chains shared by many entry methods are traversed once.
+ * - Builds the scenarios of different entry methods in parallel on a fork/join
+ * pool, handing each to a listener as soon as it is built.
+ * - Keeps scenarios within a depth and fan-out budget, collapsing the calls
+ * beyond it.
  * 
  * Dependencies:
  * - {@link CodeEntity}: Represents a class or interface in the codebase.
@@ -43,6 +58,8 @@ import com.pjsoft.j2arch.uml.model.Scenario;
 public class ScenarioBuilder {
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ScenarioBuilder.class);
     private final String projectPackage;
+    private final int maxDepth; // Call depth expanded, 0 for no limit
+    private final int maxFanout; // Calls shown per method, 0 for no limit
 
     /**
      * Constructs a ScenarioBuilder with the specified project package.
@@ -50,7 +67,29 @@ public class ScenarioBuilder {
      * @param projectPackage The package name to filter project-specific classes.
      */
     public ScenarioBuilder(String projectPackage) {
+        this(projectPackage, 0, 0);
+    }
+
+    /**
+     * Constructs a ScenarioBuilder whose scenarios stay within a depth and
+     * fan-out budget. Calls beyond the budget are collapsed into a single
+     * collapsed {@link Interaction} on the method making them.
+     * 
+     * @param projectPackage The package name to filter project-specific classes.
+     * @param maxDepth       The call depth up to which scenarios are expanded,
+     *                       {@code 0} for no limit.
+     * @param maxFanout      The number of calls shown per method, {@code 0} for
+     *                       no limit.
+     * @throws IllegalArgumentException If a budget is negative.
+     * @since 1.3
+     */
+    public ScenarioBuilder(String projectPackage, int maxDepth, int maxFanout) {
+        if (maxDepth < 0 || maxFanout < 0) {
+            throw new IllegalArgumentException("Scenario budgets cannot be negative");
+        }
         this.projectPackage = projectPackage;
+        this.maxDepth = maxDepth;
+        this.maxFanout = maxFanout;
     }
 
     /**
@@ -95,65 +134,130 @@ public class ScenarioBuilder {
         if (codeEntities == null) {
             throw new IllegalArgumentException("CodeEntities cannot be null");
         }
+        return getScenarios(new AnalysisResult(codeEntities));
+    }
+
+    /**
+     * Generates a list of scenarios from an analysis result, whose index is used
+     * to look up the callees during traversal.
+     * 
+     * @param analysisResult The result of analyzing the project.
+     * @return A list of scenarios representing sequence diagrams.
+     * @throws IllegalArgumentException If the analysis result is null.
+     * @since 1.3
+     */
+    public List<Scenario> getScenarios(AnalysisResult analysisResult) {
+        return getScenarios(analysisResult, 1, scenario -> {
+        });
+    }
+
+    /**
+     * Generates the scenarios of an analysis result on a fork/join pool and
+     * hands each scenario to a listener as soon as it is built.
+     * 
+     * The entry methods are split into ranges that the workers build and split
+     * further when idle. The listener is called from the worker that built the
+     * scenario, so with more than one thread it must be thread-safe; scenarios
+     * reach it in no particular order. The returned list is always in the order
+     * of the entry classes and their methods.
+     * 
+     * @param analysisResult The result of analyzing the project.
+     * @param parallelism    The number of threads to build with; 1 builds on the
+     *                       calling thread.
+     * @param listener       Called with each scenario once it is built.
+     * @return A list of scenarios representing sequence diagrams.
+     * @throws IllegalArgumentException If the analysis result or listener is null,
+     *                                  or the parallelism is less than 1.
+     * @since 1.3
+     */
+    public List<Scenario> getScenarios(AnalysisResult analysisResult, int parallelism, Consumer<Scenario> listener) {
+        if (analysisResult == null) {
+            throw new IllegalArgumentException("AnalysisResult cannot be null");
+        }
+        if (listener == null || parallelism < 1) {
+            throw new IllegalArgumentException("A listener and a parallelism of at least 1 are required");
+        }
 
-        // Step 1: Identify entry classes
-        List<CodeEntity> entryClasses = identifyEntryClasses(codeEntities);
+        // Step 1: Identify entry classes and collect their methods, one scenario each
+        List<CodeEntity> entryClasses = new ArrayList<>();
+        List<MethodEntity> entryMethods = new ArrayList<>();
+        for (CodeEntity entryClass : identifyEntryClasses(analysisResult.getCodeEntities())) {
+            for (MethodEntity method : entryClass.getMethods()) {
+                entryClasses.add(entryClass);
+                entryMethods.add(method);
+            }
+        }
 
-        // Step 2: Build scenarios for each entry class and its methods
-        List<Scenario> scenarios = new ArrayList<>();
-        for (CodeEntity entryClass : entryClasses) {
-            // Get scenarios for the current entry class
-            List<Scenario> entryClassScenarios = getScenariosByEntryClass(entryClass, codeEntities);
-            // Merge the scenarios into the main list
-            scenarios.addAll(entryClassScenarios);
+        // Step 2: Build a scenario for each entry method
+        Scenario[] scenarios = new Scenario[entryMethods.size()];
+        Expansion expansion = new Expansion(analysisResult.getCallGraph());
+        ScenarioTask task = new ScenarioTask(entryClasses, entryMethods, scenarios, expansion, listener, 0,
+                scenarios.length);
+        if (parallelism == 1) {
+            task.buildRange();
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(task);
+            } finally {
+                pool.shutdown();
+            }
         }
 
-        return scenarios; // Return the list of all scenarios for all entry classes
+        logger.debug("Built {} scenarios on {} threads, reusing call fragments {} times ({} fragments)",
+                scenarios.length, parallelism, expansion.reused.sum(), expansion.fragments.size());
+        return Arrays.asList(scenarios); // Return the list of all scenarios for all entry classes
     }
 
     /**
-     * Generates a list of scenarios for a given entry class.
+     * Counts the scenarios {@link #getScenarios(AnalysisResult)} builds, one for
+     * each method of an entry class.
      * 
-     * This method iterates over all methods of the entry class and generates a
-     * separate scenario for each method. Each scenario represents a sequence
-     * diagram starting from the given method and traversing the caller-callee
-     * relationships recursively. The method uses the provided list of CodeEntity
-     * objects to dynamically resolve callees during traversal.
+     * @param analysisResult The result of analyzing the project.
+     * @return The number of scenarios.
+     * @since 1.3
+     */
+    public int countScenarios(AnalysisResult analysisResult) {
+        return identifyEntryClasses(analysisResult.getCodeEntities()).stream()
+                .mapToInt(entryClass -> entryClass.getMethods().size())
+                .sum();
+    }
+
+    /**
+     * Builds the scenario of one entry method.
+     * 
+     * The scenario traverses the caller-callee relationships recursively from
+     * the method. The call graph of the analysis result resolves the callees
+     * during traversal, and the fragments expanded for earlier scenarios are
+     * reused.
      * 
-     * @param entryClass   The entry class to generate scenarios for.
-     * @param codeEntities The list of all CodeEntity objects, used to dynamically
-     *                     look up callees.
-     * @return A list of scenarios starting from the entry class.
+     * @param entryClass The entry class declaring the method.
+     * @param method     The method the scenario starts from.
+     * @param expansion  The call graph and the fragments shared by all
+     *                   scenarios, with the fragments in progress on this
+     *                   worker.
+     * @return The scenario starting from the method.
      * @throws IllegalArgumentException If the entryClass is null.
      */
-    private List<Scenario> getScenariosByEntryClass(CodeEntity entryClass, List<CodeEntity> codeEntities) {
+    private Scenario buildScenario(CodeEntity entryClass, MethodEntity method, Expansion expansion) {
         if (entryClass == null) {
             throw new IllegalArgumentException("EntryClass cannot be null");
         }
 
-        List<Scenario> scenarios = new ArrayList<>();
+        Scenario scenario = new Scenario(entryClass.getName(), method.getName());
+        Set<String> visited = new HashSet<>(); // To avoid cycles
+        List<Interaction> interactions = new ArrayList<>();
 
-        // Iterate over all methods of the entry class
-        for (MethodEntity method : entryClass.getMethods()) {
-            // Create a new scenario for each method
-            Scenario scenario = new Scenario(entryClass.getName(), method.getName());
-            Set<String> visited = new HashSet<>(); // To avoid cycles
-
-            // Build the scenario starting from this method
-            // buildScenarioFromMethod(entryClass, method.getName(), scenario, visited,
-            // codeEntities);
-            buildScenarioFromMethod(entryClass, method, scenario, visited, codeEntities);
-            // Add the built scenario to the list
-            scenarios.add(scenario);
-        }
-
-        return scenarios;
+        // Build the scenario starting from this method
+        buildScenarioFromMethod(entryClass, method, expansion.callGraph.findMethod(entryClass, method), 1,
+                interactions, visited, expansion);
+        scenario.addInteractions(interactions);
+        return scenario;
     }
 
-
-    private void buildScenarioFromMethod(CodeEntity entryClass, MethodEntity startingMethod, Scenario scenario,
-            Set<String> visited, List<CodeEntity> codeEntities) {
-        if (entryClass == null || startingMethod == null || scenario == null) {
+    private void buildScenarioFromMethod(CodeEntity entryClass, MethodEntity startingMethod, int methodId, int depth,
+            List<Interaction> interactions, Set<String> visited, Expansion expansion) {
+        if (entryClass == null || startingMethod == null || interactions == null) {
             throw new IllegalArgumentException("Arguments cannot be null");
         }
 
@@ -164,33 +268,117 @@ public class ScenarioBuilder {
         }
         visited.add(visitedKey);
 
-        // Get all CALLER_CALLEE relationships for the entry class
-        List<Relative> callerCalleeRelatives = entryClass
-                .getRelativesByRelationshipType(Relative.RelationshipType.CALLER_CALLEE);
-
-        for (Relative relative : callerCalleeRelatives) {
-            // Check if the relationship starts from the given method
-            if (relative.getCallerMethodEntity().equals(startingMethod)) {
-
-                // Look up the full CodeEntity for the callee
-                CodeEntity calleeEntity = findCodeEntityByName(codeEntities, relative.getCalleeEntity().getName());
-                if (calleeEntity == null) {
-                    logger.warn("Callee entity not found: {}", relative.getCalleeEntity().getName());
-                    continue;
-                }
-
-                // Add the interaction to the scenario
-                scenario.addInteraction(new Interaction(
-                        entryClass.getName(),
-                        startingMethod.getName(),
-                        calleeEntity.getName(),
-                        relative.getCalleeMethodEntity().getName()));
-
-                // Recursively build the scenario for the callee
-                buildScenarioFromMethod(calleeEntity, relative.getCalleeMethodEntity(), scenario, visited,
-                        codeEntities);
+        // Follow only the calls made by this method
+        CallGraph callGraph = expansion.callGraph;
+        int[] calls = callGraph.getCalls(methodId);
+        int shown = 0;
+        for (int i = 0; i < calls.length; i++) {
+            int call = calls[i];
+            CodeEntity calleeEntity = callGraph.getCallee(call);
+            if (calleeEntity == null) {
+                logger.warn("Callee entity not found: {}", callGraph.getCalleeName(call));
+                continue;
+            }
+            if (maxFanout > 0 && shown == maxFanout) {
+                // Over the fan-out budget, collapse the remaining calls
+                interactions.add(new Interaction(entryClass.getName(), startingMethod.getName(),
+                        countCalls(callGraph, calls, i)));
+                break;
+            }
+            shown++;
+            MethodEntity calleeMethod = callGraph.getCalleeMethod(call);
+
+            // Add the interaction to the scenario
+            interactions.add(new Interaction(
+                    entryClass.getName(),
+                    startingMethod.getName(),
+                    calleeEntity.getName(),
+                    calleeMethod.getName()));
+
+            // Continue the scenario with the callee
+            expandCallee(calleeEntity, calleeMethod, callGraph.getCalleeMethodId(call), depth + 1, interactions,
+                    visited, expansion);
+        }
+    }
+
+    /**
+     * Continues a scenario with the subtree of a called method, reusing the
+     * fragment of an earlier expansion where possible.
+     * 
+     * A fragment is the subtree a method expands to when nothing is visited yet.
+     * It is reused as long as none of the methods it visits is visited in the
+     * current scenario, because the traversal then takes exactly the same path.
+     * Otherwise the method is expanded again against the current visited set.
+     * Beyond the depth budget, the calls of the method are collapsed instead.
+     * 
+     * @param calleeEntity The called class.
+     * @param calleeMethod The called method.
+     * @param methodId     The call graph ID of the called method, or -1.
+     * @param depth        The depth of the calls the called method makes.
+     * @param interactions The interactions of the scenario so far.
+     * @param visited      The methods visited in the scenario so far.
+     * @param expansion    The state shared by all scenarios.
+     */
+    private void expandCallee(CodeEntity calleeEntity, MethodEntity calleeMethod, int methodId, int depth,
+            List<Interaction> interactions, Set<String> visited, Expansion expansion) {
+        String visitedKey = calleeEntity.getName() + "::" + calleeMethod.getName();
+        if (visited.contains(visitedKey)) {
+            return; // Avoid cycles
+        }
+        if (methodId < 0) {
+            visited.add(visitedKey); // Calls nothing, there is nothing to reuse
+            return;
+        }
+        if (maxDepth > 0 && depth > maxDepth) {
+            // Over the depth budget, collapse the calls; the method counts as shown
+            visited.add(visitedKey);
+            int collapsed = countCalls(expansion.callGraph, expansion.callGraph.getCalls(methodId), 0);
+            if (collapsed > 0) {
+                interactions.add(new Interaction(calleeEntity.getName(), calleeMethod.getName(), collapsed));
+            }
+            return;
+        }
+
+        // The subtree of a method depends on the depth budget left
+        String fragmentKey = visitedKey + "#" + methodId + (maxDepth > 0 ? "@" + depth : "");
+        Fragment fragment = expansion.fragments.get(fragmentKey);
+        if (fragment == null && expansion.inProgress.add(fragmentKey)) {
+            List<Interaction> fragmentInteractions = new ArrayList<>();
+            Set<String> fragmentVisited = new HashSet<>();
+            buildScenarioFromMethod(calleeEntity, calleeMethod, methodId, depth, fragmentInteractions,
+                    fragmentVisited, expansion);
+            fragment = new Fragment(List.copyOf(fragmentInteractions), Set.copyOf(fragmentVisited));
+            expansion.fragments.putIfAbsent(fragmentKey, fragment); // Another thread may have built it too
+            expansion.inProgress.remove(fragmentKey);
+        }
+
+        if (fragment != null && Collections.disjoint(visited, fragment.visitedKeys)) {
+            interactions.addAll(fragment.interactions);
+            visited.addAll(fragment.visitedKeys);
+            expansion.reused.increment();
+        } else {
+            // The fragment is still being built further up, or its path is cut short here
+            buildScenarioFromMethod(calleeEntity, calleeMethod, methodId, depth, interactions, visited, expansion);
+        }
+    }
+
+    /**
+     * Counts the calls from the given position on whose callee was parsed, and
+     * which would therefore be shown.
+     * 
+     * @param callGraph The call graph.
+     * @param calls     The calls of a method.
+     * @param from      The position of the first call to count.
+     * @return The number of calls with a parsed callee.
+     */
+    private int countCalls(CallGraph callGraph, int[] calls, int from) {
+        int count = 0;
+        for (int i = from; i < calls.length; i++) {
+            if (callGraph.getCallee(calls[i]) != null) {
+                count++;
             }
         }
+        return count;
     }
 
     /**
@@ -213,18 +401,97 @@ public class ScenarioBuilder {
     }
 
     /**
-     * Finds a CodeEntity by its name from the provided list of CodeEntity objects.
-     * 
-     * @param codeEntities The list of CodeEntity objects to search.
-     * @param name         The name of the CodeEntity to find.
-     * @return The CodeEntity with the specified name, or null if not found.
+     * The interactions a called method expands to when nothing is visited yet,
+     * and the methods visited on the way. Fragments are immutable, so the
+     * scenarios share their interactions.
+     */
+    private static final class Fragment {
+        private final List<Interaction> interactions;
+        private final Set<String> visitedKeys;
+
+        private Fragment(List<Interaction> interactions, Set<String> visitedKeys) {
+            this.interactions = interactions;
+            this.visitedKeys = visitedKeys;
+        }
+    }
+
+    /**
+     * The state shared while building the scenarios of an analysis result.
+     * Fragments are the same whichever thread builds them, so all workers share
+     * them; each worker tracks the fragments it has in progress itself.
      */
-    private CodeEntity findCodeEntityByName(List<CodeEntity> codeEntities, String name) {
-        for (CodeEntity codeEntity : codeEntities) {
-            if (codeEntity.getName().equals(name)) {
-                return codeEntity;
+    private static final class Expansion {
+        private final CallGraph callGraph;
+        private final Map<String, Fragment> fragments; // Called class, method and ID to fragment
+        private final LongAdder reused; // Number of fragments reused
+        private final Set<String> inProgress = new HashSet<>(); // Fragments being built, to stop at cycles
+
+        private Expansion(CallGraph callGraph) {
+            this.callGraph = callGraph;
+            this.fragments = new ConcurrentHashMap<>();
+            this.reused = new LongAdder();
+        }
+
+        private Expansion(Expansion shared) {
+            this.callGraph = shared.callGraph;
+            this.fragments = shared.fragments;
+            this.reused = shared.reused;
+        }
+
+        /**
+         * Creates the state of one worker, sharing the call graph and fragments.
+         */
+        private Expansion forWorker() {
+            return new Expansion(this);
+        }
+    }
+
+    /**
+     * Builds the scenarios of a range of entry methods, splitting ranges larger
+     * than {@link #THRESHOLD} in two. Tasks are serializable only because
+     * {@link RecursiveAction} is; they are never serialized, so their state is
+     * transient.
+     */
+    private final class ScenarioTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 8; // Entry methods built without splitting
+
+        private final transient List<CodeEntity> entryClasses;
+        private final transient List<MethodEntity> entryMethods;
+        private final transient Scenario[] scenarios; // Built scenarios, by entry method index
+        private final transient Expansion expansion;
+        private final transient Consumer<Scenario> listener;
+        private final int from; // First entry method, inclusive
+        private final int to; // Last entry method, exclusive
+
+        private ScenarioTask(List<CodeEntity> entryClasses, List<MethodEntity> entryMethods, Scenario[] scenarios,
+                Expansion expansion, Consumer<Scenario> listener, int from, int to) {
+            this.entryClasses = entryClasses;
+            this.entryMethods = entryMethods;
+            this.scenarios = scenarios;
+            this.expansion = expansion;
+            this.listener = listener;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                buildRange();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScenarioTask(entryClasses, entryMethods, scenarios, expansion, listener, from, middle),
+                    new ScenarioTask(entryClasses, entryMethods, scenarios, expansion, listener, middle, to));
+        }
+
+        private void buildRange() {
+            Expansion worker = expansion.forWorker();
+            for (int i = from; i < to; i++) {
+                scenarios[i] = buildScenario(entryClasses.get(i), entryMethods.get(i), worker);
+                listener.accept(scenarios[i]);
             }
         }
-        return null; // Return null if not found
     }
-}
\ No newline at end of file
+}
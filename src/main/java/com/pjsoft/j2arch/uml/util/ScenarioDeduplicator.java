@@ -0,0 +1,125 @@
+package com.pjsoft.j2arch.uml.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.pjsoft.j2arch.uml.model.Scenario;
+
+/**
+ * ScenarioDeduplicator
+ *
+ * Decides which sequence scenarios are worth a diagram of their own. Rendering
+ * is the most expensive step per diagram, yet many scenarios have no
+ * interactions at all, and many others show the same interactions under a
+ * different title, such as entry methods delegating to the same service.
+ *
+ * Responsibilities:
+ * - Skip scenarios without interactions.
+ * - Hash the interactions of each scenario, without its title, and render only
+ * the first scenario with a given hash.
+ * - Record every skipped scenario in a manifest, with the diagram rendered in
+ * its place.
+ *
+ * Limitations:
+ * - The first scenario registered with some content is rendered. Scenarios
+ * have to be registered in entry order, as the {@code SequenceDiagramService}
+ * does once all are built, for the same scenario to be rendered on every run.
+ *
+ * Thread Safety:
+ * - This class is thread-safe; renderers may register scenarios concurrently.
+ *
+ * Usage Example:
+ * {@code
+ * ScenarioDeduplicator deduplicator = new ScenarioDeduplicator();
+ * for (Scenario scenario : scenarios) {
+ *     if (deduplicator.register(scenario)) {
+ *         render(scenario);
+ *     }
+ * }
+ * deduplicator.writeManifest(pumlDirectory);
+ * }
+ *
+ * Author: PJSoft
+ * Version: 1.0
+ * Since: 1.3
+ */
+public class ScenarioDeduplicator {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ScenarioDeduplicator.class);
+
+    /** The name of the manifest of skipped scenarios. */
+    public static final String MANIFEST_FILE = "sequence-aliases.properties";
+
+    private final Map<String, String> renderedByContent = new ConcurrentHashMap<>(); // Content hash to diagram name
+    private final Map<String, String> aliases = new ConcurrentSkipListMap<>(); // Skipped to rendered diagram, "" if empty
+
+    /**
+     * Registers a scenario and decides whether it is rendered.
+     *
+     * @param scenario the scenario built for an entry method.
+     * @return {@code true} if the scenario has to be rendered; {@code false} if
+     *         it is empty or an earlier scenario has the same interactions.
+     * @since 1.3
+     */
+    public boolean register(Scenario scenario) {
+        if (scenario.getInteractions().isEmpty()) {
+            aliases.put(scenario.getDiagramName(), "");
+            return false;
+        }
+        String rendered = renderedByContent.putIfAbsent(hash(scenario.getCanonicalContent()),
+                scenario.getDiagramName());
+        if (rendered == null) {
+            return true;
+        }
+        aliases.put(scenario.getDiagramName(), rendered);
+        return false;
+    }
+
+    /**
+     * Writes the manifest of skipped scenarios, one {@code diagram=rendered}
+     * line per scenario sorted by name. The rendered diagram is empty for
+     * scenarios without interactions.
+     *
+     * @param directory the directory of the `.puml` files.
+     * @throws IOException if the manifest cannot be written.
+     * @since 1.3
+     */
+    public void writeManifest(File directory) throws IOException {
+        StringBuilder manifest = new StringBuilder();
+        manifest.append("# Sequence diagrams that were not rendered, with the diagram that shows their interactions.\n");
+        manifest.append("# An empty value means that the scenario has no interactions.\n");
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            manifest.append(alias.getKey()).append('=').append(alias.getValue()).append('\n');
+        }
+        Files.createDirectories(directory.toPath());
+        Files.writeString(new File(directory, MANIFEST_FILE).toPath(), manifest.toString(), StandardCharsets.UTF_8);
+        logger.info("Rendered {} distinct sequence diagrams, skipped {} empty or duplicate scenarios",
+                renderedByContent.size(), aliases.size());
+    }
+
+    /**
+     * Gets the number of scenarios that are not rendered.
+     *
+     * @return the number of empty and duplicate scenarios registered.
+     * @since 1.3
+     */
+    public int getSkippedCount() {
+        return aliases.size();
+    }
+
+    private static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
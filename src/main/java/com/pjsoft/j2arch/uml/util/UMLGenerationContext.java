@@ -1,6 +1,7 @@
 package com.pjsoft.j2arch.uml.util;
 
 import com.pjsoft.j2arch.core.context.GenerationContext;
+import com.pjsoft.j2arch.core.context.GenerationOptions;
 
 /**
  * Represents the context for UML diagram generation.
@@ -29,6 +30,7 @@ public class UMLGenerationContext implements GenerationContext {
     private final String imagesOutputDirectory;   // Directory for storing generated image files
     private final String unifiedClassDiagram;     // Path for the unified class diagram output
     private final String libsDirPath;             // Path to the directory containing library dependencies
+    private final GenerationOptions options;      // Tuning options such as the number of parser threads
 
     /**
      * Constructs a new UMLGenerationContext with the specified configuration details.
@@ -45,6 +47,27 @@ public class UMLGenerationContext implements GenerationContext {
     public UMLGenerationContext(String inputDirectory, String outputDirectory, String diagramTypes,
             String includePackage, String pumlPath, String imagesOutputDirectory,
             String unifiedClassDiagram, String libsDirPath) {
+        this(inputDirectory, outputDirectory, diagramTypes, includePackage, pumlPath, imagesOutputDirectory,
+                unifiedClassDiagram, libsDirPath, GenerationOptions.defaults());
+    }
+
+    /**
+     * Constructs a new UMLGenerationContext with the specified configuration details
+     * and tuning options.
+     * 
+     * @param inputDirectory        The input directory containing source files.
+     * @param outputDirectory       The output directory for generated diagrams.
+     * @param diagramTypes          Comma-separated list of diagram types to generate (e.g., "class,sequence").
+     * @param includePackage        The package to include in the diagram generation.
+     * @param pumlPath              The path to the PlantUML `.puml` file template.
+     * @param imagesOutputDirectory The directory for storing generated image files.
+     * @param unifiedClassDiagram   The path for the unified class diagram output.
+     * @param libsDirPath           The path to the directory containing library dependencies.
+     * @param options               The tuning options, or {@code null} for the defaults.
+     */
+    public UMLGenerationContext(String inputDirectory, String outputDirectory, String diagramTypes,
+            String includePackage, String pumlPath, String imagesOutputDirectory,
+            String unifiedClassDiagram, String libsDirPath, GenerationOptions options) {
         this.inputDirectory = inputDirectory;
         this.outputDirectory = outputDirectory;
         this.diagramTypes = diagramTypes;
@@ -53,6 +76,7 @@ public class UMLGenerationContext implements GenerationContext {
         this.imagesOutputDirectory = imagesOutputDirectory;
         this.unifiedClassDiagram = unifiedClassDiagram;
         this.libsDirPath = libsDirPath;
+        this.options = options != null ? options : GenerationOptions.defaults();
     }
 
     /**
@@ -126,4 +150,14 @@ public class UMLGenerationContext implements GenerationContext {
     public String getLibsDirPath() {
         return libsDirPath;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the tuning options for the diagram generation.
+     * 
+     * @return The generation options.
+     */
+    @Override
+    public GenerationOptions getOptions() {
+        return options;
+    }
+}